@@ -0,0 +1,202 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк накладных расходов {@link BaseClient} на формирование запроса и разбор ответа.
+ * <p>
+ * {@link RestTemplate} работает с фабрикой запросов, которая не обращается к сети и возвращает
+ * заранее подготовленный JSON. Поэтому измеряются только раскрытие URI-шаблона, заголовки,
+ * сериализация тела запроса и десериализация ответа в {@code Object}, как в gateway.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseClientBenchmark {
+
+    @Param({"1", "100"})
+    private int bookings;
+
+    private BenchmarkClient client;
+    private BookingCreateDto createDto;
+
+    @Setup
+    public void setUp() {
+        StringJoiner list = new StringJoiner(",", "[", "]");
+        for (int id = 1; id <= bookings; id++) {
+            list.add(booking(id));
+        }
+
+        RestTemplate rest = new RestTemplate(new StubRequestFactory(
+                list.toString().getBytes(StandardCharsets.UTF_8),
+                booking(1).getBytes(StandardCharsets.UTF_8)));
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/bookings"));
+        client = new BenchmarkClient(rest);
+        createDto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 10, 0))
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getWithParameters() {
+        return client.getBookings();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> postWithBody() {
+        return client.bookItem(createDto);
+    }
+
+    private static String booking(int id) {
+        return ("{\"id\":%d,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\","
+                + "\"item\":{\"id\":%d,\"name\":\"Item %d\"},"
+                + "\"booker\":{\"id\":2,\"name\":\"Booker\",\"email\":\"booker@example.com\"},"
+                + "\"status\":\"WAITING\"}").formatted(id, id, id);
+    }
+
+    /**
+     * Клиент, открывающий защищенные методы {@link BaseClient} для бенчмарка.
+     */
+    private static final class BenchmarkClient extends BaseClient {
+
+        private BenchmarkClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        private ResponseEntity<Object> getBookings() {
+            return get("?state={state}&from={from}&size={size}", 1L,
+                    Map.of("state", "ALL", "from", 0, "size", 10));
+        }
+
+        private ResponseEntity<Object> bookItem(BookingCreateDto dto) {
+            return post("", 1L, dto);
+        }
+    }
+
+    /**
+     * Фабрика запросов без сетевого взаимодействия: GET возвращает список бронирований,
+     * остальные методы — одно бронирование.
+     */
+    private static final class StubRequestFactory implements ClientHttpRequestFactory {
+        private final byte[] listBody;
+        private final byte[] singleBody;
+
+        private StubRequestFactory(byte[] listBody, byte[] singleBody) {
+            this.listBody = listBody;
+            this.singleBody = singleBody;
+        }
+
+        @Override
+        public StubRequest createRequest(URI uri, HttpMethod httpMethod) {
+            return new StubRequest(uri, httpMethod, httpMethod == HttpMethod.GET ? listBody : singleBody);
+        }
+    }
+
+    private static final class StubRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final byte[] responseBody;
+        private final ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+
+        private StubRequest(URI uri, HttpMethod method, byte[] responseBody) {
+            this.uri = uri;
+            this.method = method;
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return requestBody;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new StubResponse(responseBody);
+        }
+    }
+
+    private static final class StubResponse implements ClientHttpResponse {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private StubResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
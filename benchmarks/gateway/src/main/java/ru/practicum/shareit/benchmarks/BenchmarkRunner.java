@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа {@code benchmarks.jar} для бенчмарков модуля gateway.
+ * <p>
+ * Принимает стандартные аргументы командной строки JMH и всегда подключает профилировщик
+ * {@link GCProfiler}, чтобы вместе с пропускной способностью выводилась скорость выделения
+ * памяти ({@code gc.alloc.rate.norm} — байт на операцию). Если формат результатов не задан
+ * ({@code -rf}), результаты сохраняются в {@code jmh-result.json} для сравнения между сборками.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Запускает бенчмарки.
+     *
+     * @param args аргументы командной строки JMH (например, {@code StateBenchmark -p state=waiting})
+     * @throws RunnerException            если запуск бенчмарков завершился ошибкой
+     * @throws CommandLineOptionException если аргументы командной строки некорректны
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
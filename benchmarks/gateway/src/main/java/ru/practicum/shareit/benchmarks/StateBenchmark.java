@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк разбора параметра {@code state} запросов списков бронирований ({@link State#from}).
+ * <p>
+ * Параметры покрывают первое значение перечисления, последнее значение в другом регистре
+ * и неизвестное значение, для которого перебираются все элементы.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class StateBenchmark {
+
+    @Param({"ALL", "waiting", "unknown"})
+    private String state;
+
+    @Benchmark
+    public Optional<State> from() {
+        return State.from(state);
+    }
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Поднимает PostgreSQL, server и gateway из compose.yaml, заполняет базу набором данных
+# benchmarks/sql/load-test-dataset.sql и запускает нагрузочный тест против gateway.
+#
+# Запуск из корня репозитория (аргументы передаются нагрузочному тесту):
+#   benchmarks/load/run-load-test.sh --rps=300 --duration=120s
+#
+# Размеры набора данных задаются переменными окружения и одинаково передаются
+# генератору данных и тесту:
+#   USERS=10000 ITEMS=100000 BOOKINGS=1000000 ZIPF=1.1
+# SKIP_BUILD=1 — не пересобирать jar-файлы и образы,
+# SKIP_DATASET=1 — не пересоздавать данные (например, при повторном прогоне),
+# KEEP_STACK=1 — не останавливать контейнеры после теста.
+#
+# ВНИМАНИЕ: генератор данных удаляет все существующие данные в базе из compose.yaml.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+USERS=${USERS:-10000}
+ITEMS=${ITEMS:-100000}
+BOOKINGS=${BOOKINGS:-1000000}
+ZIPF=${ZIPF:-1.1}
+
+compose() {
+    docker compose -f compose.yaml "$@"
+}
+
+if [[ "${SKIP_BUILD:-}" != 1 ]]; then
+    # Сначала исполняемые jar-файлы для образов, затем нагрузочный тест: профиль benchmarks
+    # отключает repackage, поэтому модули server и gateway в нем не пересобираются.
+    mvn -B -q clean package -DskipTests
+    mvn -B -q -Pbenchmarks -pl benchmarks/load package -DskipTests
+fi
+
+if [[ "${KEEP_STACK:-}" != 1 ]]; then
+    trap 'compose down' EXIT
+fi
+
+# База должна быть готова до старта сервера, который создает схему при запуске.
+compose up -d --wait db
+if [[ "${SKIP_BUILD:-}" != 1 ]]; then
+    compose build server gateway
+fi
+compose up -d --wait server gateway
+
+if [[ "${SKIP_DATASET:-}" != 1 ]]; then
+    compose exec -T db psql -q -v ON_ERROR_STOP=1 -U shareit -d shareit \
+        -v users="$USERS" -v items="$ITEMS" -v bookings="$BOOKINGS" -v zipf="$ZIPF" \
+        -f - < benchmarks/sql/load-test-dataset.sql
+    # Индекс занятости и модель чтения booking_view загружаются при старте сервера.
+    compose restart server
+    compose up -d --wait server gateway
+fi
+
+java -jar benchmarks/load/target/load-test.jar \
+    --gateway=http://localhost:8080 --users="$USERS" --items="$ITEMS" --zipf="$ZIPF" "$@"
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.load;
+
+/**
+ * Вызовы gateway, из которых складывается нагрузка, и их доли в общем потоке запросов.
+ */
+enum Endpoint {
+    SEARCH("GET /items/search", 30),
+    OWNER_ITEMS("GET /items", 15),
+    BOOKER_BOOKINGS("GET /bookings", 20),
+    OWNER_BOOKINGS("GET /bookings/owner", 15),
+    CREATE_BOOKING("POST /bookings", 12),
+    APPROVE_BOOKING("PATCH /bookings/{id}", 8);
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int weight() {
+        return weight;
+    }
+}
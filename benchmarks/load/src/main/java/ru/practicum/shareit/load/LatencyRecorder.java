@@ -0,0 +1,114 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Накопитель задержек и кодов ответов по каждому вызову gateway.
+ * <p>
+ * Хранит все измерения (по 8 байт на запрос), поэтому перцентили вычисляются точно,
+ * без усреднения по интервалам. Запись потокобезопасна.
+ * </p>
+ */
+final class LatencyRecorder {
+
+    private final Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+
+    LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new Samples());
+        }
+    }
+
+    /**
+     * Записывает результат вызова.
+     *
+     * @param endpoint     тип вызова
+     * @param latencyNanos задержка от запланированного момента отправки до получения ответа
+     * @param status       HTTP-статус ответа или {@code 0}, если ответ не получен
+     */
+    void record(Endpoint endpoint, long latencyNanos, int status) {
+        samples.get(endpoint).add(latencyNanos, status);
+    }
+
+    /**
+     * Вычисляет статистику по вызовам, для которых есть хотя бы одно измерение.
+     *
+     * @return статистика в порядке {@link Endpoint}
+     */
+    List<EndpointStats> stats() {
+        List<EndpointStats> result = new ArrayList<>();
+        samples.forEach((endpoint, endpointSamples) -> {
+            EndpointStats stats = endpointSamples.stats(endpoint);
+            if (stats.count() > 0) {
+                result.add(stats);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Статистика вызова; задержки в миллисекундах.
+     *
+     * @param endpoint     тип вызова
+     * @param count        количество вызовов
+     * @param success      количество ответов 2xx
+     * @param clientErrors количество ответов 4xx
+     * @param serverErrors количество ответов 5xx
+     * @param failures     количество вызовов без ответа (таймаут, ошибка соединения)
+     * @param p50          медиана
+     * @param p90          90-й перцентиль
+     * @param p99          99-й перцентиль
+     * @param p999         99.9-й перцентиль
+     * @param max          максимальная задержка
+     */
+    record EndpointStats(Endpoint endpoint, int count, int success, int clientErrors, int serverErrors,
+                         int failures, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int success;
+        private int clientErrors;
+        private int serverErrors;
+        private int failures;
+
+        private synchronized void add(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 0) {
+                failures++;
+            } else if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            } else if (status >= 200 && status < 300) {
+                success++;
+            }
+        }
+
+        private synchronized EndpointStats stats(Endpoint endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, success, clientErrors, serverErrors, failures,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), percentile(sorted, 1.0));
+        }
+
+        /**
+         * Перцентиль по методу ближайшего ранга.
+         */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0;
+
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+}
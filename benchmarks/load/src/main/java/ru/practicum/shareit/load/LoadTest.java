@@ -0,0 +1,131 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест ShareIt: воспроизводит смесь вызовов gateway с заданной частотой
+ * и выводит перцентили задержек по каждому вызову.
+ * <p>
+ * Нагрузка открытая: запросы отправляются по расписанию ({@code rps} в секунду) независимо
+ * от того, ответил ли сервер на предыдущие, а задержка отсчитывается от запланированного
+ * момента отправки. Поэтому замедление сервера отражается в перцентилях, а не уменьшает
+ * количество запросов. Каждый запрос выполняется в отдельном виртуальном потоке.
+ * </p>
+ * <p>
+ * Перед запуском базу нужно заполнить скриптом {@code benchmarks/sql/load-test-dataset.sql}
+ * и перезапустить server; скрипт {@code benchmarks/load/run-load-test.sh} поднимает приложение
+ * из {@code compose.yaml}, заполняет базу и запускает тест. Пример:
+ * {@code java -jar benchmarks/load/target/load-test.jar --rps=300 --duration=120s --items=100000}
+ * </p>
+ *
+ * @see LoadTestConfig
+ * @see Workload
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    /**
+     * Запускает нагрузочный тест.
+     *
+     * @param args параметры вида {@code --name=value} (см. {@link LoadTestConfig})
+     * @throws IOException если не удалось записать отчет
+     */
+    public static void main(String[] args) throws IOException {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Workload workload = new Workload(config, new ObjectMapper());
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        System.out.printf("Load test: %s, %d rps, warmup %s, duration %s, seed %d%n",
+                config.gateway(), config.rps(), config.warmup(), config.duration(), config.seed());
+
+        long interval = 1_000_000_000L / config.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        int maxInFlight = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .connectTimeout(config.timeout())
+                     .executor(executor)
+                     .build()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) break;
+
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Workload.Call call = workload.next();
+                boolean measured = scheduled >= measureFrom;
+                maxInFlight = Math.max(maxInFlight, inFlight.incrementAndGet());
+                executor.execute(() -> {
+                    int status = 0;
+                    try {
+                        HttpResponse<String> response = client.send(call.request(),
+                                HttpResponse.BodyHandlers.ofString());
+                        status = response.statusCode();
+                        workload.onResponse(call, response);
+                    } catch (IOException e) {
+                        status = 0;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        if (measured) {
+                            recorder.record(call.endpoint(), System.nanoTime() - scheduled, status);
+                        }
+                    }
+                });
+            }
+        }
+
+        List<LatencyRecorder.EndpointStats> stats = recorder.stats();
+        printReport(System.out, stats, config, maxInFlight);
+        if (config.report() != null) {
+            writeCsv(config, stats);
+        }
+    }
+
+    private static void printReport(PrintStream out, List<LatencyRecorder.EndpointStats> stats,
+                                    LoadTestConfig config, int maxInFlight) {
+        long total = stats.stream().mapToLong(LatencyRecorder.EndpointStats::count).sum();
+        out.printf(Locale.ROOT, "%nMeasured %d requests (%.1f rps), max in flight %d%n",
+                total, total / (config.duration().toMillis() / 1000.0), maxInFlight);
+        out.printf(Locale.ROOT, "%-22s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "count", "2xx", "4xx", "5xx", "fail", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyRecorder.EndpointStats s : stats) {
+            out.printf(Locale.ROOT, "%-22s %8d %8d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint().label(), s.count(), s.success(), s.clientErrors(), s.serverErrors(),
+                    s.failures(), s.p50(), s.p90(), s.p99(), s.p999(), s.max());
+        }
+    }
+
+    private static void writeCsv(LoadTestConfig config, List<LatencyRecorder.EndpointStats> stats)
+            throws IOException {
+        StringBuilder csv = new StringBuilder("endpoint,count,2xx,4xx,5xx,fail,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        for (LatencyRecorder.EndpointStats s : stats) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    s.endpoint().label(), s.count(), s.success(), s.clientErrors(), s.serverErrors(),
+                    s.failures(), s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+        }
+        Files.writeString(config.report(), csv);
+        System.out.println("Report written to " + config.report());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Параметры нагрузочного теста.
+ * <p>
+ * Задаются аргументами командной строки вида {@code --name=value}. Размеры набора данных
+ * ({@code users}, {@code items}, {@code zipf}) должны совпадать со значениями, с которыми
+ * выполнялся {@code benchmarks/sql/load-test-dataset.sql}.
+ * </p>
+ *
+ * @param gateway  базовый URL gateway
+ * @param rps      целевое количество запросов в секунду
+ * @param warmup   длительность прогрева (результаты не учитываются)
+ * @param duration длительность измерения
+ * @param timeout  таймаут одного запроса
+ * @param users    количество пользователей в наборе данных
+ * @param items    количество вещей в наборе данных
+ * @param zipf     показатель распределения Ципфа для популярности вещей
+ * @param seed     зерно генератора сценария (одинаковое зерно дает одинаковую последовательность вызовов)
+ * @param report   путь к CSV-файлу с результатами (может быть {@code null})
+ */
+record LoadTestConfig(
+        URI gateway,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        int users,
+        int items,
+        double zipf,
+        long seed,
+        Path report) {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "gateway", "http://localhost:8080",
+            "rps", "200",
+            "warmup", "10s",
+            "duration", "60s",
+            "timeout", "10s",
+            "users", "10000",
+            "items", "100000",
+            "zipf", "1.1",
+            "seed", "42");
+
+    private static final Set<String> OPTIONAL = Set.of("report");
+
+    /**
+     * Разбирает аргументы командной строки.
+     *
+     * @param args аргументы вида {@code --name=value}
+     * @return параметры теста (незаданные параметры принимают значения по умолчанию)
+     * @throws IllegalArgumentException если аргумент не распознан или значение некорректно
+     */
+    static LoadTestConfig parse(String... args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(name) && !OPTIONAL.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(values.get("gateway")),
+                Integer.parseInt(values.get("rps")),
+                parseDuration(values.get("warmup")),
+                parseDuration(values.get("duration")),
+                parseDuration(values.get("timeout")),
+                Integer.parseInt(values.get("users")),
+                Integer.parseInt(values.get("items")),
+                Double.parseDouble(values.get("zipf")),
+                Long.parseLong(values.get("seed")),
+                values.containsKey("report") ? Path.of(values.get("report")) : null);
+        if (config.rps <= 0 || config.users < 2 || config.items < 1 || config.zipf <= 0) {
+            throw new IllegalArgumentException("rps and items must be positive, users >= 2, zipf > 0");
+        }
+        return config;
+    }
+
+    /**
+     * Разбирает длительность в формате {@code 500ms}, {@code 30s}, {@code 5m} или ISO-8601.
+     *
+     * @param value строковое значение
+     * @return длительность
+     */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Генератор сценария нагрузки: выбирает следующий вызов gateway и его параметры.
+ * <p>
+ * Вызовы выбираются по весам {@link Endpoint}, вещи — по распределению Ципфа, как в наборе
+ * данных. Последовательность вызовов определяется зерном генератора. Подтверждаются только
+ * бронирования, созданные во время теста: их идентификаторы берутся из ответов на создание.
+ * Метод {@link #next()} вызывается из одного потока планировщика.
+ * </p>
+ */
+final class Workload {
+
+    private static final List<String> WORDS = List.of(
+            "drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "camera", "tripod", "projector",
+            "speaker", "grill", "mixer", "vacuum", "scooter", "lens", "drone", "guitar", "printer", "router");
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper;
+    private final SplittableRandom random;
+    private final ZipfDistribution items;
+    private final ZipfDistribution words;
+    private final int totalWeight;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    private final Queue<PendingApproval> pendingApprovals = new ConcurrentLinkedQueue<>();
+
+    Workload(LoadTestConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.random = new SplittableRandom(config.seed());
+        this.items = new ZipfDistribution(config.items(), config.zipf());
+        this.words = new ZipfDistribution(WORDS.size(), config.zipf());
+        int weight = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            weight += endpoint.weight();
+        }
+        this.totalWeight = weight;
+    }
+
+    /**
+     * Выбирает следующий вызов.
+     *
+     * @return запланированный вызов
+     */
+    Call next() {
+        return switch (nextEndpoint()) {
+            case SEARCH -> search();
+            case OWNER_ITEMS -> get(Endpoint.OWNER_ITEMS, "/items?expand=bookings", ownerOf(items.sample(random)));
+            case BOOKER_BOOKINGS -> get(Endpoint.BOOKER_BOOKINGS, "/bookings?state=" + state(), randomUser());
+            case OWNER_BOOKINGS -> get(Endpoint.OWNER_BOOKINGS, "/bookings/owner?state=" + state(),
+                    ownerOf(items.sample(random)));
+            case CREATE_BOOKING -> createBooking();
+            case APPROVE_BOOKING -> approveBooking();
+        };
+    }
+
+    /**
+     * Обрабатывает ответ: запоминает созданные бронирования для последующего подтверждения.
+     *
+     * @param call     выполненный вызов
+     * @param response ответ gateway
+     */
+    void onResponse(Call call, HttpResponse<String> response) {
+        if (call.endpoint() != Endpoint.CREATE_BOOKING || response.statusCode() != 201) return;
+
+        try {
+            long bookingId = objectMapper.readTree(response.body()).path("id").asLong();
+            pendingApprovals.add(new PendingApproval(bookingId, call.ownerId()));
+        } catch (JsonProcessingException e) {
+            // Ответ без тела бронирования не участвует в подтверждениях
+        }
+    }
+
+    private Endpoint nextEndpoint() {
+        int point = random.nextInt(totalWeight);
+        for (Endpoint endpoint : Endpoint.values()) {
+            point -= endpoint.weight();
+            if (point < 0) return endpoint;
+        }
+        throw new IllegalStateException("Weights are inconsistent");
+    }
+
+    private Call search() {
+        String path = "/items/search?text=" + WORDS.get(words.sample(random) - 1);
+        if (random.nextInt(3) == 0) {
+            LocalDateTime from = now.plusDays(random.nextInt(1, 90));
+            path += "&from=" + from + "&to=" + from.plusDays(random.nextInt(1, 8));
+        }
+        return get(Endpoint.SEARCH, path, randomUser());
+    }
+
+    private Call createBooking() {
+        int itemId = items.sample(random);
+        long ownerId = ownerOf(itemId);
+        long bookerId = 1 + (ownerId + random.nextInt(config.users() - 1)) % config.users();
+        LocalDateTime start = now.plusDays(random.nextInt(1, 730)).plusHours(random.nextInt(24));
+        LocalDateTime end = start.plusDays(random.nextInt(1, 8));
+        String body = "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}";
+        HttpRequest request = request("/bookings", bookerId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return new Call(Endpoint.CREATE_BOOKING, request, ownerId);
+    }
+
+    private Call approveBooking() {
+        PendingApproval pending = pendingApprovals.poll();
+        if (pending == null) return createBooking();
+
+        String path = "/bookings/" + pending.bookingId() + "?approved=" + (random.nextInt(5) != 0);
+        HttpRequest request = request(path, pending.ownerId())
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return new Call(Endpoint.APPROVE_BOOKING, request, pending.ownerId());
+    }
+
+    private Call get(Endpoint endpoint, String path, long userId) {
+        return new Call(endpoint, request(path, userId).GET().build(), userId);
+    }
+
+    private HttpRequest.Builder request(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(config.gateway() + path))
+                .timeout(config.timeout())
+                .header("X-Sharer-User-Id", String.valueOf(userId));
+    }
+
+    private String state() {
+        return STATES.get(random.nextInt(STATES.size()));
+    }
+
+    private long randomUser() {
+        return 1 + random.nextInt(config.users());
+    }
+
+    /**
+     * Владелец вещи в наборе данных {@code load-test-dataset.sql}.
+     *
+     * @param itemId номер вещи
+     * @return идентификатор владельца
+     */
+    private long ownerOf(int itemId) {
+        return 1 + (itemId - 1L) % config.users();
+    }
+
+    /**
+     * Запланированный вызов gateway.
+     *
+     * @param endpoint тип вызова
+     * @param request  HTTP-запрос
+     * @param ownerId  владелец вещи (для создания бронирования) или пользователь запроса
+     */
+    record Call(Endpoint endpoint, HttpRequest request, long ownerId) {
+    }
+
+    private record PendingApproval(long bookingId, long ownerId) {
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * Распределение Ципфа на номерах {@code 1..size}: номер {@code k} выбирается с вероятностью
+ * примерно {@code 1 / k^exponent}.
+ * <p>
+ * Используется обратная функция непрерывного степенного закона — та же формула, что и в
+ * {@code benchmarks/sql/load-test-dataset.sql}, поэтому популярные в нагрузке вещи совпадают
+ * с вещами, у которых больше всего бронирований в наборе данных.
+ * </p>
+ */
+final class ZipfDistribution {
+
+    private final int size;
+    private final double exponent;
+
+    /**
+     * Создает распределение.
+     *
+     * @param size     количество элементов
+     * @param exponent показатель распределения (больше — сильнее перекос в сторону первых номеров)
+     */
+    ZipfDistribution(int size, double exponent) {
+        this.size = size;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Выбирает номер элемента.
+     *
+     * @param random генератор случайных чисел
+     * @return номер от 1 до {@code size}
+     */
+    int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        double rank = exponent == 1
+                ? Math.pow(size + 1, u)
+                : Math.pow((Math.pow(size + 1, 1 - exponent) - 1) * u + 1, 1 / (1 - exponent));
+        return (int) Math.max(1, Math.min(size, Math.floor(rank)));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyRecorderTest {
+
+    @Test
+    void stats_ShouldComputeNearestRankPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int ms = 1000; ms >= 1; ms--) {
+            recorder.record(Endpoint.SEARCH, ms * 1_000_000L, 200);
+        }
+
+        List<LatencyRecorder.EndpointStats> stats = recorder.stats();
+
+        assertEquals(1, stats.size());
+        LatencyRecorder.EndpointStats search = stats.getFirst();
+        assertEquals(Endpoint.SEARCH, search.endpoint());
+        assertEquals(1000, search.count());
+        assertEquals(500.0, search.p50());
+        assertEquals(900.0, search.p90());
+        assertEquals(990.0, search.p99());
+        assertEquals(999.0, search.p999());
+        assertEquals(1000.0, search.max());
+    }
+
+    @Test
+    void record_ShouldClassifyStatuses() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(Endpoint.CREATE_BOOKING, 1_000_000L, 201);
+        recorder.record(Endpoint.CREATE_BOOKING, 1_000_000L, 400);
+        recorder.record(Endpoint.CREATE_BOOKING, 1_000_000L, 404);
+        recorder.record(Endpoint.CREATE_BOOKING, 1_000_000L, 503);
+        recorder.record(Endpoint.CREATE_BOOKING, 1_000_000L, 0);
+
+        LatencyRecorder.EndpointStats stats = recorder.stats().getFirst();
+
+        assertEquals(5, stats.count());
+        assertEquals(1, stats.success());
+        assertEquals(2, stats.clientErrors());
+        assertEquals(1, stats.serverErrors());
+        assertEquals(1, stats.failures());
+    }
+}
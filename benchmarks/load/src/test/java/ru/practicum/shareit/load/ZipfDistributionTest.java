@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sample_ShouldStayInRangeAndFavourFirstRanks() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[101];
+
+        for (int i = 0; i < 100_000; i++) {
+            int rank = zipf.sample(random);
+            assertTrue(rank >= 1 && rank <= 100, "rank out of range: " + rank);
+            counts[rank]++;
+        }
+
+        assertTrue(counts[1] > counts[2]);
+        assertTrue(counts[2] > counts[10]);
+        assertTrue(counts[10] > counts[100]);
+    }
+
+    @Test
+    void sample_WithExponentOne_ShouldStayInRange() {
+        ZipfDistribution zipf = new ZipfDistribution(10, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            int rank = zipf.sample(random);
+            assertTrue(rank >= 1 && rank <= 10, "rank out of range: " + rank);
+        }
+    }
+
+    @Test
+    void sample_WithSameSeed_ShouldBeReproducible() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.2);
+
+        assertArrayEquals(samples(zipf, 7), samples(zipf, 7));
+    }
+
+    private static int[] samples(ZipfDistribution zipf, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] result = new int[100];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = zipf.sample(random);
+        }
+        return result;
+    }
+}
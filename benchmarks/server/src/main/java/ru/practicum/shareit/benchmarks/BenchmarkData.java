@@ -0,0 +1,206 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Генерация сущностей, заглушек репозиториев и сервисов для бенчмарков модуля server.
+ * <p>
+ * Данные детерминированы: одинаковые параметры дают одинаковые наборы сущностей,
+ * поэтому результаты разных запусков сопоставимы.
+ * </p>
+ */
+final class BenchmarkData {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@example.com")
+                .build();
+    }
+
+    static List<ItemRequest> requests(int count, User requestor) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            requests.add(ItemRequest.builder()
+                    .id(id)
+                    .description("Need item " + id)
+                    .requestor(requestor)
+                    .created(NOW.minusDays(id))
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<Item> items(int count, User owner, List<ItemRequest> requests) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("Item " + id)
+                    .description("Description of item " + id)
+                    .available(id % 10 != 0)
+                    .owner(owner)
+                    .request(requests.isEmpty() ? null : requests.get((int) (id % requests.size())))
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Создает подтвержденные бронирования: для каждой вещи половина в прошлом, половина в будущем.
+     *
+     * @param items           вещи
+     * @param bookingsPerItem количество бронирований на вещь
+     * @param booker          арендатор
+     * @return бронирования, перемешанные между вещами, как в выборке из базы данных
+     */
+    static List<Booking> bookings(List<Item> items, int bookingsPerItem, User booker) {
+        List<Booking> bookings = new ArrayList<>(items.size() * bookingsPerItem);
+        long id = 1;
+        for (int round = 0; round < bookingsPerItem; round++) {
+            long offset = round - bookingsPerItem / 2L;
+            for (Item item : items) {
+                LocalDateTime start = NOW.plusDays(offset * 3 + item.getId() % 3);
+                bookings.add(Booking.builder()
+                        .id(id++)
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(booker)
+                        .status(Status.APPROVED)
+                        .build());
+            }
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, User author) {
+        List<Comment> comments = new ArrayList<>(items.size());
+        for (Item item : items) {
+            comments.add(Comment.builder()
+                    .id(item.getId())
+                    .text("Comment for " + item.getName())
+                    .item(item)
+                    .author(author)
+                    .created(NOW.minusHours(item.getId()))
+                    .build());
+        }
+        return comments;
+    }
+
+    /**
+     * Создает сервис через его единственный публичный конструктор, подставляя зависимости по типу.
+     * <p>
+     * Каждый параметр конструктора получает подходящий по типу объект из {@code collaborators};
+     * для остальных параметров-интерфейсов создается заглушка {@link #stub} без заданных результатов,
+     * а параметры-классы, не используемые измеряемым сценарием, остаются {@code null}.
+     * Поэтому добавление новой зависимости в сервис не требует правки бенчмарков.
+     * </p>
+     *
+     * @param type          класс сервиса
+     * @param collaborators зависимости, используемые измеряемым сценарием
+     * @param <T>           тип сервиса
+     * @return сервис
+     * @throws IllegalArgumentException если у класса не один публичный конструктор
+     *                                  или какая-либо зависимость не подошла ни к одному параметру
+     */
+    static <T> T service(Class<T> type, Object... collaborators) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalArgumentException(type.getSimpleName() + " must have a single public constructor");
+        }
+        Class<?>[] parameterTypes = constructors[0].getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        Set<Object> unused = Collections.newSetFromMap(new IdentityHashMap<>());
+        unused.addAll(Arrays.asList(collaborators));
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            args[i] = Arrays.stream(collaborators)
+                    .filter(parameterType::isInstance)
+                    .findFirst()
+                    .orElseGet(() -> parameterType.isInterface() ? stub(parameterType, Map.of()) : null);
+            unused.remove(args[i]);
+        }
+        if (!unused.isEmpty()) {
+            throw new IllegalArgumentException("Unused collaborators for " + type.getSimpleName() + ": " + unused);
+        }
+        try {
+            return type.cast(constructors[0].newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Создает заглушку репозитория, возвращающую заранее подготовленные результаты по имени метода.
+     * <p>
+     * Методы без заданного результата возвращают пустое значение своего типа: пустые
+     * {@link Optional}, коллекцию или поток, ноль для чисел и {@code false} для логических значений.
+     * </p>
+     *
+     * @param type    интерфейс репозитория
+     * @param results результаты вызовов по имени метода
+     * @param <T>     тип репозитория
+     * @return заглушка репозитория
+     */
+    static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> type.getSimpleName() + " stub";
+                        };
+                    }
+                    if (results.containsKey(method.getName())) {
+                        return results.get(method.getName());
+                    }
+                    return emptyValue(method.getReturnType());
+                }));
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        } else if (type.isAssignableFrom(List.class)) {
+            return List.of();
+        } else if (type.isAssignableFrom(Set.class)) {
+            return Set.of();
+        } else if (type == Map.class) {
+            return Map.of();
+        } else if (type == Stream.class) {
+            return Stream.empty();
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type.isPrimitive() && type != void.class) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemExpand;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseWithCommentsDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сборки списка вещей владельца с датами бронирований в {@link ItemServiceImpl#findByUserId}.
+ * <p>
+ * Сервис собирается через {@link BenchmarkData#service}, репозитории заменены заглушками,
+ * возвращающими готовые списки, поэтому измеряется только обработка в памяти: сопоставление
+ * сводок бронирований вещам владельца и преобразование в DTO.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemServiceFindByUserIdBenchmark {
+
+    private static final long OWNER_ID = 1L;
+    private static final Set<ItemExpand> EXPAND_BOOKINGS = EnumSet.of(ItemExpand.BOOKINGS);
+
+    @Param({"100", "1000"})
+    private int items;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(OWNER_ID);
+        List<Item> ownerItems = BenchmarkData.items(items, owner, List.of());
+        List<ItemBookingSummary> summaries = ownerItems.stream()
+                .map(item -> ItemBookingSummary.builder()
+                        .itemId(item.getId())
+                        .lastEnd(BenchmarkData.NOW.minusDays(item.getId() % 7 + 1))
+                        .nextStart(BenchmarkData.NOW.plusDays(item.getId() % 7 + 1))
+                        .approvedCount(10)
+                        .build())
+                .toList();
+
+        List<ItemResponseDto> ownerResponses = ItemMapper.toItemResponseDto(ownerItems);
+
+        itemService = BenchmarkData.service(ItemServiceImpl.class,
+                BenchmarkData.stub(ItemRepository.class, Map.of("findResponsesByOwnerIdAfter", ownerResponses)),
+                BenchmarkData.stub(UserRepository.class, Map.of("findById", Optional.of(owner))),
+                new ItemBookingSummaryTracker(
+                        BenchmarkData.stub(ItemBookingSummaryRepository.class, Map.of("findAllById", summaries)),
+                        BenchmarkData.stub(PlatformTransactionManager.class, Map.of()),
+                        500));
+    }
+
+    @Benchmark
+    public List<ItemResponseWithCommentsDto> findByUserId() {
+        return itemService.findByUserId(OWNER_ID, 0L, items, EXPAND_BOOKINGS);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemSuggester;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Бенчмарк подсказок названий вещей {@link ItemSuggester}.
+ * <p>
+ * Названия составляются из небольших словарей прилагательных и существительных, поэтому
+ * у коротких префиксов тысячи совпадений — худший случай для обхода поддерева, который
+ * подсказки обходят за счет готовых списков лучших названий в узлах. {@code suggest}
+ * измеряет ответ на одно нажатие клавиши, {@code rename} — стоимость инкрементального
+ * обновления при изменении названия вещи.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemSuggesterBenchmark {
+
+    private static final String[] ADJECTIVES = {
+            "power", "electric", "cordless", "hand", "heavy", "mini", "portable", "garden", "camping", "kids"};
+    private static final String[] NOUNS = {
+            "drill", "drum", "dryer", "saw", "sander", "hammer", "ladder", "lamp", "tent", "table",
+            "bike", "board", "boat", "camera", "chair", "grill", "guitar", "mixer", "projector", "speaker"};
+
+    @Param({"10000", "1000000"})
+    private int items;
+
+    @Param({"p", "po", "power d"})
+    private String prefix;
+
+    private ItemSuggester suggester;
+    private long renamed;
+
+    @Setup
+    public void setUp() {
+        List<ItemResponseDto> responses = IntStream.rangeClosed(1, items)
+                .mapToObj(id -> new ItemResponseDto((long) id, name(id), "Description", id % 13 != 0, null))
+                .toList();
+        suggester = new ItemSuggester(
+                BenchmarkData.stub(ItemRepository.class, Map.of("streamAllResponses", responses.stream())),
+                10);
+        suggester.warmUp();
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return suggester.suggest(prefix, 10);
+    }
+
+    @Benchmark
+    public void rename() {
+        long id = renamed % items + 1;
+        String name = name((int) (id + renamed++ % 2));
+        suggester.putAfterCommit(new ItemResponseDto(id, name, "Description", true, null));
+    }
+
+    private static String name(int id) {
+        String name = ADJECTIVES[id % ADJECTIVES.length] + " " + NOUNS[id / ADJECTIVES.length % NOUNS.length];
+        return id % 7 == 0 ? name + " " + id % 1000 : name;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк преобразования списков сущностей в DTO статическими мапперами.
+ * <p>
+ * Измеряет пропускную способность и выделение памяти на один вызов для списков,
+ * которые возвращают endpoints списков вещей, бронирований, комментариев и запросов.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private List<ItemRequestRow> requests;
+    private Map<Long, List<ItemForRequestDto>> itemsByRequestId;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        List<ItemRequest> itemRequests = BenchmarkData.requests(Math.max(1, size / 10), booker);
+        items = BenchmarkData.items(size, owner, itemRequests);
+        bookings = BenchmarkData.bookings(items, 1, booker);
+        comments = BenchmarkData.comments(items, booker);
+        requests = itemRequests.stream()
+                .map(request -> new ItemRequestRow(request.getId(), request.getDescription(),
+                        request.getRequestor().getId(), request.getCreated()))
+                .toList();
+        itemsByRequestId = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemForRequestDto, Collectors.toList())));
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> itemMapper() {
+        return ItemMapper.toItemResponseDto(items);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingMapper() {
+        return BookingMapper.toBookingResponseDto(bookings);
+    }
+
+    @Benchmark
+    public List<CommentRequestDto> commentMapper() {
+        return CommentMapper.toCommentRequestDto(comments);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> itemRequestMapper() {
+        return ItemRequestMapper.toItemRequestResponseDto(requests, itemsByRequestId);
+    }
+}
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.view.BookingView;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк чтения списков сущностями и проекциями в DTO.
+ * <p>
+ * Сравнивает прежнюю загрузку управляемых сущностей с последующим преобразованием мапперами
+ * и проекции репозиториев, выбирающие только колонки DTO: список бронирований арендатора
+ * (проекцией модели чтения {@code booking_view}), текстовый поиск вещей и список запросов с предложенными вещами. Запросы выполняются
+ * через Hibernate и репозитории Spring Data к базе H2 в памяти со схемой {@code schema.sql},
+ * каждый вызов — в отдельной транзакции только для чтения с очисткой контекста
+ * персистентности, как в сервисах. Профилировщик GC показывает выделение памяти на вызов
+ * ({@code gc.alloc.rate.norm}).
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadProjectionBenchmark {
+
+    private static final long BOOKER_ID = 2L;
+    private static final Sort START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private Connection keepAlive;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BookingViewRepository bookingViewRepository;
+    private ItemRepository itemRepository;
+    private ItemRequestRepository itemRequestRepository;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:projection-" + size + ";DB_CLOSE_DELAY=-1";
+        keepAlive = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:/schema.sql'");
+            seed(statement);
+        }
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(ItemRequest.class)
+                .addAnnotatedClass(Item.class)
+                .addAnnotatedClass(Booking.class)
+                .addAnnotatedClass(Comment.class)
+                .addAnnotatedClass(BookingView.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        Session session = entityManager.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        bookingViewRepository = repositoryFactory.getRepository(BookingViewRepository.class);
+        itemRepository = repositoryFactory.getRepository(ItemRepository.class);
+        itemRequestRepository = repositoryFactory.getRepository(ItemRequestRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        entityManager.close();
+        sessionFactory.close();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingsAsEntities() {
+        return inReadOnlyTransaction(() -> BookingMapper.toBookingResponseDto(entityManager.createQuery("""
+                        SELECT b FROM Booking b
+                        JOIN FETCH b.item
+                        JOIN FETCH b.booker
+                        WHERE b.booker.id = :bookerId
+                        ORDER BY b.start DESC
+                        """, Booking.class)
+                .setParameter("bookerId", BOOKER_ID)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingsAsProjection() {
+        return inReadOnlyTransaction(() -> bookingViewRepository.findRowsByBookerId(BOOKER_ID, START_DESC).stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAsEntities() {
+        return inReadOnlyTransaction(() -> ItemMapper.toItemResponseDto(entityManager.createQuery("""
+                        SELECT i FROM Item i
+                        WHERE i.available = true
+                        AND (
+                            lower(i.name) LIKE lower(concat('%', :text, '%'))
+                            OR lower(i.description) LIKE lower(concat('%', :text, '%'))
+                        )
+                        """, Item.class)
+                .setParameter("text", "drill")
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAsProjection() {
+        return inReadOnlyTransaction(() -> itemRepository.search("drill"));
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> requestsAsEntities() {
+        return inReadOnlyTransaction(() -> {
+            Map<Long, List<Item>> itemsByRequestId = entityManager
+                    .createQuery("SELECT i FROM Item i WHERE i.request IS NOT NULL", Item.class)
+                    .getResultList().stream()
+                    .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+            return entityManager
+                    .createQuery("SELECT r FROM ItemRequest r ORDER BY r.created DESC", ItemRequest.class)
+                    .getResultList().stream()
+                    .map(request -> ItemRequestMapper.toItemRequestResponseDto(
+                            request, itemsByRequestId.getOrDefault(request.getId(), List.of())))
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> requestsAsProjection() {
+        return inReadOnlyTransaction(() -> ItemRequestMapper.toItemRequestResponseDto(
+                itemRequestRepository.findAllRows(CREATED_DESC),
+                ItemRequestMapper.groupByRequestId(itemRepository.findForAllRequests())));
+    }
+
+    /**
+     * Выполняет чтение в транзакции и очищает контекст персистентности, как сервис
+     * с {@code @Transactional(readOnly = true)}.
+     */
+    private <T> T inReadOnlyTransaction(Supplier<T> action) {
+        entityManager.getTransaction().begin();
+        try {
+            return action.get();
+        } finally {
+            entityManager.getTransaction().commit();
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Заполняет базу: {@code size} вещей владельца 1, по одному бронированию каждой вещи
+     * у арендатора 2 (и его строка модели чтения) и {@code size / 10} запросов, на каждый из которых создано по десять вещей.
+     */
+    private void seed(Statement statement) throws SQLException {
+        statement.execute("""
+                INSERT INTO users (name, email)
+                SELECT 'User ' || x, 'user' || x || '@example.com' FROM SYSTEM_RANGE(1, 2)
+                """);
+        statement.execute("""
+                INSERT INTO requests (description, requestor_id, created)
+                SELECT 'Need drill ' || x, 2, TIMESTAMP '2030-01-01 12:00:00' - x * INTERVAL '1' HOUR
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(Math.max(1, size / 10)));
+        statement.execute("""
+                INSERT INTO items (name, description, is_available, owner_id, request_id)
+                SELECT 'Drill ' || x, 'Description of drill ' || x, TRUE, 1, 1 + MOD(x, %d)
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(Math.max(1, size / 10), size));
+        statement.execute("""
+                INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+                SELECT TIMESTAMP '2030-01-01 12:00:00' + x * INTERVAL '1' DAY,
+                       TIMESTAMP '2030-01-01 12:00:00' + (x + 1) * INTERVAL '1' DAY,
+                       x, 2, 'APPROVED'
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(size));
+        statement.execute("""
+                INSERT INTO booking_view (booking_id, booker_id, owner_id, item_id, item_name, booker_name,
+                                          booker_email, start_date, end_date, status)
+                SELECT b.booking_id, b.booker_id, i.owner_id, i.item_id, i.name, u.name, u.email,
+                       b.start_date, b.end_date, b.status
+                FROM bookings b
+                JOIN items i ON i.item_id = b.item_id
+                JOIN users u ON u.user_id = b.booker_id
+                """);
+    }
+}
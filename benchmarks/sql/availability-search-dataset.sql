@@ -0,0 +1,72 @@
+-- Генератор набора данных для замера поиска свободных вещей (GET /items/search?text=&from=&to=).
+--
+-- Объем: 100 000 пользователей, 1 000 000 вещей, 10 000 000 бронирований (по 10 на вещь,
+-- ~70% APPROVED). Бронирования вещи идут с шагом в две недели в окне ±20 недель от текущей даты,
+-- поэтому периоды поиска в этом окне отсекают заметную часть кандидатов.
+--
+-- Запуск против базы из compose.yaml (схема и индексы должны быть созданы сервером заранее):
+--   psql -h localhost -p 6541 -U shareit -d shareit -f benchmarks/sql/availability-search-dataset.sql
+--
+-- ВНИМАНИЕ: скрипт удаляет все существующие данные.
+
+\timing on
+
+BEGIN;
+
+TRUNCATE comments, bookings, items, requests, users RESTART IDENTITY CASCADE;
+
+SELECT setseed(0.42);
+
+INSERT INTO users (name, email)
+SELECT 'User ' || g, 'user' || g || '@bench.shareit'
+FROM generate_series(1, 100000) AS g;
+
+INSERT INTO items (name, description, is_available, owner_id)
+SELECT adjectives[1 + g % 10] || ' ' || nouns[1 + (g / 10) % 20] || ' #' || g,
+       'Bench item ' || g || ': ' || adjectives[1 + (g / 200) % 10] || ' ' || nouns[1 + (g * 7) % 20],
+       g % 10 <> 0,
+       1 + g % 100000
+FROM generate_series(1, 1000000) AS g,
+     (SELECT ARRAY ['electric', 'cordless', 'compact', 'heavy', 'folding',
+                    'portable', 'pro', 'mini', 'outdoor', 'vintage'] AS adjectives,
+             ARRAY ['drill', 'saw', 'hammer', 'ladder', 'tent', 'bike', 'kayak', 'camera', 'tripod', 'projector',
+                    'speaker', 'grill', 'mixer', 'vacuum', 'scooter', 'lens', 'drone', 'guitar', 'printer',
+                    'router'] AS nouns) AS dictionary;
+
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+SELECT slot.start_date,
+       slot.start_date + (1 + floor(random() * 5)) * INTERVAL '1 day',
+       slot.item_id,
+       1 + (slot.item_id + 1 + floor(random() * 99998)::int) % 100000,
+       CASE
+           WHEN slot.dice < 0.70 THEN 'APPROVED'
+           WHEN slot.dice < 0.85 THEN 'WAITING'
+           WHEN slot.dice < 0.95 THEN 'REJECTED'
+           ELSE 'CANCELED'
+           END
+FROM (SELECT i                                                                       AS item_id,
+             date_trunc('day', now()) - INTERVAL '20 weeks'
+                 + (k * 14 + floor(random() * 7)) * INTERVAL '1 day'                 AS start_date,
+             random()                                                                AS dice
+      FROM generate_series(1, 1000000) AS i,
+           generate_series(0, 9) AS k) AS slot;
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE items;
+ANALYZE bookings;
+
+-- Контрольный запрос в том виде, в котором его формирует ItemRepository.searchFreeInPeriod.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT i.item_id, i.name, i.description, i.is_available, i.owner_id, i.request_id
+FROM items i
+WHERE i.is_available = true
+  AND (lower(i.name) LIKE lower('%' || 'kayak' || '%')
+    OR lower(i.description) LIKE lower('%' || 'kayak' || '%'))
+  AND NOT EXISTS (SELECT b.booking_id
+                  FROM bookings b
+                  WHERE b.item_id = i.item_id
+                    AND b.status = 'APPROVED'
+                    AND b.start_date < now() + INTERVAL '10 days'
+                    AND b.end_date > now() + INTERVAL '7 days');
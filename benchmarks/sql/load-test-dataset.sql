@@ -0,0 +1,105 @@
+-- Генератор синтетического набора данных для нагрузочного теста (benchmarks/load).
+--
+-- Параметры задаются переменными psql (значения по умолчанию указаны ниже):
+--   users=10000 requests=5000 items=100000 bookings=1000000 comments=200000
+--   years=3   — глубина истории бронирований в годах (плюс год будущих бронирований)
+--   zipf=1.1  — показатель распределения Ципфа для популярности вещей
+--   seed=0.42 — зерно генератора случайных чисел (от -1 до 1)
+--
+-- Популярность вещей распределена по закону Ципфа: вещь с номером k получает бронирования
+-- и комментарии с вероятностью ~ 1 / k^zipf, поэтому небольшая доля вещей собирает большую
+-- часть бронирований, как в реальном каталоге. Владелец вещи вычисляется по ее номеру
+-- (1 + (item_id - 1) % users) — так же его вычисляет нагрузочный тест.
+--
+-- Запуск против базы из compose.yaml (схема и индексы должны быть созданы сервером заранее,
+-- сервер после заполнения нужно перезапустить, чтобы индекс занятости загрузил новые данные,
+-- а модель чтения бронирований booking_view заполнилась по новым бронированиям):
+--   psql -h localhost -p 6541 -U shareit -d shareit -v items=1000000 -v bookings=10000000 \
+--        -f benchmarks/sql/load-test-dataset.sql
+--
+-- ВНИМАНИЕ: скрипт удаляет все существующие данные.
+
+\if :{?users} \else \set users 10000 \endif
+\if :{?requests} \else \set requests 5000 \endif
+\if :{?items} \else \set items 100000 \endif
+\if :{?bookings} \else \set bookings 1000000 \endif
+\if :{?comments} \else \set comments 200000 \endif
+\if :{?years} \else \set years 3 \endif
+\if :{?zipf} \else \set zipf 1.1 \endif
+\if :{?seed} \else \set seed 0.42 \endif
+
+\timing on
+
+BEGIN;
+
+TRUNCATE comments, bookings, items, requests, users, outbox_events RESTART IDENTITY CASCADE;
+
+SELECT setseed(:seed);
+
+-- Номер вещи по закону Ципфа: обратная функция распределения непрерывного степенного закона на [1, items]
+CREATE FUNCTION pg_temp.zipf_item(n INTEGER, s NUMERIC) RETURNS INTEGER AS
+$$
+SELECT least(n, floor(CASE
+                          WHEN s = 1 THEN power(n + 1, random())
+                          ELSE power((power(n + 1, 1 - s) - 1) * random() + 1, 1 / (1 - s))
+    END)::INTEGER)
+$$ LANGUAGE sql VOLATILE;
+
+INSERT INTO users (name, email)
+SELECT 'User ' || g, 'user' || g || '@load.shareit'
+FROM generate_series(1, :users) AS g;
+
+INSERT INTO requests (description, requestor_id, created)
+SELECT 'Looking for ' || nouns[1 + g % 20] || ' #' || g,
+       1 + floor(random() * :users)::INTEGER,
+       now() - random() * (:years * INTERVAL '1 year')
+FROM generate_series(1, :requests) AS g,
+     (SELECT ARRAY ['drill', 'saw', 'hammer', 'ladder', 'tent', 'bike', 'kayak', 'camera', 'tripod', 'projector',
+                    'speaker', 'grill', 'mixer', 'vacuum', 'scooter', 'lens', 'drone', 'guitar', 'printer',
+                    'router'] AS nouns) AS dictionary;
+
+INSERT INTO items (name, description, is_available, owner_id, request_id)
+SELECT adjectives[1 + g % 10] || ' ' || nouns[1 + (g / 10) % 20] || ' #' || g,
+       'Load item ' || g || ': ' || adjectives[1 + (g / 200) % 10] || ' ' || nouns[1 + (g * 7) % 20],
+       g % 10 <> 0,
+       1 + (g - 1) % :users,
+       CASE WHEN g % 5 = 0 THEN 1 + g % :requests END
+FROM generate_series(1, :items) AS g,
+     (SELECT ARRAY ['electric', 'cordless', 'compact', 'heavy', 'folding',
+                    'portable', 'pro', 'mini', 'outdoor', 'vintage'] AS adjectives,
+             ARRAY ['drill', 'saw', 'hammer', 'ladder', 'tent', 'bike', 'kayak', 'camera', 'tripod', 'projector',
+                    'speaker', 'grill', 'mixer', 'vacuum', 'scooter', 'lens', 'drone', 'guitar', 'printer',
+                    'router'] AS nouns) AS dictionary;
+
+-- Бронирования распределены равномерно от :years лет назад до года вперед; арендатор не совпадает с владельцем
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+SELECT b.start_date,
+       b.start_date + (1 + floor(random() * 7)) * INTERVAL '1 day',
+       b.item_id,
+       1 + ((b.item_id - 1) % :users + 1 + floor(random() * (:users - 1))::INTEGER) % :users,
+       CASE
+           WHEN b.start_date > now() AND b.dice < 0.30 THEN 'WAITING'
+           WHEN b.dice < 0.80 THEN 'APPROVED'
+           WHEN b.dice < 0.92 THEN 'REJECTED'
+           ELSE 'CANCELED'
+           END
+FROM (SELECT pg_temp.zipf_item(:items, :zipf)                                   AS item_id,
+             date_trunc('hour', now()) - :years * INTERVAL '1 year'
+                 + random() * ((:years + 1) * INTERVAL '1 year')                AS start_date,
+             random()                                                           AS dice
+      FROM generate_series(1, :bookings)) AS b;
+
+INSERT INTO comments (text, item_id, author_id, created)
+SELECT 'Comment #' || g || ': works as described',
+       pg_temp.zipf_item(:items, :zipf),
+       1 + floor(random() * :users)::INTEGER,
+       now() - random() * (:years * INTERVAL '1 year')
+FROM generate_series(1, :comments) AS g;
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE requests;
+ANALYZE items;
+ANALYZE bookings;
+ANALYZE comments;
@@ -0,0 +1,74 @@
+-- Генератор набора данных для замера статистики вещей владельца (GET /items/stats).
+--
+-- Объем: 1 000 пользователей, владелец №1 с 10 000 вещей и еще 90 000 вещей других владельцев,
+-- по 30 бронирований на вещь (3 000 000 бронирований) во всех статусах и по 5 комментариев
+-- на каждую десятую вещь.
+--
+-- Запуск против базы из compose.yaml (схема и индексы должны быть созданы сервером заранее):
+--   psql -h localhost -p 6541 -U shareit -d shareit -f benchmarks/sql/owner-stats-dataset.sql
+--
+-- ВНИМАНИЕ: скрипт удаляет все существующие данные.
+
+\timing on
+
+BEGIN;
+
+TRUNCATE comments, bookings, items, requests, users, outbox_events RESTART IDENTITY CASCADE;
+
+SELECT setseed(0.42);
+
+INSERT INTO users (name, email)
+SELECT 'User ' || g, 'user' || g || '@stats.shareit'
+FROM generate_series(1, 1000) AS g;
+
+INSERT INTO items (name, description, is_available, owner_id)
+SELECT 'Item #' || g,
+       'Stats item ' || g,
+       true,
+       CASE WHEN g <= 10000 THEN 1 ELSE 2 + g % 999 END
+FROM generate_series(1, 100000) AS g;
+
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+SELECT slot.start_date,
+       slot.start_date + (1 + floor(random() * 5)) * INTERVAL '1 day',
+       slot.item_id,
+       2 + floor(random() * 999)::int,
+       CASE
+           WHEN slot.dice < 0.70 THEN 'APPROVED'
+           WHEN slot.dice < 0.85 THEN 'WAITING'
+           WHEN slot.dice < 0.95 THEN 'REJECTED'
+           ELSE 'CANCELED'
+           END
+FROM (SELECT i                                                                       AS item_id,
+             date_trunc('day', now()) - INTERVAL '40 weeks'
+                 + (k * 14 + floor(random() * 7)) * INTERVAL '1 day'                 AS start_date,
+             random()                                                                AS dice
+      FROM generate_series(1, 100000) AS i,
+           generate_series(0, 29) AS k) AS slot;
+
+INSERT INTO comments (text, item_id, author_id, created)
+SELECT 'Comment ' || c || ' on item ' || i, i, 2 + (i + c) % 999, now()
+FROM generate_series(10, 100000, 10) AS i,
+     generate_series(1, 5) AS c;
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE items;
+ANALYZE bookings;
+ANALYZE comments;
+
+-- Контрольный запрос в том виде, в котором его формирует ItemRepository.aggregateStatsByOwner.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT i.item_id,
+       i.name,
+       b.status,
+       count(b.booking_id),
+       sum(CASE WHEN b.start_date <= now() AND b.end_date > now() THEN 1 ELSE 0 END),
+       sum(extract(EPOCH FROM (b.end_date - b.start_date))),
+       (SELECT count(c.comment_id) FROM comments c WHERE c.item_id = i.item_id)
+FROM items i
+         LEFT JOIN bookings b ON b.item_id = i.item_id
+WHERE i.owner_id = 1
+GROUP BY i.item_id, i.name, b.status
+ORDER BY i.item_id;
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,7 +27,7 @@ import java.util.Map;
  * <p>
  * Реализует все операции, связанные с бронированиями:
  * создание, подтверждение, получение списка бронирований для пользователя
- * и владельца вещей, просмотр конкретного бронирования.
+ * и владельца вещей, просмотр конкретного бронирования, поток изменений бронирований.
  * </p>
  *
  * @see BaseClient
@@ -34,22 +42,57 @@ public class BookingClient extends BaseClient {
      * Создает новый экземпляр клиента бронирований.
      * <p>
      * Конструктор настраивает {@link RestTemplate} с базовым URL сервера,
-     * добавляя префикс "/bookings" ко всем запросам.
+     * добавляя префикс "/bookings" ко всем запросам. Пул соединений рассчитан на
+     * долгоживущие SSE-потоки {@code /bookings/stream}: каждый открытый поток
+     * занимает одно соединение с сервером.
      * </p>
      *
-     * @param serverUrl базовый URL сервера ShareIt (из конфигурации shareit-server.url)
-     * @param builder   строитель для создания RestTemplate
+     * @param serverUrl      базовый URL сервера ShareIt (из конфигурации shareit-server.url)
+     * @param maxConnections максимальное количество соединений с сервером (shareit-server.max-connections)
+     * @param builder        строитель для создания RestTemplate
      */
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.max-connections:10000}") int maxConnections,
+                         RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(
+                                HttpClients.custom()
+                                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                                .setMaxConnTotal(maxConnections)
+                                                .setMaxConnPerRoute(maxConnections)
+                                                .build())
+                                        .build()))
                         .build()
         );
     }
 
+    /**
+     * Открывает поток изменений бронирований пользователя на сервере.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/bookings/stream". Статус и заголовки ответа
+     * сервера получаются сразу, а тело передается клиенту по мере поступления событий:
+     * каждый прочитанный фрагмент немедленно сбрасывается в ответ gateway. Ошибка сервера
+     * (например, 404 для неизвестного пользователя) возвращается клиенту как есть.
+     * </p>
+     *
+     * @param userId      идентификатор пользователя (добавляется в заголовок X-Sharer-User-Id)
+     * @param lastEventId идентификатор последнего полученного события (добавляется в заголовок Last-Event-ID, может быть null)
+     * @return {@link ResponseEntity} с потоком событий сервера
+     * @throws org.springframework.web.client.ResourceAccessException если сервер недоступен
+     */
+    public ResponseEntity<StreamingResponseBody> streamBookings(long userId, @Nullable Long lastEventId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        if (lastEventId != null) {
+            headers.set("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        return stream("/stream", headers);
+    }
+
     /**
      * Получает список бронирований для конкретного пользователя (который бронирует вещи).
      * <p>
@@ -117,6 +160,20 @@ public class BookingClient extends BaseClient {
         return patch(path, ownerId);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца.
+     * <p>
+     * Соответствует PATCH-запросу к эндпоинту "/bookings/approve" с решениями в теле запроса.
+     * </p>
+     *
+     * @param ownerId   идентификатор владельца вещей
+     * @param decisions решения по бронированиям
+     * @return {@link ResponseEntity} с обновленными бронированиями
+     */
+    public ResponseEntity<Object> approveBookings(long ownerId, List<BookingDecisionDto> decisions) {
+        return patch("/approve", ownerId, decisions);
+    }
+
     /**
      * Получает список бронирований для всех вещей конкретного владельца.
      * <p>
@@ -138,4 +195,30 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    /**
+     * Получает количество бронирований пользователя (арендатора) по каждому состоянию.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/bookings/counts".
+     * </p>
+     *
+     * @param userId идентификатор пользователя-арендатора
+     * @return {@link ResponseEntity} с количеством бронирований по состояниям
+     */
+    public ResponseEntity<Object> getBookingCountsByBooker(long userId) {
+        return get("/counts", userId);
+    }
+
+    /**
+     * Получает количество бронирований вещей владельца по каждому состоянию.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/bookings/owner/counts".
+     * </p>
+     *
+     * @param userId идентификатор владельца вещей
+     * @return {@link ResponseEntity} с количеством бронирований по состояниям
+     */
+    public ResponseEntity<Object> getBookingCountsByOwner(long userId) {
+        return get("/owner/counts", userId);
+    }
 }
\ No newline at end of file
@@ -1,18 +1,24 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.State;
 
+import java.util.List;
+
 /**
  * Контроллер для обработки HTTP-запросов, связанных с бронированиями, в модуле gateway.
  * <p>
@@ -30,6 +36,8 @@ import ru.practicum.shareit.booking.dto.State;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_DECISIONS = 100;
+
     private final BookingClient bookingClient;
 
     /**
@@ -70,6 +78,31 @@ public class BookingController {
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца за один запрос.
+     * <p>
+     * HTTP метод: PATCH /bookings/approve
+     * В пакете допускается не более {@value #MAX_BATCH_DECISIONS} решений, каждое бронирование —
+     * не более одного раза. Решения применяются на сервере в одной транзакции.
+     * </p>
+     *
+     * @param ownerId   идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @param decisions решения по бронированиям (из тела запроса)
+     * @return {@link ResponseEntity} с обновленными бронированиями
+     * @throws IllegalArgumentException если бронирование указано в пакете несколько раз
+     */
+    @PatchMapping("/approve")
+    public ResponseEntity<Object> approveBookings(
+            @RequestHeader("X-Sharer-User-Id") @NotNull @Positive Long ownerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_DECISIONS) List<@NotNull @Valid BookingDecisionDto> decisions) {
+        log.info("Updating {} bookings by owner {}", decisions.size(), ownerId);
+        long distinct = decisions.stream().map(BookingDecisionDto::bookingId).distinct().count();
+        if (distinct != decisions.size()) {
+            throw new IllegalArgumentException("Duplicated booking ids in batch");
+        }
+        return bookingClient.approveBookings(ownerId, decisions);
+    }
+
     /**
      * Получает информацию о конкретном бронировании по его идентификатору.
      * <p>
@@ -139,4 +172,59 @@ public class BookingController {
         log.info("Getting bookings by ownerId {} and state {}", ownerId, state);
         return bookingClient.getBookingsByOwner(ownerId, state, from, size);
     }
-}
\ No newline at end of file
+
+    /**
+     * Получает количество бронирований пользователя (арендатора) по каждому состоянию.
+     * <p>
+     * HTTP метод: GET /bookings/counts
+     * </p>
+     *
+     * @param bookerId идентификатор пользователя-арендатора (из заголовка X-Sharer-User-Id)
+     * @return {@link ResponseEntity} с количеством бронирований по состояниям
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<Object> getBookingCountsByBooker(
+            @RequestHeader("X-Sharer-User-Id") @NotNull @Positive Long bookerId) {
+        log.info("Getting booking counts by booker {}", bookerId);
+        return bookingClient.getBookingCountsByBooker(bookerId);
+    }
+
+    /**
+     * Получает количество бронирований вещей владельца по каждому состоянию.
+     * <p>
+     * HTTP метод: GET /bookings/owner/counts
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @return {@link ResponseEntity} с количеством бронирований по состояниям
+     */
+    @GetMapping("/owner/counts")
+    public ResponseEntity<Object> getBookingCountsByOwner(
+            @RequestHeader("X-Sharer-User-Id") @NotNull @Positive Long ownerId) {
+        log.info("Getting booking counts by owner {}", ownerId);
+        return bookingClient.getBookingCountsByOwner(ownerId);
+    }
+
+    /**
+     * Открывает поток изменений бронирований пользователя (Server-Sent Events).
+     * <p>
+     * HTTP метод: GET /bookings/stream
+     * </p>
+     * <p>
+     * Поток сервера передается клиенту без буферизации. Ожидающее соединение обслуживается
+     * виртуальным потоком (spring.threads.virtual.enabled), поэтому тысячи простаивающих
+     * подписчиков не расходуют пул потоков платформы.
+     * </p>
+     *
+     * @param userId      идентификатор пользователя (из заголовка X-Sharer-User-Id)
+     * @param lastEventId идентификатор последнего полученного события (из заголовка Last-Event-ID, необязательный)
+     * @return {@link ResponseEntity} с потоком событий в формате text/event-stream
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamBookings(
+            @RequestHeader("X-Sharer-User-Id") @NotNull @Positive Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) @PositiveOrZero Long lastEventId) {
+        log.info("Subscribing to booking updates, userId={}, lastEventId={}", userId, lastEventId);
+        return bookingClient.streamBookings(userId, lastEventId);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+/**
+ * DTO решения владельца по одному бронированию в пакетном подтверждении в модуле gateway.
+ * <p>
+ * Используется в теле запроса {@code PATCH /bookings/approve}. Включает аннотации валидации
+ * для проверки решений на уровне шлюза перед отправкой запроса на сервер.
+ * </p>
+ *
+ * @param bookingId идентификатор бронирования
+ * @param approved  флаг подтверждения: {@code true} - подтвердить, {@code false} - отклонить
+ */
+public record BookingDecisionDto(
+        @NotNull(message = "Id бронирования должно быть указано")
+        @Positive(message = "Id бронирования должно быть положительным")
+        Long bookingId,
+
+        @NotNull(message = "Решение по бронированию должно быть указано")
+        Boolean approved
+) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public BookingDecisionDto {
+    }
+}
\ No newline at end of file
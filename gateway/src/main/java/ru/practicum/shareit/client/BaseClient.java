@@ -1,12 +1,20 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Базовый клиент для выполнения HTTP-запросов к серверу ShareIt.
@@ -19,6 +27,8 @@ import java.util.Map;
  * @see RestTemplate
  */
 public class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     protected final RestTemplate rest;
 
     /**
@@ -212,6 +222,82 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Формирует значение query-параметра со списком идентификаторов через запятую.
+     *
+     * @param ids идентификаторы
+     * @return строка вида {@code 1,2,3}
+     */
+    protected static String joinIds(Collection<Long> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Выполняет GET-запрос выгрузки в формате NDJSON и передает ее клиенту потоком.
+     *
+     * @param path путь к ресурсу выгрузки
+     * @return {@link ResponseEntity} с телом, копирующим выгрузку сервера
+     * @see #stream(String, HttpHeaders)
+     */
+    protected ResponseEntity<StreamingResponseBody> streamNdjson(String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return stream(path, headers);
+    }
+
+    /**
+     * Выполняет GET-запрос по указанному пути и передает тело ответа сервера клиенту потоком.
+     * <p>
+     * Статус и заголовки ответа сервера получаются сразу, а тело не буферизуется ни в памяти,
+     * ни в {@link RestTemplate}: каждый прочитанный фрагмент немедленно записывается и сбрасывается
+     * в ответ gateway. Подходит для долгоживущих потоков событий и выгрузок любого размера.
+     * Ошибка сервера (например, 404) возвращается клиенту как есть.
+     * </p>
+     *
+     * @param path    путь к ресурсу
+     * @param headers заголовки запроса к серверу (Accept, X-Sharer-User-Id и т.д.)
+     * @return {@link ResponseEntity} с телом, копирующим ответ сервера
+     * @throws ResourceAccessException если сервер недоступен
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, HttpHeaders headers) {
+        ClientHttpResponse response;
+        HttpStatusCode status;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().addAll(headers);
+            response = request.execute();
+            status = response.getStatusCode();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for " + path + ": " + e.getMessage(), e);
+        }
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(response.getHeaders().getContentType());
+        if (!status.is2xxSuccessful()) {
+            try (response) {
+                byte[] body = response.getBody().readAllBytes();
+                return ResponseEntity.status(status).headers(responseHeaders).body(out -> out.write(body));
+            } catch (IOException e) {
+                return ResponseEntity.status(status).headers(responseHeaders).build();
+            }
+        }
+
+        responseHeaders.setCacheControl(CacheControl.noStore());
+        return ResponseEntity.ok().headers(responseHeaders).body(out -> {
+            try (response; InputStream in = response.getBody()) {
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            }
+        });
+    }
+
     /**
      * Создает и отправляет HTTP-запрос к серверу ShareIt.
      * <p>
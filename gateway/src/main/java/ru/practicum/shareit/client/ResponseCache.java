@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Кэш успешных ответов сервера ShareIt в памяти gateway.
+ * <p>
+ * Время жизни записи задает сам сервер заголовком {@code Cache-Control: public, max-age=N}:
+ * ответы без {@code max-age}, с {@code private}, {@code no-store} или {@code no-cache}, а также
+ * неуспешные ответы не кэшируются. Количество записей ограничено; при превышении вытесняются
+ * давно не использованные (LRU).
+ * </p>
+ * <p>
+ * Одновременные промахи по одному ключу могут выполнить несколько запросов к серверу —
+ * для коротких дешевых запросов это проще и дешевле, чем ожидание чужой загрузки.
+ * </p>
+ * <p>
+ * {@link #clear()} начинает новое поколение кэша: ответ, загрузка которого началась до очистки,
+ * возвращается вызывающему, но не сохраняется, поскольку мог быть прочитан до изменения данных.
+ * </p>
+ *
+ * @see BaseClient
+ */
+public class ResponseCache {
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Pattern NOT_SHARED = Pattern.compile("private|no-store|no-cache");
+
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries;
+    private long generation;
+
+    /**
+     * Создает кэш ответов.
+     *
+     * @param maxEntries наибольшее количество записей
+     */
+    public ResponseCache(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    ResponseCache(int maxEntries, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Возвращает закэшированный ответ или выполняет запрос и кэширует его результат.
+     *
+     * @param key    ключ запроса (путь и параметры)
+     * @param loader выполнение запроса к серверу
+     * @return ответ сервера
+     */
+    public ResponseEntity<Object> get(String key, Supplier<ResponseEntity<Object>> loader) {
+        long now = nanoClock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt() < 0) {
+                return entry.response();
+            }
+            loadGeneration = generation;
+        }
+
+        ResponseEntity<Object> response = loader.get();
+        long maxAge = maxAgeSeconds(response);
+        if (maxAge > 0) {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry(response, now + TimeUnit.SECONDS.toNanos(maxAge)));
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Удаляет все записи и начинает новое поколение: ответы, загружаемые в этот момент,
+     * не будут сохранены.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Возвращает количество записей.
+     *
+     * @return количество записей, включая устаревшие
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static long maxAgeSeconds(ResponseEntity<Object> response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+        if (!response.getStatusCode().is2xxSuccessful() || cacheControl == null
+                || NOT_SHARED.matcher(cacheControl).find()) {
+            return 0;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private record Entry(ResponseEntity<Object> response, long expiresAt) {
+    }
+}
@@ -7,13 +7,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentCreateOrUpdateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemExpand;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Клиент для взаимодействия с сервисом вещей на сервере ShareIt.
@@ -21,9 +29,11 @@ import java.util.Map;
  * Реализует все операции, связанные с вещами и комментариями:
  * создание, обновление, получение списка вещей владельца,
  * получение конкретной вещи, поиск вещей по тексту и добавление комментариев.
+ * Ответы подсказок названий кэшируются в {@link ResponseCache} на время, заданное сервером.
  * </p>
  *
  * @see BaseClient
+ * @see ResponseCache
  * @see ItemCreateDto
  * @see ItemUpdateDto
  * @see CommentCreateOrUpdateDto
@@ -32,6 +42,8 @@ import java.util.Map;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache suggestCache;
+
     /**
      * Создает новый экземпляр клиента вещей.
      * <p>
@@ -39,23 +51,28 @@ public class ItemClient extends BaseClient {
      * добавляя префикс "/items" ко всем запросам.
      * </p>
      *
-     * @param serverUrl базовый URL сервера ShareIt (из конфигурации shareit-server.url)
-     * @param builder   строитель для создания RestTemplate
+     * @param serverUrl        базовый URL сервера ShareIt (из конфигурации shareit-server.url)
+     * @param builder          строитель для создания RestTemplate
+     * @param suggestCacheSize наибольшее количество закэшированных ответов подсказок
+     *                         (из конфигурации shareit-server.suggest-cache-size)
      */
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      @Value("${shareit-server.suggest-cache-size:10000}") int suggestCacheSize) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
+        this.suggestCache = new ResponseCache(suggestCacheSize);
     }
 
     /**
      * Добавляет новую вещь.
      * <p>
-     * Соответствует POST-запросу к эндпоинту "/items".
+     * Соответствует POST-запросу к эндпоинту "/items". После успешного создания кэш подсказок
+     * названий очищается.
      * </p>
      *
      * @param userId идентификатор владельца вещи (добавляется в заголовок X-Sharer-User-Id)
@@ -63,13 +80,14 @@ public class ItemClient extends BaseClient {
      * @return {@link ResponseEntity} с созданной вещью
      */
     public ResponseEntity<Object> addItem(long userId, ItemCreateDto dto) {
-        return post("", userId, dto);
+        return invalidateSuggestionsOnSuccess(post("", userId, dto));
     }
 
     /**
      * Обновляет существующую вещь.
      * <p>
-     * Соответствует PATCH-запросу к эндпоинту "/items/{itemId}".
+     * Соответствует PATCH-запросу к эндпоинту "/items/{itemId}". После успешного обновления кэш
+     * подсказок названий очищается.
      * </p>
      *
      * @param userId идентификатор владельца вещи (должен совпадать с владельцем)
@@ -78,20 +96,86 @@ public class ItemClient extends BaseClient {
      * @return {@link ResponseEntity} с обновленной вещью
      */
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemUpdateDto dto) {
-        return patch("/" + itemId, userId, dto);
+        return invalidateSuggestionsOnSuccess(patch("/" + itemId, userId, dto));
+    }
+
+    /**
+     * Очищает кэш подсказок названий.
+     * <p>
+     * Вызывается после изменений, удаляющих вещи косвенно (например, удаления пользователя
+     * вместе с его вещами). Ответы подсказок, загружаемые в этот момент, не сохраняются.
+     * </p>
+     */
+    public void invalidateSuggestions() {
+        suggestCache.clear();
     }
 
     /**
-     * Получает список всех вещей конкретного владельца.
+     * Получает страницу вещей конкретного владельца.
      * <p>
-     * Соответствует GET-запросу к эндпоинту "/items".
+     * Соответствует GET-запросу к эндпоинту "/items?after={after}&size={size}[&expand={expand}]".
+     * Параметр expand передается, только если запрошена хотя бы одна дополнительная часть ответа.
      * </p>
      *
      * @param userId идентификатор владельца вещей
-     * @return {@link ResponseEntity} со списком вещей владельца
+     * @param after  идентификатор последней вещи предыдущей страницы
+     * @param size   количество вещей на странице
+     * @param expand дополнительные части ответа
+     * @return {@link ResponseEntity} со страницей вещей владельца
+     */
+    public ResponseEntity<Object> getItemsByOwner(long userId, long after, int size, Set<ItemExpand> expand) {
+        if (expand.isEmpty()) {
+            return get("?after={after}&size={size}", userId, Map.of("after", after, "size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size,
+                "expand", expand.stream().map(Enum::name).sorted().collect(Collectors.joining(","))
+        );
+        return get("?after={after}&size={size}&expand={expand}", userId, parameters);
+    }
+
+    /**
+     * Получает статистику бронирований и комментариев по всем вещам владельца.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/stats".
+     * </p>
+     *
+     * @param userId идентификатор владельца вещей
+     * @return {@link ResponseEntity} со статистикой вещей владельца и заголовком Cache-Control сервера
+     */
+    public ResponseEntity<Object> getItemStats(long userId) {
+        return get("/stats", userId);
+    }
+
+    /**
+     * Выгружает все вещи в формате NDJSON.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/export". Тело ответа сервера передается
+     * клиенту по мере чтения, не накапливаясь в памяти gateway.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки сервера
      */
-    public ResponseEntity<Object> getItemsByOwner(long userId) {
-        return get("", userId);
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        return streamNdjson("/export");
+    }
+
+    /**
+     * Получает вещи по списку идентификаторов одним запросом к серверу.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items?ids={ids}". Сервер возвращает объект,
+     * ключи которого — идентификаторы, с отметкой {@code found} для каждого.
+     * </p>
+     *
+     * @param ids идентификаторы вещей
+     * @return {@link ResponseEntity} с вещами, сгруппированными по идентификатору
+     */
+    public ResponseEntity<Object> getItemsByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", joinIds(ids)
+        );
+        return get("?ids={ids}", null, parameters);
     }
 
     /**
@@ -125,6 +209,90 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}", null, parameters);
     }
 
+    /**
+     * Выполняет поиск вещей по тексту, свободных в течение всего указанного периода.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/search?text={text}&from={from}&to={to}".
+     * </p>
+     *
+     * @param text текст для поиска (может быть пустым, тогда вернется пустой список)
+     * @param from начало периода
+     * @param to   окончание периода
+     * @return {@link ResponseEntity} со списком найденных вещей
+     */
+    public ResponseEntity<Object> searchItems(String text, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "to", to
+        );
+        return get("/search?text={text}&from={from}&to={to}", null, parameters);
+    }
+
+    /**
+     * Получает подсказки названий доступных вещей по префиксу.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/suggest?prefix={prefix}&size={size}".
+     * Префикс приводится к нижнему регистру без пробелов по краям, поэтому одинаковые
+     * по смыслу запросы обслуживаются одной записью кэша, пока не истечет {@code max-age}
+     * ответа сервера.
+     * </p>
+     *
+     * @param prefix префикс названия
+     * @param size   наибольшее количество названий
+     * @return {@link ResponseEntity} со списком названий
+     */
+    public ResponseEntity<Object> suggestItemNames(String prefix, int size) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        Map<String, Object> parameters = Map.of(
+                "prefix", normalized,
+                "size", size
+        );
+        return suggestCache.get(size + ":" + normalized,
+                () -> get("/suggest?prefix={prefix}&size={size}", null, parameters));
+    }
+
+    /**
+     * Получает занятость вещи в заданном периоде.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/{itemId}/availability?from={from}&to={to}".
+     * </p>
+     *
+     * @param itemId идентификатор вещи
+     * @param from   начало периода
+     * @param to     окончание периода
+     * @return {@link ResponseEntity} с признаком доступности вещи и занятыми периодами
+     */
+    public ResponseEntity<Object> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    /**
+     * Получает страницу комментариев к вещи от новых к старым.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/items/{itemId}/comments?size={size}[&after={after}]".
+     * </p>
+     *
+     * @param itemId идентификатор вещи
+     * @param after  идентификатор последнего комментария предыдущей страницы ({@code null} — первая страница)
+     * @param size   количество комментариев на странице
+     * @return {@link ResponseEntity} со страницей комментариев и курсором следующей страницы
+     */
+    public ResponseEntity<Object> getComments(long itemId, Long after, int size) {
+        if (after == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?after={after}&size={size}", null, parameters);
+    }
+
     /**
      * Добавляет комментарий к вещи от пользователя, который её арендовал.
      * <p>
@@ -140,4 +308,11 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> addComment(long authorId, long itemId, CommentCreateOrUpdateDto dto) {
         return post("/" + itemId + "/comment", authorId, dto);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<Object> invalidateSuggestionsOnSuccess(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            suggestCache.clear();
+        }
+        return response;
+    }
+}
@@ -1,18 +1,30 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.CommentCreateOrUpdateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemExpand;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Контроллер для обработки HTTP-запросов, связанных с вещами и комментариями, в модуле gateway.
  * <p>
@@ -31,6 +43,11 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 @Slf4j
 @Validated
 public class ItemController {
+    private static final int MAX_BATCH_IDS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGEST_SIZE = 10;
+    private static final int MAX_PREFIX_LENGTH = 255;
+
     private final ItemClient itemClient;
 
     /**
@@ -74,20 +91,87 @@ public class ItemController {
     }
 
     /**
-     * Получает список всех вещей конкретного владельца.
+     * Получает страницу вещей конкретного владельца.
      * <p>
-     * HTTP метод: GET /items
+     * HTTP метод: GET /items?after={after}&size={size}&expand={expand}
+     * Страницы выбираются по ключу: следующая страница запрашивается с {@code after}, равным
+     * идентификатору последней вещи предыдущей. Даты бронирований и комментарии добавляются,
+     * только если перечислены в {@code expand} (bookings, comments).
      * </p>
      *
-     * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
-     * @return {@link ResponseEntity} со списком вещей владельца
+     * @param ownerId     идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @param after       идентификатор последней вещи предыдущей страницы (по умолчанию 0)
+     * @param size        количество вещей на странице (по умолчанию 10, не более {@value #MAX_PAGE_SIZE})
+     * @param expandParam дополнительные части ответа через запятую (по умолчанию не запрашиваются)
+     * @return {@link ResponseEntity} со страницей вещей владельца
+     * @throws IllegalArgumentException если передана неизвестная часть ответа в expandParam
      */
     @GetMapping
     public ResponseEntity<Object> getItemsByOwner(
+            @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long ownerId,
+            @PositiveOrZero @RequestParam(name = "after", defaultValue = "0") Long after,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "expand", defaultValue = "") List<String> expandParam
+    ) {
+        Set<ItemExpand> expand = EnumSet.noneOf(ItemExpand.class);
+        for (String value : expandParam) {
+            expand.add(ItemExpand.from(value.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown expand: " + value)));
+        }
+        log.info("Retrieving items by owner: {}, after={}, size={}, expand={}", ownerId, after, size, expand);
+        return itemClient.getItemsByOwner(ownerId, after, size, expand);
+    }
+
+    /**
+     * Получает вещи по списку идентификаторов.
+     * <p>
+     * HTTP метод: GET /items?ids={id},{id},...
+     * Заменяет серию запросов {@code GET /items/{itemId}} одним запросом к серверу и возвращает
+     * базовую информацию о вещах. Отсутствующая вещь отмечается {@code "found": false},
+     * а не ошибкой для всего пакета.
+     * </p>
+     *
+     * @param ids идентификаторы вещей (не более 100)
+     * @return {@link ResponseEntity} с вещами, сгруппированными по идентификатору
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getItemsByIds(
+            @RequestParam("ids") @NotEmpty @Size(max = MAX_BATCH_IDS) List<@NotNull @Positive Long> ids) {
+        log.info("Retrieving items by ids: {}", ids);
+        return itemClient.getItemsByIds(ids);
+    }
+
+    /**
+     * Получает статистику бронирований и комментариев по всем вещам владельца.
+     * <p>
+     * HTTP метод: GET /items/stats
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @return {@link ResponseEntity} со статистикой вещей владельца
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getItemStats(
             @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long ownerId
     ) {
-        log.info("Retrieving items by owner: {}", ownerId);
-        return itemClient.getItemsByOwner(ownerId);
+        log.info("Retrieving item stats by owner: {}", ownerId);
+        return itemClient.getItemStats(ownerId);
+    }
+
+    /**
+     * Выгружает все вещи.
+     * <p>
+     * HTTP метод: GET /items/export
+     * Ответ в формате NDJSON ({@code application/x-ndjson}) передается от сервера без буферизации,
+     * поэтому расход памяти gateway не зависит от размера выгрузки.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        log.info("Exporting all items");
+        return itemClient.exportItems();
     }
 
     /**
@@ -109,20 +193,103 @@ public class ItemController {
         return itemClient.getItemById(userId, itemId);
     }
 
+    /**
+     * Получает страницу комментариев к вещи.
+     * <p>
+     * HTTP метод: GET /items/{itemId}/comments?after={after}&size={size}
+     * Комментарии упорядочены от новых к старым; курсор {@code after} берется из карточки вещи
+     * ({@code commentsCursor}) или из предыдущей страницы ({@code cursor}).
+     * </p>
+     *
+     * @param itemId идентификатор вещи (из пути запроса)
+     * @param after  идентификатор последнего комментария предыдущей страницы (необязательный query-параметр)
+     * @param size   количество комментариев на странице (по умолчанию 10, не больше 100)
+     * @return {@link ResponseEntity} со страницей комментариев и курсором следующей страницы
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(
+            @PathVariable @Positive Long itemId,
+            @RequestParam(name = "after", required = false) @Positive Long after,
+            @RequestParam(name = "size", defaultValue = "10") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        log.info("Retrieving comments of item {}, after={}, size={}", itemId, after, size);
+        return itemClient.getComments(itemId, after, size);
+    }
+
     /**
      * Выполняет поиск вещей по тексту в названии или описании.
      * <p>
-     * HTTP метод: GET /items/search?text={text}
+     * HTTP метод: GET /items/search?text={text}[&from={from}&to={to}]
      * Поиск доступен только для доступных вещей (available = true).
+     * Если указан период, возвращаются только вещи, свободные в течение всего периода;
+     * параметры {@code from} и {@code to} передаются только вместе.
      * </p>
      *
      * @param text текст для поиска (из query-параметра)
+     * @param from начало периода (необязательный query-параметр, ISO-8601)
+     * @param to   окончание периода (необязательный query-параметр, ISO-8601)
      * @return {@link ResponseEntity} со списком найденных вещей
+     * @throws IllegalArgumentException если указан только один конец периода
+     *                                  или начало периода не раньше его окончания
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String text) {
-        log.info("Searching items by text: {}", text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(
+            @RequestParam("text") String text,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from == null && to == null) {
+            log.info("Searching items by text: {}", text);
+            return itemClient.searchItems(text);
+        }
+        log.info("Searching items by text: {}, free from {} to {}", text, from, to);
+        validatePeriod(from, to);
+        return itemClient.searchItems(text, from, to);
+    }
+
+    /**
+     * Получает подсказки названий доступных вещей по введенному префиксу.
+     * <p>
+     * HTTP метод: GET /items/suggest?prefix={prefix}&size={size}
+     * Вызывается на каждое нажатие клавиши, поэтому для пустого префикса ответ формируется
+     * без запроса к серверу, а остальные ответы кэшируются в {@link ItemClient}.
+     * </p>
+     *
+     * @param prefix префикс названия (из query-параметра)
+     * @param size   наибольшее количество названий (по умолчанию 10)
+     * @return {@link ResponseEntity} со списком названий
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(
+            @RequestParam("prefix") @Size(max = MAX_PREFIX_LENGTH) String prefix,
+            @RequestParam(name = "size", defaultValue = "10") @Positive @Max(MAX_SUGGEST_SIZE) Integer size) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return itemClient.suggestItemNames(prefix, size);
+    }
+
+    /**
+     * Получает занятость вещи в заданном периоде.
+     * <p>
+     * HTTP метод: GET /items/{itemId}/availability?from={from}&to={to}
+     * Начало периода должно быть раньше его окончания.
+     * </p>
+     *
+     * @param itemId идентификатор вещи (из пути запроса)
+     * @param from   начало периода (из query-параметра, ISO-8601)
+     * @param to     окончание периода (из query-параметра, ISO-8601)
+     * @return {@link ResponseEntity} с признаком доступности вещи и занятыми периодами
+     * @throws IllegalArgumentException если начало периода не раньше его окончания
+     */
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @PathVariable @Positive Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Retrieving availability of item {} from {} to {}", itemId, from, to);
+        validatePeriod(from, to);
+        return itemClient.getItemAvailability(itemId, from, to);
     }
 
     /**
@@ -146,4 +313,17 @@ public class ItemController {
 
         return itemClient.addComment(authorId, itemId, dto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Проверяет, что оба конца периода заданы и начало периода раньше его окончания.
+     *
+     * @param from начало периода
+     * @param to   окончание периода
+     * @throws IllegalArgumentException если период задан некорректно
+     */
+    private void validatePeriod(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Period start must be before its end: " + from + " - " + to);
+        }
+    }
+}
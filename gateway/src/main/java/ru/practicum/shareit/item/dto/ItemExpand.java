@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+/**
+ * Перечисление дополнительных частей ответа списка вещей владельца.
+ * <p>
+ * Используется в API в параметре {@code expand} запроса {@code GET /items}: сервер вычисляет
+ * даты бронирований и комментарии только для запрошенных частей.
+ * </p>
+ */
+public enum ItemExpand {
+    /**
+     * Комментарии к вещам страницы.
+     */
+    COMMENTS,
+
+    /**
+     * Даты последнего и следующего подтвержденных бронирований вещей страницы.
+     */
+    BOOKINGS;
+
+    /**
+     * Преобразует строковое представление части ответа в значение перечисления {@link ItemExpand}.
+     * <p>
+     * Сравнение происходит без учета регистра.
+     * </p>
+     *
+     * @param stringExpand строковое представление части ответа (например, "comments", "BOOKINGS")
+     * @return {@link Optional}, содержащий {@link ItemExpand}, если строка соответствует одному из значений перечисления;
+     *         пустой {@link Optional}, если соответствий не найдено
+     */
+    public static Optional<ItemExpand> from(String stringExpand) {
+        for (ItemExpand expand : values()) {
+            if (expand.name().equalsIgnoreCase(stringExpand)) {
+                return Optional.of(expand);
+            }
+        }
+        return Optional.empty();
+    }
+}
\ No newline at end of file
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.util.List;
+
 /**
  * Контроллер для обработки HTTP-запросов, связанных с запросами вещей, в модуле gateway.
  * <p>
@@ -27,6 +32,9 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 @Slf4j
 @Validated
 public class ItemRequestController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TEXT_LENGTH = 512;
+
     private final RequestClient requestClient;
 
     /**
@@ -64,6 +72,32 @@ public class ItemRequestController {
         return requestClient.getRequestsByUserId(userId);
     }
 
+    /**
+     * Находит запросы по словам описания.
+     * <p>
+     * HTTP метод: GET /requests/search?text={text}[&after={after}]&size={size}
+     * Запросы упорядочены от новых к старым; следующая страница запрашивается с идентификатором
+     * последнего запроса предыдущей страницы в {@code after}. Для пустого текста ответ
+     * формируется без запроса к серверу.
+     * </p>
+     *
+     * @param text  текст для поиска (из query-параметра)
+     * @param after идентификатор последнего запроса предыдущей страницы (необязательный query-параметр)
+     * @param size  количество запросов на странице (по умолчанию 10, не больше 100)
+     * @return {@link ResponseEntity} со страницей найденных запросов
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchRequests(
+            @RequestParam("text") @Size(max = MAX_TEXT_LENGTH) String text,
+            @RequestParam(name = "after", required = false) @Positive Long after,
+            @RequestParam(name = "size", defaultValue = "10") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        log.info("Searching requests by text: {}, after={}, size={}", text, after, size);
+        if (text.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return requestClient.searchRequests(text, after, size);
+    }
+
     /**
      * Получает информацию о конкретном запросе по его идентификатору.
      * <p>
@@ -94,4 +128,20 @@ public class ItemRequestController {
         log.info("Get all requests");
         return requestClient.getAllRequests();
     }
+
+    /**
+     * Выгружает все запросы с предложенными вещами.
+     * <p>
+     * HTTP метод: GET /requests/export
+     * Ответ в формате NDJSON ({@code application/x-ndjson}) передается от сервера без буферизации,
+     * поэтому расход памяти gateway не зависит от размера выгрузки.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRequests() {
+        log.info("Exporting all requests");
+        return requestClient.exportRequests();
+    }
 }
\ No newline at end of file
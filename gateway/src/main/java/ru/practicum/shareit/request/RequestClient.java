@@ -6,16 +6,19 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.util.Map;
+
 /**
  * Клиент для взаимодействия с сервисом запросов вещей на сервере ShareIt.
  * <p>
  * Реализует все операции, связанные с запросами вещей:
  * создание запроса, получение запросов конкретного пользователя,
- * получение конкретного запроса по ID, получение всех запросов.
+ * получение конкретного запроса по ID, получение всех запросов, поиск запросов.
  * </p>
  *
  * @see BaseClient
@@ -98,4 +101,40 @@ public class RequestClient extends BaseClient {
     public ResponseEntity<Object> getAllRequests() {
         return get("/all");
     }
+
+    /**
+     * Находит запросы по словам описания.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/requests/search?text={text}&size={size}[&after={after}]".
+     * </p>
+     *
+     * @param text  текст для поиска
+     * @param after идентификатор последнего запроса предыдущей страницы ({@code null} — первая страница)
+     * @param size  количество запросов на странице
+     * @return {@link ResponseEntity} со страницей найденных запросов
+     */
+    public ResponseEntity<Object> searchRequests(String text, Long after, int size) {
+        if (after == null) {
+            return get("/search?text={text}&size={size}", null, Map.of("text", text, "size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "after", after,
+                "size", size
+        );
+        return get("/search?text={text}&after={after}&size={size}", null, parameters);
+    }
+
+    /**
+     * Выгружает все запросы с предложенными вещами в формате NDJSON.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/requests/export". Тело ответа сервера передается
+     * клиенту по мере чтения, не накапливаясь в памяти gateway.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки сервера
+     */
+    public ResponseEntity<StreamingResponseBody> exportRequests() {
+        return streamNdjson("/export");
+    }
 }
\ No newline at end of file
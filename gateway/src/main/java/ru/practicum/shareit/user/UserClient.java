@@ -7,11 +7,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Клиент для взаимодействия с сервисом пользователей на сервере ShareIt.
  * <p>
@@ -88,6 +92,36 @@ public class UserClient extends BaseClient {
         return get("");
     }
 
+    /**
+     * Выгружает всех пользователей в формате NDJSON.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/users/export". Тело ответа сервера передается
+     * клиенту по мере чтения, не накапливаясь в памяти gateway.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки сервера
+     */
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return streamNdjson("/export");
+    }
+
+    /**
+     * Получает пользователей по списку идентификаторов одним запросом к серверу.
+     * <p>
+     * Соответствует GET-запросу к эндпоинту "/users?ids={ids}". Сервер возвращает объект,
+     * ключи которого — идентификаторы, с отметкой {@code found} для каждого.
+     * </p>
+     *
+     * @param ids идентификаторы пользователей
+     * @return {@link ResponseEntity} с пользователями, сгруппированными по идентификатору
+     */
+    public ResponseEntity<Object> getUsersByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", joinIds(ids)
+        );
+        return get("?ids={ids}", null, parameters);
+    }
+
     /**
      * Получает информацию о конкретном пользователе по его идентификатору.
      * <p>
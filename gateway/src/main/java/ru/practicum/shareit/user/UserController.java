@@ -1,16 +1,23 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.util.List;
+
 /**
  * Контроллер для обработки HTTP-запросов, связанных с пользователями, в модуле gateway.
  * <p>
@@ -19,6 +26,7 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
  * </p>
  *
  * @see UserClient
+ * @see ItemClient
  * @see UserCreateDto
  * @see UserUpdateDto
  */
@@ -28,7 +36,10 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 @Slf4j
 @Validated
 public class UserController {
+    private static final int MAX_BATCH_IDS = 100;
+
     private final UserClient userClient;
+    private final ItemClient itemClient;
 
     /**
      * Создает нового пользователя.
@@ -77,6 +88,40 @@ public class UserController {
         return userClient.getAllUsers();
     }
 
+    /**
+     * Получает пользователей по списку идентификаторов.
+     * <p>
+     * HTTP метод: GET /users?ids={id},{id},...
+     * Заменяет серию запросов {@code GET /users/{id}} одним запросом к серверу. Отсутствующий
+     * пользователь отмечается {@code "found": false}, а не ошибкой для всего пакета.
+     * </p>
+     *
+     * @param ids идентификаторы пользователей (не более 100)
+     * @return {@link ResponseEntity} с пользователями, сгруппированными по идентификатору
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getUsersByIds(
+            @RequestParam("ids") @NotEmpty @Size(max = MAX_BATCH_IDS) List<@NotNull @Positive Long> ids) {
+        log.info("Getting users by ids: {}", ids);
+        return userClient.getUsersByIds(ids);
+    }
+
+    /**
+     * Выгружает всех пользователей.
+     * <p>
+     * HTTP метод: GET /users/export
+     * Ответ в формате NDJSON ({@code application/x-ndjson}) передается от сервера без буферизации,
+     * поэтому расход памяти gateway не зависит от размера выгрузки.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с потоком выгрузки
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Exporting all users");
+        return userClient.exportUsers();
+    }
+
     /**
      * Получает информацию о конкретном пользователе по его идентификатору.
      * <p>
@@ -96,6 +141,8 @@ public class UserController {
      * Удаляет пользователя по его идентификатору.
      * <p>
      * HTTP метод: DELETE /users/{id}
+     * Вместе с пользователем сервер удаляет его вещи, поэтому после успешного удаления
+     * кэш подсказок названий вещей очищается.
      * </p>
      *
      * @param id идентификатор пользователя для удаления (из пути запроса)
@@ -104,6 +151,10 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteUserById(@PathVariable @Positive Long id) {
         log.info("Deleting user: {}", id);
-        return userClient.deleteUserById(id);
+        ResponseEntity<Object> response = userClient.deleteUserById(id);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            itemClient.invalidateSuggestions();
+        }
+        return response;
     }
 }
\ No newline at end of file
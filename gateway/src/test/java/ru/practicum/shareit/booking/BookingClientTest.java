@@ -10,9 +10,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.State;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -126,6 +130,22 @@ class BookingClientTest {
         assertNotNull(response);
     }
 
+    @Test
+    void approveBookings_shouldSendDecisionsInBody() {
+        mockServer.expect(requestTo(baseUrl + "/approve"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(ownerId)))
+                .andExpect(content().json("[{\"bookingId\":1,\"approved\":true},{\"bookingId\":2,\"approved\":false}]"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        var response = bookingClient.approveBookings(ownerId, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false)));
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
     @Test
     void getBookingsByOwner_shouldMakeCorrectRequest() {
         State state = State.FUTURE;
@@ -144,6 +164,24 @@ class BookingClientTest {
         assertNotNull(response);
     }
 
+    @Test
+    void getBookingCounts_shouldMakeCorrectRequests() {
+        mockServer.expect(requestTo(baseUrl + "/counts"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(baseUrl + "/owner/counts"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        bookingClient.getBookingCountsByBooker(userId);
+        var response = bookingClient.getBookingCountsByOwner(userId);
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
     @Test
     void getBookingsByOwner_withWaitingState_shouldEncodeCorrectly() {
         State state = State.WAITING;
@@ -206,4 +244,41 @@ class BookingClientTest {
             mockServer.reset();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamBookings_shouldForwardHeadersAndStreamBody() throws Exception {
+        String events = "id:5\nevent:BOOKING_APPROVED\ndata:{\"id\":1}\n\n";
+        mockServer.expect(requestTo(baseUrl + "/stream"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andExpect(header("Last-Event-ID", "4"))
+                .andRespond(withSuccess(events, MediaType.TEXT_EVENT_STREAM));
+
+        var response = bookingClient.streamBookings(userId, 4L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        mockServer.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertEquals(events, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamBookings_shouldReturnServerError() throws Exception {
+        String error = "{\"error\":\"User with id 1 not found\"}";
+        mockServer.expect(requestTo(baseUrl + "/stream"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error));
+
+        var response = bookingClient.streamBookings(userId, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        mockServer.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(error, out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -9,14 +9,21 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.State;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -129,6 +136,57 @@ class BookingControllerTest {
         verify(bookingClient, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    void approveBookings_shouldReturnOk() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+        when(bookingClient.approveBookings(anyLong(), anyList())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).approveBookings(ownerId, decisions);
+    }
+
+    @Test
+    void approveBookings_withInvalidDecision_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":0,\"approved\":true},{\"bookingId\":2}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).approveBookings(anyLong(), anyList());
+    }
+
+    @Test
+    void approveBookings_withDuplicatedBooking_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":1,\"approved\":true},{\"bookingId\":1,\"approved\":false}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).approveBookings(anyLong(), anyList());
+    }
+
+    @Test
+    void approveBookings_withTooManyDecisions_shouldReturnBadRequest() throws Exception {
+        List<BookingDecisionDto> decisions = LongStream.rangeClosed(1, 101)
+                .mapToObj(id -> new BookingDecisionDto(id, true))
+                .toList();
+
+        mockMvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).approveBookings(anyLong(), anyList());
+    }
+
     @Test
     void getBookingById_shouldReturnOk() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
@@ -224,6 +282,17 @@ class BookingControllerTest {
         verify(bookingClient).getBookingsByOwner(eq(ownerId), eq(State.CURRENT), eq(5), eq(20));
     }
 
+    @Test
+    void getBookingCountsByOwner_shouldReturnOk() throws Exception {
+        when(bookingClient.getBookingCountsByOwner(anyLong())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getBookingCountsByOwner(eq(ownerId));
+    }
+
     @Test
     void getBookingsByOwnerAndState_withDefaultParams_shouldReturnOk() throws Exception {
         when(bookingClient.getBookingsByOwner(anyLong(), any(State.class), anyInt(), anyInt()))
@@ -256,4 +325,32 @@ class BookingControllerTest {
 
         verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(State.class), anyInt(), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamBookings_shouldStreamServerEvents() throws Exception {
+        String events = "id:5\nevent:BOOKING_APPROVED\ndata:{}\n\n";
+        when(bookingClient.streamBookings(userId, 4L))
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(out -> out.write(events.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", userId)
+                        .header("Last-Event-ID", 4L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(events));
+    }
+
+    @Test
+    void streamBookings_withInvalidUserId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", -1L))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).streamBookings(anyLong(), any());
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(10, clock::get);
+
+    @Test
+    void get_shouldServeCachedResponseUntilMaxAgeExpires() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", () -> cacheable("value" + loads.incrementAndGet()));
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        ResponseEntity<Object> cached = cache.get("key", () -> cacheable("value" + loads.incrementAndGet()));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        ResponseEntity<Object> reloaded = cache.get("key", () -> cacheable("value" + loads.incrementAndGet()));
+
+        assertEquals("value1", cached.getBody());
+        assertEquals("value2", reloaded.getBody());
+    }
+
+    @Test
+    void get_shouldNotStoreResponseLoadedBeforeClear() {
+        ResponseEntity<Object> stale = cache.get("key", () -> {
+            cache.clear();
+            return cacheable("stale");
+        });
+        ResponseEntity<Object> fresh = cache.get("key", () -> cacheable("fresh"));
+
+        assertEquals("stale", stale.getBody());
+        assertEquals("fresh", fresh.getBody());
+        assertEquals(1, cache.size());
+    }
+
+    private static ResponseEntity<Object> cacheable(Object body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(10)).cachePublic())
+                .body(body);
+    }
+}
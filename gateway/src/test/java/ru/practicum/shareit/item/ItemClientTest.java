@@ -5,14 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import ru.practicum.shareit.item.dto.CommentCreateOrUpdateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemExpand;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -90,17 +99,106 @@ class ItemClientTest {
 
     @Test
     void getItemsByOwner_shouldMakeCorrectGetRequest() {
-        mockServer.expect(requestTo(baseUrl))
+        mockServer.expect(requestTo(baseUrl + "?after=0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andRespond(withSuccess("[{}]", MediaType.APPLICATION_JSON));
+
+        var response = itemClient.getItemsByOwner(userId, 0, 10, Set.of());
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
+    @Test
+    void getItemsByOwner_withExpand_shouldForwardExpandParameter() {
+        mockServer.expect(requestTo(baseUrl + "?after=20&size=5&expand=BOOKINGS%2CCOMMENTS"))
                 .andExpect(method(HttpMethod.GET))
                 .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
                 .andRespond(withSuccess("[{}]", MediaType.APPLICATION_JSON));
 
-        var response = itemClient.getItemsByOwner(userId);
+        var response = itemClient.getItemsByOwner(userId, 20, 5, EnumSet.allOf(ItemExpand.class));
 
         mockServer.verify();
         assertNotNull(response);
     }
 
+    @Test
+    void getItemStats_shouldMakeCorrectGetRequest() {
+        mockServer.expect(requestTo(baseUrl + "/stats"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
+                .andRespond(withSuccess("[{\"itemId\": 1}]", MediaType.APPLICATION_JSON));
+
+        var response = itemClient.getItemStats(userId);
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
+    @Test
+    void suggestItemNames_shouldServeRepeatedPrefixFromCache() {
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + "/suggest?prefix=dr&size=5"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[\"Drill\"]", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=10, public"));
+
+        itemClient.suggestItemNames("Dr", 5);
+        var response = itemClient.suggestItemNames(" dr ", 5);
+
+        mockServer.verify();
+        assertEquals(List.of("Drill"), response.getBody());
+    }
+
+    @Test
+    void addItem_shouldClearSuggestCacheAfterSuccessfulWrite() {
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + "/suggest?prefix=dr&size=5"))
+                .andRespond(withSuccess("[\"Drill\"]", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=10, public"));
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\": 2}", MediaType.APPLICATION_JSON));
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + "/suggest?prefix=dr&size=5"))
+                .andRespond(withSuccess("[\"Drill\", \"Drill press\"]", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=10, public"));
+
+        itemClient.suggestItemNames("dr", 5);
+        itemClient.addItem(userId, itemCreateDto);
+        var response = itemClient.suggestItemNames("dr", 5);
+
+        mockServer.verify();
+        assertEquals(List.of("Drill", "Drill press"), response.getBody());
+    }
+
+    @Test
+    void updateItem_shouldKeepSuggestCache_whenWriteFails() {
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + "/suggest?prefix=dr&size=5"))
+                .andRespond(withSuccess("[\"Drill\"]", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=10, public"));
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + "/" + itemId))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        itemClient.suggestItemNames("dr", 5);
+        itemClient.updateItem(userId, itemId, itemUpdateDto);
+        var response = itemClient.suggestItemNames("dr", 5);
+
+        mockServer.verify();
+        assertEquals(List.of("Drill"), response.getBody());
+    }
+
+    @Test
+    void suggestItemNames_shouldNotCacheResponseWithoutMaxAge() {
+        mockServer.expect(ExpectedCount.twice(), requestTo(baseUrl + "/suggest?prefix=sa&size=3"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[\"Saw\"]", MediaType.APPLICATION_JSON));
+
+        itemClient.suggestItemNames("sa", 3);
+        itemClient.suggestItemNames("sa", 3);
+
+        mockServer.verify();
+    }
+
     @Test
     void getItemById_shouldMakeCorrectGetRequest() {
         String expectedUrl = baseUrl + "/" + itemId;
@@ -131,6 +229,55 @@ class ItemClientTest {
         assertNotNull(response);
     }
 
+    @Test
+    void getItemAvailability_shouldMakeCorrectGetRequest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0, 0);
+        String expectedUrl = baseUrl + "/" + itemId + "/availability"
+                             + "?from=2030-01-01T10%3A00&to=2030-01-02T10%3A00";
+
+        mockServer.expect(requestTo(expectedUrl))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"itemId\": 1, \"available\": true}", MediaType.APPLICATION_JSON));
+
+        var response = itemClient.getItemAvailability(itemId, from, to);
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
+    @Test
+    void getComments_shouldMakeCorrectGetRequest() {
+        mockServer.expect(requestTo(baseUrl + "/" + itemId + "/comments?size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"comments\": [], \"cursor\": null}", MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(baseUrl + "/" + itemId + "/comments?after=5&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"comments\": [], \"cursor\": null}", MediaType.APPLICATION_JSON));
+
+        itemClient.getComments(itemId, null, 10);
+        var response = itemClient.getComments(itemId, 5L, 10);
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
+    @Test
+    void searchItems_withPeriod_shouldMakeCorrectGetRequest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0, 0);
+        String expectedUrl = baseUrl + "/search?text=test&from=2030-01-01T10%3A00&to=2030-01-02T10%3A00";
+
+        mockServer.expect(requestTo(expectedUrl))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{}]", MediaType.APPLICATION_JSON));
+
+        var response = itemClient.searchItems("test", from, to);
+
+        mockServer.verify();
+        assertNotNull(response);
+    }
+
     @Test
     void searchItems_withEmptyText_shouldMakeCorrectRequest() {
         String searchText = "";
@@ -208,12 +355,12 @@ class ItemClientTest {
 
     @Test
     void whenServerReturnsServerError_shouldHandle500Response() {
-        mockServer.expect(requestTo(baseUrl))
+        mockServer.expect(requestTo(baseUrl + "?after=0&size=10"))
                 .andExpect(method(HttpMethod.GET))
                 .andExpect(header("X-Sharer-User-Id", String.valueOf(userId)))
                 .andRespond(withServerError());
 
-        var response = itemClient.getItemsByOwner(userId);
+        var response = itemClient.getItemsByOwner(userId, 0, 10, Set.of());
 
         mockServer.verify();
         assertNotNull(response);
@@ -241,4 +388,18 @@ class ItemClientTest {
         mockServer.verify();
         assertNotNull(response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemsByIds_shouldSendIdsInOneGetRequest() {
+        mockServer.expect(requestTo(baseUrl + "?ids=1%2C5%2C3"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withSuccess("{\"1\":{\"found\":true,\"value\":{}},\"5\":{\"found\":false}}",
+                        MediaType.APPLICATION_JSON));
+
+        var response = itemClient.getItemsByIds(List.of(1L, 5L, 3L));
+
+        mockServer.verify();
+        assertNotNull(response.getBody());
+    }
+}
@@ -11,8 +11,12 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentCreateOrUpdateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemExpand;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -145,26 +149,86 @@ class ItemControllerTest {
 
     @Test
     void getItemsByOwner_shouldReturnOk() throws Exception {
-        when(itemClient.getItemsByOwner(anyLong()))
+        when(itemClient.getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk());
 
-        verify(itemClient).getItemsByOwner(eq(userId));
+        verify(itemClient).getItemsByOwner(userId, 0L, 10, EnumSet.noneOf(ItemExpand.class));
+    }
+
+    @Test
+    void getItemsByOwner_withPagingAndExpand_shouldForwardParams() throws Exception {
+        when(itemClient.getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", "15")
+                        .param("size", "20")
+                        .param("expand", "comments,Bookings"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItemsByOwner(userId, 15L, 20, EnumSet.allOf(ItemExpand.class));
+    }
+
+    @Test
+    void getItemsByOwner_withInvalidPaging_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet());
+    }
+
+    @Test
+    void getItemsByOwner_withUnknownExpand_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("expand", "owner"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet());
     }
 
     @Test
     void getItemsByOwner_withInvalidUserId_shouldReturnBadRequest() throws Exception {
-        when(itemClient.getItemsByOwner(anyLong()))
+        when(itemClient.getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 0))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).getItemsByOwner(eq(userId));
+        verify(itemClient, never()).getItemsByOwner(anyLong(), anyLong(), anyInt(), anySet());
+    }
+
+    @Test
+    void getItemStats_shouldReturnOk() throws Exception {
+        when(itemClient.getItemStats(anyLong()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/stats")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItemStats(eq(userId));
+    }
+
+    @Test
+    void getItemStats_withInvalidUserId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/stats")
+                        .header("X-Sharer-User-Id", 0))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getItemStats(anyLong());
     }
 
     @Test
@@ -215,6 +279,108 @@ class ItemControllerTest {
         verify(itemClient).searchItems(eq("test"));
     }
 
+    @Test
+    void suggestItemNames_shouldReturnOk() throws Exception {
+        when(itemClient.suggestItemNames(anyString(), anyInt())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "dr"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).suggestItemNames(eq("dr"), eq(10));
+    }
+
+    @Test
+    void suggestItemNames_withBlankPrefix_shouldNotCallServer() throws Exception {
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", " "))
+                .andExpect(status().isOk());
+
+        verify(itemClient, never()).suggestItemNames(anyString(), anyInt());
+    }
+
+    @Test
+    void suggestItemNames_withTooLargeSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "dr")
+                        .param("size", "11"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).suggestItemNames(anyString(), anyInt());
+    }
+
+    @Test
+    void getComments_shouldReturnOk() throws Exception {
+        when(itemClient.getComments(anyLong(), any(), anyInt())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/{itemId}/comments", itemId)
+                        .param("after", "5"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getComments(eq(itemId), eq(5L), eq(10));
+    }
+
+    @Test
+    void getComments_withTooLargeSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/comments", itemId)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getComments(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void getItemAvailability_shouldReturnOk() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0, 0);
+        when(itemClient.getItemAvailability(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItemAvailability(eq(itemId), eq(from), eq(to));
+    }
+
+    @Test
+    void getItemAvailability_withInvertedPeriod_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("from", "2030-01-02T10:00:00")
+                        .param("to", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getItemAvailability(anyLong(), any(), any());
+    }
+
+    @Test
+    void searchItems_withPeriod_shouldReturnOk() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0, 0);
+        when(itemClient.searchItems(anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "test")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk());
+
+        verify(itemClient).searchItems(eq("test"), eq(from), eq(to));
+    }
+
+    @Test
+    void searchItems_withOnlyPeriodStart_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "test")
+                        .param("from", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchItems(anyString(), any(), any());
+        verify(itemClient, never()).searchItems(anyString());
+    }
+
     @Test
     void addComment_shouldReturnOk() throws Exception {
         when(itemClient.addComment(anyLong(), anyLong(), any(CommentCreateOrUpdateDto.class)))
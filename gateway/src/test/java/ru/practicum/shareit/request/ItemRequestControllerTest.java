@@ -154,4 +154,37 @@ class ItemRequestControllerTest {
 
         verify(requestClient).getAllRequests();
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchRequests_shouldReturnOk() throws Exception {
+        when(requestClient.searchRequests("drill", 5L, 20))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/requests/search")
+                        .param("text", "drill")
+                        .param("after", "5")
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+
+        verify(requestClient).searchRequests("drill", 5L, 20);
+    }
+
+    @Test
+    void searchRequests_withBlankText_shouldNotCallServer() throws Exception {
+        mockMvc.perform(get("/requests/search")
+                        .param("text", " "))
+                .andExpect(status().isOk());
+
+        verify(requestClient, never()).searchRequests(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void searchRequests_withInvalidSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/search")
+                        .param("text", "drill")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(requestClient, never()).searchRequests(anyString(), any(), anyInt());
+    }
+}
@@ -65,6 +65,21 @@ class RequestClientTest {
         assertNotNull(response);
     }
 
+    @Test
+    void searchRequests_shouldPassAfterOnlyForNextPages() {
+        mockServer.expect(requestTo(baseUrl + "/search?text=power%20drill&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{}]", MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(baseUrl + "/search?text=drill&after=5&size=2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertNotNull(requestClient.searchRequests("power drill", null, 10));
+        assertNotNull(requestClient.searchRequests("drill", 5L, 2));
+
+        mockServer.verify();
+    }
+
     @Test
     void getRequestsById_shouldMakeCorrectGetRequest() {
         String expectedUrl = baseUrl + "/" + requestId;
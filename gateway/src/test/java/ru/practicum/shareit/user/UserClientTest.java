@@ -12,6 +12,10 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -233,4 +237,22 @@ class UserClientTest {
         mockServer.verify();
         assertNotNull(response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportUsers_shouldRequestNdjsonAndStreamBody() throws Exception {
+        String users = "{\"id\":1,\"name\":\"John\"}\n{\"id\":2,\"name\":\"Jane\"}\n";
+        mockServer.expect(requestTo(baseUrl + "/export"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("Accept", MediaType.APPLICATION_NDJSON_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess(users, MediaType.APPLICATION_NDJSON));
+
+        var response = userClient.exportUsers();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        mockServer.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(users, out.toString(StandardCharsets.UTF_8));
+    }
+}
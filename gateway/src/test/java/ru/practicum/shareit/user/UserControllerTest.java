@@ -9,12 +9,21 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -26,6 +35,9 @@ class UserControllerTest {
     @MockitoBean
     private UserClient userClient;
 
+    @MockitoBean
+    private ItemClient itemClient;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -141,6 +153,68 @@ class UserControllerTest {
                 .andExpect(status().isOk());
 
         verify(userClient).deleteUserById(eq(userId));
+        verify(itemClient).invalidateSuggestions();
+    }
+
+    @Test
+    void deleteUserById_shouldKeepSuggestions_whenServerFails() throws Exception {
+        when(userClient.deleteUserById(anyLong()))
+                .thenReturn(ResponseEntity.notFound().build());
+
+        mockMvc.perform(delete("/users/{userId}", userId))
+                .andExpect(status().isNotFound());
+
+        verify(itemClient, never()).invalidateSuggestions();
+    }
+
+
+    @Test
+    void exportUsers_shouldStreamServerExport() throws Exception {
+        String users = "{\"id\":1}\n{\"id\":2}\n";
+        when(userClient.exportUsers())
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(out -> out.write(users.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(users));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getUsersByIds_shouldReturnOk() throws Exception {
+        when(userClient.getUsersByIds(anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/users").param("ids", "1,2,3"))
+                .andExpect(status().isOk());
+
+        verify(userClient).getUsersByIds(List.of(1L, 2L, 3L));
+        verify(userClient, never()).getAllUsers();
+    }
+
+    @Test
+    void getUsersByIds_withTooManyIds_shouldReturnBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/users").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).getUsersByIds(anyList());
+    }
+
+    @Test
+    void getUsersByIds_withInvalidId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("ids", "1,0"))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).getUsersByIds(anyList());
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Главный класс приложения ShareIt Server.
@@ -21,9 +22,15 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * напрямую клиентам, только через модуль {@code gateway}.
  * </p>
  *
+ * <p>
+ * Планировщик задач включен для периодической ретрансляции событий из outbox
+ * ({@link ru.practicum.shareit.outbox.OutboxRelay}).
+ * </p>
+ *
  * @see org.springframework.boot.autoconfigure.SpringBootApplication
  */
 @SpringBootApplication
+@EnableScheduling
 public class ShareItServer {
 
     /**
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Результат пакетного чтения для одного идентификатора.
+ * <p>
+ * Используется в ответах {@code GET /items?ids=} и {@code GET /users?ids=}: отсутствующий
+ * объект отмечается записью с {@code found = false} вместо ошибки 404 для всего пакета.
+ * </p>
+ *
+ * @param found {@code true}, если объект с идентификатором существует
+ * @param value найденный объект ({@code null} и не сериализуется, если объект не найден)
+ * @param <T>   тип объекта
+ */
+public record BatchEntry<T>(
+        boolean found,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        T value) {
+
+    /**
+     * Сопоставляет найденные объекты запрошенным идентификаторам.
+     *
+     * @param ids   запрошенные идентификаторы (повторы схлопываются)
+     * @param found объекты, прочитанные одним запросом {@code IN}
+     * @param idOf  функция получения идентификатора объекта
+     * @param <T>   тип объекта
+     * @return карта идентификатор → результат в порядке запрошенных идентификаторов
+     */
+    public static <T> Map<Long, BatchEntry<T>> byId(Collection<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> foundById = found.stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        Map<Long, BatchEntry<T>> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            T value = foundById.get(id);
+            result.put(id, new BatchEntry<>(value != null, value));
+        }
+        return result;
+    }
+}
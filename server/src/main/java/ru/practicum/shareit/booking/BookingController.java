@@ -3,11 +3,16 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingApproveDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.stream.BookingStreamBroadcaster;
 
 import java.util.List;
 
@@ -21,6 +26,7 @@ import java.util.List;
  * @see BookingService
  * @see BookingCreateDto
  * @see BookingResponseDto
+ * @see BookingCountsDto
  * @see State
  */
 @RequiredArgsConstructor
@@ -29,6 +35,7 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingStreamBroadcaster bookingStreamBroadcaster;
 
     /**
      * Создает новое бронирование.
@@ -76,6 +83,26 @@ public class BookingController {
         return bookingService.approve(dto);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца за один запрос.
+     * <p>
+     * HTTP метод: PATCH /bookings/approve
+     * Решения применяются в одной транзакции: при ошибке в любом из них ни один статус не изменяется.
+     * </p>
+     *
+     * @param decisions решения по бронированиям (из тела запроса)
+     * @param ownerId   идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @return обновленные бронирования в порядке решений
+     */
+    @PatchMapping("/approve")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingResponseDto> approveBookings(
+            @RequestBody List<BookingDecisionDto> decisions,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        log.info("Updating {} bookings by owner {}", decisions.size(), ownerId);
+        return bookingService.approveAll(ownerId, decisions);
+    }
+
     /**
      * Получает информацию о конкретном бронировании по его идентификатору.
      * <p>
@@ -143,4 +170,58 @@ public class BookingController {
         log.info("Getting bookings by ownerId {} and state {}", ownerId, state);
         return bookingService.findByOwnerIdAndState(ownerId, state);
     }
-}
\ No newline at end of file
+
+    /**
+     * Получает количество бронирований пользователя (арендатора) по каждому состоянию.
+     * <p>
+     * HTTP метод: GET /bookings/counts
+     * </p>
+     *
+     * @param bookerId идентификатор пользователя-арендатора (из заголовка X-Sharer-User-Id)
+     * @return количество бронирований по состояниям ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED
+     */
+    @GetMapping("/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public BookingCountsDto getBookingCountsByBooker(@RequestHeader("X-Sharer-User-Id") Long bookerId) {
+        log.info("Getting booking counts by booker {}", bookerId);
+        return bookingService.findCountsByBookerId(bookerId);
+    }
+
+    /**
+     * Получает количество бронирований вещей владельца по каждому состоянию.
+     * <p>
+     * HTTP метод: GET /bookings/owner/counts
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @return количество бронирований по состояниям ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED
+     */
+    @GetMapping("/owner/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public BookingCountsDto getBookingCountsByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        log.info("Getting booking counts by owner {}", ownerId);
+        return bookingService.findCountsByOwnerId(ownerId);
+    }
+
+    /**
+     * Открывает поток изменений бронирований пользователя.
+     * <p>
+     * HTTP метод: GET /bookings/stream
+     * Ответ передается в формате {@code text/event-stream}: событие содержит актуальное состояние
+     * бронирования, в котором пользователь является арендатором или владельцем вещи.
+     * При переподключении клиент передает заголовок Last-Event-ID и получает пропущенные события.
+     * </p>
+     *
+     * @param userId      идентификатор пользователя (из заголовка X-Sharer-User-Id)
+     * @param lastEventId идентификатор последнего полученного события (из заголовка Last-Event-ID, необязательный)
+     * @return SSE-соединение
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        log.info("Subscribing to booking updates of user {} after: {}", userId, lastEventId);
+        return bookingStreamBroadcaster.subscribe(userId, lastEventId);
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.jdbc.ReadPath;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение списков бронирований SQL-запросами без участия Hibernate.
+ * <p>
+ * Используется для {@code GET /bookings} и {@code GET /bookings/owner}, если для них выбран
+ * {@link ReadPath#JDBC} (свойства {@code shareit.read-path.bookings} и
+ * {@code shareit.read-path.owner-bookings}). Бронирования читаются из модели чтения
+ * {@code booking_view} без соединений с вещами и пользователями. Строки результата преобразуются
+ * сразу в {@link BookingResponseDto}; тексты запросов для всех статусов строятся один раз при создании.
+ * Семантика фильтров и порядок совпадают с проекциями
+ * {@link ru.practicum.shareit.booking.view.BookingViewRepository}.
+ * </p>
+ * <p>
+ * Используется собственный {@link JdbcTemplate} с размером выборки
+ * {@code shareit.read-path.fetch-size}: внутри транзакции драйвер PostgreSQL читает
+ * результат порциями, а не целиком.
+ * </p>
+ *
+ * @see BookingServiceImpl
+ */
+@Component
+public class BookingJdbcReader {
+
+    private static final String SELECT_BOOKINGS = """
+            SELECT b.booking_id, b.start_date, b.end_date, b.status,
+                   b.item_id, b.item_name, b.booker_id, b.booker_name, b.booker_email
+            FROM booking_view b
+            """;
+
+    private static final RowMapper<BookingResponseDto> BOOKING_MAPPER = (rs, rowNum) -> new BookingResponseDto(
+            rs.getLong("booking_id"),
+            rs.getObject("start_date", LocalDateTime.class),
+            rs.getObject("end_date", LocalDateTime.class),
+            new ItemShortDto(rs.getLong("item_id"), rs.getString("item_name")),
+            new UserResponseDto(rs.getLong("booker_id"), rs.getString("booker_name"), rs.getString("booker_email")),
+            Status.valueOf(rs.getString("status")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final boolean bookerEnabled;
+    private final boolean ownerEnabled;
+    private final Map<State, String> bookerQueries;
+    private final Map<State, String> ownerQueries;
+
+    /**
+     * Создает читатель бронирований.
+     *
+     * @param dataSource  источник данных приложения
+     * @param fetchSize   размер выборки (shareit.read-path.fetch-size)
+     * @param bookerPath  способ чтения бронирований арендатора (shareit.read-path.bookings)
+     * @param ownerPath   способ чтения бронирований владельца (shareit.read-path.owner-bookings)
+     */
+    public BookingJdbcReader(DataSource dataSource,
+                             @Value("${shareit.read-path.fetch-size:500}") int fetchSize,
+                             @Value("${shareit.read-path.bookings:jpa}") ReadPath bookerPath,
+                             @Value("${shareit.read-path.owner-bookings:jpa}") ReadPath ownerPath) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+        this.bookerEnabled = bookerPath == ReadPath.JDBC;
+        this.ownerEnabled = ownerPath == ReadPath.JDBC;
+        this.bookerQueries = queries("b.booker_id = :userId");
+        this.ownerQueries = queries("b.owner_id = :userId");
+    }
+
+    /**
+     * Проверяет, читаются ли бронирования арендатора через JDBC.
+     *
+     * @return {@code true}, если для {@code GET /bookings} выбран {@link ReadPath#JDBC}
+     */
+    public boolean isBookerEnabled() {
+        return bookerEnabled;
+    }
+
+    /**
+     * Проверяет, читаются ли бронирования владельца через JDBC.
+     *
+     * @return {@code true}, если для {@code GET /bookings/owner} выбран {@link ReadPath#JDBC}
+     */
+    public boolean isOwnerEnabled() {
+        return ownerEnabled;
+    }
+
+    /**
+     * Находит бронирования пользователя-арендатора в указанном состоянии.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param state    состояние для фильтрации
+     * @param now      текущие дата и время
+     * @return список бронирований в порядке убывания даты начала
+     */
+    public List<BookingResponseDto> findByBooker(long bookerId, State state, LocalDateTime now) {
+        return jdbc.query(bookerQueries.get(state), parameters(bookerId, state, now), BOOKING_MAPPER);
+    }
+
+    /**
+     * Находит бронирования вещей владельца в указанном состоянии.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param state   состояние для фильтрации
+     * @param now     текущие дата и время
+     * @return список бронирований в порядке убывания даты начала
+     */
+    public List<BookingResponseDto> findByOwner(long ownerId, State state, LocalDateTime now) {
+        return jdbc.query(ownerQueries.get(state), parameters(ownerId, state, now), BOOKING_MAPPER);
+    }
+
+    private static MapSqlParameterSource parameters(long userId, State state, LocalDateTime now) {
+        return new MapSqlParameterSource("userId", userId)
+                .addValue("now", now)
+                .addValue("status", state.name());
+    }
+
+    private static Map<State, String> queries(String userCondition) {
+        Map<State, String> queries = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            String stateCondition = switch (state) {
+                case ALL -> "";
+                case PAST -> " AND b.end_date < :now";
+                case FUTURE -> " AND b.start_date > :now";
+                case CURRENT -> " AND :now BETWEEN b.start_date AND b.end_date";
+                case WAITING, REJECTED -> " AND b.status = :status";
+            };
+            queries.put(state, SELECT_BOOKINGS + "WHERE " + userCondition + stateCondition
+                    + " ORDER BY b.start_date DESC");
+        }
+        return queries;
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collections;
@@ -48,6 +51,29 @@ public class BookingMapper {
                 .build();
     }
 
+    /**
+     * Преобразует проекцию {@link BookingRow} в {@link BookingResponseDto}.
+     * <p>
+     * Используется списками бронирований, которые читаются из базы данных проекцией
+     * без загрузки сущностей бронирования, вещи и арендатора.
+     * </p>
+     *
+     * @param row проекция бронирования (может быть {@code null})
+     * @return DTO с полной информацией о бронировании или {@code null}, если входной параметр равен {@code null}
+     */
+    public static BookingResponseDto toBookingResponseDto(BookingRow row) {
+        if (row == null) return null;
+
+        return BookingResponseDto.builder()
+                .id(row.id())
+                .item(new ItemShortDto(row.itemId(), row.itemName()))
+                .booker(new UserResponseDto(row.bookerId(), row.bookerName(), row.bookerEmail()))
+                .start(row.start())
+                .end(row.end())
+                .status(row.status())
+                .build();
+    }
+
     /**
      * Преобразует список сущностей {@link Booking} в список {@link BookingResponseDto}.
      * <p>
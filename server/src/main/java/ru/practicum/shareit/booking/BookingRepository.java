@@ -1,15 +1,22 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для управления сущностями {@link Booking} в базе данных.
@@ -17,6 +24,7 @@ import java.util.Optional;
  * Предоставляет методы для выполнения операций с бронированиями, включая
  * поиск по различным критериям (пользователь, владелец, статус, даты),
  * проверку существования бронирований и загрузку связанных сущностей.
+ * Списки бронирований читаются из модели чтения {@link ru.practicum.shareit.booking.view.BookingView}.
  * </p>
  *
  * @see Booking
@@ -25,182 +33,215 @@ import java.util.Optional;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
-     * Находит все бронирования пользователя с указанным статусом.
-     *
-     * @param bookerId идентификатор пользователя-арендатора
-     * @param status   статус бронирования
-     * @param sort     параметры сортировки
-     * @return список бронирований пользователя с указанным статусом
+     * Общая часть запросов количества бронирований по состояниям: все шесть счетчиков {@link State}
+     * вычисляются за один проход условной агрегацией относительно {@code :currentDateTime}.
+     * Псевдоним {@code b} — бронирование.
      */
-    List<Booking> findAllByBooker_IdAndStatus(long bookerId, Status status, Sort sort);
+    String SELECT_BOOKING_COUNTS = """
+            SELECT new ru.practicum.shareit.booking.dto.BookingCountsDto(
+                COUNT(b),
+                COALESCE(SUM(CASE WHEN b.start <= :currentDateTime AND b.end >= :currentDateTime THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.end < :currentDateTime THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.start > :currentDateTime THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'WAITING' THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END), 0))
+            FROM Booking b
+            """;
 
     /**
-     * Находит все бронирования пользователя.
+     * Находит все бронирования для вещей владельца с указанным статусом (без сортировки).
      *
-     * @param bookerId идентификатор пользователя-арендатора
-     * @param sort     параметры сортировки
-     * @return список всех бронирований пользователя
+     * @param ownerId идентификатор владельца вещей
+     * @param status  статус бронирования
+     * @return список бронирований с указанным статусом для вещей владельца
      */
-    List<Booking> findAllByBooker_Id(long bookerId, Sort sort);
+    List<Booking> findAllByItem_Owner_IdAndStatus(long ownerId, Status status);
 
     /**
-     * Находит все будущие бронирования пользователя (с датой начала после указанной).
+     * Подсчитывает бронирования пользователя по каждому состоянию одним запросом.
      *
-     * @param bookerId         идентификатор пользователя-арендатора
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список будущих бронирований пользователя
+     * @param bookerId        идентификатор пользователя-арендатора
+     * @param currentDateTime текущие дата и время
+     * @return количество бронирований пользователя по состояниям
      */
-    List<Booking> findAllByBooker_IdAndStartAfter(long bookerId, LocalDateTime currentDateTime, Sort sort);
+    @Query(SELECT_BOOKING_COUNTS + "WHERE b.booker.id = :bookerId")
+    BookingCountsDto countByBookerId(
+            @Param("bookerId") long bookerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime);
 
     /**
-     * Находит все завершенные бронирования пользователя (с датой окончания до указанной).
+     * Подсчитывает бронирования вещей владельца по каждому состоянию одним запросом.
      *
-     * @param bookerId         идентификатор пользователя-арендатора
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список завершенных бронирований пользователя
+     * @param ownerId         идентификатор владельца вещей
+     * @param currentDateTime текущие дата и время
+     * @return количество бронирований вещей владельца по состояниям
      */
-    List<Booking> findAllByBooker_IdAndEndBefore(long bookerId, LocalDateTime currentDateTime, Sort sort);
+    @Query(SELECT_BOOKING_COUNTS + "WHERE b.item.owner.id = :ownerId")
+    BookingCountsDto countByOwnerId(
+            @Param("ownerId") long ownerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime);
 
     /**
-     * Находит все текущие бронирования пользователя (где текущая дата между start и end).
+     * Находит имя пользователя, если у него есть завершенное подтвержденное бронирование вещи.
+     * <p>
+     * Используется при добавлении комментария: право оставить комментарий проверяется
+     * подзапросом EXISTS по индексу {@code (booker_id, item_id, end_date)} без чтения
+     * списка бронирований, а имя автора нужно для ответа.
+     * </p>
      *
-     * @param bookerId         идентификатор пользователя-арендатора
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список текущих бронирований пользователя
+     * @param bookerId        идентификатор пользователя-арендатора
+     * @param itemId          идентификатор вещи
+     * @param currentDateTime текущие дата и время
+     * @return имя пользователя или пустой {@link Optional}, если завершенного бронирования нет
      */
     @Query("""
-            SELECT b FROM Booking b
-            WHERE b.booker.id = :bookerId
-            AND :currentDateTime BETWEEN b.start AND b.end
+            SELECT u.name FROM User u
+            WHERE u.id = :bookerId
+            AND EXISTS (
+                SELECT b.id FROM Booking b
+                WHERE b.booker.id = :bookerId AND b.item.id = :itemId
+                AND b.end < :currentDateTime AND b.status = 'APPROVED'
+            )
             """)
-    List<Booking> findAllCurrentBookingsByBooker(
+    Optional<String> findBookerNameWithFinishedBooking(
             @Param("bookerId") long bookerId,
-            @Param("currentDateTime") LocalDateTime currentDateTime,
-            Sort sort);
+            @Param("itemId") long itemId,
+            @Param("currentDateTime") LocalDateTime currentDateTime);
 
     /**
-     * Находит все бронирования для вещей владельца с указанным статусом.
-     *
-     * @param ownerId идентификатор владельца вещей
-     * @param status  статус бронирования
-     * @param sort    параметры сортировки
-     * @return список бронирований с указанным статусом для вещей владельца
-     */
-    List<Booking> findAllByItem_Owner_IdAndStatus(long ownerId, Status status, Sort sort);
-
-    /**
-     * Находит все бронирования для вещей владельца с указанным статусом (без сортировки).
-     *
-     * @param ownerId идентификатор владельца вещей
-     * @param status  статус бронирования
-     * @return список бронирований с указанным статусом для вещей владельца
-     */
-    List<Booking> findAllByItem_Owner_IdAndStatus(long ownerId, Status status);
-
-    /**
-     * Находит все бронирования для всех вещей владельца.
+     * Проверяет, существует ли активное подтвержденное бронирование для вещи
+     * на указанный период времени.
      *
-     * @param ownerId идентификатор владельца вещей
-     * @param sort    параметры сортировки
-     * @return список всех бронирований для вещей владельца
+     * @param itemId идентификатор вещи
+     * @param start  начало периода
+     * @param end    конец периода
+     * @return {@code true}, если существует активное бронирование, пересекающееся с указанным периодом
      */
-    List<Booking> findAllByItem_Owner_Id(long ownerId, Sort sort);
+    @Query("""
+            SELECT COUNT(b) > 0 FROM Booking b
+            WHERE b.item.id = :itemId AND b.status = 'APPROVED'
+            AND NOT (b.end <= :start OR b.start >= :end)
+            """)
+    boolean existsActiveBookingForItem(
+            @Param("itemId") Long itemId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
     /**
-     * Находит все будущие бронирования для вещей владельца.
+     * Находит подтвержденные бронирования вещи, пересекающиеся с указанным периодом.
+     * <p>
+     * Используется индексом доступности, пока он не заполнен.
+     * </p>
      *
-     * @param ownerId          идентификатор владельца вещей
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список будущих бронирований для вещей владельца
+     * @param itemId идентификатор вещи
+     * @param start  начало периода
+     * @param end    конец периода
+     * @return список интервалов бронирований в порядке начала
      */
-    List<Booking> findAllByItem_Owner_IdAndStartAfter(long ownerId, LocalDateTime currentDateTime, Sort sort);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.item.id = :itemId AND b.status = 'APPROVED'
+            AND NOT (b.end <= :start OR b.start >= :end)
+            ORDER BY b.start
+            """)
+    List<BookingInterval> findApprovedIntervalsForItem(
+            @Param("itemId") Long itemId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
     /**
-     * Находит все завершенные бронирования для вещей владельца.
+     * Находит подтвержденные бронирования нескольких вещей, пересекающиеся с указанным периодом.
+     * <p>
+     * Используется при пакетном подтверждении бронирований: период охватывает все
+     * подтверждаемые бронирования, пересечения с каждым из них проверяются в памяти.
+     * </p>
      *
-     * @param ownerId          идентификатор владельца вещей
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список завершенных бронирований для вещей владельца
+     * @param itemIds идентификаторы вещей
+     * @param start   начало периода
+     * @param end     конец периода
+     * @return список интервалов бронирований в порядке вещи и начала
      */
-    List<Booking> findAllByItem_Owner_IdAndEndBefore(long ownerId, LocalDateTime currentDateTime, Sort sort);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.status = 'APPROVED'
+            AND NOT (b.end <= :start OR b.start >= :end)
+            ORDER BY b.item.id, b.start
+            """)
+    List<BookingInterval> findApprovedIntervalsForItems(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
     /**
-     * Находит все текущие бронирования для вещей владельца.
+     * Возвращает поток всех подтвержденных бронирований, упорядоченных по вещи и началу.
+     * <p>
+     * Используется для заполнения индекса доступности при старте приложения.
+     * Поток должен читаться внутри транзакции и закрываться после использования.
+     * </p>
      *
-     * @param ownerId          идентификатор владельца вещей
-     * @param currentDateTime текущая дата и время
-     * @param sort            параметры сортировки
-     * @return список текущих бронирований для вещей владельца
+     * @return поток интервалов подтвержденных бронирований
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
     @Query("""
-            SELECT b FROM Booking b
-            JOIN FETCH b.item i
-            WHERE i.owner.id = :ownerId
-            AND :currentDateTime BETWEEN b.start AND b.end
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.status = 'APPROVED'
+            ORDER BY b.item.id, b.start
             """)
-    List<Booking> findAllCurrentBookingsByOwner(
-            @Param("ownerId") long ownerId,
-            @Param("currentDateTime") LocalDateTime currentDateTime,
-            Sort sort);
+    Stream<BookingInterval> streamApprovedIntervals();
 
     /**
-     * Находит все бронирования конкретного пользователя для конкретной вещи.
+     * Находит все подтвержденные бронирования пользователя-арендатора.
+     * <p>
+     * Используется для удаления бронирований из индекса доступности при каскадном
+     * удалении пользователя.
+     * </p>
      *
      * @param bookerId идентификатор пользователя-арендатора
-     * @param itemId   идентификатор вещи
-     * @param sort     параметры сортировки
-     * @return список бронирований пользователя для указанной вещи
-     */
-    List<Booking> findAllByBooker_IdAndItem_Id(long bookerId, long itemId, Sort sort);
-
-    /**
-     * Находит все бронирования для конкретной вещи с указанным статусом.
-     *
-     * @param itemId идентификатор вещи
-     * @param status статус бронирования
-     * @return список бронирований вещи с указанным статусом
-     */
-    List<Booking> findAllByItem_IdAndStatus(long itemId, Status status);
-
-    /**
-     * Проверяет, существует ли активное подтвержденное бронирование для вещи
-     * на указанный период времени.
-     *
-     * @param itemId идентификатор вещи
-     * @param start  начало периода
-     * @param end    конец периода
-     * @return {@code true}, если существует активное бронирование, пересекающееся с указанным периодом
+     * @return список интервалов бронирований пользователя
      */
     @Query("""
-            SELECT COUNT(b) > 0 FROM Booking b
-            WHERE b.item.id = :itemId AND b.status = 'APPROVED'
-            AND NOT (b.end <= :start OR b.start >= :end)
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end)
+            FROM Booking b
+            WHERE b.booker.id = :bookerId AND b.status = 'APPROVED'
             """)
-    boolean existsActiveBookingForItem(
-            @Param("itemId") Long itemId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+    List<BookingInterval> findApprovedIntervalsByBooker(@Param("bookerId") Long bookerId);
 
     /**
-     * Проверяет, существуют ли бронирования у пользователя.
+     * Проверяет за один запрос существование пользователя и наличие у него бронирований.
+     * <p>
+     * Используется, когда выборка бронирований по статусу оказалась пустой, чтобы отличить
+     * несуществующего пользователя от пользователя без бронирований.
+     * </p>
      *
      * @param bookerId идентификатор пользователя-арендатора
-     * @return {@code true}, если у пользователя есть хотя бы одно бронирование
+     * @return пустой {@link Optional}, если пользователь не найден, иначе признак наличия бронирований
      */
-    boolean existsByBooker_Id(long bookerId);
+    @Query("""
+            SELECT CASE WHEN EXISTS (SELECT b.id FROM Booking b WHERE b.booker.id = u.id) THEN true ELSE false END
+            FROM User u
+            WHERE u.id = :bookerId
+            """)
+    Optional<Boolean> findBookerHasBookings(@Param("bookerId") long bookerId);
 
     /**
-     * Проверяет, существуют ли бронирования для вещей владельца.
+     * Проверяет за один запрос существование пользователя и наличие бронирований его вещей.
+     * <p>
+     * Используется, когда выборка бронирований владельца по статусу оказалась пустой, чтобы отличить
+     * несуществующего пользователя от владельца без бронирований.
+     * </p>
      *
      * @param ownerId идентификатор владельца вещей
-     * @return {@code true}, если для вещей владельца есть хотя бы одно бронирование
+     * @return пустой {@link Optional}, если пользователь не найден, иначе признак наличия бронирований
      */
-    boolean existsByItem_Owner_Id(long ownerId);
+    @Query("""
+            SELECT CASE WHEN EXISTS (SELECT b.id FROM Booking b WHERE b.item.owner.id = u.id) THEN true ELSE false END
+            FROM User u
+            WHERE u.id = :ownerId
+            """)
+    Optional<Boolean> findOwnerHasBookings(@Param("ownerId") long ownerId);
 
     /**
      * Находит бронирование по ID с полной загрузкой связанных сущностей.
@@ -234,4 +275,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "LEFT JOIN FETCH b.item.owner " +
            "WHERE b.id = :id")
     Optional<Booking> findByIdWithItemAndOwner(@Param("id") Long id);
+
+    /**
+     * Находит бронирования по списку ID с загрузкой вещи, её владельца и арендатора.
+     * <p>
+     * Используется при пакетном подтверждении бронирований: все бронирования пакета
+     * читаются одним запросом.
+     * </p>
+     *
+     * @param ids идентификаторы бронирований
+     * @return список найденных бронирований (без гарантии порядка)
+     */
+    @Query("SELECT b FROM Booking b " +
+           "JOIN FETCH b.item i " +
+           "JOIN FETCH i.owner " +
+           "JOIN FETCH b.booker " +
+           "WHERE b.id IN :ids")
+    List<Booking> findAllByIdWithItemAndOwner(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
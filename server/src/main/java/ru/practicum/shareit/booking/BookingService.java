@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingApproveDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.State;
 
@@ -61,6 +63,22 @@ public interface BookingService {
      */
     List<BookingResponseDto> findByOwnerIdAndState(Long ownerId, State state);
 
+    /**
+     * Подсчитывает бронирования пользователя (арендатора) по каждому состоянию.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @return количество бронирований пользователя по состояниям
+     */
+    BookingCountsDto findCountsByBookerId(Long bookerId);
+
+    /**
+     * Подсчитывает бронирования вещей владельца по каждому состоянию.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @return количество бронирований вещей владельца по состояниям
+     */
+    BookingCountsDto findCountsByOwnerId(Long ownerId);
+
     /**
      * Подтверждает или отклоняет бронирование.
      * <p>
@@ -72,6 +90,20 @@ public interface BookingService {
      */
     BookingResponseDto approve(BookingApproveDto dto);
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца в одной транзакции.
+     * <p>
+     * Решения применяются целиком или не применяются вовсе: если хотя бы одно бронирование
+     * не найдено, не принадлежит владельцу, не ожидает подтверждения или пересекается
+     * с подтвержденными бронированиями, ни один статус не изменяется.
+     * </p>
+     *
+     * @param ownerId   идентификатор владельца вещей
+     * @param decisions решения по бронированиям
+     * @return обновленные бронирования в порядке решений
+     */
+    List<BookingResponseDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions);
+
     /**
      * Удаляет бронирование по его идентификатору.
      *
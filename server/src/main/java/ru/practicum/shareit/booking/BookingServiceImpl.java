@@ -4,24 +4,45 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
 import ru.practicum.shareit.booking.dto.BookingApproveDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.NoContentException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса {@link BookingService} для управления бронированиями.
@@ -34,15 +55,30 @@ import java.util.Objects;
  * @see BookingRepository
  * @see UserRepository
  * @see ItemRepository
+ * @see BookingAvailabilityIndex
+ * @see OutboxWriter
+ * @see ItemBookingSummaryTracker
+ * @see BookingCountsCache
+ * @see BookingViewRepository
+ * @see BookingViewWriter
  */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort START_DESC = Sort.by(Sort.Direction.DESC, "start");
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final OutboxWriter outboxWriter;
+    private final ItemBookingSummaryTracker summaryTracker;
+    private final BookingJdbcReader jdbcReader;
+    private final BookingCountsCache countsCache;
+    private final BookingViewRepository viewRepository;
+    private final BookingViewWriter viewWriter;
 
     /**
      * Создает новое бронирование.
@@ -54,6 +90,11 @@ public class BookingServiceImpl implements BookingService {
      *   <li>Вещь доступна для бронирования</li>
      *   <li>Нет активных бронирований на указанный период</li>
      * </ul>
+     * Занятость периода всегда проверяется запросом к базе данных, а не по индексу доступности
+     * {@link BookingAvailabilityIndex}: индекс локален для экземпляра приложения и не видит
+     * подтверждений, зафиксированных на других экземплярах или еще не примененных после фиксации.
+     * В той же транзакции создается строка модели чтения {@link ru.practicum.shareit.booking.view.BookingView}
+     * и в outbox записывается событие {@link OutboxEventType#BOOKING_CREATED}.
      * </p>
      *
      * @param bookerId идентификатор пользователя, создающего бронирование
@@ -85,7 +126,11 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking booking = BookingMapper.toBooking(booker, item, dto);
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        BookingResponseDto response = BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        viewWriter.onCreated(booking);
+        countsCache.evictAfterCommit(booking);
+        outboxWriter.write(AggregateType.BOOKING, response.id(), OutboxEventType.BOOKING_CREATED, response);
+        return response;
     }
 
     /**
@@ -114,105 +159,111 @@ public class BookingServiceImpl implements BookingService {
 
     /**
      * Находит все бронирования пользователя (арендатора) с фильтрацией по статусу.
+     * <p>
+     * Сначала выполняется сама выборка проекцией {@link BookingRow} из модели чтения
+     * {@link ru.practicum.shareit.booking.view.BookingView} (без соединений с вещами и пользователями) или, если для {@code GET /bookings} выбран
+     * {@link ru.practicum.shareit.jdbc.ReadPath#JDBC}, SQL-запросом {@link BookingJdbcReader}.
+     * Проверка существования пользователя и наличия у него
+     * бронирований выполняется одним дополнительным запросом только в том случае, если выборка
+     * оказалась пустой.
+     * </p>
      *
      * @param bookerId идентификатор пользователя-арендатора
      * @param state    статус для фильтрации
      * @return список бронирований пользователя
      * @throws NotFoundException если пользователь не найден
      * @throws NoContentException если у пользователя нет бронирований
-     * @throws IllegalArgumentException если передан неизвестный статус
      */
     @Override
     public List<BookingResponseDto> findByBookerIdAndState(Long bookerId, State state) {
-        if (!userRepository.existsById(bookerId)) {
-            throw new NotFoundException("User", bookerId);
-        }
-
-        if (!bookingRepository.existsByBooker_Id(bookerId)) {
-            throw new NoContentException("Booking");
-        }
-
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
         LocalDateTime now = LocalDateTime.now();
 
-        switch (state) {
-            case ALL -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByBooker_Id(bookerId, sort));
-            }
-            case PAST -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByBooker_IdAndEndBefore(bookerId, now, sort));
-            }
-            case FUTURE -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByBooker_IdAndStartAfter(bookerId, now, sort));
-            }
-            case CURRENT -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllCurrentBookingsByBooker(bookerId, now, sort));
-            }
-            case WAITING, REJECTED -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByBooker_IdAndStatus(bookerId, Status.valueOf(state.name()), sort));
-            }
-            default -> throw new IllegalArgumentException("Unknown state: " + state);
+        List<BookingResponseDto> bookings = jdbcReader.isBookerEnabled()
+                ? jdbcReader.findByBooker(bookerId, state, now)
+                : toBookingResponseDto(findRowsByBooker(bookerId, state, now));
+
+        if (bookings.isEmpty()) {
+            checkUserHasBookings(bookingRepository.findBookerHasBookings(bookerId), bookerId);
         }
+
+        return bookings;
     }
 
     /**
      * Находит все бронирования для вещей владельца с фильтрацией по статусу.
+     * <p>
+     * Сначала выполняется сама выборка проекцией {@link BookingRow} из модели чтения
+     * {@link ru.practicum.shareit.booking.view.BookingView} (без соединений с вещами и пользователями) или, если для {@code GET /bookings/owner} выбран
+     * {@link ru.practicum.shareit.jdbc.ReadPath#JDBC}, SQL-запросом {@link BookingJdbcReader}.
+     * Проверка существования пользователя и наличия бронирований его вещей выполняется одним дополнительным запросом только в том случае,
+     * если выборка оказалась пустой.
+     * </p>
      *
      * @param ownerId идентификатор владельца вещей
      * @param state   статус для фильтрации
      * @return список бронирований для вещей владельца
      * @throws NotFoundException если пользователь не найден
      * @throws NoContentException если для вещей владельца нет бронирований
-     * @throws IllegalArgumentException если передан неизвестный статус
      */
     @Override
     public List<BookingResponseDto> findByOwnerIdAndState(Long ownerId, State state) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new NotFoundException("User", ownerId);
-        }
+        LocalDateTime now = LocalDateTime.now();
 
-        if (!bookingRepository.existsByItem_Owner_Id(ownerId)) {
-            throw new NoContentException("Booking");
+        List<BookingResponseDto> bookings = jdbcReader.isOwnerEnabled()
+                ? jdbcReader.findByOwner(ownerId, state, now)
+                : toBookingResponseDto(findRowsByOwner(ownerId, state, now));
+
+        if (bookings.isEmpty()) {
+            checkUserHasBookings(bookingRepository.findOwnerHasBookings(ownerId), ownerId);
         }
 
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        LocalDateTime now = LocalDateTime.now();
+        return bookings;
+    }
 
-        switch (state) {
-            case ALL -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByItem_Owner_Id(ownerId, sort));
-            }
-            case PAST -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByItem_Owner_IdAndEndBefore(ownerId, now, sort));
-            }
-            case FUTURE -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByItem_Owner_IdAndStartAfter(ownerId, now, sort));
-            }
-            case CURRENT -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllCurrentBookingsByOwner(ownerId, now, sort));
-            }
-            case WAITING, REJECTED -> {
-                return BookingMapper.toBookingResponseDto(
-                        bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, Status.valueOf(state.name()), sort));
-            }
-            default -> throw new IllegalArgumentException("Unknown state: " + state);
-        }
+    /**
+     * Подсчитывает бронирования пользователя (арендатора) по каждому состоянию.
+     * <p>
+     * Все счетчики вычисляются одним запросом и кэшируются в {@link BookingCountsCache}.
+     * Существование пользователя проверяется дополнительным запросом, только если
+     * бронирований нет.
+     * </p>
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @return количество бронирований пользователя по состояниям
+     * @throws NotFoundException если пользователь не найден
+     */
+    @Override
+    public BookingCountsDto findCountsByBookerId(Long bookerId) {
+        return countsCache.getForBooker(bookerId, id ->
+                checkUserExists(bookingRepository.countByBookerId(id, LocalDateTime.now()), id));
+    }
+
+    /**
+     * Подсчитывает бронирования вещей владельца по каждому состоянию.
+     * <p>
+     * Все счетчики вычисляются одним запросом и кэшируются в {@link BookingCountsCache}.
+     * Существование пользователя проверяется дополнительным запросом, только если
+     * бронирований нет.
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @return количество бронирований вещей владельца по состояниям
+     * @throws NotFoundException если пользователь не найден
+     */
+    @Override
+    public BookingCountsDto findCountsByOwnerId(Long ownerId) {
+        return countsCache.getForOwner(ownerId, id ->
+                checkUserExists(bookingRepository.countByOwnerId(id, LocalDateTime.now()), id));
     }
 
     /**
      * Подтверждает или отклоняет бронирование.
      * <p>
      * Доступно только владельцу вещи. Статус можно изменить только у бронирований
-     * в статусе {@link Status#WAITING}.
+     * в статусе {@link Status#WAITING}. Подтвержденное бронирование добавляется
+     * в индекс доступности после фиксации транзакции и учитывается в сводке бронирований
+     * вещи и в модели чтения в той же транзакции; в outbox записывается событие
+     * {@link OutboxEventType#BOOKING_APPROVED} или {@link OutboxEventType#BOOKING_REJECTED}.
      * </p>
      *
      * @param dto DTO с идентификатором бронирования, идентификатором владельца и флагом подтверждения
@@ -236,19 +287,110 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(dto.isApproved() ? Status.APPROVED : Status.REJECTED);
+        availabilityIndex.addAfterCommit(booking);
+        summaryTracker.onApproved(booking);
+        viewWriter.onStatusChanged(List.of(booking));
+        countsCache.evictAfterCommit(booking);
 
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        BookingResponseDto response = BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        outboxWriter.write(AggregateType.BOOKING, booking.getId(),
+                dto.isApproved() ? OutboxEventType.BOOKING_APPROVED : OutboxEventType.BOOKING_REJECTED, response);
+        return response;
+    }
+
+    /**
+     * Подтверждает или отклоняет несколько бронирований владельца в одной транзакции.
+     * <p>
+     * Сначала строки вещей пакета блокируются в порядке идентификаторов ({@code SELECT ... FOR UPDATE}),
+     * поэтому параллельные пакеты с общими вещами выполняются по очереди и каждый видит подтверждения,
+     * зафиксированные предыдущим. Затем бронирования пакета читаются одним запросом, подтвержденные
+     * бронирования их вещей в охватывающем периоде — вторым. Права владельца, статусы и пересечения
+     * подтверждаемых бронирований с уже подтвержденными и друг с другом проверяются в памяти
+     * до изменения статусов. Новые статусы записываются одним пакетным обновлением JDBC
+     * ({@code hibernate.jdbc.batch_size}); далее, как и в {@link #approve(BookingApproveDto)},
+     * обновляются индекс доступности, сводки вещей и модель чтения, в outbox записываются события.
+     * </p>
+     *
+     * @param ownerId   идентификатор владельца вещей
+     * @param decisions решения по бронированиям
+     * @return обновленные бронирования в порядке решений
+     * @throws IllegalArgumentException если бронирование указано в пакете несколько раз
+     * @throws NotFoundException если бронирование не найдено
+     * @throws AccessForbiddenException если пользователь не является владельцем вещи
+     * @throws IllegalStateException если статус бронирования не WAITING
+     * @throws UnavailableItemException если подтверждаемое бронирование пересекается с подтвержденным
+     */
+    @Transactional
+    @Override
+    public List<BookingResponseDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> approvedById = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (approvedById.put(decision.bookingId(), decision.approved()) != null) {
+                throw new IllegalArgumentException("Duplicated booking id " + decision.bookingId());
+            }
+        }
+
+        itemRepository.lockAllByBookingIds(approvedById.keySet());
+        Map<Long, Booking> bookingsById = bookingRepository.findAllByIdWithItemAndOwner(approvedById.keySet())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<Booking> bookings = new ArrayList<>(approvedById.size());
+        for (Long id : approvedById.keySet()) {
+            Booking booking = bookingsById.get(id);
+            if (booking == null) {
+                throw new NotFoundException("Booking", id);
+            }
+            if (!Objects.equals(booking.getItem().getOwner().getId(), ownerId)) {
+                throw new AccessForbiddenException("Forbidden to change booking for item not owned by user", ownerId);
+            }
+            if (booking.getStatus() != Status.WAITING) {
+                throw new IllegalStateException("Booking status cannot be changed from " + booking.getStatus());
+            }
+            bookings.add(booking);
+        }
+
+        checkNoOverlaps(bookings.stream()
+                .filter(booking -> approvedById.get(booking.getId()))
+                .toList());
+
+        bookings.forEach(booking ->
+                booking.setStatus(approvedById.get(booking.getId()) ? Status.APPROVED : Status.REJECTED));
+        bookingRepository.flush();
+        viewWriter.onStatusChanged(bookings);
+
+        List<BookingResponseDto> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            availabilityIndex.addAfterCommit(booking);
+            summaryTracker.onApproved(booking);
+            countsCache.evictAfterCommit(booking);
+
+            BookingResponseDto response = BookingMapper.toBookingResponseDto(booking);
+            outboxWriter.write(AggregateType.BOOKING, booking.getId(), booking.getStatus() == Status.APPROVED
+                    ? OutboxEventType.BOOKING_APPROVED : OutboxEventType.BOOKING_REJECTED, response);
+            responses.add(response);
+        }
+        return responses;
     }
 
     /**
      * Удаляет бронирование по его идентификатору.
+     * <p>
+     * Бронирование удаляется и из индекса доступности после фиксации транзакции,
+     * сводка бронирований его вещи помечается устаревшей; в outbox записывается событие {@link OutboxEventType#BOOKING_DELETED}.
+     * </p>
      *
      * @param id идентификатор бронирования для удаления
      */
     @Transactional
     @Override
     public void deleteById(Long id) {
-        bookingRepository.deleteById(id);
+        bookingRepository.findById(id).ifPresent(booking -> {
+            availabilityIndex.removeAfterCommit(booking);
+            summaryTracker.onRemoved(booking);
+            countsCache.evictAfterCommit(booking);
+            bookingRepository.delete(booking);
+            outboxWriter.write(AggregateType.BOOKING, id, OutboxEventType.BOOKING_DELETED, null);
+        });
     }
 
     /**
@@ -261,6 +403,39 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public void clear() {
         bookingRepository.deleteAll();
+        availabilityIndex.clearAfterCommit();
+        summaryTracker.onAllBookingsRemoved();
+        countsCache.clearAfterCommit();
+    }
+
+    /**
+     * Интерпретирует результат проверки наличия бронирований у пользователя.
+     *
+     * @param hasBookings результат запроса: пустой, если пользователь не найден,
+     *                    иначе признак наличия бронирований
+     * @param userId      идентификатор пользователя
+     * @throws NotFoundException если пользователь не найден
+     * @throws NoContentException если у пользователя нет бронирований
+     */
+    private void checkUserHasBookings(Optional<Boolean> hasBookings, Long userId) {
+        if (!hasBookings.orElseThrow(() -> new NotFoundException("User", userId))) {
+            throw new NoContentException("Booking");
+        }
+    }
+
+    /**
+     * Проверяет существование пользователя, у которого не нашлось ни одного бронирования.
+     *
+     * @param counts количество бронирований пользователя по состояниям
+     * @param userId идентификатор пользователя
+     * @return те же счетчики
+     * @throws NotFoundException если бронирований нет и пользователь не найден
+     */
+    private BookingCountsDto checkUserExists(BookingCountsDto counts, Long userId) {
+        if (counts.all() == 0 && !userRepository.existsById(userId)) {
+            throw new NotFoundException("User", userId);
+        }
+        return counts;
     }
 
     /**
@@ -277,4 +452,95 @@ public class BookingServiceImpl implements BookingService {
         return booking.getBooker().getId().equals(userId)
                || booking.getItem().getOwner().getId().equals(userId);
     }
+
+    /**
+     * Находит бронирования пользователя-арендатора в указанном состоянии проекцией JPA.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param state    состояние для фильтрации
+     * @param now      текущие дата и время
+     * @return список проекций бронирований в порядке убывания даты начала
+     */
+    private List<BookingRow> findRowsByBooker(Long bookerId, State state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> viewRepository.findRowsByBookerId(bookerId, START_DESC);
+            case PAST -> viewRepository.findPastRowsByBooker(bookerId, now, START_DESC);
+            case FUTURE -> viewRepository.findFutureRowsByBooker(bookerId, now, START_DESC);
+            case CURRENT -> viewRepository.findCurrentRowsByBooker(bookerId, now, START_DESC);
+            case WAITING, REJECTED ->
+                    viewRepository.findRowsByBookerIdAndStatus(bookerId, Status.valueOf(state.name()), START_DESC);
+        };
+    }
+
+    /**
+     * Находит бронирования вещей владельца в указанном состоянии проекцией JPA.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param state   состояние для фильтрации
+     * @param now     текущие дата и время
+     * @return список проекций бронирований в порядке убывания даты начала
+     */
+    private List<BookingRow> findRowsByOwner(Long ownerId, State state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> viewRepository.findRowsByOwnerId(ownerId, START_DESC);
+            case PAST -> viewRepository.findPastRowsByOwner(ownerId, now, START_DESC);
+            case FUTURE -> viewRepository.findFutureRowsByOwner(ownerId, now, START_DESC);
+            case CURRENT -> viewRepository.findCurrentRowsByOwner(ownerId, now, START_DESC);
+            case WAITING, REJECTED ->
+                    viewRepository.findRowsByOwnerIdAndStatus(ownerId, Status.valueOf(state.name()), START_DESC);
+        };
+    }
+
+    /**
+     * Преобразует проекции бронирований в DTO ответа с сохранением порядка.
+     *
+     * @param rows проекции бронирований
+     * @return список бронирований в виде DTO
+     */
+    private static List<BookingResponseDto> toBookingResponseDto(List<BookingRow> rows) {
+        return rows.stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .toList();
+    }
+
+    /**
+     * Проверяет, что подтверждаемые бронирования не пересекаются с уже подтвержденными
+     * бронированиями своих вещей и друг с другом.
+     * <p>
+     * Подтвержденные бронирования всех вещей пакета читаются одним запросом за период
+     * от самого раннего начала до самого позднего окончания подтверждаемых бронирований.
+     * </p>
+     *
+     * @param bookings подтверждаемые бронирования
+     * @throws UnavailableItemException если найдено пересечение
+     */
+    private void checkNoOverlaps(List<Booking> bookings) {
+        if (bookings.isEmpty()) return;
+
+        Set<Long> itemIds = new HashSet<>();
+        LocalDateTime start = bookings.getFirst().getStart();
+        LocalDateTime end = bookings.getFirst().getEnd();
+        for (Booking booking : bookings) {
+            itemIds.add(booking.getItem().getId());
+            start = booking.getStart().isBefore(start) ? booking.getStart() : start;
+            end = booking.getEnd().isAfter(end) ? booking.getEnd() : end;
+        }
+
+        Map<Long, List<BookingInterval>> approvedByItem = new HashMap<>();
+        for (BookingInterval interval : bookingRepository.findApprovedIntervalsForItems(itemIds, start, end)) {
+            approvedByItem.computeIfAbsent(interval.itemId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        for (Booking booking : bookings) {
+            List<BookingInterval> approved = approvedByItem.computeIfAbsent(booking.getItem().getId(),
+                    id -> new ArrayList<>());
+            for (BookingInterval interval : approved) {
+                if (interval.start().isBefore(booking.getEnd()) && interval.end().isAfter(booking.getStart())) {
+                    throw new UnavailableItemException(booking.getItem().getId(), "Item already booked for this period");
+                }
+            }
+            approved.add(new BookingInterval(booking.getId(), booking.getItem().getId(),
+                    booking.getStart(), booking.getEnd()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Индекс занятости вещей в памяти, построенный по подтвержденным бронированиям.
+ * <p>
+ * Для каждой вещи хранит упорядоченный список интервалов {@link ItemIntervals} с префиксным
+ * максимумом окончаний, что позволяет отвечать на вопрос «свободна ли вещь в период» за
+ * {@code O(log n)} без обращения к базе данных.
+ * </p>
+ * <p>
+ * Индекс заполняется при старте приложения ({@link ApplicationReadyEvent}) и поддерживается
+ * в актуальном состоянии сервисами: изменения применяются только после фиксации транзакции,
+ * поэтому откаченные изменения в индекс не попадают. До завершения заполнения запросы
+ * выполняются напрямую к базе данных.
+ * </p>
+ * <p>
+ * Индекс локален для экземпляра приложения: он не видит подтверждений, зафиксированных на других
+ * экземплярах или еще не примененных после фиксации, и может хранить бронирования, удаленные
+ * на другом экземпляре. Поэтому индекс используется только для чтения занятости
+ * ({@code GET /items/{itemId}/availability}), а при записи занятость всегда проверяется запросом
+ * {@link BookingRepository#existsActiveBookingForItem}.
+ * </p>
+ *
+ * @see ItemIntervals
+ * @see BookingInterval
+ * @see BookingRepository
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final Object updateLock = new Object();
+    private volatile ConcurrentMap<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+    private List<Consumer<ConcurrentMap<Long, ItemIntervals>>> updatesWhileLoading;
+    private volatile boolean ready;
+
+    /**
+     * Заполняет индекс подтвержденными бронированиями из базы данных.
+     * <p>
+     * Бронирования читаются потоком, упорядоченным по вещи и началу бронирования, в новую
+     * карту интервалов. Изменения, зафиксированные во время заполнения, не теряются: они
+     * запоминаются и повторно применяются к загруженной карте (добавление и удаление интервала
+     * идемпотентны), после чего загруженная карта заменяет прежнюю. Поэтому бронирования,
+     * удаленные или отмененные во время заполнения, в индекс не возвращаются.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        synchronized (updateLock) {
+            ready = false;
+            updatesWhileLoading = new ArrayList<>();
+        }
+        ConcurrentMap<Long, ItemIntervals> loaded = new ConcurrentHashMap<>();
+        try {
+            load(loaded);
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                updatesWhileLoading = null;
+            }
+            throw e;
+        }
+        synchronized (updateLock) {
+            updatesWhileLoading.forEach(update -> update.accept(loaded));
+            updatesWhileLoading = null;
+            intervalsByItem = loaded;
+            ready = true;
+        }
+        log.info("Booking availability index warmed up: {} items", loaded.size());
+    }
+
+    /**
+     * Читает подтвержденные бронирования из базы данных в карту интервалов.
+     *
+     * @param loaded карта интервалов по идентификатору вещи
+     */
+    private void load(ConcurrentMap<Long, ItemIntervals> loaded) {
+        try (Stream<BookingInterval> intervals = bookingRepository.streamApprovedIntervals()) {
+            List<BookingInterval> buffer = new ArrayList<>();
+            Long currentItemId = null;
+            for (BookingInterval interval : (Iterable<BookingInterval>) intervals::iterator) {
+                if (currentItemId != null && !currentItemId.equals(interval.itemId())) {
+                    loaded.put(currentItemId, ItemIntervals.of(buffer));
+                    buffer.clear();
+                }
+                currentItemId = interval.itemId();
+                buffer.add(interval);
+            }
+            if (currentItemId != null) {
+                loaded.put(currentItemId, ItemIntervals.of(buffer));
+            }
+        }
+    }
+
+    /**
+     * Возвращает подтвержденные бронирования вещи, пересекающиеся с периодом.
+     *
+     * @param itemId идентификатор вещи
+     * @param from   начало периода
+     * @param to     окончание периода
+     * @return список занятых интервалов в порядке начала (может быть пустым)
+     */
+    public List<BookingInterval> findBookedIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!ready) {
+            return bookingRepository.findApprovedIntervalsForItem(itemId, from, to);
+        }
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        return intervals == null ? List.of() : intervals.overlapping(itemId, from, to);
+    }
+
+    /**
+     * Добавляет подтвержденное бронирование в индекс после фиксации текущей транзакции.
+     *
+     * @param booking бронирование (учитывается только в статусе {@link Status#APPROVED})
+     */
+    public void addAfterCommit(Booking booking) {
+        if (booking.getStatus() != Status.APPROVED) return;
+
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        afterCommit(() -> update(map -> map.compute(itemId, (id, current) ->
+                (current == null ? ItemIntervals.EMPTY : current).with(bookingId, start, end))));
+    }
+
+    /**
+     * Удаляет бронирование из индекса после фиксации текущей транзакции.
+     *
+     * @param booking удаляемое бронирование
+     */
+    public void removeAfterCommit(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        afterCommit(() -> update(map -> remove(map, itemId, bookingId)));
+    }
+
+    /**
+     * Удаляет из индекса подтвержденные бронирования пользователя после фиксации текущей транзакции.
+     * <p>
+     * Вызывается перед удалением пользователя: его бронирования удаляются каскадно
+     * на уровне базы данных, поэтому их интервалы нужно прочитать до удаления.
+     * </p>
+     *
+     * @param bookerId идентификатор удаляемого пользователя
+     */
+    public void removeBookerAfterCommit(Long bookerId) {
+        List<BookingInterval> intervals = bookingRepository.findApprovedIntervalsByBooker(bookerId);
+        if (intervals.isEmpty()) return;
+
+        afterCommit(() -> update(map ->
+                intervals.forEach(interval -> remove(map, interval.itemId(), interval.bookingId()))));
+    }
+
+    /**
+     * Удаляет все интервалы вещи из индекса после фиксации текущей транзакции.
+     *
+     * @param itemId идентификатор удаляемой вещи
+     */
+    public void evictItemAfterCommit(Long itemId) {
+        afterCommit(() -> update(map -> map.remove(itemId)));
+    }
+
+    /**
+     * Очищает индекс после фиксации текущей транзакции.
+     */
+    public void clearAfterCommit() {
+        afterCommit(() -> update(ConcurrentMap::clear));
+    }
+
+    /**
+     * Применяет изменение к индексу; во время заполнения изменение также запоминается,
+     * чтобы применить его к загружаемой карте.
+     *
+     * @param update изменение карты интервалов
+     */
+    private void update(Consumer<ConcurrentMap<Long, ItemIntervals>> update) {
+        synchronized (updateLock) {
+            if (updatesWhileLoading != null) {
+                updatesWhileLoading.add(update);
+            }
+            update.accept(intervalsByItem);
+        }
+    }
+
+    /**
+     * Удаляет интервал бронирования вещи; пустые списки интервалов из карты удаляются.
+     *
+     * @param map       карта интервалов
+     * @param itemId    идентификатор вещи
+     * @param bookingId идентификатор бронирования
+     */
+    private static void remove(ConcurrentMap<Long, ItemIntervals> map, long itemId, long bookingId) {
+        map.computeIfPresent(itemId, (id, current) -> {
+            ItemIntervals updated = current.without(bookingId);
+            return updated.size() == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action изменение индекса
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
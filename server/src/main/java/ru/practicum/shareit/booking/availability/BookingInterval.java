@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * Облегченное представление подтвержденного бронирования для индекса доступности.
+ * <p>
+ * Содержит только поля, необходимые для проверки пересечения периодов, и загружается
+ * из базы данных конструкторным выражением JPQL без загрузки связанных сущностей.
+ * </p>
+ *
+ * @param bookingId идентификатор бронирования
+ * @param itemId    идентификатор вещи
+ * @param start     дата и время начала бронирования
+ * @param end       дата и время окончания бронирования
+ *
+ * @see BookingAvailabilityIndex
+ * @see ru.practicum.shareit.booking.BookingRepository
+ */
+public record BookingInterval(
+        Long bookingId,
+        Long itemId,
+        LocalDateTime start,
+        LocalDateTime end) {
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Неизменяемый упорядоченный список интервалов подтвержденных бронирований одной вещи.
+ * <p>
+ * Интервалы хранятся в примитивных массивах, отсортированных по началу бронирования.
+ * Дополнительно хранится префиксный максимум окончаний ({@code maxEnds[i]} — наибольшее
+ * окончание среди интервалов {@code 0..i}), что позволяет проверять пересечение с периодом
+ * двумя бинарными поисками за {@code O(log n)}, как в дереве интервалов.
+ * </p>
+ * <p>
+ * Изменения создают новый экземпляр (copy-on-write), поэтому чтение не требует блокировок.
+ * Время хранится в микросекундах от эпохи (UTC), что соответствует точности
+ * {@code TIMESTAMP} в базе данных. Семантика пересечения совпадает с
+ * {@link ru.practicum.shareit.booking.BookingRepository#existsActiveBookingForItem}:
+ * интервалы пересекаются, если {@code start < to && end > from}.
+ * </p>
+ *
+ * @see BookingAvailabilityIndex
+ */
+final class ItemIntervals {
+
+    static final ItemIntervals EMPTY = new ItemIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ItemIntervals(long[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    /**
+     * Создает список интервалов из произвольной коллекции бронирований одной вещи.
+     *
+     * @param intervals интервалы бронирований (порядок не важен)
+     * @return упорядоченный список интервалов
+     */
+    static ItemIntervals of(Collection<BookingInterval> intervals) {
+        if (intervals.isEmpty()) return EMPTY;
+
+        BookingInterval[] sorted = intervals.toArray(new BookingInterval[0]);
+        Arrays.sort(sorted, Comparator.comparing(BookingInterval::start));
+
+        long[] ids = new long[sorted.length];
+        long[] starts = new long[sorted.length];
+        long[] ends = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].bookingId();
+            starts[i] = toMicros(sorted[i].start());
+            ends[i] = toMicros(sorted[i].end());
+        }
+        return new ItemIntervals(ids, starts, ends);
+    }
+
+    /**
+     * Возвращает копию списка с добавленным (или замененным) интервалом бронирования.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param start     начало бронирования
+     * @param end       окончание бронирования
+     * @return новый список интервалов
+     */
+    ItemIntervals with(long bookingId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals base = without(bookingId);
+        long startMicros = toMicros(start);
+        int pos = base.firstStartAtOrAfter(startMicros);
+        int size = base.size();
+
+        long[] newIds = new long[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        insert(base.ids, newIds, pos, bookingId);
+        insert(base.starts, newStarts, pos, startMicros);
+        insert(base.ends, newEnds, pos, toMicros(end));
+        return new ItemIntervals(newIds, newStarts, newEnds);
+    }
+
+    /**
+     * Возвращает копию списка без интервала указанного бронирования.
+     *
+     * @param bookingId идентификатор бронирования
+     * @return новый список интервалов или текущий, если бронирование в нем отсутствует
+     */
+    ItemIntervals without(long bookingId) {
+        int pos = indexOf(bookingId);
+        if (pos < 0) return this;
+        if (size() == 1) return EMPTY;
+
+        return new ItemIntervals(remove(ids, pos), remove(starts, pos), remove(ends, pos));
+    }
+
+    /**
+     * Проверяет, пересекается ли хотя бы один интервал с периодом {@code [from, to)}.
+     *
+     * @param from начало периода
+     * @param to   окончание периода
+     * @return {@code true}, если существует пересекающийся интервал
+     */
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        int last = firstStartAtOrAfter(toMicros(to)) - 1;
+        return last >= 0 && maxEnds[last] > toMicros(from);
+    }
+
+    /**
+     * Возвращает все интервалы, пересекающиеся с периодом {@code [from, to)}, в порядке начала.
+     *
+     * @param itemId идентификатор вещи, которой принадлежит список
+     * @param from   начало периода
+     * @param to     окончание периода
+     * @return список пересекающихся интервалов (может быть пустым)
+     */
+    List<BookingInterval> overlapping(long itemId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        int last = firstStartAtOrAfter(toMicros(to)) - 1;
+        int first = firstMaxEndAfter(fromMicros);
+
+        List<BookingInterval> result = new ArrayList<>();
+        for (int i = first; i <= last; i++) {
+            if (ends[i] > fromMicros) {
+                result.add(new BookingInterval(ids[i], itemId, fromMicros(starts[i]), fromMicros(ends[i])));
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    private int indexOf(long bookingId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == bookingId) return i;
+        }
+        return -1;
+    }
+
+    private int firstStartAtOrAfter(long micros) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < micros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstMaxEndAfter(long micros) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] <= micros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void insert(long[] source, long[] target, int pos, long value) {
+        System.arraycopy(source, 0, target, 0, pos);
+        target[pos] = value;
+        System.arraycopy(source, pos, target, pos + 1, source.length - pos);
+    }
+
+    private static long[] remove(long[] source, int pos) {
+        long[] target = new long[source.length - 1];
+        System.arraycopy(source, 0, target, 0, pos);
+        System.arraycopy(source, pos + 1, target, pos, source.length - pos - 1);
+        return target;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                ZoneOffset.UTC);
+    }
+}
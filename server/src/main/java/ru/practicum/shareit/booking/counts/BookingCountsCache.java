@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.counts;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.cache.ExpiringCache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Кэш количества бронирований по состояниям ({@code GET /bookings/counts}, {@code GET /bookings/owner/counts}).
+ * <p>
+ * Счетчики арендатора и владельца хранятся раздельно по идентификатору пользователя.
+ * Изменение бронирования удаляет счетчики его арендатора и владельца вещи после фиксации
+ * транзакции; удаление вещей и пользователей, при котором бронирования удаляются каскадно,
+ * очищает кэш целиком. Состояния CURRENT, PAST и FUTURE меняются и без изменения бронирований,
+ * с течением времени, поэтому значения живут не дольше {@code shareit.bookings.counts-ttl}.
+ * </p>
+ *
+ * @see ru.practicum.shareit.booking.BookingService#findCountsByBookerId(Long)
+ * @see ru.practicum.shareit.booking.BookingService#findCountsByOwnerId(Long)
+ */
+@Component
+public class BookingCountsCache {
+
+    private final ExpiringCache<Long, BookingCountsDto> byBooker;
+    private final ExpiringCache<Long, BookingCountsDto> byOwner;
+
+    /**
+     * Создает кэш счетчиков бронирований.
+     *
+     * @param ttl     время жизни счетчиков (shareit.bookings.counts-ttl)
+     * @param maxSize максимальное количество пользователей в кэше для каждой роли
+     *                (shareit.bookings.counts-cache-size)
+     */
+    public BookingCountsCache(@Value("${shareit.bookings.counts-ttl:30s}") Duration ttl,
+                              @Value("${shareit.bookings.counts-cache-size:10000}") int maxSize) {
+        this.byBooker = new ExpiringCache<>(ttl, maxSize);
+        this.byOwner = new ExpiringCache<>(ttl, maxSize);
+    }
+
+    /**
+     * Возвращает счетчики бронирований арендатора из кэша или загружает их.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param loader   функция загрузки счетчиков
+     * @return количество бронирований арендатора по состояниям
+     */
+    public BookingCountsDto getForBooker(Long bookerId, Function<Long, BookingCountsDto> loader) {
+        return byBooker.get(bookerId, loader);
+    }
+
+    /**
+     * Возвращает счетчики бронирований вещей владельца из кэша или загружает их.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param loader  функция загрузки счетчиков
+     * @return количество бронирований вещей владельца по состояниям
+     */
+    public BookingCountsDto getForOwner(Long ownerId, Function<Long, BookingCountsDto> loader) {
+        return byOwner.get(ownerId, loader);
+    }
+
+    /**
+     * Удаляет счетчики арендатора бронирования и владельца его вещи после фиксации текущей транзакции.
+     *
+     * @param booking созданное, измененное или удаляемое бронирование
+     */
+    public void evictAfterCommit(Booking booking) {
+        Long bookerId = booking.getBooker().getId();
+        Long ownerId = booking.getItem().getOwner().getId();
+        afterCommit(() -> {
+            byBooker.invalidate(bookerId);
+            byOwner.invalidate(ownerId);
+        });
+    }
+
+    /**
+     * Очищает кэш после фиксации текущей транзакции.
+     */
+    public void clearAfterCommit() {
+        afterCommit(() -> {
+            byBooker.clear();
+            byOwner.clear();
+        });
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action изменение кэша
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO с количеством бронирований пользователя по каждому значению {@link State} в модуле server.
+ * <p>
+ * Используется в ответах {@code GET /bookings/counts} (бронирования арендатора) и
+ * {@code GET /bookings/owner/counts} (бронирования вещей владельца). Условия подсчета совпадают
+ * с фильтрами списков бронирований по состоянию.
+ * </p>
+ *
+ * @param all      количество всех бронирований
+ * @param current  количество текущих бронирований
+ * @param past     количество завершенных бронирований
+ * @param future   количество будущих бронирований
+ * @param waiting  количество бронирований, ожидающих подтверждения
+ * @param rejected количество отклоненных бронирований
+ *
+ * @see ru.practicum.shareit.booking.BookingController
+ * @see ru.practicum.shareit.booking.BookingService
+ */
+public record BookingCountsDto(
+        long all,
+        long current,
+        long past,
+        long future,
+        long waiting,
+        long rejected
+) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public BookingCountsDto {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO решения владельца по одному бронированию в пакетном подтверждении в модуле server.
+ * <p>
+ * Используется в теле запроса {@code PATCH /bookings/approve}.
+ * </p>
+ *
+ * @param bookingId идентификатор бронирования
+ * @param approved  флаг подтверждения: {@code true} - подтвердить, {@code false} - отклонить
+ *
+ * @see ru.practicum.shareit.booking.BookingController
+ * @see ru.practicum.shareit.booking.BookingService
+ */
+public record BookingDecisionDto(
+        Long bookingId,
+        Boolean approved
+) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public BookingDecisionDto {
+    }
+}
\ No newline at end of file
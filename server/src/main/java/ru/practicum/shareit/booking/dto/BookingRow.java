@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция бронирования для списков бронирований.
+ * <p>
+ * Содержит ровно те колонки, которые попадают в {@link BookingResponseDto}, включая название
+ * вещи и имя и email арендатора. Загружается конструкторным выражением JPQL, поэтому
+ * сущности бронирования, вещи и пользователя не создаются и не попадают в контекст
+ * персистентности.
+ * </p>
+ *
+ * @param id          идентификатор бронирования
+ * @param start       дата и время начала бронирования
+ * @param end         дата и время окончания бронирования
+ * @param itemId      идентификатор вещи
+ * @param itemName    название вещи
+ * @param bookerId    идентификатор арендатора
+ * @param bookerName  имя арендатора
+ * @param bookerEmail email арендатора
+ * @param status      статус бронирования
+ *
+ * @see ru.practicum.shareit.booking.view.BookingViewRepository
+ * @see ru.practicum.shareit.booking.BookingMapper#toBookingResponseDto(BookingRow)
+ */
+public record BookingRow(
+        Long id,
+        LocalDateTime start,
+        LocalDateTime end,
+        Long itemId,
+        String itemName,
+        Long bookerId,
+        String bookerName,
+        String bookerEmail,
+        Status status) {
+}
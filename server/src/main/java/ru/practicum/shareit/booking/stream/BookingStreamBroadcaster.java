@@ -0,0 +1,299 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.outbox.EventStreamSubscriber;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Рассылка изменений бронирований в персональные SSE-потоки {@code GET /bookings/stream}.
+ * <p>
+ * Получает опубликованные {@link DomainEvent} бронирований из внутренней шины событий
+ * и отправляет состояние бронирования ({@code BookingResponseDto} из outbox) только тем
+ * подписчикам, которые являются арендатором или владельцем вещи. Подписчики сгруппированы
+ * по пользователю, поэтому событие затрагивает не более двух групп соединений.
+ * </p>
+ * <p>
+ * Ожидающее соединение не занимает поток: запрос переводится в асинхронный режим, а отправка
+ * выполняется в виртуальных потоках. Для каждого подписчика события отправляются строго по
+ * очереди ({@link EventStreamSubscriber}); подписчик, у которого накопилось больше
+ * {@code shareit.events.max-pending} неотправленных событий, отключается и может
+ * переподключиться с {@code Last-Event-ID}.
+ * Периодические комментарии-heartbeat не дают прокси закрыть простаивающие соединения
+ * и позволяют обнаружить отключившихся клиентов.
+ * </p>
+ * <p>
+ * События поступают от {@link ru.practicum.shareit.outbox.OutboxEventFeed}, который читает
+ * события, опубликованные любым узлом. Идентификатор SSE-события совпадает с номером публикации
+ * события outbox. При переподключении с заголовком {@code Last-Event-ID} пропущенные события
+ * бронирований читаются из таблицы outbox по номеру публикации (пока они не удалены по сроку хранения),
+ * но не более {@code shareit.events.replay-limit} событий, а владельцы их вещей определяются одним
+ * запросом. Если пропущено больше событий, клиенту отправляется событие
+ * {@value EventStreamSubscriber#RESET_EVENT}, после которого он должен заново загрузить бронирования. Удаление бронирования не передается:
+ * событие удаления не содержит состояния бронирования.
+ * </p>
+ *
+ * @see ru.practicum.shareit.outbox.OutboxEventFeed
+ * @see ru.practicum.shareit.booking.BookingController
+ */
+@Slf4j
+@Component
+public class BookingStreamBroadcaster {
+
+    private static final int OWNER_CACHE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeout;
+    private final int replayLimit;
+    private final int maxPending;
+    private final ConcurrentMap<Long, Set<EventStreamSubscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Long> ownerByItem = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > OWNER_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Создает компонент рассылки изменений бронирований.
+     *
+     * @param userRepository        репозиторий пользователей для проверки подписчика
+     * @param itemRepository        репозиторий вещей для определения владельца
+     * @param outboxEventRepository репозиторий событий outbox для повторной отправки
+     * @param objectMapper          JSON-маппер для чтения состояния бронирования из события
+     * @param timeout               время жизни SSE-соединения в миллисекундах (shareit.events.sse-timeout)
+     * @param replayLimit           максимальное количество повторно отправляемых событий (shareit.events.replay-limit)
+     * @param maxPending            максимальная очередь неотправленных событий подписчика (shareit.events.max-pending)
+     */
+    public BookingStreamBroadcaster(UserRepository userRepository,
+                                    ItemRepository itemRepository,
+                                    OutboxEventRepository outboxEventRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${shareit.events.sse-timeout:1800000}") long timeout,
+                                    @Value("${shareit.events.replay-limit:1000}") int replayLimit,
+                                    @Value("${shareit.events.max-pending:1000}") int maxPending) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.replayLimit = replayLimit;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Подписывает пользователя на изменения его бронирований и бронирований его вещей.
+     * <p>
+     * Подписка регистрируется до чтения пропущенных событий, а события, пришедшие во время
+     * чтения, отправляются после них без повторов. Если после {@code lastEventId} опубликовано
+     * больше {@code shareit.events.replay-limit} событий бронирований, вместо них отправляется
+     * событие {@value EventStreamSubscriber#RESET_EVENT}.
+     * </p>
+     *
+     * @param userId      идентификатор пользователя
+     * @param lastEventId номер публикации последнего полученного клиентом события (может быть {@code null})
+     * @return SSE-соединение клиента
+     * @throws NotFoundException если пользователь не найден
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User", userId);
+        }
+
+        EventStreamSubscriber subscriber = new EventStreamSubscriber(new SseEmitter(timeout), sender, maxPending,
+                this::toSseEvent, closed -> unsubscribe(userId, closed));
+        subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        if (lastEventId == null) {
+            subscriber.start(List.of());
+            return subscriber.getEmitter();
+        }
+
+        List<OutboxEvent> missed = outboxEventRepository.findAllByPublishSeqGreaterThanAndAggregateTypeOrderByPublishSeq(
+                lastEventId, AggregateType.BOOKING, Limit.of(replayLimit + 1));
+        if (missed.size() > replayLimit) {
+            log.debug("Resetting booking stream of user {}: more than {} missed events", userId, replayLimit);
+            subscriber.startAfterReset(outboxEventRepository.findLastPublishSeq());
+        } else {
+            subscriber.start(eventsOfUser(userId, missed));
+        }
+        return subscriber.getEmitter();
+    }
+
+    /**
+     * Отправляет опубликованное событие бронирования арендатору и владельцу вещи.
+     *
+     * @param event опубликованное доменное событие
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregateType() != AggregateType.BOOKING || event.payload() == null) return;
+        if (subscribersByUser.isEmpty()) return;
+
+        BookingParticipants participants = participantsOf(event.payload());
+        if (participants == null) return;
+
+        enqueue(participants.bookerId(), event);
+        if (!participants.ownerId().equals(participants.bookerId())) {
+            enqueue(participants.ownerId(), event);
+        }
+    }
+
+    /**
+     * Отправляет комментарий-heartbeat во все открытые соединения.
+     */
+    @Scheduled(fixedDelayString = "${shareit.events.heartbeat-interval:30000}")
+    public void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber ->
+                subscriber.sendComment("heartbeat")));
+    }
+
+    /**
+     * Закрывает открытые соединения и останавливает отправку при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(EventStreamSubscriber::complete));
+        sender.shutdownNow();
+    }
+
+    private void enqueue(Long userId, DomainEvent event) {
+        Set<EventStreamSubscriber> subscribers = subscribersByUser.get(userId);
+        if (subscribers == null) return;
+
+        subscribers.forEach(subscriber -> subscriber.send(event));
+    }
+
+    private List<DomainEvent> eventsOfUser(Long userId, List<OutboxEvent> events) {
+        List<Map.Entry<OutboxEvent, BookingRef>> bookings = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            BookingRef booking = event.getPayload() == null ? null : bookingOf(event.getPayload());
+            if (booking != null) {
+                bookings.add(Map.entry(event, booking));
+            }
+        }
+        loadOwners(bookings.stream().map(entry -> entry.getValue().itemId()).collect(Collectors.toSet()));
+
+        List<DomainEvent> result = new ArrayList<>();
+        for (Map.Entry<OutboxEvent, BookingRef> entry : bookings) {
+            BookingParticipants participants = participantsOf(entry.getValue());
+            if (participants != null && participants.includes(userId)) {
+                result.add(DomainEvent.from(entry.getKey()));
+            }
+        }
+        return result;
+    }
+
+    private BookingParticipants participantsOf(String payload) {
+        BookingRef booking = bookingOf(payload);
+        return booking == null ? null : participantsOf(booking);
+    }
+
+    private BookingParticipants participantsOf(BookingRef booking) {
+        Long ownerId = ownerIdOf(booking.itemId());
+        return ownerId == null ? null : new BookingParticipants(booking.bookerId(), ownerId);
+    }
+
+    private BookingRef bookingOf(String payload) {
+        try {
+            JsonNode booking = objectMapper.readTree(payload);
+            return new BookingRef(booking.path("booker").path("id").asLong(), booking.path("item").path("id").asLong());
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping booking event with malformed payload: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Загружает одним запросом владельцев вещей, которых еще нет в кэше.
+     *
+     * @param itemIds идентификаторы вещей
+     */
+    private void loadOwners(Set<Long> itemIds) {
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !ownerByItem.containsKey(itemId))
+                .toList();
+        if (missing.isEmpty()) return;
+
+        itemRepository.findOwnerIdsByIds(missing).forEach(row -> ownerByItem.put(row.itemId(), row.ownerId()));
+    }
+
+    private Long ownerIdOf(long itemId) {
+        Long ownerId = ownerByItem.get(itemId);
+        if (ownerId == null) {
+            ownerId = itemRepository.findOwnerIdById(itemId).orElse(null);
+            if (ownerId != null) {
+                ownerByItem.put(itemId, ownerId);
+            }
+        }
+        return ownerId;
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(DomainEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.sequence()))
+                .name(event.type().name())
+                .data(event.payload(), MediaType.APPLICATION_JSON);
+    }
+
+    private void unsubscribe(Long userId, EventStreamSubscriber subscriber) {
+        subscribersByUser.computeIfPresent(userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * Арендатор и вещь бронирования, прочитанные из события.
+     *
+     * @param bookerId идентификатор арендатора
+     * @param itemId   идентификатор вещи
+     */
+    private record BookingRef(long bookerId, long itemId) {
+    }
+
+    /**
+     * Участники бронирования, которым отправляются его изменения.
+     *
+     * @param bookerId идентификатор арендатора
+     * @param ownerId  идентификатор владельца вещи
+     */
+    private record BookingParticipants(Long bookerId, Long ownerId) {
+        boolean includes(Long userId) {
+            return bookerId.equals(userId) || ownerId.equals(userId);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.view;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Synchronize;
+import org.hibernate.proxy.HibernateProxy;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сущность, представляющая строку денормализованной модели чтения бронирований.
+ * <p>
+ * Содержит все колонки списков бронирований арендатора и владельца: кроме периода и статуса
+ * бронирования — владельца и название вещи, имя и email арендатора. Списки читаются из одной
+ * таблицы без соединений с вещами и пользователями. Строки поддерживает {@link BookingViewWriter}
+ * в транзакциях, изменяющих исходные данные; при удалении бронирования строка удаляется каскадно.
+ * Таблицы исходных данных перечислены в {@link Synchronize}, поэтому перед запросом к модели
+ * Hibernate сбрасывает в базу их несохраненные изменения (например, удаления бронирований).
+ * </p>
+ *
+ * @see BookingViewWriter
+ * @see BookingViewRepository
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_view")
+@Synchronize({"bookings", "items", "users"})
+@Entity
+public class BookingView {
+    /**
+     * Идентификатор бронирования.
+     */
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    /**
+     * Идентификатор арендатора.
+     */
+    @Column(name = "booker_id", nullable = false)
+    private Long bookerId;
+
+    /**
+     * Идентификатор владельца вещи.
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    /**
+     * Идентификатор вещи.
+     */
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    /**
+     * Название вещи.
+     */
+    @Column(name = "item_name", nullable = false)
+    private String itemName;
+
+    /**
+     * Имя арендатора.
+     */
+    @Column(name = "booker_name")
+    private String bookerName;
+
+    /**
+     * Email арендатора.
+     */
+    @Column(name = "booker_email", nullable = false)
+    private String bookerEmail;
+
+    /**
+     * Дата и время начала бронирования.
+     */
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+
+    /**
+     * Дата и время окончания бронирования.
+     */
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+
+    /**
+     * Статус бронирования.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    /**
+     * Сравнивает объекты BookingView по идентификатору бронирования.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @param object объект для сравнения
+     * @return {@code true}, если объекты равны, иначе {@code false}
+     */
+    @Override
+    public final boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null) return false;
+        Class<?> oEffectiveClass = object instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : object.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        BookingView that = (BookingView) object;
+        return getBookingId() != null && Objects.equals(getBookingId(), that.getBookingId());
+    }
+
+    /**
+     * Возвращает хеш-код объекта.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @return хеш-код объекта
+     */
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
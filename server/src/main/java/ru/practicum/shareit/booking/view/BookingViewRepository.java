@@ -0,0 +1,241 @@
+package ru.practicum.shareit.booking.view;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий модели чтения бронирований {@link BookingView}.
+ * <p>
+ * Списки бронирований арендатора и владельца читаются проекцией {@link BookingRow} из одной
+ * таблицы {@code booking_view}, без соединений с вещами и пользователями. Кроме чтения
+ * предоставляет запросы, которыми {@link BookingViewWriter} поддерживает строки модели
+ * в актуальном состоянии.
+ * </p>
+ *
+ * @see BookingView
+ * @see BookingViewWriter
+ */
+public interface BookingViewRepository extends JpaRepository<BookingView, Long> {
+
+    /**
+     * Общая часть запросов списков бронирований: проекция {@link BookingRow}.
+     * Псевдоним {@code v} — строка модели чтения.
+     */
+    String SELECT_BOOKING_ROWS = """
+            SELECT new ru.practicum.shareit.booking.dto.BookingRow(
+                v.bookingId, v.start, v.end, v.itemId, v.itemName, v.bookerId, v.bookerName, v.bookerEmail, v.status)
+            FROM BookingView v
+            """;
+
+    /**
+     * Общая часть запросов заполнения модели чтения по бронированиям. Псевдонимы: {@code b} —
+     * бронирование, {@code i} — вещь, {@code u} — арендатор.
+     */
+    String INSERT_FROM_BOOKINGS = """
+            INSERT INTO BookingView (bookingId, bookerId, ownerId, itemId, itemName, bookerName, bookerEmail,
+                start, end, status)
+            SELECT b.id, u.id, i.owner.id, i.id, i.name, u.name, u.email, b.start, b.end, b.status
+            FROM Booking b
+            JOIN b.item i
+            JOIN b.booker u
+            """;
+
+    /**
+     * Находит все бронирования пользователя с указанным статусом.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param status   статус бронирования
+     * @param sort     параметры сортировки
+     * @return список бронирований пользователя с указанным статусом
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.bookerId = :bookerId AND v.status = :status")
+    List<BookingRow> findRowsByBookerIdAndStatus(
+            @Param("bookerId") long bookerId,
+            @Param("status") Status status,
+            Sort sort);
+
+    /**
+     * Находит все бронирования пользователя.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param sort     параметры сортировки
+     * @return список всех бронирований пользователя
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.bookerId = :bookerId")
+    List<BookingRow> findRowsByBookerId(@Param("bookerId") long bookerId, Sort sort);
+
+    /**
+     * Находит все будущие бронирования пользователя (с датой начала после указанной).
+     *
+     * @param bookerId        идентификатор пользователя-арендатора
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список будущих бронирований пользователя
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.bookerId = :bookerId AND v.start > :currentDateTime")
+    List<BookingRow> findFutureRowsByBooker(
+            @Param("bookerId") long bookerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Находит все завершенные бронирования пользователя (с датой окончания до указанной).
+     *
+     * @param bookerId        идентификатор пользователя-арендатора
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список завершенных бронирований пользователя
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.bookerId = :bookerId AND v.end < :currentDateTime")
+    List<BookingRow> findPastRowsByBooker(
+            @Param("bookerId") long bookerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Находит все текущие бронирования пользователя (где текущая дата между start и end).
+     *
+     * @param bookerId        идентификатор пользователя-арендатора
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список текущих бронирований пользователя
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.bookerId = :bookerId AND :currentDateTime BETWEEN v.start AND v.end")
+    List<BookingRow> findCurrentRowsByBooker(
+            @Param("bookerId") long bookerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Находит все бронирования для вещей владельца с указанным статусом.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param status  статус бронирования
+     * @param sort    параметры сортировки
+     * @return список бронирований с указанным статусом для вещей владельца
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.ownerId = :ownerId AND v.status = :status")
+    List<BookingRow> findRowsByOwnerIdAndStatus(
+            @Param("ownerId") long ownerId,
+            @Param("status") Status status,
+            Sort sort);
+
+    /**
+     * Находит все бронирования для всех вещей владельца.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param sort    параметры сортировки
+     * @return список всех бронирований для вещей владельца
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.ownerId = :ownerId")
+    List<BookingRow> findRowsByOwnerId(@Param("ownerId") long ownerId, Sort sort);
+
+    /**
+     * Находит все будущие бронирования для вещей владельца.
+     *
+     * @param ownerId         идентификатор владельца вещей
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список будущих бронирований для вещей владельца
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.ownerId = :ownerId AND v.start > :currentDateTime")
+    List<BookingRow> findFutureRowsByOwner(
+            @Param("ownerId") long ownerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Находит все завершенные бронирования для вещей владельца.
+     *
+     * @param ownerId         идентификатор владельца вещей
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список завершенных бронирований для вещей владельца
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.ownerId = :ownerId AND v.end < :currentDateTime")
+    List<BookingRow> findPastRowsByOwner(
+            @Param("ownerId") long ownerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Находит все текущие бронирования для вещей владельца.
+     *
+     * @param ownerId         идентификатор владельца вещей
+     * @param currentDateTime текущая дата и время
+     * @param sort            параметры сортировки
+     * @return список текущих бронирований для вещей владельца
+     */
+    @Query(SELECT_BOOKING_ROWS + "WHERE v.ownerId = :ownerId AND :currentDateTime BETWEEN v.start AND v.end")
+    List<BookingRow> findCurrentRowsByOwner(
+            @Param("ownerId") long ownerId,
+            @Param("currentDateTime") LocalDateTime currentDateTime,
+            Sort sort);
+
+    /**
+     * Создает строку модели чтения для нового бронирования.
+     *
+     * @param bookingId идентификатор бронирования
+     * @return количество созданных строк
+     */
+    @Modifying
+    @Query(INSERT_FROM_BOOKINGS + "WHERE b.id = :bookingId")
+    int insertFor(@Param("bookingId") Long bookingId);
+
+    /**
+     * Создает строки модели чтения для всех бронирований, у которых их нет.
+     *
+     * @return количество созданных строк
+     */
+    @Modifying
+    @Query(INSERT_FROM_BOOKINGS + "WHERE NOT EXISTS (SELECT 1 FROM BookingView v WHERE v.bookingId = b.id)")
+    int insertMissing();
+
+    /**
+     * Записывает новый статус бронирований.
+     *
+     * @param bookingIds идентификаторы бронирований
+     * @param status     новый статус
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("UPDATE BookingView v SET v.status = :status WHERE v.bookingId IN :bookingIds")
+    int updateStatus(@Param("bookingIds") Collection<Long> bookingIds, @Param("status") Status status);
+
+    /**
+     * Записывает новое название вещи во все ее бронирования.
+     *
+     * @param itemId   идентификатор вещи
+     * @param itemName новое название вещи
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("UPDATE BookingView v SET v.itemName = :itemName WHERE v.itemId = :itemId")
+    int updateItemName(@Param("itemId") Long itemId, @Param("itemName") String itemName);
+
+    /**
+     * Записывает новые имя и email арендатора во все его бронирования.
+     *
+     * @param bookerId    идентификатор арендатора
+     * @param bookerName  новое имя арендатора
+     * @param bookerEmail новый email арендатора
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("""
+            UPDATE BookingView v SET v.bookerName = :bookerName, v.bookerEmail = :bookerEmail
+            WHERE v.bookerId = :bookerId
+            """)
+    int updateBooker(@Param("bookerId") Long bookerId,
+                     @Param("bookerName") String bookerName,
+                     @Param("bookerEmail") String bookerEmail);
+}
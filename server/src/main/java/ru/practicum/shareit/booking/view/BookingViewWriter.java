@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает модель чтения бронирований {@link BookingView} в актуальном состоянии.
+ * <p>
+ * Все изменения выполняются в транзакции, изменяющей исходные данные, поэтому списки
+ * бронирований сразу после ее фиксации видят новое бронирование, новый статус, новое
+ * название вещи и новые имя и email арендатора. Строки удаленных бронирований удаляются
+ * базой данных каскадно. Бронирования, загруженные в базу напрямую, получают строки модели
+ * при запуске приложения.
+ * </p>
+ *
+ * @see BookingView
+ * @see BookingViewRepository
+ */
+@Slf4j
+@Component
+public class BookingViewWriter {
+
+    private final BookingViewRepository viewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Создает компонент поддержки модели чтения бронирований.
+     *
+     * @param viewRepository     репозиторий модели чтения
+     * @param transactionManager менеджер транзакций для заполнения модели при запуске
+     */
+    public BookingViewWriter(BookingViewRepository viewRepository, PlatformTransactionManager transactionManager) {
+        this.viewRepository = viewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Создает строки модели для бронирований, у которых их нет (например, загруженных в базу напрямую).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer created = transactionTemplate.execute(status -> viewRepository.insertMissing());
+        log.info("Created {} missing booking view rows", created);
+    }
+
+    /**
+     * Создает строку модели для нового бронирования в текущей транзакции.
+     *
+     * @param booking сохраненное бронирование
+     */
+    public void onCreated(Booking booking) {
+        viewRepository.insertFor(booking.getId());
+    }
+
+    /**
+     * Записывает новые статусы бронирований в текущей транзакции.
+     * <p>
+     * Выполняет по одному обновлению на каждый встретившийся статус.
+     * </p>
+     *
+     * @param bookings бронирования с измененным статусом
+     */
+    public void onStatusChanged(Collection<Booking> bookings) {
+        Map<Status, List<Long>> idsByStatus = bookings.stream()
+                .collect(Collectors.groupingBy(Booking::getStatus,
+                        Collectors.mapping(Booking::getId, Collectors.toList())));
+        idsByStatus.forEach((status, ids) -> viewRepository.updateStatus(ids, status));
+    }
+
+    /**
+     * Записывает название вещи во все ее бронирования в текущей транзакции.
+     *
+     * @param item вещь с новым названием
+     */
+    public void onItemRenamed(Item item) {
+        viewRepository.updateItemName(item.getId(), item.getName());
+    }
+
+    /**
+     * Записывает имя и email пользователя во все его бронирования в текущей транзакции.
+     *
+     * @param user пользователь с новыми именем или email
+     */
+    public void onUserUpdated(User user) {
+        viewRepository.updateBooker(user.getId(), user.getName(), user.getEmail());
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Небольшой потокобезопасный кэш в памяти с ограничением времени жизни и размера.
+ * <p>
+ * Значение хранится не дольше {@code ttl} с момента загрузки; при превышении
+ * {@code maxSize} вытесняется давно не использовавшаяся запись (LRU). Загрузка
+ * выполняется вне блокировки, поэтому медленная загрузка одного ключа не задерживает
+ * чтение других; при одновременном промахе по одному ключу значение может быть
+ * загружено несколько раз, и в кэше останется последнее. Значение, загрузка которого
+ * началась до {@link #invalidate} или {@link #clear}, в кэш не сохраняется.
+ * </p>
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ */
+public class ExpiringCache<K, V> {
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries;
+    private long generation;
+
+    /**
+     * Создает кэш.
+     *
+     * @param ttl     время жизни значения
+     * @param maxSize максимальное количество записей
+     */
+    public ExpiringCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    /**
+     * Создает кэш с заданным источником времени.
+     *
+     * @param ttl       время жизни значения
+     * @param maxSize   максимальное количество записей
+     * @param nanoClock источник монотонного времени в наносекундах
+     */
+    ExpiringCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Возвращает значение из кэша или загружает его, если значения нет или оно устарело.
+     *
+     * @param key    ключ
+     * @param loader функция загрузки значения
+     * @return значение
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = nanoClock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                return entry.value();
+            }
+            loadGeneration = generation;
+        }
+        V value = loader.apply(key);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, now));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Удаляет запись с указанным ключом.
+     *
+     * @param key ключ
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Удаляет все записи.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Запись выгрузок в формате NDJSON ({@code application/x-ndjson}): по одному JSON-объекту на строку.
+ * <p>
+ * Объекты сериализуются и передаются в выходной поток по одному, по мере чтения из курсора
+ * базы данных, поэтому расход памяти не зависит от размера выгрузки. Выходной поток
+ * после записи не закрывается — им управляет вызывающая сторона.
+ * </p>
+ *
+ * @see org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+ */
+@Component
+public class NdjsonWriter {
+
+    /**
+     * Размер выборки курсоров, из которых читаются выгрузки. Используется в подсказках
+     * {@code HINT_FETCH_SIZE} потоковых методов репозиториев: внутри транзакции драйвер
+     * PostgreSQL читает результат порциями указанного размера, а не целиком.
+     */
+    public static final String CURSOR_FETCH_SIZE = "500";
+
+    private final ObjectWriter writer;
+
+    /**
+     * Создает компонент записи NDJSON.
+     *
+     * @param objectMapper настроенный {@link ObjectMapper} приложения
+     */
+    public NdjsonWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Записывает объекты потока в выходной поток, каждый — отдельной строкой.
+     *
+     * @param values поток объектов (закрывается вызывающей стороной)
+     * @param out    выходной поток
+     * @throws UncheckedIOException если запись в выходной поток не удалась
+     */
+    public void write(Stream<?> values, OutputStream out) {
+        write(values.iterator(), out);
+    }
+
+    /**
+     * Записывает объекты итератора в выходной поток, каждый — отдельной строкой.
+     *
+     * @param values итератор объектов
+     * @param out    выходной поток
+     * @throws UncheckedIOException если запись в выходной поток не удалась
+     */
+    public void write(Iterator<?> values, OutputStream out) {
+        if (!values.hasNext()) {
+            return;
+        }
+        try {
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                while (values.hasNext()) {
+                    sequence.write(values.next());
+                }
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write export", e);
+        }
+    }
+}
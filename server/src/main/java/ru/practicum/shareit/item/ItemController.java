@@ -2,12 +2,24 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST-контроллер для управления вещами и комментариями в модуле server.
@@ -23,6 +35,9 @@ import java.util.List;
  * @see ItemResponseWithCommentsDto
  * @see CommentCreateOrUpdateDto
  * @see CommentRequestDto
+ * @see CommentPageDto
+ * @see ItemAvailabilityDto
+ * @see ItemStatsDto
  */
 @RestController
 @RequestMapping("/items")
@@ -31,6 +46,12 @@ import java.util.List;
 public class ItemController {
     private final ItemService itemService;
 
+    @Value("${shareit.items.stats-ttl:30s}")
+    private Duration statsTtl;
+
+    @Value("${shareit.items.suggest-ttl:10s}")
+    private Duration suggestTtl;
+
     /**
      * Создает новую вещь.
      * <p>
@@ -74,20 +95,83 @@ public class ItemController {
     }
 
     /**
-     * Получает список всех вещей конкретного владельца.
+     * Получает страницу вещей конкретного владельца.
      * <p>
-     * HTTP метод: GET /items
-     * Для каждой вещи возвращается расширенная информация с датами ближайших бронирований.
+     * HTTP метод: GET /items?after={after}&size={size}&expand={expand}
+     * Страница начинается после вещи с идентификатором {@code after}. Даты ближайших бронирований
+     * и комментарии добавляются, только если запрошены в {@code expand} (BOOKINGS, COMMENTS).
      * </p>
      *
      * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
-     * @return список вещей владельца с расширенной информацией
+     * @param after   идентификатор последней вещи предыдущей страницы (по умолчанию 0)
+     * @param size    количество вещей на странице (по умолчанию 10)
+     * @param expand  дополнительные части ответа (необязательный query-параметр)
+     * @return страница вещей владельца в порядке идентификаторов
      */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemResponseWithCommentsDto> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        log.info("Retrieving items by owner: {}", ownerId);
-        return itemService.findByUserId(ownerId);
+    public List<ItemResponseWithCommentsDto> getItemsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(name = "after", defaultValue = "0") Long after,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "expand", required = false) Set<ItemExpand> expand) {
+        log.info("Retrieving items by owner: {}, after={}, size={}, expand={}", ownerId, after, size, expand);
+        return itemService.findByUserId(ownerId, after, size, expand == null ? Set.of() : expand);
+    }
+
+    /**
+     * Получает вещи по списку идентификаторов.
+     * <p>
+     * HTTP метод: GET /items?ids={id},{id},...
+     * Вещи читаются одним запросом. Ответ — объект, ключи которого — запрошенные идентификаторы;
+     * отсутствующая вещь отмечается {@code "found": false}, а не ошибкой 404 для всего пакета.
+     * </p>
+     *
+     * @param ids идентификаторы вещей (из query-параметра, повторы игнорируются)
+     * @return карта идентификатор → вещь в виде базового DTO
+     */
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<Long, BatchEntry<ItemResponseDto>> getItemsByIds(@RequestParam("ids") List<Long> ids) {
+        log.info("Retrieving items by ids: {}", ids);
+        return itemService.findByIds(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Получает статистику бронирований и комментариев по всем вещам владельца.
+     * <p>
+     * HTTP метод: GET /items/stats
+     * Ответ можно кэшировать на клиенте в течение {@code shareit.items.stats-ttl}
+     * (заголовок {@code Cache-Control: private, max-age}).
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей (из заголовка X-Sharer-User-Id)
+     * @return статистика вещей владельца
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<ItemStatsDto>> getItemStats(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        log.info("Retrieving item stats by owner: {}", ownerId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(statsTtl).cachePrivate())
+                .body(itemService.findStats(ownerId));
+    }
+
+    /**
+     * Выгружает все вещи.
+     * <p>
+     * HTTP метод: GET /items/export
+     * Ответ передается в формате NDJSON ({@code application/x-ndjson}) по мере чтения вещей
+     * из базы данных, в порядке идентификаторов.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с телом ответа, записывающим вещи в выходной поток
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        log.info("Exporting all items");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(itemService::exportAll);
     }
 
     /**
@@ -111,23 +195,102 @@ public class ItemController {
         return itemService.findById(itemId, userId);
     }
 
+    /**
+     * Получает страницу комментариев к вещи.
+     * <p>
+     * HTTP метод: GET /items/{itemId}/comments?after={after}&size={size}
+     * Комментарии упорядочены от новых к старым; страница начинается после комментария
+     * {@code after} (курсор из карточки вещи или предыдущей страницы).
+     * </p>
+     *
+     * @param itemId идентификатор вещи (из пути запроса)
+     * @param after  идентификатор последнего комментария предыдущей страницы (необязательный query-параметр)
+     * @param size   количество комментариев на странице (по умолчанию 10)
+     * @return страница комментариев с курсором следующей страницы
+     */
+    @GetMapping("/{itemId}/comments")
+    @ResponseStatus(HttpStatus.OK)
+    public CommentPageDto getComments(
+            @PathVariable Long itemId,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Retrieving comments of item {}, after={}, size={}", itemId, after, size);
+        return itemService.findComments(itemId, after, size);
+    }
+
     /**
      * Выполняет поиск доступных вещей по тексту в названии или описании.
      * <p>
-     * HTTP метод: GET /items/search?text={text}
+     * HTTP метод: GET /items/search?text={text}[&from={from}&to={to}]
      * Поиск доступен только для доступных вещей (available = true).
+     * Если указан период, возвращаются только вещи без подтвержденных бронирований в нем.
      * </p>
      *
      * @param text текст для поиска (из query-параметра)
+     * @param from начало периода (необязательный query-параметр, ISO-8601)
+     * @param to   окончание периода (необязательный query-параметр, ISO-8601)
      * @return список найденных вещей в виде базовых DTO
      */
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemResponseDto> searchItems(@RequestParam("text") String text) {
+    public List<ItemResponseDto> searchItems(
+            @RequestParam("text") String text,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from != null && to != null) {
+            log.info("Searching items by text: {}, free from {} to {}", text, from, to);
+            return itemService.search(text, from, to);
+        }
         log.info("Searching items by text: {}", text);
         return itemService.search(text);
     }
 
+    /**
+     * Получает подсказки названий доступных вещей по введенному префиксу.
+     * <p>
+     * HTTP метод: GET /items/suggest?prefix={prefix}&size={size}
+     * Подсказки одинаковы для всех пользователей, поэтому ответ можно кэшировать
+     * в течение {@code shareit.items.suggest-ttl} (заголовок {@code Cache-Control: public, max-age}).
+     * </p>
+     *
+     * @param prefix префикс названия (из query-параметра)
+     * @param size   наибольшее количество названий (по умолчанию 10)
+     * @return названия вещей от самых частых к редким
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestItemNames(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.debug("Suggesting item names by prefix: {}, size={}", prefix, size);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(suggestTtl).cachePublic())
+                .body(itemService.suggest(prefix, size));
+    }
+
+    /**
+     * Получает занятость вещи в заданном периоде.
+     * <p>
+     * HTTP метод: GET /items/{itemId}/availability?from={from}&to={to}
+     * Ответ формируется по индексу подтвержденных бронирований в памяти.
+     * </p>
+     *
+     * @param itemId идентификатор вещи (из пути запроса)
+     * @param from   начало периода (из query-параметра, ISO-8601)
+     * @param to     окончание периода (из query-параметра, ISO-8601)
+     * @return признак доступности вещи и занятые периоды
+     */
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public ItemAvailabilityDto getItemAvailability(
+            @PathVariable Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Retrieving availability of item {} from {} to {}", itemId, from, to);
+        return itemService.findAvailability(itemId, from, to);
+    }
+
     /**
      * Добавляет комментарий к вещи.
      * <p>
@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.CommentRow;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для управления сущностями {@link Comment} в базе данных.
@@ -18,14 +25,82 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * Находит все комментарии, оставленные к указанной вещи.
+     * Находит первую страницу комментариев к указанной вещи в виде DTO.
      * <p>
-     * Используется при формировании полной информации о вещи,
-     * чтобы отобразить все комментарии пользователей.
+     * Используется в карточке вещи и для первой страницы {@code GET /items/{itemId}/comments}.
+     * Комментарии читаются от новых к старым по индексу {@code (item_id, created DESC)}, имя автора —
+     * соединением в том же запросе, сущности комментариев и авторов не загружаются.
      * </p>
      *
      * @param itemId идентификатор вещи, для которой ищутся комментарии
-     * @return список комментариев к указанной вещи (может быть пустым)
+     * @param limit  максимальное количество комментариев
+     * @return список комментариев к указанной вещи от новых к старым (может быть пустым)
      */
-    List<Comment> findAllByItem_Id(Long itemId);
-}
\ No newline at end of file
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.CommentRequestDto(c.id, c.text, a.name, c.created)
+            FROM Comment c JOIN c.author a
+            WHERE c.item.id = :itemId
+            ORDER BY c.created DESC, c.id DESC
+            """)
+    List<CommentRequestDto> findResponsesByItemId(@Param("itemId") Long itemId, Limit limit);
+
+    /**
+     * Находит следующую страницу комментариев к указанной вещи — комментарии старше указанного.
+     * <p>
+     * Позиция страницы задается комментарием {@code after} (последним комментарием предыдущей
+     * страницы) и сравнивается по паре (дата создания, идентификатор), поэтому комментарии
+     * с одинаковой датой создания не теряются и не повторяются. Если комментарий {@code after}
+     * не относится к вещи или не существует, результат пуст.
+     * </p>
+     *
+     * @param itemId идентификатор вещи, для которой ищутся комментарии
+     * @param after  идентификатор последнего комментария предыдущей страницы
+     * @param limit  максимальное количество комментариев
+     * @return список комментариев к указанной вещи от новых к старым (может быть пустым)
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.CommentRequestDto(c.id, c.text, a.name, c.created)
+            FROM Comment c JOIN c.author a, Comment p
+            WHERE p.id = :after AND p.item.id = :itemId AND c.item.id = :itemId
+            AND (c.created < p.created OR (c.created = p.created AND c.id < p.id))
+            ORDER BY c.created DESC, c.id DESC
+            """)
+    List<CommentRequestDto> findResponsesByItemIdAfter(
+            @Param("itemId") Long itemId,
+            @Param("after") Long after,
+            Limit limit);
+
+    /**
+     * Находит комментарии к указанным вещам в виде проекций с идентификатором вещи.
+     * <p>
+     * Используется при сборке страницы списка вещей владельца: комментарии всех вещей
+     * страницы читаются одним запросом.
+     * </p>
+     *
+     * @param itemIds идентификаторы вещей
+     * @return список комментариев в порядке идентификаторов
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.CommentRow(c.item.id, c.id, c.text, c.author.name, c.created)
+            FROM Comment c
+            WHERE c.item.id IN :itemIds
+            ORDER BY c.id
+            """)
+    List<CommentRow> findRowsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Находит комментарий по ID вместе с автором и вещью.
+     * <p>
+     * Использует JOIN FETCH, чтобы проверки авторства и принадлежности вещи,
+     * а также формирование ответа не требовали дополнительных запросов.
+     * </p>
+     *
+     * @param id идентификатор комментария
+     * @return {@link Optional}, содержащий комментарий с автором и вещью, или пустой {@link Optional}
+     */
+    @Query("SELECT c FROM Comment c " +
+           "JOIN FETCH c.author " +
+           "JOIN FETCH c.item " +
+           "WHERE c.id = :id")
+    Optional<Comment> findByIdWithAuthorAndItem(@Param("id") Long id);
+}
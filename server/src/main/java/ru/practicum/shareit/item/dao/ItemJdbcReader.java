@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.dao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.jdbc.ReadPath;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Текстовый поиск вещей SQL-запросами без участия Hibernate.
+ * <p>
+ * Используется для {@code GET /items/search}, если для него выбран {@link ReadPath#JDBC}
+ * (свойство {@code shareit.read-path.item-search}). Строки результата преобразуются сразу
+ * в {@link ItemResponseDto}. Условия поиска совпадают с {@link ItemRepository#search} и
+ * {@link ItemRepository#searchFreeInPeriod}.
+ * </p>
+ *
+ * @see ru.practicum.shareit.item.service.ItemServiceImpl
+ */
+@Component
+public class ItemJdbcReader {
+
+    private static final String SEARCH = """
+            SELECT i.item_id, i.name, i.description, i.is_available, i.request_id
+            FROM items i
+            WHERE i.is_available = TRUE
+            AND (
+                lower(i.name) LIKE '%' || lower(:text) || '%'
+                OR lower(i.description) LIKE '%' || lower(:text) || '%'
+            )
+            """;
+
+    private static final String SEARCH_FREE_IN_PERIOD = SEARCH + """
+            AND NOT EXISTS (
+                SELECT 1 FROM bookings b
+                WHERE b.item_id = i.item_id AND b.status = 'APPROVED'
+                AND b.start_date < :to AND b.end_date > :from
+            )
+            """;
+
+    private static final RowMapper<ItemResponseDto> ITEM_MAPPER = (rs, rowNum) -> new ItemResponseDto(
+            rs.getLong("item_id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getBoolean("is_available"),
+            rs.getObject("request_id", Long.class));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final boolean searchEnabled;
+
+    /**
+     * Создает читатель вещей.
+     *
+     * @param dataSource источник данных приложения
+     * @param fetchSize  размер выборки (shareit.read-path.fetch-size)
+     * @param searchPath способ чтения результатов поиска (shareit.read-path.item-search)
+     */
+    public ItemJdbcReader(DataSource dataSource,
+                          @Value("${shareit.read-path.fetch-size:500}") int fetchSize,
+                          @Value("${shareit.read-path.item-search:jpa}") ReadPath searchPath) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+        this.searchEnabled = searchPath == ReadPath.JDBC;
+    }
+
+    /**
+     * Проверяет, читаются ли результаты поиска через JDBC.
+     *
+     * @return {@code true}, если для {@code GET /items/search} выбран {@link ReadPath#JDBC}
+     */
+    public boolean isSearchEnabled() {
+        return searchEnabled;
+    }
+
+    /**
+     * Выполняет поиск доступных вещей по тексту в названии или описании.
+     *
+     * @param text текст для поиска (может быть частичным совпадением)
+     * @return список доступных вещей, название или описание которых содержит указанный текст
+     */
+    public List<ItemResponseDto> search(String text) {
+        return jdbc.query(SEARCH, new MapSqlParameterSource("text", text), ITEM_MAPPER);
+    }
+
+    /**
+     * Выполняет поиск доступных вещей по тексту, свободных в течение всего указанного периода.
+     *
+     * @param text текст для поиска (может быть частичным совпадением)
+     * @param from начало периода
+     * @param to   окончание периода
+     * @return список доступных вещей без подтвержденных бронирований в периоде
+     */
+    public List<ItemResponseDto> searchFreeInPeriod(String text, LocalDateTime from, LocalDateTime to) {
+        return jdbc.query(SEARCH_FREE_IN_PERIOD, new MapSqlParameterSource("text", text)
+                .addValue("from", from)
+                .addValue("to", to), ITEM_MAPPER);
+    }
+}
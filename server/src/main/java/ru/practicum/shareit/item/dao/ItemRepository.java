@@ -1,11 +1,27 @@
 package ru.practicum.shareit.item.dao;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.item.dto.ItemDetailRow;
+import ru.practicum.shareit.item.dto.ItemForRequestRow;
+import ru.practicum.shareit.item.dto.ItemOwnerRow;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemStatusStats;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для управления сущностями {@link Item} в базе данных.
@@ -13,6 +29,9 @@ import java.util.List;
  * Предоставляет методы для выполнения операций с вещами, включая
  * поиск по владельцу, текстовый поиск доступных вещей,
  * а также поиск вещей, связанных с запросами.
+ * Списки и карточки вещей читаются проекциями ({@link ItemResponseDto}, {@link ItemForRequestRow},
+ * {@link ItemDetailRow}),
+ * а не сущностями.
  * </p>
  *
  * @see Item
@@ -21,12 +40,98 @@ import java.util.List;
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     /**
-     * Находит все вещи, принадлежащие указанному пользователю.
+     * Общая часть запросов списков вещей: проекция {@link ItemResponseDto} с идентификатором
+     * запроса, прочитанным из внешнего ключа без соединения с таблицей запросов.
+     * Псевдоним вещи — {@code i}.
+     */
+    String SELECT_ITEM_RESPONSES = """
+            SELECT new ru.practicum.shareit.item.dto.ItemResponseDto(
+                i.id, i.name, i.description, i.available, i.request.id)
+            FROM Item i
+            """;
+
+    /**
+     * Общая часть запросов вещей, созданных по запросам: проекция {@link ItemForRequestRow}.
+     * Псевдоним вещи — {@code i}.
+     */
+    String SELECT_ITEMS_FOR_REQUEST = """
+            SELECT new ru.practicum.shareit.item.dto.ItemForRequestRow(i.request.id, i.id, i.name, i.owner.id)
+            FROM Item i
+            """;
+
+    /**
+     * Находит все вещи в виде базовых DTO.
+     *
+     * @return список всех вещей в порядке идентификаторов
+     */
+    @Query(SELECT_ITEM_RESPONSES + "ORDER BY i.id")
+    List<ItemResponseDto> findAllResponses();
+
+    /**
+     * Находит карточку вещи вместе с датами последнего и следующего подтвержденных бронирований.
+     * <p>
+     * Даты читаются в том же запросе подзапросами {@code ORDER BY ... LIMIT 1}: каждый из них
+     * читает по индексу одну строку бронирований вещи, а не все ее подтвержденные бронирования.
+     * </p>
+     *
+     * @param itemId идентификатор вещи
+     * @param now    текущие дата и время
+     * @return {@link Optional}, содержащий карточку вещи, или пустой {@link Optional}
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemDetailRow(
+                i.id, i.name, i.description, i.available, i.request.id, i.owner.id,
+                (SELECT b.end FROM Booking b
+                 WHERE b.item.id = i.id AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED
+                 AND b.end < :now
+                 ORDER BY b.end DESC LIMIT 1),
+                (SELECT b.start FROM Booking b
+                 WHERE b.item.id = i.id AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED
+                 AND b.start > :now
+                 ORDER BY b.start LIMIT 1))
+            FROM Item i
+            WHERE i.id = :itemId
+            """)
+    Optional<ItemDetailRow> findDetailById(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    /**
+     * Находит вещи с указанными идентификаторами одним запросом в виде базовых DTO.
+     *
+     * @param ids идентификаторы вещей
+     * @return найденные вещи (отсутствующие идентификаторы пропускаются)
+     */
+    @Query(SELECT_ITEM_RESPONSES + "WHERE i.id IN :ids")
+    List<ItemResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Возвращает поток всех вещей в виде базовых DTO для выгрузки {@code GET /items/export}.
+     * <p>
+     * Результат читается курсором порциями {@link NdjsonWriter#CURSOR_FETCH_SIZE} строк.
+     * Поток должен читаться внутри транзакции и закрываться после использования.
+     * </p>
+     *
+     * @return поток вещей в порядке идентификаторов
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.CURSOR_FETCH_SIZE))
+    @Query(SELECT_ITEM_RESPONSES + "ORDER BY i.id")
+    Stream<ItemResponseDto> streamAllResponses();
+
+    /**
+     * Находит страницу вещей, принадлежащих указанному пользователю, в виде базовых DTO.
+     * <p>
+     * Пагинация по ключу: страница начинается после вещи с идентификатором {@code after},
+     * поэтому запрос читает по индексу только строки страницы, а не пропускает предыдущие.
+     * </p>
      *
      * @param userId идентификатор владельца вещей
-     * @return список вещей пользователя
+     * @param after  идентификатор последней вещи предыдущей страницы (0 для первой страницы)
+     * @param limit  размер страницы
+     * @return список вещей пользователя в порядке идентификаторов
      */
-    List<Item> findAllByOwnerId(Long userId);
+    @Query(SELECT_ITEM_RESPONSES + "WHERE i.owner.id = :userId AND i.id > :after ORDER BY i.id")
+    List<ItemResponseDto> findResponsesByOwnerIdAfter(@Param("userId") Long userId,
+                                                      @Param("after") Long after,
+                                                      Limit limit);
 
     /**
      * Выполняет поиск доступных вещей по тексту в названии или описании.
@@ -37,15 +142,120 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param text текст для поиска (может быть частичным совпадением)
      * @return список доступных вещей, название или описание которых содержит указанный текст
      */
-    @Query("""
-            SELECT i FROM Item i
+    @Query(SELECT_ITEM_RESPONSES + """
             WHERE i.available = true
             AND (
                 lower(i.name) LIKE lower(concat('%', :text, '%'))
                 OR lower(i.description) LIKE lower(concat('%', :text, '%'))
             )
             """)
-    List<Item> search(@Param("text") String text);
+    List<ItemResponseDto> search(@Param("text") String text);
+
+    /**
+     * Выполняет поиск доступных вещей по тексту, свободных в течение всего указанного периода.
+     * <p>
+     * Вещи с подтвержденным бронированием, пересекающимся с периодом {@code [from, to)}, исключаются
+     * одним запросом с анти-соединением ({@code NOT EXISTS}), а не проверкой каждой найденной вещи.
+     * Проверка пересечения использует индекс {@code bookings (item_id, status, start_date, end_date)}.
+     * </p>
+     *
+     * @param text текст для поиска (может быть частичным совпадением)
+     * @param from начало периода
+     * @param to   окончание периода
+     * @return список доступных вещей, свободных в указанный период
+     */
+    @Query(SELECT_ITEM_RESPONSES + """
+            WHERE i.available = true
+            AND (
+                lower(i.name) LIKE lower(concat('%', :text, '%'))
+                OR lower(i.description) LIKE lower(concat('%', :text, '%'))
+            )
+            AND NOT EXISTS (
+                SELECT b.id FROM Booking b
+                WHERE b.item = i AND b.status = 'APPROVED'
+                AND b.start < :to AND b.end > :from
+            )
+            """)
+    List<ItemResponseDto> searchFreeInPeriod(
+            @Param("text") String text,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Находит идентификатор владельца вещи без загрузки сущностей.
+     *
+     * @param itemId идентификатор вещи
+     * @return идентификатор владельца или пустой {@link Optional}, если вещь не найдена
+     */
+    @Query("SELECT i.owner.id FROM Item i WHERE i.id = :itemId")
+    Optional<Long> findOwnerIdById(@Param("itemId") Long itemId);
+
+    /**
+     * Находит владельцев нескольких вещей одним запросом без загрузки сущностей.
+     *
+     * @param itemIds идентификаторы вещей
+     * @return пары «вещь — владелец» для найденных вещей
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemOwnerRow(i.id, i.owner.id) FROM Item i WHERE i.id IN :itemIds")
+    List<ItemOwnerRow> findOwnerIdsByIds(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Блокирует строки вещей указанных бронирований до конца транзакции ({@code SELECT ... FOR UPDATE}).
+     * <p>
+     * Строки блокируются в порядке идентификаторов вещей, поэтому транзакции, блокирующие
+     * пересекающиеся наборы вещей, не могут взаимно заблокировать друг друга. Проверка пересечений
+     * и подтверждение бронирований под этой блокировкой выполняются для каждой вещи по очереди.
+     * </p>
+     *
+     * @param bookingIds идентификаторы бронирований
+     * @return заблокированные вещи в порядке идентификаторов
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT i FROM Item i
+            WHERE i.id IN (SELECT b.item.id FROM Booking b WHERE b.id IN :bookingIds)
+            ORDER BY i.id
+            """)
+    List<Item> lockAllByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Находит идентификаторы вещей владельца без загрузки сущностей.
+     *
+     * @param ownerId идентификатор владельца
+     * @return идентификаторы вещей владельца
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Вычисляет статистику бронирований и комментариев всех вещей владельца одним запросом.
+     * <p>
+     * Бронирования группируются по вещи и статусу ({@code GROUP BY item_id, status}), поэтому
+     * в память загружается не больше четырех строк на вещь независимо от количества бронирований.
+     * Количество комментариев вычисляется коррелированным подзапросом по индексу
+     * {@code comments (item_id)}.
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param now     текущие дата и время (для подсчета идущих бронирований)
+     * @return строки статистики в порядке идентификаторов вещей
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemStatusStats(
+                i.id,
+                i.name,
+                b.status,
+                COUNT(b),
+                SUM(CASE WHEN b.start <= :now AND b.end > :now THEN 1L ELSE 0L END),
+                SUM((b.end - b.start) by second),
+                (SELECT COUNT(c) FROM Comment c WHERE c.item.id = i.id))
+            FROM Item i
+            LEFT JOIN Booking b ON b.item.id = i.id
+            WHERE i.owner.id = :ownerId
+            GROUP BY i.id, i.name, b.status
+            ORDER BY i.id
+            """)
+    List<ItemStatusStats> aggregateStatsByOwner(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
 
     /**
      * Находит все вещи, созданные в ответ на указанный запрос.
@@ -53,7 +263,8 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param requestId идентификатор запроса
      * @return список вещей, созданных по данному запросу
      */
-    List<Item> findAllByRequestId(Long requestId);
+    @Query(SELECT_ITEMS_FOR_REQUEST + "WHERE i.request.id = :requestId")
+    List<ItemForRequestRow> findForRequestByRequestId(@Param("requestId") Long requestId);
 
     /**
      * Находит все вещи, созданные в ответ на запросы конкретного пользователя.
@@ -61,7 +272,17 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param requestorId идентификатор пользователя, создавшего запросы
      * @return список вещей, созданных по запросам указанного пользователя
      */
-    List<Item> findAllByRequest_Requestor_Id(Long requestorId);
+    @Query(SELECT_ITEMS_FOR_REQUEST + "WHERE i.request.requestor.id = :requestorId")
+    List<ItemForRequestRow> findForRequestsByRequestorId(@Param("requestorId") Long requestorId);
+
+    /**
+     * Находит все вещи, созданные в ответ на указанные запросы.
+     *
+     * @param requestIds идентификаторы запросов
+     * @return список вещей, созданных по указанным запросам
+     */
+    @Query(SELECT_ITEMS_FOR_REQUEST + "WHERE i.request.id IN :requestIds")
+    List<ItemForRequestRow> findForRequestsByRequestIds(@Param("requestIds") Collection<Long> requestIds);
 
     /**
      * Находит все вещи, которые были созданы в ответ на какие-либо запросы.
@@ -71,5 +292,6 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      *
      * @return список вещей, связанных с запросами
      */
-    List<Item> findAllByRequestNotNull();
-}
\ No newline at end of file
+    @Query(SELECT_ITEMS_FOR_REQUEST + "WHERE i.request IS NOT NULL")
+    List<ItemForRequestRow> findForAllRequests();
+}
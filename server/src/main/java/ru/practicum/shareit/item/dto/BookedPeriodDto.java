@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO для отображения периода, в который вещь занята подтвержденным бронированием.
+ *
+ * @param start дата и время начала бронирования
+ * @param end   дата и время окончания бронирования
+ *
+ * @see ItemAvailabilityDto
+ */
+public record BookedPeriodDto(
+        LocalDateTime start,
+        LocalDateTime end) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public BookedPeriodDto {
+    }
+}
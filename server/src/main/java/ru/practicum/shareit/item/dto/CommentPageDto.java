@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO страницы комментариев к вещи в модуле server.
+ * <p>
+ * Комментарии упорядочены от новых к старым. Следующая страница запрашивается
+ * через {@code GET /items/{itemId}/comments?after={cursor}}; если комментариев больше нет,
+ * {@code cursor} равен {@code null}.
+ * </p>
+ *
+ * @param comments комментарии страницы
+ * @param cursor   идентификатор последнего комментария страницы или {@code null}, если страница последняя
+ *
+ * @see CommentRequestDto
+ * @see ru.practicum.shareit.item.ItemController
+ * @see ru.practicum.shareit.item.service.ItemService
+ */
+public record CommentPageDto(
+        List<CommentRequestDto> comments,
+        Long cursor
+) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public CommentPageDto {
+    }
+}
\ No newline at end of file
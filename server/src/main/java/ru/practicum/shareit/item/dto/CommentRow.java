@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция комментария к вещи.
+ * <p>
+ * Содержит колонки {@link CommentRequestDto} и идентификатор вещи, по которому комментарии
+ * группируются при сборке списка вещей. Загружается конструкторным выражением JPQL без загрузки
+ * сущностей комментария, автора и вещи.
+ * </p>
+ *
+ * @param itemId     идентификатор вещи
+ * @param id         идентификатор комментария
+ * @param text       текст комментария
+ * @param authorName имя автора комментария
+ * @param created    дата и время создания комментария
+ *
+ * @see ru.practicum.shareit.item.dao.CommentRepository
+ */
+public record CommentRow(
+        Long itemId,
+        Long id,
+        String text,
+        String authorName,
+        LocalDateTime created) {
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO для отображения занятости вещи в заданном периоде в модуле server.
+ * <p>
+ * Используется календарем доступности: содержит запрошенный период, признак того,
+ * что вещь можно забронировать на весь период, и список пересекающихся с ним
+ * подтвержденных бронирований.
+ * </p>
+ *
+ * @param itemId        идентификатор вещи
+ * @param from          начало запрошенного периода
+ * @param to            окончание запрошенного периода
+ * @param available     {@code true}, если вещь доступна для аренды и свободна в течение всего периода
+ * @param bookedPeriods занятые периоды, пересекающиеся с запрошенным, в порядке начала
+ *
+ * @see BookedPeriodDto
+ * @see ru.practicum.shareit.item.ItemController
+ * @see ru.practicum.shareit.item.service.ItemService
+ */
+public record ItemAvailabilityDto(
+        Long itemId,
+        LocalDateTime from,
+        LocalDateTime to,
+        boolean available,
+        List<BookedPeriodDto> bookedPeriods) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public ItemAvailabilityDto {
+    }
+}
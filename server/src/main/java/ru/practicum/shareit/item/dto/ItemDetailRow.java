@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция карточки вещи.
+ * <p>
+ * Содержит колонки {@link ItemResponseDto}, идентификатор владельца и даты последнего
+ * и следующего подтвержденных бронирований. Загружается одним запросом: даты читаются
+ * коррелированными подзапросами {@code ORDER BY ... LIMIT 1} по индексам бронирований вещи.
+ * </p>
+ *
+ * @param id          идентификатор вещи
+ * @param name        название вещи
+ * @param description описание вещи
+ * @param available   флаг доступности вещи для аренды
+ * @param requestId   идентификатор запроса, на который отвечает вещь (может быть {@code null})
+ * @param ownerId     идентификатор владельца вещи
+ * @param lastBooking дата окончания последнего завершенного подтвержденного бронирования
+ * @param nextBooking дата начала следующего подтвержденного бронирования
+ *
+ * @see ru.practicum.shareit.item.dao.ItemRepository
+ */
+public record ItemDetailRow(
+        Long id,
+        String name,
+        String description,
+        Boolean available,
+        Long requestId,
+        Long ownerId,
+        LocalDateTime lastBooking,
+        LocalDateTime nextBooking) {
+}
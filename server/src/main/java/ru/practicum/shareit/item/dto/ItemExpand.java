@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Перечисление дополнительных частей ответа списка вещей владельца в модуле server.
+ * <p>
+ * Приходит из gateway в параметре {@code expand} запроса {@code GET /items}. Части, которые
+ * не запрошены, не вычисляются, а соответствующие поля ответа остаются {@code null}.
+ * </p>
+ *
+ * @see ru.practicum.shareit.item.service.ItemService#findByUserId
+ */
+public enum ItemExpand {
+    /**
+     * Комментарии к вещам страницы.
+     */
+    COMMENTS,
+
+    /**
+     * Даты последнего и следующего подтвержденных бронирований вещей страницы.
+     */
+    BOOKINGS
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Плоская проекция вещи, созданной в ответ на запрос.
+ * <p>
+ * Содержит колонки {@link ItemForRequestDto} и идентификатор запроса, по которому вещи
+ * группируются при сборке ответа. Загружается конструкторным выражением JPQL без загрузки
+ * сущностей вещи, владельца и запроса.
+ * </p>
+ *
+ * @param requestId идентификатор запроса
+ * @param id        идентификатор вещи
+ * @param name      название вещи
+ * @param ownerId   идентификатор владельца вещи
+ *
+ * @see ru.practicum.shareit.item.dao.ItemRepository
+ */
+public record ItemForRequestRow(
+        Long requestId,
+        Long id,
+        String name,
+        Long ownerId) {
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Плоская проекция связи вещи с ее владельцем.
+ * <p>
+ * Загружается конструкторным выражением JPQL для нескольких вещей одним запросом,
+ * без загрузки сущностей вещи и владельца.
+ * </p>
+ *
+ * @param itemId  идентификатор вещи
+ * @param ownerId идентификатор владельца вещи
+ *
+ * @see ru.practicum.shareit.item.dao.ItemRepository
+ */
+public record ItemOwnerRow(
+        Long itemId,
+        Long ownerId) {
+}
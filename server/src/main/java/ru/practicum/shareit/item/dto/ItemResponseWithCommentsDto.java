@@ -13,16 +13,20 @@ import java.util.List;
  * Содержит не только основные поля вещи, но и информацию о ближайших бронированиях
  * (для владельца) и список комментариев. Поле {@code comments} исключается из JSON
  * при значении {@code null}, чтобы не перегружать ответ для операций, где комментарии не требуются.
+ * В карточке вещи возвращается только первая страница комментариев; если комментариев больше,
+ * {@code commentsCursor} указывает, с какого места читать следующую страницу.
  * </p>
  *
- * @param id           идентификатор вещи
- * @param name         название вещи
- * @param description  описание вещи
- * @param available    флаг доступности вещи для аренды
- * @param requestId    идентификатор запроса, на который отвечает данная вещь (может быть {@code null})
- * @param lastBooking  дата и время последнего завершенного бронирования (только для владельца)
- * @param nextBooking  дата и время следующего подтвержденного бронирования (только для владельца)
- * @param comments     список комментариев к вещи (исключается при сериализации, если {@code null})
+ * @param id             идентификатор вещи
+ * @param name           название вещи
+ * @param description    описание вещи
+ * @param available      флаг доступности вещи для аренды
+ * @param requestId      идентификатор запроса, на который отвечает данная вещь (может быть {@code null})
+ * @param lastBooking    дата и время последнего завершенного бронирования (только для владельца)
+ * @param nextBooking    дата и время следующего подтвержденного бронирования (только для владельца)
+ * @param comments       список комментариев к вещи (исключается при сериализации, если {@code null})
+ * @param commentsCursor курсор следующей страницы комментариев для {@code GET /items/{itemId}/comments?after=}
+ *                       (исключается при сериализации, если {@code null})
  *
  * @see ru.practicum.shareit.item.model.Item
  * @see CommentRequestDto
@@ -39,7 +43,10 @@ public record ItemResponseWithCommentsDto(
         LocalDateTime nextBooking,
 
         @JsonInclude(JsonInclude.Include.NON_NULL)
-        List<CommentRequestDto> comments
+        List<CommentRequestDto> comments,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long commentsCursor
 ) {
     /**
      * Конструктор с поддержкой паттерна Builder от Lombok.
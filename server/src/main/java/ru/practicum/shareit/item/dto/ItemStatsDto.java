@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO для отображения статистики вещи на панели владельца в модуле server.
+ *
+ * @param itemId     идентификатор вещи
+ * @param name       название вещи
+ * @param waiting    количество бронирований, ожидающих подтверждения
+ * @param approved   количество подтвержденных бронирований
+ * @param rejected   количество отклоненных бронирований
+ * @param canceled   количество отмененных бронирований
+ * @param occupied   {@code true}, если вещь сейчас находится в подтвержденной аренде
+ * @param bookedDays суммарная длительность подтвержденных бронирований в днях (с округлением вверх)
+ * @param comments   количество комментариев к вещи
+ *
+ * @see ItemStatusStats
+ * @see ru.practicum.shareit.item.ItemController
+ * @see ru.practicum.shareit.item.service.ItemService
+ */
+public record ItemStatsDto(
+        Long itemId,
+        String name,
+        long waiting,
+        long approved,
+        long rejected,
+        long canceled,
+        boolean occupied,
+        long bookedDays,
+        long comments) {
+    /**
+     * Конструктор с поддержкой паттерна Builder от Lombok.
+     * Позволяет создавать экземпляры DTO с удобной цепочкой вызовов.
+     */
+    @Builder
+    public ItemStatsDto {
+    }
+}
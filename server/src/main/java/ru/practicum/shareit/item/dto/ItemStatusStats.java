@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.booking.model.Status;
+
+/**
+ * Строка агрегата статистики вещи: бронирования одной вещи в одном статусе.
+ * <p>
+ * Загружается конструкторным выражением JPQL из группировки по вещи и статусу.
+ * Для вещи без бронирований возвращается одна строка со статусом {@code null}.
+ * </p>
+ *
+ * @param itemId        идентификатор вещи
+ * @param name          название вещи
+ * @param status        статус бронирований или {@code null}, если у вещи нет бронирований
+ * @param bookings      количество бронирований в статусе
+ * @param current       количество бронирований в статусе, идущих в текущий момент
+ * @param bookedSeconds суммарная длительность бронирований в статусе в секундах
+ * @param comments      количество комментариев к вещи
+ *
+ * @see ru.practicum.shareit.item.dao.ItemRepository#aggregateStatsByOwner
+ * @see ItemStatsDto
+ */
+public record ItemStatusStats(
+        Long itemId,
+        String name,
+        Status status,
+        Long bookings,
+        Long current,
+        Long bookedSeconds,
+        Long comments) {
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentCreateOrUpdateDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.CommentRow;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Утилитарный класс для преобразования между сущностью {@link Comment} и соответствующими DTO.
@@ -43,6 +47,44 @@ public class CommentMapper {
                 .build();
     }
 
+    /**
+     * Преобразует только что сохраненную сущность {@link Comment} в {@link CommentRequestDto}.
+     * <p>
+     * Имя автора передается явно, чтобы не загружать автора, подставленного ссылкой.
+     * </p>
+     *
+     * @param comment    сохраненная сущность комментария
+     * @param authorName имя автора комментария
+     * @return DTO с информацией о комментарии
+     */
+    public static CommentRequestDto toCommentRequestDto(Comment comment, String authorName) {
+        return CommentRequestDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(authorName)
+                .created(comment.getCreated())
+                .build();
+    }
+
+    /**
+     * Формирует страницу комментариев из результата запроса.
+     * <p>
+     * Запрос читает на один комментарий больше размера страницы: лишний комментарий
+     * в страницу не входит и только показывает, что за ней есть следующая.
+     * </p>
+     *
+     * @param comments комментарии, прочитанные с лимитом {@code size + 1}
+     * @param size     размер страницы
+     * @return страница комментариев с курсором следующей страницы ({@code null}, если она последняя)
+     */
+    public static CommentPageDto toCommentPageDto(List<CommentRequestDto> comments, int size) {
+        if (comments.size() <= size) {
+            return new CommentPageDto(comments, null);
+        }
+        List<CommentRequestDto> page = comments.subList(0, size);
+        return new CommentPageDto(page, page.getLast().id());
+    }
+
     /**
      * Преобразует список сущностей {@link Comment} в список {@link CommentRequestDto}.
      * <p>
@@ -61,6 +103,24 @@ public class CommentMapper {
                 .toList();
     }
 
+    /**
+     * Группирует проекции комментариев по идентификаторам вещей.
+     *
+     * @param rows проекции комментариев
+     * @return карта, где ключ - идентификатор вещи, значение - список комментариев к этой вещи
+     */
+    public static Map<Long, List<CommentRequestDto>> groupByItemId(List<CommentRow> rows) {
+        return rows.stream()
+                .collect(Collectors.groupingBy(
+                        CommentRow::itemId,
+                        Collectors.mapping(row -> CommentRequestDto.builder()
+                                .id(row.id())
+                                .text(row.text())
+                                .authorName(row.authorName())
+                                .created(row.created())
+                                .build(), Collectors.toList())));
+    }
+
     /**
      * Создает сущность {@link Comment} из DTO создания и связанных сущностей.
      * <p>
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.booking.availability.BookingInterval;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,6 +25,8 @@ import java.util.List;
  * @see ItemShortDto
  * @see ItemForRequestDto
  * @see ItemCreateDto
+ * @see ItemAvailabilityDto
+ * @see ItemStatsDto
  */
 public class ItemMapper {
 
@@ -121,6 +125,140 @@ public class ItemMapper {
                 .build();
     }
 
+    /**
+     * Преобразует проекцию карточки вещи {@link ItemDetailRow} в {@link ItemResponseWithCommentsDto}.
+     *
+     * @param item         проекция карточки вещи
+     * @param withBookings {@code true}, если в ответ добавляются даты бронирований (запрос владельца)
+     * @param comments     первая страница комментариев к вещи
+     * @return DTO с расширенной информацией о вещи или {@code null}, если проекция равна {@code null}
+     */
+    public static ItemResponseWithCommentsDto toItemResponseWithCommentsDto(
+            ItemDetailRow item,
+            boolean withBookings,
+            CommentPageDto comments) {
+        if (item == null) return null;
+
+        return ItemResponseWithCommentsDto.builder()
+                .id(item.id())
+                .name(item.name())
+                .description(item.description())
+                .available(item.available())
+                .requestId(item.requestId())
+                .lastBooking(withBookings ? item.lastBooking() : null)
+                .nextBooking(withBookings ? item.nextBooking() : null)
+                .comments(comments.comments())
+                .commentsCursor(comments.cursor())
+                .build();
+    }
+
+    /**
+     * Дополняет проекцию {@link ItemResponseDto} датами бронирований и комментариями.
+     * <p>
+     * Используется для списка вещей владельца, который читается из базы данных проекцией
+     * без загрузки сущностей вещей.
+     * </p>
+     *
+     * @param item        вещь в виде базового DTO
+     * @param lastBooking дата последнего завершенного бронирования (может быть {@code null})
+     * @param nextBooking дата следующего подтвержденного бронирования (может быть {@code null})
+     * @param comments    список комментариев к вещи (может быть {@code null})
+     * @return DTO с расширенной информацией о вещи или {@code null}, если вещь равна {@code null}
+     */
+    public static ItemResponseWithCommentsDto toItemResponseWithCommentsDto(
+            ItemResponseDto item,
+            LocalDateTime lastBooking,
+            LocalDateTime nextBooking,
+            List<CommentRequestDto> comments) {
+        if (item == null) return null;
+
+        return ItemResponseWithCommentsDto.builder()
+                .id(item.id())
+                .name(item.name())
+                .description(item.description())
+                .available(item.available())
+                .requestId(item.requestId())
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .comments(comments)
+                .build();
+    }
+
+    /**
+     * Формирует {@link ItemAvailabilityDto} по вещи и занятым интервалам в запрошенном периоде.
+     * <p>
+     * Вещь считается доступной, если она помечена как доступная для аренды
+     * и в периоде нет подтвержденных бронирований.
+     * </p>
+     *
+     * @param item            сущность вещи
+     * @param from            начало запрошенного периода
+     * @param to              окончание запрошенного периода
+     * @param bookedIntervals подтвержденные бронирования, пересекающиеся с периодом
+     * @return DTO занятости вещи или {@code null}, если вещь равна {@code null}
+     */
+    public static ItemAvailabilityDto toItemAvailabilityDto(
+            Item item,
+            LocalDateTime from,
+            LocalDateTime to,
+            List<BookingInterval> bookedIntervals) {
+        if (item == null) return null;
+
+        return ItemAvailabilityDto.builder()
+                .itemId(item.getId())
+                .from(from)
+                .to(to)
+                .available(item.getAvailable() && bookedIntervals.isEmpty())
+                .bookedPeriods(bookedIntervals.stream()
+                        .map(interval -> new BookedPeriodDto(interval.start(), interval.end()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Сворачивает строки агрегата статистики в {@link ItemStatsDto} по одной на вещь.
+     * <p>
+     * Строки одной вещи должны идти подряд, как их возвращает
+     * {@link ru.practicum.shareit.item.dao.ItemRepository#aggregateStatsByOwner}.
+     * Признак текущей аренды и длительность аренды вычисляются по подтвержденным бронированиям.
+     * </p>
+     *
+     * @param rows строки статистики, сгруппированные по вещи и статусу
+     * @return список статистики вещей в порядке строк или пустой список,
+     *         если входной параметр равен {@code null} или пуст
+     */
+    public static List<ItemStatsDto> toItemStatsDto(List<ItemStatusStats> rows) {
+        if (rows == null || rows.isEmpty()) return Collections.emptyList();
+
+        List<ItemStatsDto> result = new ArrayList<>();
+        ItemStatsDto.ItemStatsDtoBuilder current = null;
+        Long currentItemId = null;
+        for (ItemStatusStats row : rows) {
+            if (!row.itemId().equals(currentItemId)) {
+                if (current != null) {
+                    result.add(current.build());
+                }
+                currentItemId = row.itemId();
+                current = ItemStatsDto.builder()
+                        .itemId(row.itemId())
+                        .name(row.name())
+                        .comments(row.comments());
+            }
+            if (row.status() == null) continue;
+
+            switch (row.status()) {
+                case WAITING -> current.waiting(row.bookings());
+                case APPROVED -> current.approved(row.bookings())
+                        .occupied(row.current() > 0)
+                        .bookedDays(Math.ceilDiv(row.bookedSeconds(), 86_400L));
+                case REJECTED -> current.rejected(row.bookings());
+                case CANCELED -> current.canceled(row.bookings());
+            }
+        }
+        result.add(current.build());
+        return result;
+    }
+
     /**
      * Создает сущность {@link Item} из DTO создания и связанных сущностей.
      * <p>
@@ -163,6 +301,21 @@ public class ItemMapper {
                 .build();
     }
 
+    /**
+     * Преобразует проекцию {@link ItemForRequestRow} в {@link ItemForRequestDto}.
+     *
+     * @param row проекция вещи, созданной по запросу (может быть {@code null})
+     * @return DTO для отображения в контексте запроса или {@code null}, если входной параметр равен {@code null}
+     */
+    public static ItemForRequestDto toItemForRequestDto(ItemForRequestRow row) {
+        if (row == null) return null;
+        return ItemForRequestDto.builder()
+                .id(row.id())
+                .name(row.name())
+                .ownerId(row.ownerId())
+                .build();
+    }
+
     /**
      * Преобразует список сущностей {@link Item} в список {@link ItemForRequestDto}.
      * <p>
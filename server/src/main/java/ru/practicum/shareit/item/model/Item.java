@@ -70,11 +70,11 @@ public class Item {
 
     /**
      * Запрос, на который отвечает данная вещь.
-     * Связь один-к-одному с сущностью {@link ItemRequest}.
+     * Связь многие-к-одному с сущностью {@link ItemRequest}: на один запрос может ответить несколько вещей.
      * Может быть {@code null}, если вещь создана не по запросу.
      * Загружается лениво (LAZY).
      */
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     private ItemRequest request;
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Упорядоченный по возрастанию список идентификаторов вещей без повторов (posting list).
+ * <p>
+ * Идентификаторы хранятся в примитивном массиве {@code int[]}, который растет по мере
+ * добавления, поэтому на одну вещь в списке приходится четыре байта без объектов-оберток.
+ * Добавление в конец (вещи при заполнении индекса читаются в порядке идентификаторов)
+ * выполняется за амортизированное {@code O(1)}, вставка и удаление в середине —
+ * бинарным поиском и сдвигом массива.
+ * </p>
+ * <p>
+ * Класс не потокобезопасен: доступ синхронизируется {@link ItemSearchIndex}.
+ * </p>
+ *
+ * @see TermTrie
+ */
+final class IntPostings {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Добавляет идентификатор в список, если его там еще нет.
+     *
+     * @param value идентификатор вещи
+     */
+    void add(int value) {
+        if (size > 0 && values[size - 1] >= value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) return;
+            insert(-index - 1, value);
+            return;
+        }
+        insert(size, value);
+    }
+
+    /**
+     * Удаляет идентификатор из списка.
+     *
+     * @param value идентификатор вещи
+     */
+    void remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) return;
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Возвращает количество идентификаторов в списке.
+     *
+     * @return размер списка
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Передает идентификаторы списка действию в порядке возрастания.
+     *
+     * @param action действие над идентификатором
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    private void insert(int index, int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+}
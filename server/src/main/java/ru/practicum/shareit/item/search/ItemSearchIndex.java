@@ -0,0 +1,530 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.outbox.OutboxEventFeed;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Индекс текстового поиска вещей в памяти, допускающий опечатки.
+ * <p>
+ * Названия и описания вещей разбиваются на термины (последовательности букв и цифр
+ * в нижнем регистре), которые хранятся в префиксном дереве {@link TermTrie}. Токен запроса
+ * совпадает с термином точно, как префикс (для токенов от {@value #MIN_PREFIX_LENGTH} символов)
+ * или с опечатками: одна правка для токенов до {@value #MAX_ONE_EDIT_LENGTH} символов, две —
+ * для более длинных; токены короче {@value #MIN_FUZZY_LENGTH} символов ищутся только точно.
+ * Вещь должна совпасть со всеми токенами запроса; {@link #match(String)} для подбора вещей
+ * к описаниям запросов допускает совпадение с частью слов.
+ * </p>
+ * <p>
+ * Сначала возвращаются доступные вещи, внутри них — по качеству совпадения (точное, префикс,
+ * одна правка, две правки; совпадение в названии весит вдвое больше, чем в описании), при
+ * равенстве — в порядке идентификаторов. Поэтому ограничение размера результата не вытесняет
+ * доступные вещи недоступными.
+ * </p>
+ * <p>
+ * Индекс заполняется при старте приложения ({@link ApplicationReadyEvent}): вещи читаются
+ * курсором, а разбиение на термины выполняется параллельно. Далее индекс поддерживается
+ * сервисами; изменения применяются только после фиксации транзакции. Изменения вещей
+ * на других узлах применяются при чтении их событий {@link OutboxEventFeed}
+ * (см. {@link #onDomainEvent}). Индекс возвращает
+ * только идентификаторы вещей, а сами вещи читаются из базы данных, поэтому вещи, удаленные
+ * каскадно вместе с владельцем, в результаты не попадают.
+ * </p>
+ * <p>
+ * Идентификаторы вещей хранятся как {@code int} — в списках вещей терминов и в качестве
+ * индекса массива сведений о вещах.
+ * </p>
+ *
+ * @see TermTrie
+ * @see IntPostings
+ * @see ru.practicum.shareit.item.service.ItemServiceImpl#search(String)
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final int MIN_FUZZY_LENGTH = 3;
+    static final int MAX_ONE_EDIT_LENGTH = 5;
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ItemRepository itemRepository;
+    private final int limit;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TermTrie trie = new TermTrie();
+    private final Set<Integer> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private IndexedItem[] items = new IndexedItem[INITIAL_CAPACITY];
+    private int size;
+    private volatile boolean ready;
+
+    /**
+     * Создает индекс поиска вещей.
+     *
+     * @param itemRepository репозиторий вещей (для заполнения индекса)
+     * @param limit          наибольшее количество вещей в результате
+     *                       (shareit.items.fuzzy-search-limit)
+     */
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.items.fuzzy-search-limit:20}") int limit) {
+        this.itemRepository = itemRepository;
+        this.limit = limit;
+    }
+
+    /**
+     * Заполняет индекс всеми вещами из базы данных.
+     * <p>
+     * Прежнее содержимое индекса удаляется до чтения вещей. Изменения, зафиксированные
+     * во время заполнения, не теряются: загруженная вещь не заменяет уже проиндексированную
+     * и не добавляется, если была удалена за это время.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            removedWhileLoading.clear();
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<ItemResponseDto> loaded;
+        try (Stream<ItemResponseDto> stream = itemRepository.streamAllResponses()) {
+            loaded = stream.toList();
+        }
+        List<IndexedItem> tokenized = loaded.parallelStream()
+                .map(IndexedItem::of)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            for (IndexedItem item : tokenized) {
+                if (item.id() < items.length && items[item.id()] != null
+                        || removedWhileLoading.contains(item.id())) {
+                    continue;
+                }
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Item search index warmed up: {} items, {} terms", size, trie.terms());
+    }
+
+    /**
+     * Проверяет, заполнен ли индекс.
+     *
+     * @return {@code true}, если индекс заполнен и отвечает на запросы
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Находит вещи, название или описание которых совпадает с запросом с учетом опечаток.
+     *
+     * @param query текст запроса
+     * @return идентификаторы вещей в порядке ранжирования (не более
+     * {@code shareit.items.fuzzy-search-limit}); пустой список, если индекс еще не заполнен
+     */
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (!ready || tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Scores total = null;
+            for (String token : tokens) {
+                Scores scores = scores(token);
+                total = total == null ? scores : total.intersect(scores);
+                if (total.size() == 0) {
+                    return List.of();
+                }
+            }
+            return rank(total, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Находит доступные вещи, похожие на произвольный текст (например, описание запроса вещи).
+     * <p>
+     * В отличие от {@link #search(String)} вещи не обязаны совпасть со всеми словами текста:
+     * оценки совпадений отдельных слов складываются, поэтому выше оказываются вещи, совпавшие
+     * с большим количеством слов. Слова короче {@value #MIN_PREFIX_LENGTH} символов
+     * не учитываются — в описаниях это в основном предлоги и союзы.
+     * </p>
+     *
+     * @param text текст
+     * @return идентификаторы доступных вещей от лучших совпадений к худшим (не более
+     * {@code shareit.items.fuzzy-search-limit}); пустой список, если индекс еще не заполнен
+     */
+    public List<Long> match(String text) {
+        List<String> tokens = tokenize(text).stream()
+                .filter(token -> token.length() >= MIN_PREFIX_LENGTH)
+                .toList();
+        if (!ready || tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Scores total = new Scores();
+            for (String token : tokens) {
+                scores(token).forEach(total::add);
+            }
+            return rank(total, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет или заменяет вещь в индексе после фиксации текущей транзакции.
+     *
+     * @param item вещь
+     */
+    public void putAfterCommit(ItemResponseDto item) {
+        IndexedItem indexed = IndexedItem.of(item);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(indexed.id());
+                add(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаляет вещь из индекса после фиксации текущей транзакции.
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void removeAfterCommit(Long itemId) {
+        int id = Math.toIntExact(itemId);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                if (!ready) {
+                    removedWhileLoading.add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Применяет к индексу опубликованное изменение вещи, в том числе сделанное на другом узле.
+     * <p>
+     * Вещь перечитывается из базы данных, поэтому порядок событий не важен: существующая вещь
+     * добавляется или заменяется, удаленная исключается из индекса.
+     * </p>
+     *
+     * @param event опубликованное доменное событие
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregateType() != AggregateType.ITEM) return;
+
+        List<ItemResponseDto> found = itemRepository.findResponsesByIdIn(List.of(event.aggregateId()));
+        if (found.isEmpty()) {
+            removeAfterCommit(event.aggregateId());
+        } else {
+            putAfterCommit(found.getFirst());
+        }
+    }
+
+    /**
+     * Очищает индекс после фиксации текущей транзакции.
+     */
+    public void clearAfterCommit() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Возвращает количество вещей в индексе.
+     *
+     * @return количество вещей
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Разбивает текст на термины: последовательности букв и цифр в нижнем регистре.
+     *
+     * @param text текст (может быть {@code null})
+     * @return различные термины в порядке появления
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                terms.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Вычисляет лучшую оценку совпадения токена для каждой вещи.
+     */
+    private Scores scores(String token) {
+        Scores scores = new Scores();
+        trie.match(token, maxEdits(token), token.length() >= MIN_PREFIX_LENGTH,
+                (postings, name, edits, prefix) -> {
+                    int quality = quality(edits, prefix) * (name ? NAME_WEIGHT : 1);
+                    postings.forEach(id -> scores.max(id, quality));
+                });
+        return scores;
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() < MIN_FUZZY_LENGTH) return 0;
+        return token.length() <= MAX_ONE_EDIT_LENGTH ? 1 : 2;
+    }
+
+    private static int quality(int edits, boolean prefix) {
+        if (prefix) return 3;
+        return switch (edits) {
+            case 0 -> 4;
+            case 1 -> 2;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Упорядочивает найденные вещи: ключ сортировки упаковывается в {@code long}
+     * (признак доступности, оценка, обратный идентификатор), чтобы сортировать примитивный массив.
+     *
+     * @param availableOnly исключить недоступные вещи
+     */
+    private List<Long> rank(Scores scores, boolean availableOnly) {
+        long[] keys = new long[scores.size()];
+        int[] n = {0};
+        scores.forEach((id, score) -> {
+            IndexedItem item = items[id];
+            boolean available = item != null && item.available();
+            if (available || !availableOnly) {
+                keys[n[0]++] = (available ? 1L << 62 : 0L)
+                        | ((long) score << 31)
+                        | (Integer.MAX_VALUE - id);
+            }
+        });
+        long[] sorted = n[0] < keys.length ? Arrays.copyOf(keys, n[0]) : keys;
+        Arrays.sort(sorted);
+        List<Long> result = new ArrayList<>(Math.min(limit, sorted.length));
+        for (int i = sorted.length - 1; i >= 0 && result.size() < limit; i--) {
+            result.add((long) (Integer.MAX_VALUE - (int) (sorted[i] & Integer.MAX_VALUE)));
+        }
+        return result;
+    }
+
+    private void clear() {
+        trie.clear();
+        items = new IndexedItem[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private void add(IndexedItem item) {
+        if (item.id() >= items.length) {
+            items = Arrays.copyOf(items, Math.max(item.id() + 1, items.length + (items.length >> 1)));
+        }
+        items[item.id()] = item;
+        size++;
+        for (String term : item.nameTerms()) {
+            trie.add(term, item.id(), true);
+        }
+        for (String term : item.descriptionTerms()) {
+            trie.add(term, item.id(), false);
+        }
+    }
+
+    private void remove(int id) {
+        if (id >= items.length || items[id] == null) return;
+
+        IndexedItem item = items[id];
+        items[id] = null;
+        size--;
+        for (String term : item.nameTerms()) {
+            trie.remove(term, id, true);
+        }
+        for (String term : item.descriptionTerms()) {
+            trie.remove(term, id, false);
+        }
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action изменение индекса
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Термины вещи, по которым она удаляется из индекса, и признак ее доступности.
+     */
+    private record IndexedItem(int id, String[] nameTerms, String[] descriptionTerms, boolean available) {
+        static IndexedItem of(ItemResponseDto item) {
+            return new IndexedItem(Math.toIntExact(item.id()),
+                    tokenize(item.name()).toArray(String[]::new),
+                    tokenize(item.description()).toArray(String[]::new),
+                    Boolean.TRUE.equals(item.available()));
+        }
+    }
+
+    /**
+     * Оценки вещей для одного запроса: хеш-таблица с открытой адресацией на примитивных массивах.
+     * Идентификаторы вещей положительны, поэтому {@code 0} обозначает пустую ячейку.
+     */
+    private static final class Scores {
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int size;
+
+        void max(int key, int value) {
+            int slot = slot(key);
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else if (values[slot] < value) {
+                values[slot] = value;
+            }
+        }
+
+        void add(int key, int value) {
+            int slot = slot(key);
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else {
+                values[slot] += value;
+            }
+        }
+
+        int get(int key) {
+            int slot = slot(key);
+            return keys[slot] == 0 ? -1 : values[slot];
+        }
+
+        int size() {
+            return size;
+        }
+
+        Scores intersect(Scores other) {
+            Scores result = new Scores();
+            forEach((key, value) -> {
+                int otherValue = other.get(key);
+                if (otherValue >= 0) {
+                    result.max(key, value + otherValue);
+                }
+            });
+            return result;
+        }
+
+        void forEach(Entry action) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    action.accept(keys[i], values[i]);
+                }
+            }
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = slot + 1 & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    max(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        @FunctionalInterface
+        interface Entry {
+            void accept(int key, int value);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.outbox.OutboxEventFeed;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Подсказки названий доступных вещей по введенному префиксу.
+ * <p>
+ * Названия (без учета регистра и пробелов по краям) хранятся в префиксном дереве. Каждый узел
+ * хранит заранее вычисленный список лучших названий своего поддерева — не более
+ * {@code shareit.items.suggest-size}, упорядоченных по количеству доступных вещей с таким
+ * названием, затем по алфавиту. Поэтому ответ на запрос — спуск по префиксу за
+ * {@code O(длина префикса)} без обхода поддерева, что позволяет вызывать подсказки
+ * на каждое нажатие клавиши.
+ * </p>
+ * <p>
+ * Индекс заполняется при старте приложения ({@link ApplicationReadyEvent}); до завершения
+ * заполнения подсказки пусты. Далее изменения вещей применяются после фиксации транзакции:
+ * списки лучших названий пересчитываются только на пути от измененного названия к корню.
+ * Изменения вещей на других узлах применяются при чтении их событий {@link OutboxEventFeed}
+ * (см. {@link #onDomainEvent}).
+ * </p>
+ *
+ * @see ru.practicum.shareit.item.service.ItemServiceImpl#suggest(String, int)
+ */
+@Slf4j
+@Component
+public class ItemSuggester {
+
+    private static final Node[] NO_NODES = new Node[0];
+    private static final char[] NO_LABELS = new char[0];
+    private static final Comparator<Node> BEST_FIRST = Comparator.comparingInt((Node node) -> -node.count)
+            .thenComparing(node -> node.key);
+
+    private final ItemRepository itemRepository;
+    private final int topSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> namesByItem = new HashMap<>();
+    private Node root = new Node("");
+    private volatile boolean ready;
+
+    /**
+     * Создает индекс подсказок.
+     *
+     * @param itemRepository репозиторий вещей (для заполнения индекса)
+     * @param topSize        количество лучших названий, хранимых в каждом узле
+     *                       (shareit.items.suggest-size)
+     */
+    public ItemSuggester(ItemRepository itemRepository,
+                         @Value("${shareit.items.suggest-size:10}") int topSize) {
+        this.itemRepository = itemRepository;
+        this.topSize = topSize;
+    }
+
+    /**
+     * Заполняет индекс названиями всех доступных вещей из базы данных.
+     * <p>
+     * Названия добавляются без пересчета списков, после чего списки лучших названий
+     * вычисляются одним обходом дерева снизу вверх.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            clear();
+            try (Stream<ItemResponseDto> items = itemRepository.streamAllResponses()) {
+                items.filter(item -> Boolean.TRUE.equals(item.available()))
+                        .forEach(item -> {
+                            namesByItem.put(item.id(), item.name());
+                            path(normalize(item.name()), item.name()).getLast().count++;
+                        });
+            }
+            rebuild(root);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item suggester warmed up: {} items", namesByItem.size());
+    }
+
+    /**
+     * Возвращает названия доступных вещей, начинающиеся с префикса.
+     *
+     * @param prefix префикс (без учета регистра и пробелов по краям)
+     * @param size   наибольшее количество названий (не больше {@code shareit.items.suggest-size})
+     * @return названия от самых частых к редким; пустой список, если индекс еще не заполнен
+     */
+    public List<String> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        if (!ready || key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Node[] top = node.top;
+            List<String> names = new ArrayList<>(Math.min(size, top.length));
+            for (int i = 0; i < top.length && i < size; i++) {
+                names.add(top[i].display);
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Учитывает новое название и доступность вещи после фиксации текущей транзакции.
+     *
+     * @param item вещь
+     */
+    public void putAfterCommit(ItemResponseDto item) {
+        long itemId = item.id();
+        String name = Boolean.TRUE.equals(item.available()) ? item.name() : null;
+        afterCommit(() -> write(() -> {
+            remove(itemId);
+            if (name != null) {
+                namesByItem.put(itemId, name);
+                update(path(normalize(name), name), 1);
+            }
+        }));
+    }
+
+    /**
+     * Удаляет название вещи из подсказок после фиксации текущей транзакции.
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void removeAfterCommit(Long itemId) {
+        afterCommit(() -> write(() -> remove(itemId)));
+    }
+
+    /**
+     * Удаляет из подсказок названия вещей после фиксации текущей транзакции.
+     * <p>
+     * Вызывается перед удалением пользователя: его вещи удаляются каскадно на уровне базы
+     * данных, поэтому их идентификаторы нужно прочитать до удаления.
+     * </p>
+     *
+     * @param itemIds идентификаторы удаляемых вещей
+     */
+    public void removeAllAfterCommit(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) return;
+
+        List<Long> removed = List.copyOf(itemIds);
+        afterCommit(() -> write(() -> removed.forEach(this::remove)));
+    }
+
+    /**
+     * Применяет к подсказкам опубликованное изменение вещи, в том числе сделанное на другом узле.
+     * <p>
+     * Вещь перечитывается из базы данных, поэтому порядок событий не важен: название
+     * существующей вещи учитывается заново, удаленная вещь исключается из подсказок.
+     * </p>
+     *
+     * @param event опубликованное доменное событие
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregateType() != AggregateType.ITEM) return;
+
+        List<ItemResponseDto> found = itemRepository.findResponsesByIdIn(List.of(event.aggregateId()));
+        if (found.isEmpty()) {
+            removeAfterCommit(event.aggregateId());
+        } else {
+            putAfterCommit(found.getFirst());
+        }
+    }
+
+    /**
+     * Очищает подсказки после фиксации текущей транзакции.
+     */
+    public void clearAfterCommit() {
+        afterCommit(() -> write(this::clear));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        root = new Node("");
+        namesByItem.clear();
+    }
+
+    private void remove(long itemId) {
+        String name = namesByItem.remove(itemId);
+        if (name == null) return;
+
+        List<Node> path = path(normalize(name), null);
+        update(path, -1);
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.count > 0 || node.labels.length > 0) break;
+            path.get(i - 1).removeChild(node.key.charAt(node.key.length() - 1));
+        }
+    }
+
+    /**
+     * Возвращает узлы от корня до узла названия, создавая недостающие.
+     *
+     * @param key     нормализованное название
+     * @param display название для отображения (если {@code null}, не меняется)
+     * @return путь от корня (включительно) до узла названия
+     */
+    private List<Node> path(String key, String display) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i), key, i + 1);
+            path.add(node);
+        }
+        if (display != null && node.display == null) {
+            node.display = display;
+        }
+        return path;
+    }
+
+    /**
+     * Меняет количество вещей с названием и пересчитывает списки лучших названий на пути к корню.
+     */
+    private void update(List<Node> path, int delta) {
+        path.getLast().count += delta;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recomputeTop(path.get(i));
+        }
+    }
+
+    private void rebuild(Node node) {
+        for (Node child : node.children) {
+            rebuild(child);
+        }
+        recomputeTop(node);
+    }
+
+    /**
+     * Вычисляет список лучших названий узла из названия самого узла и списков дочерних узлов.
+     */
+    private void recomputeTop(Node node) {
+        int candidates = node.count > 0 ? 1 : 0;
+        for (Node child : node.children) {
+            candidates += child.top.length;
+        }
+        Node[] merged = new Node[candidates];
+        int n = 0;
+        if (node.count > 0) {
+            merged[n++] = node;
+        }
+        for (Node child : node.children) {
+            System.arraycopy(child.top, 0, merged, n, child.top.length);
+            n += child.top.length;
+        }
+        Arrays.sort(merged, BEST_FIRST);
+        node.top = merged.length > topSize ? Arrays.copyOf(merged, topSize) : merged;
+        if (node.count == 0) {
+            node.display = null;
+        }
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action изменение индекса
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Node {
+        private final String key;
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_NODES;
+        private Node[] top = NO_NODES;
+        private String display;
+        private int count;
+
+        Node(String key) {
+            this.key = key;
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char label, String key, int length) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insert = -index - 1;
+            Node child = new Node(key.substring(0, length));
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newLabels[insert] = label;
+            newChildren[insert] = child;
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) return;
+
+            int remaining = labels.length - 1;
+            char[] newLabels = remaining == 0 ? NO_LABELS : new char[remaining];
+            Node[] newChildren = remaining == 0 ? NO_NODES : new Node[remaining];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, remaining - index);
+            System.arraycopy(children, index + 1, newChildren, index, remaining - index);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
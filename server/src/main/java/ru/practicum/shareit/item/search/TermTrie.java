@@ -0,0 +1,266 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Префиксное дерево терминов названий и описаний вещей со списками вещей в узлах.
+ * <p>
+ * Дочерние узлы хранятся в отсортированных массивах символов и ссылок (без {@code HashMap}
+ * на узел), а вещи термина — в {@link IntPostings} отдельно для названия и описания;
+ * списки создаются только для узлов, которые заканчивают термин. Узлы, оставшиеся
+ * без терминов после удаления вещи, удаляются из дерева.
+ * </p>
+ * <p>
+ * Поиск с опечатками обходит дерево, вычисляя строку матрицы расстояния Левенштейна
+ * для каждого узла; поддерево отсекается, как только минимум строки превышает допустимое
+ * число правок. Поэтому стоимость поиска зависит от длины запроса и числа правок, а не
+ * от количества вещей.
+ * </p>
+ * <p>
+ * Класс не потокобезопасен: доступ синхронизируется {@link ItemSearchIndex}.
+ * </p>
+ *
+ * @see IntPostings
+ * @see ItemSearchIndex
+ */
+final class TermTrie {
+
+    /**
+     * Получатель совпадений поиска по дереву.
+     */
+    @FunctionalInterface
+    interface Match {
+        /**
+         * Принимает список вещей совпавшего термина.
+         *
+         * @param postings вещи термина
+         * @param name     {@code true} — термин из названия, {@code false} — из описания
+         * @param edits    расстояние Левенштейна между термином и запросом
+         * @param prefix   {@code true}, если запрос — собственный префикс термина
+         */
+        void accept(IntPostings postings, boolean name, int edits, boolean prefix);
+    }
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private Node root = new Node();
+    private int terms;
+
+    /**
+     * Добавляет вещь в список термина.
+     *
+     * @param term   термин (не пустой)
+     * @param itemId идентификатор вещи
+     * @param name   {@code true} — термин из названия, {@code false} — из описания
+     */
+    void add(String term, int itemId, boolean name) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+        }
+        if (!node.hasPostings()) {
+            terms++;
+        }
+        node.postingsOrCreate(name).add(itemId);
+    }
+
+    /**
+     * Удаляет вещь из списка термина.
+     *
+     * @param term   термин
+     * @param itemId идентификатор вещи
+     * @param name   {@code true} — термин из названия, {@code false} — из описания
+     */
+    void remove(String term, int itemId, boolean name) {
+        remove(root, term, 0, itemId, name);
+    }
+
+    /**
+     * Удаляет все термины.
+     */
+    void clear() {
+        root = new Node();
+        terms = 0;
+    }
+
+    /**
+     * Возвращает количество различных терминов в дереве.
+     *
+     * @return количество терминов
+     */
+    int terms() {
+        return terms;
+    }
+
+    /**
+     * Находит термины на расстоянии Левенштейна не более {@code maxEdits} от токена запроса
+     * и, если {@code prefix}, термины, для которых токен является префиксом.
+     *
+     * @param token    токен запроса (не пустой)
+     * @param maxEdits допустимое число правок
+     * @param prefix   искать ли термины, начинающиеся с токена
+     * @param match    получатель совпадений
+     */
+    void match(String token, int maxEdits, boolean prefix, Match match) {
+        if (maxEdits == 0) {
+            Node node = find(token);
+            if (node != null) {
+                report(node, 0, false, match);
+            }
+        } else {
+            int[] row = new int[token.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            matchFuzzy(root, token, row, maxEdits, match);
+        }
+        if (prefix) {
+            Node node = find(token);
+            if (node != null) {
+                for (Node child : node.children) {
+                    reportSubtree(child, match);
+                }
+            }
+        }
+    }
+
+    private void matchFuzzy(Node node, String token, int[] previous, int maxEdits, Match match) {
+        for (int c = 0; c < node.labels.length; c++) {
+            char label = node.labels[c];
+            int[] row = new int[previous.length];
+            row[0] = previous[0] + 1;
+            int min = row[0];
+            for (int i = 1; i < row.length; i++) {
+                int replace = previous[i - 1] + (token.charAt(i - 1) == label ? 0 : 1);
+                row[i] = Math.min(replace, Math.min(row[i - 1], previous[i]) + 1);
+                min = Math.min(min, row[i]);
+            }
+            Node child = node.children[c];
+            int edits = row[row.length - 1];
+            if (edits <= maxEdits) {
+                report(child, edits, false, match);
+            }
+            if (min <= maxEdits) {
+                matchFuzzy(child, token, row, maxEdits, match);
+            }
+        }
+    }
+
+    private void reportSubtree(Node node, Match match) {
+        report(node, 0, true, match);
+        for (Node child : node.children) {
+            reportSubtree(child, match);
+        }
+    }
+
+    private static void report(Node node, int edits, boolean prefix, Match match) {
+        if (node.names != null) {
+            match.accept(node.names, true, edits, prefix);
+        }
+        if (node.descriptions != null) {
+            match.accept(node.descriptions, false, edits, prefix);
+        }
+    }
+
+    private Node find(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Удаляет вещь из термина в поддереве узла.
+     *
+     * @return {@code true}, если узел стал пустым и его можно удалить из родителя
+     */
+    private boolean remove(Node node, String term, int depth, int itemId, boolean name) {
+        if (depth == term.length()) {
+            boolean had = node.hasPostings();
+            node.removePosting(itemId, name);
+            if (had && !node.hasPostings()) {
+                terms--;
+            }
+        } else {
+            char label = term.charAt(depth);
+            Node child = node.child(label);
+            if (child != null && remove(child, term, depth + 1, itemId, name)) {
+                node.removeChild(label);
+            }
+        }
+        return node != root && !node.hasPostings() && node.labels.length == 0;
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private IntPostings names;
+        private IntPostings descriptions;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insert = -index - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newLabels[insert] = label;
+            newChildren[insert] = child;
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) return;
+
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = newLabels.length == 0 ? NO_CHILDREN : new Node[newLabels.length];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, newLabels.length - index);
+            System.arraycopy(children, index + 1, newChildren, index, newLabels.length - index);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren;
+        }
+
+        IntPostings postingsOrCreate(boolean name) {
+            if (name) {
+                return names == null ? names = new IntPostings() : names;
+            }
+            return descriptions == null ? descriptions = new IntPostings() : descriptions;
+        }
+
+        void removePosting(int itemId, boolean name) {
+            IntPostings postings = name ? names : descriptions;
+            if (postings == null) return;
+
+            postings.remove(itemId);
+            if (postings.size() == 0) {
+                if (name) {
+                    names = null;
+                } else {
+                    descriptions = null;
+                }
+            }
+        }
+
+        boolean hasPostings() {
+            return names != null || descriptions != null;
+        }
+    }
+}
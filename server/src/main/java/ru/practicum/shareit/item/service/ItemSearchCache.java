@@ -0,0 +1,301 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.outbox.OutboxEventFeed;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Кэш результатов текстового поиска вещей ({@code GET /items/search} без периода).
+ * <p>
+ * Ключ — нормализованный текст запроса (без пробелов по краям, в нижнем регистре): поиск
+ * не зависит от регистра, поэтому «Drill» и «drill» разделяют одну запись. Размер кэша
+ * ограничен суммарным количеством вещей во всех результатах ({@code shareit.items.search-cache-weight});
+ * при превышении вытесняются давно не использовавшиеся результаты (LRU).
+ * </p>
+ * <p>
+ * Любое изменение вещей увеличивает номер поколения кэша и очищает его после фиксации
+ * транзакции; результат, загрузка которого началась в предыдущем поколении, в кэш
+ * не сохраняется, поэтому устаревшие результаты не возвращаются. Изменения вещей на других
+ * узлах очищают кэш при чтении их событий {@link OutboxEventFeed} (с задержкой до интервала
+ * опроса {@code shareit.outbox.feed.poll-interval}). Изменения без событий вещей (удаление
+ * запроса на другом узле) и изменения, сделанные в обход приложения, видны не позже чем через
+ * {@code shareit.items.search-ttl}.
+ * </p>
+ * <p>
+ * Популярные запросы (не меньше {@code shareit.items.search-hot-hits} попаданий с момента
+ * загрузки) обновляются заранее: при обращении после {@code shareit.items.search-refresh-after}
+ * возвращается текущий результат, а новый загружается в фоне, поэтому такие запросы
+ * не ждут загрузки по истечении времени жизни. Количество попаданий, промахов и фоновых
+ * обновлений, доля попаданий, размер и вес кэша публикуются метриками
+ * {@code shareit.items.search.cache.*}.
+ * </p>
+ *
+ * @see ItemService#search(String)
+ */
+@Slf4j
+@Component
+public class ItemSearchCache implements MeterBinder {
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final long maxWeight;
+    private final int hotHits;
+    private final LongSupplier nanoClock;
+    private final Executor refresher;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private long weight;
+    private long generation;
+
+    /**
+     * Создает кэш результатов поиска.
+     *
+     * @param ttl          время жизни результата (shareit.items.search-ttl)
+     * @param refreshAfter возраст результата, после которого популярный запрос обновляется в фоне
+     *                     (shareit.items.search-refresh-after)
+     * @param maxWeight    максимальное суммарное количество вещей в результатах
+     *                     (shareit.items.search-cache-weight)
+     * @param hotHits      количество попаданий, после которого запрос считается популярным
+     *                     (shareit.items.search-hot-hits)
+     */
+    @Autowired
+    public ItemSearchCache(@Value("${shareit.items.search-ttl:5m}") Duration ttl,
+                           @Value("${shareit.items.search-refresh-after:4m}") Duration refreshAfter,
+                           @Value("${shareit.items.search-cache-weight:100000}") long maxWeight,
+                           @Value("${shareit.items.search-hot-hits:3}") int hotHits) {
+        this(ttl, refreshAfter, maxWeight, hotHits, System::nanoTime, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Создает кэш результатов поиска с заданными источником времени и исполнителем фоновых обновлений.
+     *
+     * @param ttl          время жизни результата
+     * @param refreshAfter возраст результата, после которого популярный запрос обновляется в фоне
+     * @param maxWeight    максимальное суммарное количество вещей в результатах
+     * @param hotHits      количество попаданий, после которого запрос считается популярным
+     * @param nanoClock    источник монотонного времени в наносекундах
+     * @param refresher    исполнитель фоновых обновлений
+     */
+    ItemSearchCache(Duration ttl, Duration refreshAfter, long maxWeight, int hotHits,
+                    LongSupplier nanoClock, Executor refresher) {
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.maxWeight = maxWeight;
+        this.hotHits = hotHits;
+        this.nanoClock = nanoClock;
+        this.refresher = refresher;
+    }
+
+    /**
+     * Приводит текст запроса к ключу кэша.
+     *
+     * @param query текст запроса
+     * @return текст без пробелов по краям в нижнем регистре
+     */
+    public static String normalize(String query) {
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает результат поиска из кэша или загружает его.
+     *
+     * @param query  текст запроса
+     * @param loader функция поиска по нормализованному тексту
+     * @return найденные вещи
+     */
+    public List<ItemResponseDto> get(String query, Function<String, List<ItemResponseDto>> loader) {
+        String key = normalize(query);
+        long now = nanoClock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                entry.hits++;
+                if (!entry.refreshing && entry.hits >= hotHits && now - entry.loadedAt >= refreshAfterNanos) {
+                    entry.refreshing = true;
+                    refreshAsync(key, entry, loader, generation);
+                }
+                return entry.value;
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+        List<ItemResponseDto> value = List.copyOf(loader.apply(key));
+        store(key, value, now, loadGeneration);
+        return value;
+    }
+
+    /**
+     * Очищает кэш и начинает новое поколение.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Очищает кэш при опубликованном изменении вещи, в том числе сделанном на другом узле.
+     *
+     * @param event опубликованное доменное событие
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.aggregateType() == AggregateType.ITEM) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Очищает кэш и начинает новое поколение после фиксации текущей транзакции
+     * или сразу, если транзакции нет.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Возвращает долю запросов, обслуженных из кэша.
+     *
+     * @return доля попаданий от 0 до 1 (0, если запросов еще не было)
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.items.search.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Search requests served from the cache")
+                .register(registry);
+        FunctionCounter.builder("shareit.items.search.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Search requests loaded from the database")
+                .register(registry);
+        FunctionCounter.builder("shareit.items.search.cache.refreshes", refreshes, LongAdder::sum)
+                .description("Background refreshes of hot search requests")
+                .register(registry);
+        Gauge.builder("shareit.items.search.cache.hit.ratio", this, ItemSearchCache::hitRatio)
+                .description("Share of search requests served from the cache")
+                .register(registry);
+        Gauge.builder("shareit.items.search.cache.size", this, ItemSearchCache::size)
+                .description("Cached search requests")
+                .register(registry);
+        Gauge.builder("shareit.items.search.cache.weight", this, ItemSearchCache::weight)
+                .description("Items in cached search results")
+                .register(registry);
+    }
+
+    /**
+     * Останавливает фоновые обновления при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (refresher instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void refreshAsync(String key, Entry entry, Function<String, List<ItemResponseDto>> loader,
+                              long loadGeneration) {
+        refresher.execute(() -> {
+            try {
+                long now = nanoClock.getAsLong();
+                store(key, List.copyOf(loader.apply(key)), now, loadGeneration);
+                refreshes.increment();
+            } catch (RuntimeException e) {
+                log.warn("Cannot refresh search results for '{}'", key, e);
+            } finally {
+                synchronized (entries) {
+                    entry.refreshing = false;
+                }
+            }
+        });
+    }
+
+    private void store(String key, List<ItemResponseDto> value, long loadedAt, long loadGeneration) {
+        long valueWeight = Math.max(1, value.size());
+        if (valueWeight > maxWeight) return;
+
+        synchronized (entries) {
+            if (generation != loadGeneration) return;
+
+            Entry previous = entries.put(key, new Entry(value, valueWeight, loadedAt));
+            weight += valueWeight - (previous == null ? 0 : previous.weight);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (weight > maxWeight) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+            }
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private long weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    private static final class Entry {
+        private final List<ItemResponseDto> value;
+        private final long weight;
+        private final long loadedAt;
+        private int hits;
+        private boolean refreshing;
+
+        private Entry(List<ItemResponseDto> value, long weight, long loadedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.item.dto.*;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Сервис для управления вещами и комментариями в приложении ShareIt.
@@ -35,7 +41,8 @@ public interface ItemService {
      * Находит вещь по ее идентификатору.
      * <p>
      * Если запрос делает владелец вещи, в ответ добавляется информация
-     * о ближайших бронированиях.
+     * о ближайших бронированиях. Комментарии возвращаются первой страницей,
+     * остальные — через {@link #findComments}.
      * </p>
      *
      * @param itemId идентификатор вещи
@@ -44,6 +51,29 @@ public interface ItemService {
      */
     ItemResponseWithCommentsDto findById(Long itemId, Long userId);
 
+    /**
+     * Возвращает страницу комментариев к вещи от новых к старым.
+     *
+     * @param itemId идентификатор вещи
+     * @param after  идентификатор последнего комментария предыдущей страницы
+     *               ({@code null} — первая страница)
+     * @param size   количество комментариев на странице
+     * @return страница комментариев с курсором следующей страницы
+     */
+    CommentPageDto findComments(Long itemId, Long after, int size);
+
+    /**
+     * Возвращает вещи с указанными идентификаторами.
+     * <p>
+     * Вещи читаются одним запросом; для отсутствующих идентификаторов возвращается
+     * отметка {@link BatchEntry#found()} = {@code false} вместо ошибки.
+     * </p>
+     *
+     * @param ids идентификаторы вещей
+     * @return карта идентификатор → вещь в виде базового DTO в порядке запрошенных идентификаторов
+     */
+    Map<Long, BatchEntry<ItemResponseDto>> findByIds(Collection<Long> ids);
+
     /**
      * Возвращает список всех вещей.
      *
@@ -52,15 +82,29 @@ public interface ItemService {
     List<ItemResponseDto> findAll();
 
     /**
-     * Возвращает список всех вещей конкретного пользователя.
+     * Выгружает все вещи в формате NDJSON.
      * <p>
-     * Для каждой вещи добавляется информация о ближайших бронированиях.
+     * Вещи читаются курсором и записываются в выходной поток по одной, поэтому расход памяти
+     * не зависит от количества вещей.
+     * </p>
+     *
+     * @param out выходной поток ответа
+     */
+    void exportAll(OutputStream out);
+
+    /**
+     * Возвращает страницу вещей конкретного пользователя.
+     * <p>
+     * Информация о ближайших бронированиях и комментарии добавляются только по запросу.
      * </p>
      *
      * @param userId идентификатор владельца
-     * @return список вещей пользователя с расширенной информацией
+     * @param after  идентификатор последней вещи предыдущей страницы (0 для первой страницы)
+     * @param size   размер страницы
+     * @param expand дополнительные части ответа
+     * @return страница вещей пользователя в порядке идентификаторов
      */
-    List<ItemResponseWithCommentsDto> findByUserId(Long userId);
+    List<ItemResponseWithCommentsDto> findByUserId(Long userId, Long after, int size, Set<ItemExpand> expand);
 
     /**
      * Выполняет поиск доступных вещей по тексту в названии или описании.
@@ -70,6 +114,43 @@ public interface ItemService {
      */
     List<ItemResponseDto> search(String query);
 
+    /**
+     * Выполняет поиск доступных вещей по тексту, свободных в течение всего указанного периода.
+     *
+     * @param query текст для поиска
+     * @param from  начало периода
+     * @param to    окончание периода
+     * @return список найденных вещей без подтвержденных бронирований в периоде
+     */
+    List<ItemResponseDto> search(String query, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Возвращает названия доступных вещей, начинающиеся с префикса.
+     *
+     * @param prefix префикс названия
+     * @param size   наибольшее количество названий
+     * @return названия от самых частых к редким
+     */
+    List<String> suggest(String prefix, int size);
+
+    /**
+     * Возвращает занятость вещи в заданном периоде.
+     *
+     * @param itemId идентификатор вещи
+     * @param from   начало периода
+     * @param to     окончание периода
+     * @return признак доступности вещи и занятые периоды
+     */
+    ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Возвращает статистику бронирований и комментариев по всем вещам владельца.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @return статистика вещей владельца в порядке идентификаторов вещей
+     */
+    List<ItemStatsDto> findStats(Long ownerId);
+
     /**
      * Обновляет существующую вещь.
      *
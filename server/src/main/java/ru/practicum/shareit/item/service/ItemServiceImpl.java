@@ -1,30 +1,44 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.CommentNotAllowedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemJdbcReader;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggester;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Реализация сервиса {@link ItemService} для управления вещами и комментариями.
@@ -40,23 +54,50 @@ import java.util.*;
  * @see CommentRepository
  * @see BookingRepository
  * @see ItemRequestRepository
+ * @see BookingAvailabilityIndex
+ * @see OutboxWriter
+ * @see ItemBookingSummaryTracker
+ * @see ItemStatsCache
+ * @see ItemSearchCache
+ * @see ItemSearchIndex
+ * @see ItemSuggester
+ * @see BookingViewWriter
  */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Количество комментариев, возвращаемых в карточке вещи; остальные читаются постранично.
+     */
+    private static final int INLINE_COMMENTS = 10;
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final OutboxWriter outboxWriter;
+    private final ItemBookingSummaryTracker summaryTracker;
+    private final ItemStatsCache statsCache;
+    private final ItemJdbcReader jdbcReader;
+    private final NdjsonWriter ndjsonWriter;
+    private final BookingCountsCache countsCache;
+    private final BookingViewWriter viewWriter;
+    private final ItemSearchCache searchCache;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggester suggester;
+    private final RequestMatcher requestMatcher;
 
     /**
      * Создает новую вещь.
      * <p>
      * Если указан {@code requestId}, проверяет существование соответствующего запроса
-     * и связывает вещь с ним.
+     * и связывает вещь с ним. Вместе с вещью создается пустая сводка ее бронирований,
+     * а в outbox записывается событие {@link OutboxEventType#ITEM_CREATED};
+     * после фиксации транзакции вещь добавляется в индекс поиска и подсказки названий,
+     * кэш результатов поиска очищается, а подбор вещей для похожих запросов ставится в очередь.
      * </p>
      *
      * @param userId идентификатор владельца вещи
@@ -71,15 +112,24 @@ public class ItemServiceImpl implements ItemService {
         ItemRequest itemRequest = Optional.ofNullable(dto.requestId())
                 .flatMap(itemRequestRepository::findById)
                 .orElse(null);
-        Item item = ItemMapper.toItem(owner, itemRequest, dto);
-        return ItemMapper.toItemResponseDto(itemRepository.save(item));
+        Item item = itemRepository.save(ItemMapper.toItem(owner, itemRequest, dto));
+        summaryTracker.create(item.getId());
+        ItemResponseDto response = ItemMapper.toItemResponseDto(item);
+        searchIndex.putAfterCommit(response);
+        suggester.putAfterCommit(response);
+        searchCache.invalidateAfterCommit();
+        requestMatcher.itemAfterCommit(response);
+        outboxWriter.write(AggregateType.ITEM, response.id(), OutboxEventType.ITEM_CREATED, response);
+        return response;
     }
 
     /**
      * Находит вещь по ее идентификатору.
      * <p>
-     * Если запрос делает владелец вещи, вычисляет даты последнего и следующего
-     * подтвержденных бронирований. Всегда добавляет список комментариев к вещи.
+     * Вещь читается одним запросом вместе с датами последнего и следующего подтвержденных
+     * бронирований (подзапросы {@code LIMIT 1} по индексам бронирований), первая страница
+     * комментариев с именами авторов — вторым. Даты бронирований возвращаются, только если
+     * запрос делает владелец вещи.
      * </p>
      *
      * @param itemId идентификатор вещи
@@ -89,89 +139,124 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public ItemResponseWithCommentsDto findById(Long itemId, Long userId) {
-        LocalDateTime now = LocalDateTime.now();
-        Item item = getItemById(itemId);
-        List<Booking> bookings;
-        List<Comment> comments = commentRepository.findAllByItem_Id(itemId);
-
-        LocalDateTime lastBooking = null;
-        LocalDateTime nextBooking = null;
-
-        if (item.getOwner().getId().equals(userId)) {
-            bookings = bookingRepository.findAllByItem_IdAndStatus(itemId, Status.APPROVED);
-
-            lastBooking = bookings.stream()
-                    .map(Booking::getEnd)
-                    .filter(end -> end.isBefore(now))
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
+        ItemDetailRow item = itemRepository.findDetailById(itemId, LocalDateTime.now())
+                .orElseThrow(() -> new NotFoundException("Item", itemId));
+        CommentPageDto comments = CommentMapper.toCommentPageDto(
+                commentRepository.findResponsesByItemId(itemId, Limit.of(INLINE_COMMENTS + 1)), INLINE_COMMENTS);
 
+        return ItemMapper.toItemResponseWithCommentsDto(item, item.ownerId().equals(userId), comments);
+    }
 
-            nextBooking = bookings.stream()
-                    .map(Booking::getStart)
-                    .filter(start -> start.isAfter(now))
-                    .min(Comparator.naturalOrder())
-                    .orElse(null);
+    /**
+     * Возвращает страницу комментариев к вещи от новых к старым.
+     * <p>
+     * Читается на один комментарий больше размера страницы, чтобы определить, есть ли следующая.
+     * Существование вещи проверяется отдельным запросом, только если страница оказалась пустой.
+     * </p>
+     *
+     * @param itemId идентификатор вещи
+     * @param after  идентификатор последнего комментария предыдущей страницы
+     *               ({@code null} — первая страница)
+     * @param size   количество комментариев на странице
+     * @return страница комментариев с курсором следующей страницы
+     * @throws NotFoundException если вещь не найдена
+     */
+    @Override
+    public CommentPageDto findComments(Long itemId, Long after, int size) {
+        List<CommentRequestDto> comments = after == null
+                ? commentRepository.findResponsesByItemId(itemId, Limit.of(size + 1))
+                : commentRepository.findResponsesByItemIdAfter(itemId, after, Limit.of(size + 1));
+        if (comments.isEmpty() && !itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item", itemId);
         }
+        return CommentMapper.toCommentPageDto(comments, size);
+    }
 
-        return ItemMapper.toItemResponseWithCommentsDto(
-                item,
-                lastBooking,
-                nextBooking,
-                CommentMapper.toCommentRequestDto(comments)
-        );
+    /**
+     * Возвращает вещи с указанными идентификаторами.
+     * <p>
+     * Вещи читаются одним запросом {@code IN} проекцией сразу в DTO, без загрузки сущностей.
+     * </p>
+     *
+     * @param ids идентификаторы вещей
+     * @return карта идентификатор → вещь в порядке запрошенных идентификаторов
+     */
+    @Override
+    public Map<Long, BatchEntry<ItemResponseDto>> findByIds(Collection<Long> ids) {
+        return BatchEntry.byId(ids, itemRepository.findResponsesByIdIn(ids), ItemResponseDto::id);
     }
 
     /**
      * Возвращает список всех вещей.
+     * <p>
+     * Вещи читаются проекцией сразу в DTO, без загрузки сущностей.
+     * </p>
      *
      * @return список всех вещей в виде базовых DTO
      */
     @Override
     public List<ItemResponseDto> findAll() {
-        return ItemMapper.toItemResponseDto(itemRepository.findAll());
+        return itemRepository.findAllResponses();
+    }
+
+    /**
+     * Выгружает все вещи в формате NDJSON.
+     * <p>
+     * Вещи читаются курсором проекции в транзакции только для чтения, открытой на все время
+     * записи ответа; проекции не попадают в контекст персистентности.
+     * </p>
+     *
+     * @param out выходной поток ответа
+     */
+    @Override
+    public void exportAll(OutputStream out) {
+        try (Stream<ItemResponseDto> items = itemRepository.streamAllResponses()) {
+            ndjsonWriter.write(items, out);
+        }
     }
 
     /**
-     * Возвращает список всех вещей конкретного пользователя.
+     * Возвращает страницу вещей конкретного пользователя.
      * <p>
-     * Для каждой вещи вычисляет даты последнего и следующего подтвержденных бронирований.
+     * Вещи читаются проекцией без загрузки сущностей, страница выбирается по ключу {@code item_id}.
+     * Дополнительные части ответа вычисляются только по запросу и только для вещей страницы:
+     * {@link ItemExpand#BOOKINGS} — даты последнего и следующего подтвержденных бронирований
+     * из сводок бронирований, {@link ItemExpand#COMMENTS} — комментарии; каждая часть читается
+     * одним запросом для всех вещей страницы.
      * </p>
      *
      * @param userId идентификатор владельца
-     * @return список вещей пользователя с расширенной информацией (без комментариев)
+     * @param after  идентификатор последней вещи предыдущей страницы (0 для первой страницы)
+     * @param size   размер страницы
+     * @param expand дополнительные части ответа
+     * @return страница вещей пользователя в порядке идентификаторов
      * @throws NotFoundException если пользователь не найден
      */
     @Override
-    public List<ItemResponseWithCommentsDto> findByUserId(Long userId) {
+    public List<ItemResponseWithCommentsDto> findByUserId(Long userId, Long after, int size, Set<ItemExpand> expand) {
         getUserById(userId);
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
-        List<Booking> bookings = bookingRepository.findAllByItem_Owner_IdAndStatus(
-                userId,
-                Status.APPROVED);
+        List<ItemResponseDto> items = itemRepository.findResponsesByOwnerIdAfter(userId, after, Limit.of(size));
+        if (items.isEmpty()) {
+            return List.of();
+        }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime lastBooking;
-        LocalDateTime nextBooking;
+        List<Long> itemIds = items.stream().map(ItemResponseDto::id).toList();
+        Map<Long, ItemBookingSummary> summaries = expand.contains(ItemExpand.BOOKINGS)
+                ? summaryTracker.find(itemIds, LocalDateTime.now())
+                : Map.of();
+        Map<Long, List<CommentRequestDto>> comments = expand.contains(ItemExpand.COMMENTS)
+                ? CommentMapper.groupByItemId(commentRepository.findRowsByItemIdIn(itemIds))
+                : null;
 
         List<ItemResponseWithCommentsDto> itemResponseDtos = new ArrayList<>();
 
-        for (Item item : items) {
-            lastBooking = bookings.stream()
-                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                    .map(Booking::getEnd)
-                    .filter(end -> end.isBefore(now))
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
-
-            nextBooking = bookings.stream()
-                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                    .map(Booking::getStart)
-                    .filter(start -> start.isAfter(now))
-                    .min(Comparator.naturalOrder())
-                    .orElse(null);
-            itemResponseDtos.add(ItemMapper
-                    .toItemResponseWithCommentsDto(item, lastBooking, nextBooking, null));
+        for (ItemResponseDto item : items) {
+            ItemBookingSummary summary = summaries.get(item.id());
+            itemResponseDtos.add(ItemMapper.toItemResponseWithCommentsDto(
+                    item,
+                    summary == null ? null : summary.getLastEnd(),
+                    summary == null ? null : summary.getNextStart(),
+                    comments == null ? null : comments.getOrDefault(item.id(), List.of())));
         }
 
         return itemResponseDtos;
@@ -182,6 +267,12 @@ public class ItemServiceImpl implements ItemService {
      * <p>
      * Поиск регистронезависимый, возвращаются только вещи с флагом available = true.
      * Если текст запроса пустой или состоит только из пробелов, возвращается пустой список.
+     * Если для {@code GET /items/search} выбран {@link ru.practicum.shareit.jdbc.ReadPath#JDBC},
+     * запрос выполняется через {@link ItemJdbcReader}. Результаты кэшируются по нормализованному
+     * тексту запроса в {@link ItemSearchCache}.
+     * Если точный поиск ничего не нашел, запрос повторяется по индексу {@link ItemSearchIndex},
+     * допускающему опечатки и совпадение по префиксу; найденные вещи читаются из базы данных
+     * одним запросом в порядке ранжирования индекса.
      * </p>
      *
      * @param query текст для поиска
@@ -192,8 +283,92 @@ public class ItemServiceImpl implements ItemService {
         if (!StringUtils.hasText(query)) {
             return Collections.emptyList();
         }
-        return ItemMapper.toItemResponseDto(itemRepository
-                .search(query.trim()));
+        return searchCache.get(query, text -> {
+            List<ItemResponseDto> found = jdbcReader.isSearchEnabled()
+                    ? jdbcReader.search(text)
+                    : itemRepository.search(text);
+            return found.isEmpty() ? searchSimilar(text) : found;
+        });
+    }
+
+    /**
+     * Выполняет поиск доступных вещей по тексту, свободных в течение всего указанного периода.
+     * <p>
+     * Занятость проверяется в том же запросе, что и текстовый поиск, поэтому количество
+     * запросов не зависит от числа найденных вещей. Если текст запроса пустой,
+     * возвращается пустой список. Способ чтения выбирается так же, как в {@link #search(String)}.
+     * </p>
+     *
+     * @param query текст для поиска
+     * @param from  начало периода
+     * @param to    окончание периода
+     * @return список найденных вещей без подтвержденных бронирований в периоде
+     */
+    @Override
+    public List<ItemResponseDto> search(String query, LocalDateTime from, LocalDateTime to) {
+        if (!StringUtils.hasText(query)) {
+            return Collections.emptyList();
+        }
+        String text = query.trim();
+        return jdbcReader.isSearchEnabled()
+                ? jdbcReader.searchFreeInPeriod(text, from, to)
+                : itemRepository.searchFreeInPeriod(text, from, to);
+    }
+
+    /**
+     * Возвращает названия доступных вещей, начинающиеся с префикса.
+     * <p>
+     * Названия берутся из индекса подсказок {@link ItemSuggester} без обращения к базе данных.
+     * </p>
+     *
+     * @param prefix префикс названия (без учета регистра и пробелов по краям)
+     * @param size   наибольшее количество названий
+     * @return названия от самых частых к редким
+     */
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        return suggester.suggest(prefix, size);
+    }
+
+    /**
+     * Возвращает занятость вещи в заданном периоде.
+     * <p>
+     * Занятые периоды берутся из индекса доступности {@link BookingAvailabilityIndex},
+     * поэтому кроме загрузки самой вещи запрос не обращается к базе данных.
+     * </p>
+     *
+     * @param itemId идентификатор вещи
+     * @param from   начало периода
+     * @param to     окончание периода
+     * @return признак доступности вещи и занятые периоды
+     * @throws NotFoundException если вещь не найдена
+     */
+    @Override
+    public ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Item item = getItemById(itemId);
+        return ItemMapper.toItemAvailabilityDto(item, from, to,
+                availabilityIndex.findBookedIntervals(itemId, from, to));
+    }
+
+    /**
+     * Возвращает статистику бронирований и комментариев по всем вещам владельца.
+     * <p>
+     * Статистика вычисляется одним агрегирующим запросом
+     * ({@link ItemRepository#aggregateStatsByOwner}) и кэшируется на короткое время
+     * ({@code shareit.items.stats-ttl}), поэтому повторные запросы панели владельца
+     * не обращаются к базе данных.
+     * </p>
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @return статистика вещей владельца в порядке идентификаторов вещей
+     * @throws NotFoundException если пользователь не найден
+     */
+    @Override
+    public List<ItemStatsDto> findStats(Long ownerId) {
+        return statsCache.get(ownerId, id -> {
+            getUserById(id);
+            return ItemMapper.toItemStatsDto(itemRepository.aggregateStatsByOwner(id, LocalDateTime.now()));
+        });
     }
 
     /**
@@ -201,6 +376,10 @@ public class ItemServiceImpl implements ItemService {
      * <p>
      * Проверяет, что пользователь является владельцем вещи.
      * Обновляет только те поля, которые были переданы (не {@code null}).
+     * Новое название вещи в той же транзакции записывается в модель чтения бронирований,
+     * в outbox записывается событие {@link OutboxEventType#ITEM_UPDATED}. После фиксации
+     * транзакции вещь переиндексируется в индексе поиска и подсказках названий, а кэш
+     * результатов поиска очищается.
      * </p>
      *
      * @param command команда с данными для обновления
@@ -217,19 +396,41 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("Item not owned by user", command.userId());
         }
 
+        String oldName = itemToUpdate.getName();
         applyUpdates(itemToUpdate, command.updateData());
-        return ItemMapper.toItemResponseDto(itemRepository.save(itemToUpdate));
+        if (!Objects.equals(oldName, itemToUpdate.getName())) {
+            viewWriter.onItemRenamed(itemToUpdate);
+        }
+        ItemResponseDto response = ItemMapper.toItemResponseDto(itemRepository.save(itemToUpdate));
+        searchIndex.putAfterCommit(response);
+        suggester.putAfterCommit(response);
+        searchCache.invalidateAfterCommit();
+        outboxWriter.write(AggregateType.ITEM, itemToUpdate.getId(), OutboxEventType.ITEM_UPDATED, response);
+        return response;
     }
 
     /**
      * Удаляет вещь по ее идентификатору.
+     * <p>
+     * Если вещь существовала, в outbox записывается событие {@link OutboxEventType#ITEM_DELETED};
+     * бронирования вещи удаляются каскадно, поэтому кэш счетчиков бронирований очищается
+     * вместе с кэшем результатов поиска, а вещь удаляется из индекса поиска и подсказок названий.
+     * </p>
      *
      * @param id идентификатор вещи для удаления
      */
     @Transactional
     @Override
     public void deleteById(Long id) {
-        itemRepository.deleteById(id);
+        itemRepository.findById(id).ifPresent(item -> {
+            itemRepository.delete(item);
+            availabilityIndex.evictItemAfterCommit(id);
+            countsCache.clearAfterCommit();
+            searchIndex.removeAfterCommit(id);
+            suggester.removeAfterCommit(id);
+            searchCache.invalidateAfterCommit();
+            outboxWriter.write(AggregateType.ITEM, id, OutboxEventType.ITEM_DELETED, null);
+        });
     }
 
     /**
@@ -242,59 +443,66 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public void clear() {
         itemRepository.deleteAll();
+        availabilityIndex.clearAfterCommit();
+        countsCache.clearAfterCommit();
+        searchIndex.clearAfterCommit();
+        suggester.clearAfterCommit();
+        searchCache.invalidateAfterCommit();
     }
 
     /**
      * Добавляет комментарий к вещи.
      * <p>
-     * Проверяет, что пользователь действительно арендовал эту вещь
-     * и что срок аренды уже завершен.
+     * Проверяет, что у пользователя есть подтвержденное бронирование этой вещи
+     * и что срок аренды уже завершен. Проверка и чтение имени автора выполняются
+     * одним запросом; автор и вещь подставляются ссылками без загрузки, так как
+     * бронирование существует только для существующих пользователя и вещи.
      * </p>
      *
      * @param command команда с данными для создания комментария
      * @return созданный комментарий в виде DTO
-     * @throws NotFoundException если пользователь, вещь или бронирование не найдены
-     * @throws CommentNotAllowedException если комментарий оставляется до окончания бронирования
+     * @throws CommentNotAllowedException если у пользователя нет завершенного подтвержденного бронирования вещи
      */
     @Transactional
     @Override
     public CommentRequestDto addComment(CreateCommentCommand command) {
-        Sort sort = Sort.by(Sort.Direction.ASC, "end");
-        Booking booking = bookingRepository
-                .findAllByBooker_IdAndItem_Id(command.authorId(), command.itemId(), sort)
-                .stream().findFirst().orElseThrow(
-                        () -> new NotFoundException("Booking not found", command.authorId()));
-
-        if (booking.getEnd().isAfter(LocalDateTime.now())) {
-            throw new CommentNotAllowedException("Comment before booking's end", command.authorId(), command.itemId());
-        }
+        String authorName = bookingRepository
+                .findBookerNameWithFinishedBooking(command.authorId(), command.itemId(), LocalDateTime.now())
+                .orElseThrow(() -> new CommentNotAllowedException(
+                        "Comment without finished booking", command.authorId(), command.itemId()));
 
-        User author = getUserById(command.authorId());
-        Item item = getItemById(command.itemId());
-        Comment comment = CommentMapper.toComment(author, item, command.dto());
+        Comment comment = CommentMapper.toComment(
+                userRepository.getReferenceById(command.authorId()),
+                itemRepository.getReferenceById(command.itemId()),
+                command.dto());
 
-        return CommentMapper.toCommentRequestDto(commentRepository.save(comment));
+        return CommentMapper.toCommentRequestDto(commentRepository.save(comment), authorName);
     }
 
     /**
      * Обновляет существующий комментарий.
      * <p>
-     * Проверяет, что пользователь является автором комментария и что комментарий
-     * действительно относится к указанной вещи.
+     * Проверяет существование пользователя, затем что пользователь является автором комментария
+     * и что комментарий действительно относится к указанной вещи. Комментарий загружается одним
+     * запросом вместе с автором и вещью, поэтому отдельная проверка существования вещи не нужна:
+     * несуществующая вещь не может совпасть с вещью комментария.
      * </p>
      *
      * @param command команда с данными для обновления комментария
      * @return обновленный комментарий в виде DTO
-     * @throws NotFoundException если комментарий, пользователь или вещь не найдены
+     * @throws NotFoundException если пользователь или комментарий не найдены
+     *                           или комментарий не относится к указанной вещи
      * @throws AccessForbiddenException если пользователь не является автором комментария
      */
     @Transactional
     @Override
     public CommentRequestDto updateComment(UpdateCommentCommand command) {
-        Comment comment = commentRepository.findById(command.commentId())
+        if (!userRepository.existsById(command.authorId())) {
+            throw new NotFoundException("User", command.authorId());
+        }
+
+        Comment comment = commentRepository.findByIdWithAuthorAndItem(command.commentId())
                 .orElseThrow(() -> new NotFoundException("Comment", command.commentId()));
-        getUserById(command.authorId()); // для проверки существования такого пользователя
-        getItemById(command.itemId()); // для проверки существования вещи
 
         if (!Objects.equals(comment.getAuthor().getId(), command.authorId())) {
             throw new AccessForbiddenException("Forbidden to change comment not owned by user", command.authorId());
@@ -320,6 +528,36 @@ public class ItemServiceImpl implements ItemService {
         commentRepository.deleteById(commentId);
     }
 
+    /**
+     * Выполняет поиск доступных вещей по индексу, допускающему опечатки.
+     * <p>
+     * Вещи, которых уже нет в базе данных (удалены каскадно вместе с владельцем),
+     * удаляются из индекса.
+     * </p>
+     *
+     * @param text текст для поиска
+     * @return найденные доступные вещи в порядке ранжирования индекса
+     */
+    private List<ItemResponseDto> searchSimilar(String text) {
+        List<Long> ids = searchIndex.search(text);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemResponseDto> items = new HashMap<>();
+        itemRepository.findResponsesByIdIn(ids).forEach(item -> items.put(item.id(), item));
+
+        List<ItemResponseDto> result = new ArrayList<>();
+        for (Long id : ids) {
+            ItemResponseDto item = items.get(id);
+            if (item == null) {
+                searchIndex.removeAfterCommit(id);
+            } else if (Boolean.TRUE.equals(item.available())) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
     /**
      * Применяет обновления к сущности вещи.
      * <p>
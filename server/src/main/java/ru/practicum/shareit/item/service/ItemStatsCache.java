@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.ExpiringCache;
+import ru.practicum.shareit.item.dto.ItemStatsDto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Кэш статистики вещей владельцев для панели владельца ({@code GET /items/stats}).
+ * <p>
+ * Статистика не инвалидируется при изменениях и может отставать от данных
+ * не больше чем на {@code shareit.items.stats-ttl}.
+ * </p>
+ *
+ * @see ItemService#findStats(Long)
+ */
+@Component
+public class ItemStatsCache extends ExpiringCache<Long, List<ItemStatsDto>> {
+
+    /**
+     * Создает кэш статистики.
+     *
+     * @param ttl     время жизни статистики (shareit.items.stats-ttl)
+     * @param maxSize максимальное количество владельцев в кэше (shareit.items.stats-cache-size)
+     */
+    public ItemStatsCache(@Value("${shareit.items.stats-ttl:30s}") Duration ttl,
+                          @Value("${shareit.items.stats-cache-size:1000}") int maxSize) {
+        super(ttl, maxSize);
+    }
+}
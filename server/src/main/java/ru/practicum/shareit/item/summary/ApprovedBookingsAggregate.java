@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.summary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Результат агрегации подтвержденных бронирований одной вещи относительно текущего момента.
+ * <p>
+ * Вычисляется одним запросом с группировкой по вещи и загружается конструкторным выражением JPQL.
+ * </p>
+ *
+ * @param itemId               идентификатор вещи
+ * @param lastEnd              наибольшее окончание среди завершенных бронирований
+ * @param nextStart            наименьшее начало среди будущих бронирований
+ * @param approvedCount        количество подтвержденных бронирований
+ * @param nearestUnfinishedEnd наименьшее окончание среди незавершенных бронирований
+ *
+ * @see ItemBookingSummaryRepository#aggregateApproved
+ */
+public record ApprovedBookingsAggregate(
+        Long itemId,
+        LocalDateTime lastEnd,
+        LocalDateTime nextStart,
+        Long approvedCount,
+        LocalDateTime nearestUnfinishedEnd) {
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сущность, представляющая предвычисленную сводку подтвержденных бронирований вещи.
+ * <p>
+ * Хранит даты последнего и следующего бронирований, которые иначе вычисляются
+ * по всем бронированиям вещи при каждом запросе. Сводка зависит от текущего времени,
+ * поэтому вместе с ней хранится момент {@code validUntil}, после которого она устаревает:
+ * начало следующего бронирования или окончание ближайшего незавершенного.
+ * Устаревшие сводки пересчитывает {@link ItemBookingSummaryTracker}.
+ * </p>
+ *
+ * @see ItemBookingSummaryTracker
+ * @see ItemBookingSummaryRepository
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_booking_summary")
+@Entity
+public class ItemBookingSummary {
+    /**
+     * Идентификатор вещи, которой принадлежит сводка.
+     */
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    /**
+     * Дата и время окончания последнего завершенного бронирования ({@code null}, если его нет).
+     */
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+
+    /**
+     * Дата и время начала ближайшего будущего бронирования ({@code null}, если его нет).
+     */
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    /**
+     * Количество подтвержденных бронирований вещи.
+     */
+    @Column(name = "approved_count", nullable = false)
+    private long approvedCount;
+
+    /**
+     * Момент, начиная с которого сводка устарела ({@code null}, если сводка не устаревает со временем).
+     */
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    /**
+     * Создает сводку по результату агрегации подтвержденных бронирований вещи.
+     *
+     * @param itemId    идентификатор вещи
+     * @param aggregate результат агрегации или {@code null}, если подтвержденных бронирований нет
+     * @return сводка бронирований вещи
+     */
+    public static ItemBookingSummary of(Long itemId, ApprovedBookingsAggregate aggregate) {
+        if (aggregate == null) {
+            return ItemBookingSummary.builder().itemId(itemId).build();
+        }
+        return ItemBookingSummary.builder()
+                .itemId(itemId)
+                .lastEnd(aggregate.lastEnd())
+                .nextStart(aggregate.nextStart())
+                .approvedCount(aggregate.approvedCount())
+                .validUntil(aggregate.nearestUnfinishedEnd() == null ? aggregate.nextStart()
+                        : aggregate.nextStart() == null ? aggregate.nearestUnfinishedEnd()
+                        : min(aggregate.nextStart(), aggregate.nearestUnfinishedEnd()))
+                .build();
+    }
+
+    /**
+     * Проверяет, устарела ли сводка к указанному моменту.
+     *
+     * @param now текущие дата и время
+     * @return {@code true}, если сводку нужно пересчитать
+     */
+    public boolean isStaleAt(LocalDateTime now) {
+        return validUntil != null && !validUntil.isAfter(now);
+    }
+
+    /**
+     * Копирует в текущую сводку значения другой сводки той же вещи.
+     *
+     * @param other пересчитанная сводка
+     */
+    public void refreshFrom(ItemBookingSummary other) {
+        this.lastEnd = other.lastEnd;
+        this.nextStart = other.nextStart;
+        this.approvedCount = other.approvedCount;
+        this.validUntil = other.validUntil;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    /**
+     * Сравнивает объекты ItemBookingSummary по идентификатору вещи.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @param object объект для сравнения
+     * @return {@code true}, если объекты равны, иначе {@code false}
+     */
+    @Override
+    public final boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null) return false;
+        Class<?> oEffectiveClass = object instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : object.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        ItemBookingSummary that = (ItemBookingSummary) object;
+        return getItemId() != null && Objects.equals(getItemId(), that.getItemId());
+    }
+
+    /**
+     * Возвращает хеш-код объекта.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @return хеш-код объекта
+     */
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
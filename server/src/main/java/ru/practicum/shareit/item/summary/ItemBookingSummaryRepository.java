@@ -0,0 +1,167 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для управления сущностями {@link ItemBookingSummary} в базе данных.
+ * <p>
+ * Кроме чтения сводок предоставляет инкрементальное обновление сводки при подтверждении
+ * бронирования, пометку сводок устаревшими, блокирующую выборку устаревших сводок для
+ * пересчета и агрегацию подтвержденных бронирований, по которой сводки пересчитываются.
+ * </p>
+ *
+ * @see ItemBookingSummary
+ * @see ItemBookingSummaryTracker
+ */
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    /**
+     * Агрегирует подтвержденные бронирования указанных вещей относительно текущего момента.
+     * <p>
+     * Вещи без подтвержденных бронирований в результат не попадают.
+     * </p>
+     *
+     * @param itemIds идентификаторы вещей
+     * @param now     текущие дата и время
+     * @return результаты агрегации по вещам
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.item.summary.ApprovedBookingsAggregate(
+                b.item.id,
+                MAX(CASE WHEN b.end < :now THEN b.end END),
+                MIN(CASE WHEN b.start > :now THEN b.start END),
+                COUNT(b),
+                MIN(CASE WHEN b.end >= :now THEN b.end END))
+            FROM Booking b
+            WHERE b.item.id IN :itemIds
+            AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED
+            GROUP BY b.item.id
+            """)
+    List<ApprovedBookingsAggregate> aggregateApproved(@Param("itemIds") Collection<Long> itemIds,
+                                                      @Param("now") LocalDateTime now);
+
+    /**
+     * Создает пустую сводку для новой вещи.
+     *
+     * @param itemId идентификатор вещи
+     * @return количество созданных сводок
+     */
+    @Modifying
+    @Query("INSERT INTO ItemBookingSummary (itemId, approvedCount) VALUES (:itemId, 0L)")
+    int insertEmpty(@Param("itemId") Long itemId);
+
+    /**
+     * Создает устаревшие сводки для всех вещей, у которых сводки еще нет.
+     * <p>
+     * Созданные сводки пересчитываются плановым пересчетом так же, как и любые устаревшие.
+     * </p>
+     *
+     * @param now текущие дата и время
+     * @return количество созданных сводок
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO ItemBookingSummary (itemId, approvedCount, validUntil)
+            SELECT i.id, 0L, :now FROM Item i
+            WHERE NOT EXISTS (SELECT 1 FROM ItemBookingSummary s WHERE s.itemId = i.id)
+            """)
+    int insertMissing(@Param("now") LocalDateTime now);
+
+    /**
+     * Учитывает в сводке вещи только что подтвержденное бронирование одним атомарным обновлением.
+     * <p>
+     * Аргументы вычисляются вызывающей стороной относительно текущего момента: начало бронирования
+     * передается только для будущего бронирования, окончание — только для завершенного, момент
+     * устаревания — для незавершенного бронирования. Незаданные аргументы сводку не меняют.
+     * </p>
+     *
+     * @param itemId     идентификатор вещи
+     * @param nextStart  начало будущего бронирования или {@code null}
+     * @param lastEnd    окончание завершенного бронирования или {@code null}
+     * @param validUntil момент, когда бронирование изменит сводку, или {@code null}
+     * @return количество обновленных сводок (0, если сводки вещи еще нет)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ItemBookingSummary s SET
+                s.approvedCount = s.approvedCount + 1,
+                s.nextStart = CASE WHEN s.nextStart IS NULL OR :nextStart < s.nextStart
+                    THEN COALESCE(:nextStart, s.nextStart) ELSE s.nextStart END,
+                s.lastEnd = CASE WHEN s.lastEnd IS NULL OR :lastEnd > s.lastEnd
+                    THEN COALESCE(:lastEnd, s.lastEnd) ELSE s.lastEnd END,
+                s.validUntil = CASE WHEN s.validUntil IS NULL OR :validUntil < s.validUntil
+                    THEN COALESCE(:validUntil, s.validUntil) ELSE s.validUntil END
+            WHERE s.itemId = :itemId
+            """)
+    int applyApproved(@Param("itemId") Long itemId,
+                      @Param("nextStart") LocalDateTime nextStart,
+                      @Param("lastEnd") LocalDateTime lastEnd,
+                      @Param("validUntil") LocalDateTime validUntil);
+
+    /**
+     * Помечает сводки указанных вещей устаревшими.
+     *
+     * @param itemIds идентификаторы вещей
+     * @param now     текущие дата и время
+     * @return количество помеченных сводок
+     */
+    @Modifying
+    @Query("UPDATE ItemBookingSummary s SET s.validUntil = :now WHERE s.itemId IN :itemIds")
+    int invalidate(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Помечает устаревшими сводки вещей, у которых есть подтвержденные бронирования пользователя.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param now      текущие дата и время
+     * @return количество помеченных сводок
+     */
+    @Modifying
+    @Query("""
+            UPDATE ItemBookingSummary s SET s.validUntil = :now
+            WHERE s.itemId IN (
+                SELECT b.item.id FROM Booking b
+                WHERE b.booker.id = :bookerId
+                AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED)
+            """)
+    int invalidateBookedBy(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now);
+
+    /**
+     * Помечает устаревшими все сводки.
+     *
+     * @param now текущие дата и время
+     * @return количество помеченных сводок
+     */
+    @Modifying
+    @Query("UPDATE ItemBookingSummary s SET s.validUntil = :now")
+    int invalidateAll(@Param("now") LocalDateTime now);
+
+    /**
+     * Блокирует устаревшие сводки, еще не занятые другими узлами, для пересчета.
+     * <p>
+     * Строки, заблокированные другими транзакциями, пропускаются ({@code SKIP LOCKED}), поэтому
+     * пересчет может выполняться несколькими узлами параллельно. Подтверждение бронирования
+     * обновляет сводку под той же блокировкой строки, поэтому пересчет, начатый после блокировки,
+     * видит все зафиксированные подтверждения.
+     * </p>
+     *
+     * @param now   текущие дата и время
+     * @param limit максимальное количество сводок
+     * @return заблокированные сводки в порядке идентификаторов вещей
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<ItemBookingSummary> findAllByValidUntilLessThanEqualOrderByItemId(LocalDateTime now, Limit limit);
+}
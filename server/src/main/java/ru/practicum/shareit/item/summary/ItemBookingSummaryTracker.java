@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает сводки бронирований вещей {@link ItemBookingSummary} в актуальном состоянии.
+ * <p>
+ * Сводка новой вещи создается вместе с вещью, подтверждение бронирования обновляет сводку
+ * инкрементально одним запросом в той же транзакции. Изменения, которые нельзя учесть
+ * инкрементально (удаление бронирований), помечают сводку устаревшей. По мере течения времени
+ * следующее бронирование становится текущим, а текущее — последним: момент этого перехода
+ * хранится в сводке, и плановый пересчет ({@code shareit.item-summary.sweep-interval})
+ * пересчитывает все сводки, для которых он наступил.
+ * </p>
+ * <p>
+ * При чтении свежие сводки возвращаются как есть, а отсутствующие и устаревшие (еще не
+ * пересчитанные) вычисляются одним агрегирующим запросом, поэтому результат всегда
+ * соответствует текущему моменту.
+ * </p>
+ *
+ * @see ItemBookingSummary
+ * @see ItemBookingSummaryRepository
+ */
+@Slf4j
+@Component
+public class ItemBookingSummaryTracker {
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Создает компонент поддержки сводок бронирований.
+     *
+     * @param summaryRepository  репозиторий сводок
+     * @param transactionManager менеджер транзакций для пакетного пересчета
+     * @param batchSize          количество сводок, пересчитываемых в одной транзакции
+     *                           (shareit.item-summary.batch-size)
+     */
+    public ItemBookingSummaryTracker(ItemBookingSummaryRepository summaryRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${shareit.item-summary.batch-size:500}") int batchSize) {
+        this.summaryRepository = summaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Создает сводки для вещей, у которых их нет (например, загруженных в базу напрямую),
+     * и пересчитывает все устаревшие сводки.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer created = transactionTemplate.execute(status ->
+                summaryRepository.insertMissing(LocalDateTime.now()));
+        log.info("Created {} missing item booking summaries", created);
+        refreshStale();
+    }
+
+    /**
+     * Пересчитывает устаревшие сводки пакетами, пока очередной пакет заполнен полностью.
+     */
+    @Scheduled(fixedDelayString = "${shareit.item-summary.sweep-interval:60000}")
+    public void refreshStale() {
+        int refreshed;
+        int total = 0;
+        do {
+            refreshed = Objects.requireNonNull(transactionTemplate.execute(status -> refreshBatch()));
+            total += refreshed;
+        } while (refreshed == batchSize);
+        log.debug("Refreshed {} item booking summaries", total);
+    }
+
+    /**
+     * Создает пустую сводку для новой вещи в текущей транзакции.
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void create(Long itemId) {
+        summaryRepository.insertEmpty(itemId);
+    }
+
+    /**
+     * Учитывает подтвержденное бронирование в сводке его вещи в текущей транзакции.
+     *
+     * @param booking бронирование (учитывается только в статусе {@link Status#APPROVED})
+     */
+    public void onApproved(Booking booking) {
+        if (booking.getStatus() != Status.APPROVED) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean future = booking.getStart().isAfter(now);
+        boolean finished = booking.getEnd().isBefore(now);
+        summaryRepository.applyApproved(
+                booking.getItem().getId(),
+                future ? booking.getStart() : null,
+                finished ? booking.getEnd() : null,
+                future ? booking.getStart() : finished ? null : booking.getEnd());
+    }
+
+    /**
+     * Помечает устаревшей сводку вещи удаляемого бронирования.
+     *
+     * @param booking удаляемое бронирование
+     */
+    public void onRemoved(Booking booking) {
+        if (booking.getStatus() != Status.APPROVED) return;
+
+        summaryRepository.invalidate(List.of(booking.getItem().getId()), LocalDateTime.now());
+    }
+
+    /**
+     * Помечает устаревшими сводки вещей, которые бронировал удаляемый пользователь.
+     * <p>
+     * Вызывается перед удалением пользователя: его бронирования удаляются каскадно
+     * на уровне базы данных.
+     * </p>
+     *
+     * @param bookerId идентификатор удаляемого пользователя
+     */
+    public void onBookerRemoved(Long bookerId) {
+        summaryRepository.invalidateBookedBy(bookerId, LocalDateTime.now());
+    }
+
+    /**
+     * Помечает устаревшими все сводки после удаления всех бронирований.
+     */
+    public void onAllBookingsRemoved() {
+        summaryRepository.invalidateAll(LocalDateTime.now());
+    }
+
+    /**
+     * Возвращает актуальную сводку бронирований вещи.
+     *
+     * @param itemId идентификатор вещи
+     * @param now    текущие дата и время
+     * @return сводка бронирований вещи
+     */
+    public ItemBookingSummary find(Long itemId, LocalDateTime now) {
+        return find(List.of(itemId), now).get(itemId);
+    }
+
+    /**
+     * Возвращает актуальные сводки бронирований вещей.
+     * <p>
+     * Выполняет один запрос к сводкам и, если часть из них отсутствует или устарела,
+     * один агрегирующий запрос к бронированиям.
+     * </p>
+     *
+     * @param itemIds идентификаторы вещей
+     * @param now     текущие дата и время
+     * @return сводки по идентификаторам вещей (для каждой запрошенной вещи)
+     */
+    public Map<Long, ItemBookingSummary> find(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) return Map.of();
+
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (ItemBookingSummary summary : summaryRepository.findAllById(itemIds)) {
+            if (!summary.isStaleAt(now)) {
+                summaries.put(summary.getItemId(), summary);
+            }
+        }
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .toList();
+        if (!missing.isEmpty()) {
+            summaries.putAll(compute(missing, now));
+        }
+        return summaries;
+    }
+
+    /**
+     * Пересчитывает один пакет устаревших сводок в текущей транзакции.
+     *
+     * @return количество пересчитанных сводок
+     */
+    private int refreshBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemBookingSummary> stale = summaryRepository
+                .findAllByValidUntilLessThanEqualOrderByItemId(now, Limit.of(batchSize));
+        if (stale.isEmpty()) return 0;
+
+        Map<Long, ItemBookingSummary> computed = compute(
+                stale.stream().map(ItemBookingSummary::getItemId).toList(), now);
+        stale.forEach(summary -> summary.refreshFrom(computed.get(summary.getItemId())));
+        return stale.size();
+    }
+
+    /**
+     * Вычисляет сводки вещей по подтвержденным бронированиям.
+     *
+     * @param itemIds идентификаторы вещей
+     * @param now     текущие дата и время
+     * @return вычисленные сводки по идентификаторам вещей (для каждой запрошенной вещи)
+     */
+    private Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ApprovedBookingsAggregate> aggregates = summaryRepository.aggregateApproved(itemIds, now).stream()
+                .collect(Collectors.toMap(ApprovedBookingsAggregate::itemId, Function.identity()));
+        return itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        itemId -> ItemBookingSummary.of(itemId, aggregates.get(itemId)), (a, b) -> a));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.jdbc;
+
+/**
+ * Способ чтения данных для горячих endpoints списков.
+ * <p>
+ * Выбирается отдельно для каждого endpoint свойствами {@code shareit.read-path.*}.
+ * Запись всегда выполняется через JPA.
+ * </p>
+ */
+public enum ReadPath {
+
+    /**
+     * Запросы репозиториев Spring Data JPA (проекции JPQL).
+     */
+    JPA,
+
+    /**
+     * SQL-запросы через {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate},
+     * строки которых преобразуются сразу в DTO ответа без участия Hibernate.
+     */
+    JDBC
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Рассылка опубликованных доменных событий подписчикам SSE-потока {@code GET /events}.
+ * <p>
+ * Получает {@link DomainEvent} из внутренней шины событий ({@link OutboxEventFeed}) и ставит их
+ * в очереди отправки всех подключенных клиентов; отправка выполняется в виртуальных потоках,
+ * поэтому медленный клиент не задерживает чтение событий (см. {@link EventStreamSubscriber}).
+ * Идентификатор SSE-события совпадает с номером публикации события outbox, поэтому клиент
+ * может переподключиться с заголовком {@code Last-Event-ID} и получить пропущенные события
+ * из таблицы outbox (пока они не удалены по сроку хранения).
+ * </p>
+ *
+ * @see OutboxEventFeed
+ * @see DomainEventController
+ */
+@Component
+public class DomainEventBroadcaster {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final long timeout;
+    private final int replayLimit;
+    private final int maxPending;
+    private final Set<EventStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Создает компонент рассылки доменных событий.
+     *
+     * @param outboxEventRepository репозиторий событий outbox для повторной отправки
+     * @param timeout               время жизни SSE-соединения в миллисекундах (shareit.events.sse-timeout)
+     * @param replayLimit           максимальное количество повторно отправляемых событий (shareit.events.replay-limit)
+     * @param maxPending            максимальная очередь неотправленных событий подписчика (shareit.events.max-pending)
+     */
+    public DomainEventBroadcaster(OutboxEventRepository outboxEventRepository,
+                                  @Value("${shareit.events.sse-timeout:1800000}") long timeout,
+                                  @Value("${shareit.events.replay-limit:1000}") int replayLimit,
+                                  @Value("${shareit.events.max-pending:1000}") int maxPending) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.timeout = timeout;
+        this.replayLimit = replayLimit;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Подписывает клиента на поток событий.
+     * <p>
+     * Если указан идентификатор последнего полученного события, клиенту сначала отправляются
+     * опубликованные после него события. Если их больше {@code shareit.events.replay-limit},
+     * вместо них отправляется событие {@value EventStreamSubscriber#RESET_EVENT}.
+     * Подписка регистрируется до чтения пропущенных событий, а события, пришедшие во время
+     * чтения, отправляются после них без повторов.
+     * </p>
+     *
+     * @param lastEventId номер публикации последнего полученного клиентом события (может быть {@code null})
+     * @return SSE-соединение клиента
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        EventStreamSubscriber subscriber = new EventStreamSubscriber(new SseEmitter(timeout), sender, maxPending,
+                DomainEventBroadcaster::toSseEvent, subscribers::remove);
+        subscribers.add(subscriber);
+
+        List<OutboxEvent> missed = lastEventId == null ? List.of() : outboxEventRepository
+                .findAllByPublishSeqGreaterThanOrderByPublishSeq(lastEventId, Limit.of(replayLimit + 1));
+        if (missed.size() > replayLimit) {
+            subscriber.startAfterReset(outboxEventRepository.findLastPublishSeq());
+        } else {
+            subscriber.start(missed.stream().map(DomainEvent::from).toList());
+        }
+        return subscriber.getEmitter();
+    }
+
+    /**
+     * Ставит опубликованное событие в очереди отправки всех подписчиков.
+     *
+     * @param event опубликованное доменное событие
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        subscribers.forEach(subscriber -> subscriber.send(event));
+    }
+
+    /**
+     * Закрывает открытые соединения и останавливает отправку при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(EventStreamSubscriber::complete);
+        sender.shutdownNow();
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(DomainEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.sequence()))
+                .name(event.type().name())
+                .data(event);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST-контроллер потока доменных событий в модуле server.
+ * <p>
+ * Предоставляет SSE-endpoint для внутренних потребителей (кэшей, интеграций),
+ * которым нужно узнавать об изменениях бронирований и вещей.
+ * </p>
+ *
+ * @see DomainEventBroadcaster
+ * @see ru.practicum.shareit.outbox.model.DomainEvent
+ */
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventController {
+    private final DomainEventBroadcaster broadcaster;
+
+    /**
+     * Открывает поток доменных событий.
+     * <p>
+     * HTTP метод: GET /events
+     * Ответ передается в формате {@code text/event-stream}. При переподключении клиент
+     * передает заголовок Last-Event-ID и получает пропущенные события.
+     * </p>
+     *
+     * @param lastEventId идентификатор последнего полученного события (из заголовка Last-Event-ID, необязательный)
+     * @return SSE-соединение
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Subscribing to domain events after: {}", lastEventId);
+        return broadcaster.subscribe(lastEventId);
+    }
+}
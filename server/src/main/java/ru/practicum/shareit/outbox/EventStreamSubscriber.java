@@ -0,0 +1,214 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * SSE-соединение подписчика с собственной очередью отправки доменных событий.
+ * <p>
+ * События ставятся в очередь без блокировки вызывающего потока, а отправляются исполнителем
+ * {@code sender}; очередь обрабатывается не более чем одной задачей одновременно, что сохраняет
+ * порядок событий. Подписчик, у которого накопилось больше {@code maxPending} неотправленных
+ * событий, отключается и может переподключиться с {@code Last-Event-ID}.
+ * </p>
+ * <p>
+ * События, пришедшие до вызова {@link #start(List)}, ждут в очереди и отправляются после
+ * пропущенных событий, прочитанных из outbox. Повторы отбрасываются по множеству номеров
+ * публикации последних {@value #RECENT_SEQUENCES} поставленных в очередь событий, а не по
+ * наибольшему номеру, поэтому событие с меньшим номером, пришедшее позже, не теряется.
+ * Если пропущенных событий слишком много, вместо них отправляется событие
+ * {@value #RESET_EVENT} ({@link #startAfterReset(long)}): клиент должен заново загрузить состояние.
+ * </p>
+ *
+ * @see DomainEventBroadcaster
+ * @see ru.practicum.shareit.booking.stream.BookingStreamBroadcaster
+ */
+@Slf4j
+public final class EventStreamSubscriber {
+    /**
+     * Имя SSE-события, после которого клиент должен заново загрузить состояние.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    private static final int RECENT_SEQUENCES = 2048;
+
+    private final SseEmitter emitter;
+    private final Executor sender;
+    private final int maxPending;
+    private final Function<DomainEvent, SseEmitter.SseEventBuilder> format;
+    private final Consumer<EventStreamSubscriber> onClose;
+    private final Deque<QueuedEvent> pending = new ArrayDeque<>();
+    private final Set<Long> recentSequences = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > RECENT_SEQUENCES;
+        }
+    });
+    private boolean started;
+    private boolean draining;
+    private boolean closed;
+
+    /**
+     * Создает подписчика и регистрирует обработчики закрытия соединения.
+     *
+     * @param emitter    SSE-соединение клиента
+     * @param sender     исполнитель задач отправки
+     * @param maxPending максимальная очередь неотправленных событий
+     * @param format     преобразование доменного события в SSE-событие
+     * @param onClose    действие при закрытии соединения (удаление подписчика из рассылки)
+     */
+    public EventStreamSubscriber(SseEmitter emitter,
+                                 Executor sender,
+                                 int maxPending,
+                                 Function<DomainEvent, SseEmitter.SseEventBuilder> format,
+                                 Consumer<EventStreamSubscriber> onClose) {
+        this.emitter = emitter;
+        this.sender = sender;
+        this.maxPending = maxPending;
+        this.format = format;
+        this.onClose = onClose;
+        emitter.onCompletion(() -> onClose.accept(this));
+        emitter.onTimeout(() -> onClose.accept(this));
+        emitter.onError(e -> onClose.accept(this));
+    }
+
+    /**
+     * Возвращает SSE-соединение подписчика.
+     *
+     * @return SSE-соединение
+     */
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Ставит пропущенные события перед пришедшими во время их чтения и запускает отправку.
+     *
+     * @param missed пропущенные события в порядке номеров публикации
+     */
+    public synchronized void start(List<DomainEvent> missed) {
+        List<QueuedEvent> live = new ArrayList<>(pending);
+        pending.clear();
+        recentSequences.clear();
+        missed.forEach(event -> append(new QueuedEvent(event.sequence(), format.apply(event))));
+        live.forEach(this::append);
+        started = true;
+        scheduleDrain();
+    }
+
+    /**
+     * Отправляет событие {@value #RESET_EVENT} перед пришедшими событиями и запускает отправку.
+     * <p>
+     * Используется вместо {@link #start(List)}, когда пропущенных событий больше, чем можно
+     * повторно отправить. Идентификатор события сброса — последний номер публикации, поэтому
+     * после повторной загрузки состояния клиент переподключается уже без пропусков.
+     * </p>
+     *
+     * @param lastPublishSeq последний номер публикации на момент сброса
+     */
+    public synchronized void startAfterReset(long lastPublishSeq) {
+        pending.addFirst(new QueuedEvent(null, SseEmitter.event()
+                .id(String.valueOf(lastPublishSeq))
+                .name(RESET_EVENT)
+                .data(Map.of("lastEventId", lastPublishSeq))));
+        started = true;
+        scheduleDrain();
+    }
+
+    /**
+     * Ставит доменное событие в очередь отправки.
+     *
+     * @param event опубликованное доменное событие
+     */
+    public void send(DomainEvent event) {
+        enqueue(new QueuedEvent(event.sequence(), format.apply(event)));
+    }
+
+    /**
+     * Ставит SSE-комментарий (например, heartbeat) в очередь отправки.
+     *
+     * @param comment текст комментария
+     */
+    public void sendComment(String comment) {
+        enqueue(new QueuedEvent(null, SseEmitter.event().comment(comment)));
+    }
+
+    /**
+     * Закрывает соединение.
+     */
+    public void complete() {
+        emitter.complete();
+    }
+
+    private synchronized void enqueue(QueuedEvent queued) {
+        if (closed) return;
+        if (pending.size() >= maxPending) {
+            log.debug("Closing slow event stream subscriber");
+            closed = true;
+            emitter.complete();
+            return;
+        }
+        append(queued);
+        if (started) {
+            scheduleDrain();
+        }
+    }
+
+    private void append(QueuedEvent queued) {
+        if (queued.sequence() != null && !recentSequences.add(queued.sequence())) return;
+        pending.addLast(queued);
+    }
+
+    private void scheduleDrain() {
+        if (draining || pending.isEmpty()) return;
+        draining = true;
+        sender.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedEvent queued;
+            synchronized (this) {
+                if (pending.isEmpty() || closed) {
+                    draining = false;
+                    return;
+                }
+                queued = pending.removeFirst();
+            }
+            try {
+                emitter.send(queued.event());
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping event stream subscriber: {}", e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                    draining = false;
+                }
+                onClose.accept(this);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Событие в очереди отправки.
+     *
+     * @param sequence номер публикации события ({@code null} для комментариев)
+     * @param event    SSE-событие
+     */
+    private record QueuedEvent(Long sequence, SseEmitter.SseEventBuilder event) {
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Чтение опубликованных событий outbox на каждом узле и их передача во внутреннюю шину событий.
+ * <p>
+ * Каждый узел периодически читает события, опубликованные после последнего прочитанного номера
+ * публикации, и публикует их как {@link DomainEvent} через {@link ApplicationEventPublisher}.
+ * Поэтому подписчики SSE-потоков получают события, опубликованные ретранслятором любого узла,
+ * а локальные индексы и кэши вещей применяют изменения, сделанные на других узлах.
+ * Номера публикации становятся видимыми строго по возрастанию (см. {@link OutboxRelay}),
+ * поэтому продвижение по номеру не пропускает события.
+ * </p>
+ * <p>
+ * Чтение выполняется вне транзакции ретранслятора, а получатели только ставят события
+ * в очереди отправки подписчиков, поэтому медленный клиент не задерживает ни публикацию,
+ * ни чтение событий. Чтение начинается с последнего номера публикации на момент старта
+ * приложения: более ранние события клиенты получают при переподключении с {@code Last-Event-ID}.
+ * </p>
+ *
+ * @see OutboxRelay
+ * @see DomainEventBroadcaster
+ * @see ru.practicum.shareit.booking.stream.BookingStreamBroadcaster
+ */
+@Slf4j
+@Component
+public class OutboxEventFeed {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private volatile Long lastPublishSeq;
+
+    /**
+     * Создает компонент чтения опубликованных событий.
+     *
+     * @param outboxEventRepository репозиторий событий outbox
+     * @param eventPublisher        внутренняя шина событий приложения
+     * @param batchSize             максимальное количество событий в одном чтении (shareit.outbox.feed.batch-size)
+     */
+    public OutboxEventFeed(OutboxEventRepository outboxEventRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${shareit.outbox.feed.batch-size:500}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Запоминает последний номер публикации при старте приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastPublishSeq = outboxEventRepository.findLastPublishSeq();
+        log.info("Outbox event feed started after publish sequence {}", lastPublishSeq);
+    }
+
+    /**
+     * Передает во внутреннюю шину все события, опубликованные после последнего прочитанного.
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.feed.poll-interval:200}")
+    public void pollPublishedEvents() {
+        if (lastPublishSeq == null) return;
+
+        List<OutboxEvent> page;
+        do {
+            page = outboxEventRepository.findAllByPublishSeqGreaterThanOrderByPublishSeq(
+                    lastPublishSeq, Limit.of(batchSize));
+            for (OutboxEvent event : page) {
+                try {
+                    eventPublisher.publishEvent(DomainEvent.from(event));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to dispatch outbox event {}: {}", event.getId(), e.getMessage());
+                }
+                lastPublishSeq = event.getPublishSeq();
+            }
+        } while (page.size() == batchSize);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для управления сущностями {@link OutboxEvent} в базе данных.
+ * <p>
+ * Предоставляет методы для выборки неопубликованных событий с блокировкой
+ * ({@code FOR UPDATE SKIP LOCKED}), выдачи номеров публикации,
+ * чтения опубликованных событий по номеру публикации и очистки устаревших записей.
+ * </p>
+ *
+ * @see OutboxEvent
+ * @see OutboxRelay
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Блокирует первые неопубликованные события агрегатов, еще не занятых другими узлами.
+     * <p>
+     * Выбираются только «головные» события — те, перед которыми у агрегата нет более ранних
+     * неопубликованных событий. Строки, заблокированные другими узлами, пропускаются
+     * ({@code SKIP LOCKED}), а следующие события тех же агрегатов не проходят условие
+     * {@code NOT EXISTS}, пока головное событие не опубликовано. Таким образом каждый агрегат
+     * в каждый момент обрабатывается не более чем одним узлом, и порядок его событий сохраняется.
+     * </p>
+     *
+     * @param limit максимальное количество агрегатов в пакете
+     * @return заблокированные головные события в порядке идентификаторов
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.published_at IS NULL
+            AND NOT EXISTS (
+                SELECT 1 FROM outbox_events p
+                WHERE p.aggregate_type = e.aggregate_type
+                AND p.aggregate_id = e.aggregate_id
+                AND p.published_at IS NULL
+                AND p.event_id < e.event_id
+            )
+            ORDER BY e.event_id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockAggregateHeads(@Param("limit") int limit);
+
+    /**
+     * Находит все неопубликованные события указанных агрегатов одного типа.
+     * <p>
+     * Вызывается после {@link #lockAggregateHeads(int)}: агрегаты, чьи головные события
+     * заблокированы текущей транзакцией, принадлежат ей до фиксации.
+     * </p>
+     *
+     * @param aggregateType тип агрегатов
+     * @param aggregateIds  идентификаторы агрегатов
+     * @return неопубликованные события в порядке идентификаторов
+     */
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.publishedAt IS NULL
+            AND e.aggregateType = :aggregateType
+            AND e.aggregateId IN :aggregateIds
+            ORDER BY e.id
+            """)
+    List<OutboxEvent> findUnpublishedByAggregates(
+            @Param("aggregateType") AggregateType aggregateType,
+            @Param("aggregateIds") Collection<Long> aggregateIds);
+
+    /**
+     * Блокирует счетчик номеров публикации до конца текущей транзакции.
+     * <p>
+     * Пока блокировка удерживается, другие узлы не могут выдать номера публикации, поэтому
+     * номера становятся видимыми в порядке возрастания и читатели, продвигающиеся по номеру
+     * публикации, не пропускают события.
+     * </p>
+     *
+     * @return последний выданный номер публикации
+     */
+    @Query(value = "SELECT last_seq FROM outbox_publish_sequence WHERE sequence_id = 1 FOR UPDATE",
+            nativeQuery = true)
+    long lockPublishSequence();
+
+    /**
+     * Сохраняет последний выданный номер публикации.
+     * <p>
+     * Вызывается после {@link #lockPublishSequence()} в той же транзакции; номера публикации
+     * событий записываются до обновления счетчика.
+     * </p>
+     *
+     * @param lastSeq последний выданный номер публикации
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE outbox_publish_sequence SET last_seq = :lastSeq WHERE sequence_id = 1",
+            nativeQuery = true)
+    void advancePublishSequence(@Param("lastSeq") long lastSeq);
+
+    /**
+     * Возвращает последний зафиксированный номер публикации.
+     *
+     * @return последний номер публикации ({@code 0}, если событий еще не публиковалось)
+     */
+    @Query(value = "SELECT last_seq FROM outbox_publish_sequence WHERE sequence_id = 1", nativeQuery = true)
+    long findLastPublishSeq();
+
+    /**
+     * Находит события, опубликованные после указанного номера публикации.
+     * <p>
+     * Используется для рассылки событий на каждом узле и для возобновления SSE-потока
+     * по заголовку {@code Last-Event-ID}.
+     * </p>
+     *
+     * @param publishSeq номер публикации последнего полученного события
+     * @param limit      максимальное количество событий
+     * @return опубликованные события в порядке номеров публикации
+     */
+    List<OutboxEvent> findAllByPublishSeqGreaterThanOrderByPublishSeq(Long publishSeq, Limit limit);
+
+    /**
+     * Находит события агрегатов одного типа, опубликованные после указанного номера публикации.
+     * <p>
+     * Используется для возобновления персональных SSE-потоков, например
+     * {@code GET /bookings/stream}.
+     * </p>
+     *
+     * @param publishSeq    номер публикации последнего полученного клиентом события
+     * @param aggregateType тип агрегатов
+     * @param limit         максимальное количество событий
+     * @return опубликованные события в порядке номеров публикации
+     */
+    List<OutboxEvent> findAllByPublishSeqGreaterThanAndAggregateTypeOrderByPublishSeq(
+            Long publishSeq, AggregateType aggregateType, Limit limit);
+
+    /**
+     * Удаляет опубликованные события, опубликованные раньше указанного момента.
+     *
+     * @param threshold граница хранения опубликованных событий
+     * @return количество удаленных событий
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :threshold")
+    int deletePublishedBefore(@Param("threshold") LocalDateTime threshold);
+}
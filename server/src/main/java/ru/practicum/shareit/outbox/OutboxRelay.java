@@ -0,0 +1,125 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ретранслятор событий из таблицы transactional outbox.
+ * <p>
+ * Периодически забирает пакет неопубликованных событий и публикует их: отмечает временем
+ * публикации и выдает возрастающие номера публикации. Выборка выполняется
+ * с {@code FOR UPDATE SKIP LOCKED} по «головным» событиям агрегатов, поэтому несколько узлов
+ * могут ретранслировать события параллельно, а события одного агрегата публикуются строго
+ * по порядку и только одним узлом. Номера публикации выдаются под блокировкой счетчика
+ * ({@link OutboxEventRepository#lockPublishSequence()}), которая удерживается до фиксации
+ * пакета, поэтому опубликованные события становятся видимыми в порядке номеров.
+ * </p>
+ * <p>
+ * Сам ретранслятор никому не отправляет события: в транзакции с заблокированными строками
+ * выполняются только запросы к базе данных. Опубликованные события читает по номеру публикации
+ * {@link OutboxEventFeed} каждого узла, поэтому подписчики получают события, опубликованные
+ * любым узлом. Опубликованные события хранятся в течение {@code shareit.outbox.retention}
+ * для возобновления SSE-потока и затем удаляются.
+ * </p>
+ *
+ * @see OutboxWriter
+ * @see OutboxEventRepository#lockAggregateHeads(int)
+ * @see OutboxEventFeed
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    /**
+     * Создает ретранслятор событий outbox.
+     *
+     * @param outboxEventRepository репозиторий событий outbox
+     * @param transactionManager    менеджер транзакций для пакетной публикации
+     * @param batchSize             максимальное количество агрегатов в пакете (shareit.outbox.relay.batch-size)
+     * @param retention             срок хранения опубликованных событий (shareit.outbox.retention)
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${shareit.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${shareit.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Публикует все накопившиеся события пакетами, пока очередной пакет заполнен полностью.
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay.poll-interval:500}")
+    public void relayPendingEvents() {
+        int lockedAggregates;
+        do {
+            lockedAggregates = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+        } while (lockedAggregates == batchSize);
+    }
+
+    /**
+     * Удаляет опубликованные события старше срока хранения.
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.cleanup-interval:3600000}")
+    public void deleteExpiredEvents() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        log.debug("Deleted {} expired outbox events", deleted);
+    }
+
+    /**
+     * Публикует один пакет событий в текущей транзакции.
+     * <p>
+     * Номера публикации выдаются в порядке идентификаторов событий пакета; изменения событий
+     * записываются пакетными обновлениями при фиксации транзакции.
+     * </p>
+     *
+     * @return количество агрегатов, заблокированных в пакете
+     */
+    private int relayBatch() {
+        List<OutboxEvent> heads = outboxEventRepository.lockAggregateHeads(batchSize);
+        if (heads.isEmpty()) return 0;
+
+        Map<AggregateType, Set<Long>> aggregates = heads.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getAggregateType,
+                        Collectors.mapping(OutboxEvent::getAggregateId, Collectors.toSet())));
+        List<OutboxEvent> events = aggregates.entrySet().stream()
+                .flatMap(entry -> outboxEventRepository
+                        .findUnpublishedByAggregates(entry.getKey(), entry.getValue()).stream())
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+
+        long sequence = outboxEventRepository.lockPublishSequence();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.setPublishedAt(publishedAt);
+            event.setPublishSeq(++sequence);
+        }
+        outboxEventRepository.advancePublishSequence(sequence);
+
+        log.debug("Relayed {} outbox events of {} aggregates", events.size(), heads.size());
+        return heads.size();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+
+/**
+ * Компонент для записи доменных событий в таблицу transactional outbox.
+ * <p>
+ * Запись выполняется только внутри уже открытой транзакции сервиса
+ * ({@link Propagation#MANDATORY}), поэтому событие фиксируется или откатывается
+ * вместе с изменением данных, которое оно описывает.
+ * </p>
+ *
+ * @see OutboxEvent
+ * @see OutboxRelay
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Записывает доменное событие в outbox в текущей транзакции.
+     *
+     * @param aggregateType тип агрегата
+     * @param aggregateId   идентификатор агрегата
+     * @param type          тип события
+     * @param payload       состояние агрегата после изменения (сериализуется в JSON, может быть {@code null})
+     * @throws IllegalStateException если состояние агрегата не удалось сериализовать
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(AggregateType aggregateType, Long aggregateId, OutboxEventType type, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .type(type)
+                .payload(payload != null ? toJson(payload) : null)
+                .build();
+        outboxEventRepository.save(event);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
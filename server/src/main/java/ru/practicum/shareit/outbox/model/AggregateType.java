@@ -0,0 +1,15 @@
+package ru.practicum.shareit.outbox.model;
+
+/**
+ * Тип агрегата, к которому относится доменное событие.
+ * <p>
+ * Вместе с идентификатором агрегата определяет порядок доставки событий:
+ * события одного агрегата публикуются строго в порядке их записи.
+ * </p>
+ *
+ * @see OutboxEvent
+ */
+public enum AggregateType {
+    BOOKING,
+    ITEM
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.outbox.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Опубликованное доменное событие, передаваемое через внутреннюю шину событий приложения
+ * и SSE-поток {@code GET /events}.
+ * <p>
+ * Поле {@code payload} содержит JSON из outbox и сериализуется как вложенный объект, а не строка.
+ * </p>
+ *
+ * @param id            идентификатор события outbox
+ * @param sequence      номер публикации (возрастает в порядке публикации, используется как SSE id)
+ * @param aggregateType тип агрегата
+ * @param aggregateId   идентификатор агрегата
+ * @param type          тип события
+ * @param payload       состояние агрегата после изменения в формате JSON (может быть {@code null})
+ * @param created       дата и время записи события
+ *
+ * @see OutboxEvent
+ * @see ru.practicum.shareit.outbox.OutboxRelay
+ */
+public record DomainEvent(
+        Long id,
+        Long sequence,
+        AggregateType aggregateType,
+        Long aggregateId,
+        OutboxEventType type,
+        @JsonRawValue String payload,
+        LocalDateTime created) {
+
+    /**
+     * Создает доменное событие из записи outbox.
+     *
+     * @param event запись outbox
+     * @return доменное событие
+     */
+    public static DomainEvent from(OutboxEvent event) {
+        return new DomainEvent(event.getId(), event.getPublishSeq(), event.getAggregateType(), event.getAggregateId(),
+                event.getType(), event.getPayload(), event.getCreated());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сущность, представляющая доменное событие в таблице transactional outbox.
+ * <p>
+ * Событие записывается в той же транзакции, что и изменение данных, поэтому оно
+ * появляется тогда и только тогда, когда изменение зафиксировано. Публикацию
+ * выполняет {@link ru.practicum.shareit.outbox.OutboxRelay}, отмечая событие
+ * временем и номером публикации. Идентификатор события выдается при записи и задает
+ * порядок событий одного агрегата, но транзакции фиксируются не в порядке идентификаторов;
+ * номер публикации возрастает в порядке фиксации публикаций и используется как
+ * идентификатор SSE-события для возобновления потока.
+ * </p>
+ *
+ * @see AggregateType
+ * @see OutboxEventType
+ * @see ru.practicum.shareit.outbox.OutboxWriter
+ */
+@Builder(toBuilder = true)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events")
+@Entity
+public class OutboxEvent {
+    /**
+     * Уникальный идентификатор события.
+     * Генерируется автоматически базой данных и задает глобальный порядок событий.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;
+
+    /**
+     * Тип агрегата, изменение которого описывает событие.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private AggregateType aggregateType;
+
+    /**
+     * Идентификатор агрегата (бронирования или вещи).
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * Тип события.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType type;
+
+    /**
+     * Состояние агрегата после изменения в формате JSON ({@code null} для событий удаления).
+     */
+    @Column
+    private String payload;
+
+    /**
+     * Дата и время записи события.
+     * По умолчанию устанавливается текущее время при создании объекта.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private LocalDateTime created = LocalDateTime.now();
+
+    /**
+     * Дата и время публикации события ({@code null}, пока событие не опубликовано).
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Номер публикации ({@code null}, пока событие не опубликовано).
+     * Номера выдаются ретранслятором под блокировкой и становятся видимыми строго по возрастанию.
+     */
+    @Column(name = "publish_seq")
+    private Long publishSeq;
+
+    /**
+     * Сравнивает объекты OutboxEvent по их идентификатору.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @param object объект для сравнения
+     * @return {@code true}, если объекты равны, иначе {@code false}
+     */
+    @Override
+    public final boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null) return false;
+        Class<?> oEffectiveClass = object instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : object.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        OutboxEvent that = (OutboxEvent) object;
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    /**
+     * Возвращает хеш-код объекта.
+     * <p>
+     * Переопределен для корректной работы с ленивой загрузкой Hibernate.
+     * </p>
+     *
+     * @return хеш-код объекта
+     */
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.outbox.model;
+
+/**
+ * Тип доменного события, записываемого в outbox.
+ *
+ * @see OutboxEvent
+ * @see AggregateType
+ */
+public enum OutboxEventType {
+    BOOKING_CREATED,
+    BOOKING_APPROVED,
+    BOOKING_REJECTED,
+    BOOKING_DELETED,
+    ITEM_CREATED,
+    ITEM_UPDATED,
+    ITEM_DELETED
+}
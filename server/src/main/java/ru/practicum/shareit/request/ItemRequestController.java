@@ -3,7 +3,10 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -14,8 +17,8 @@ import java.util.List;
  * REST-контроллер для управления запросами вещей в модуле server.
  * <p>
  * Предоставляет endpoints для создания запросов, получения запросов
- * конкретного пользователя, получения конкретного запроса по ID
- * и получения всех запросов.
+ * конкретного пользователя, получения конкретного запроса по ID,
+ * получения всех запросов и поиска запросов по описанию.
  * </p>
  *
  * @see ItemRequestService
@@ -66,6 +69,47 @@ public class ItemRequestController {
         return itemRequestService.findByUserId(userId);
     }
 
+    /**
+     * Выгружает все запросы с предложенными вещами.
+     * <p>
+     * HTTP метод: GET /requests/export
+     * Ответ передается в формате NDJSON ({@code application/x-ndjson}) по мере чтения запросов
+     * из базы данных, в порядке идентификаторов.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с телом ответа, записывающим запросы в выходной поток
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRequests() {
+        log.info("Exporting all requests");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(itemRequestService::exportAll);
+    }
+
+    /**
+     * Находит запросы по словам описания.
+     * <p>
+     * HTTP метод: GET /requests/search?text={text}&after={after}&size={size}
+     * Запросы упорядочены от новых к старым; следующая страница запрашивается
+     * с идентификатором последнего запроса предыдущей страницы в {@code after}.
+     * </p>
+     *
+     * @param text  текст для поиска (из query-параметра)
+     * @param after идентификатор последнего запроса предыдущей страницы (необязательный query-параметр)
+     * @param size  количество запросов на странице (по умолчанию 10)
+     * @return страница найденных запросов с предложенными вещами
+     */
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ItemRequestResponseDto> searchRequests(
+            @RequestParam("text") String text,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Searching requests by text: {}, after={}, size={}", text, after, size);
+        return itemRequestService.search(text, after, size);
+    }
+
     /**
      * Получает информацию о конкретном запросе по его идентификатору.
      * <p>
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemForRequestRow;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestExportRow;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.*;
@@ -19,6 +23,7 @@ import java.util.stream.Collectors;
  *
  * @see ItemRequest
  * @see ItemRequestResponseDto
+ * @see ItemRequestRow
  * @see ItemRequestCreateDto
  */
 public class ItemRequestMapper {
@@ -41,37 +46,154 @@ public class ItemRequestMapper {
                 .description(itemRequest.getDescription())
                 .requestorId(itemRequest.getRequestor().getId())
                 .items(new HashSet<>(ItemMapper.toItemForRequestDto(items)))
+                .matches(Collections.emptyList())
                 .created(itemRequest.getCreated())
                 .build();
     }
 
     /**
-     * Преобразует список сущностей {@link ItemRequest} в список {@link ItemRequestResponseDto}
+     * Преобразует проекцию {@link ItemRequestRow} и список предложенных вещей в {@link ItemRequestResponseDto}.
+     *
+     * @param row   проекция запроса (может быть {@code null})
+     * @param items список вещей, созданных в ответ на данный запрос
+     * @return DTO с полной информацией о запросе или {@code null}, если входной параметр равен {@code null}
+     */
+    public static ItemRequestResponseDto toItemRequestResponseDto(ItemRequestRow row, List<ItemForRequestDto> items) {
+        return toItemRequestResponseDto(row, items, Collections.emptyList());
+    }
+
+    /**
+     * Преобразует проекцию {@link ItemRequestRow}, список предложенных вещей и подобранные вещи
+     * в {@link ItemRequestResponseDto}.
+     *
+     * @param row     проекция запроса (может быть {@code null})
+     * @param items   список вещей, созданных в ответ на данный запрос
+     * @param matches вещи, подобранные по описанию запроса
+     * @return DTO с полной информацией о запросе или {@code null}, если входной параметр равен {@code null}
+     */
+    public static ItemRequestResponseDto toItemRequestResponseDto(ItemRequestRow row,
+                                                                  List<ItemForRequestDto> items,
+                                                                  List<ItemForRequestDto> matches) {
+        if (row == null) return null;
+
+        return ItemRequestResponseDto.builder()
+                .id(row.id())
+                .description(row.description())
+                .requestorId(row.requestorId())
+                .items(new HashSet<>(items))
+                .matches(matches)
+                .created(row.created())
+                .build();
+    }
+
+    /**
+     * Преобразует список проекций {@link ItemRequestRow} в список {@link ItemRequestResponseDto}
      * с использованием карты вещей, сгруппированных по идентификаторам запросов.
      * <p>
      * Позволяет эффективно преобразовывать множество запросов, заранее загрузив все связанные вещи
      * и сгруппировав их по запросам (для избежания N+1 проблемы).
      * </p>
      *
-     * @param itemRequests       список сущностей запросов (может быть {@code null})
-     * @param itemsByRequestId   карта, где ключ - идентификатор запроса, значение - список вещей для этого запроса
+     * @param rows             список проекций запросов (может быть {@code null})
+     * @param itemsByRequestId карта, где ключ - идентификатор запроса, значение - список вещей для этого запроса
+     * @return список DTO с информацией о запросах или пустой список, если входной параметр равен {@code null}
+     */
+    public static List<ItemRequestResponseDto> toItemRequestResponseDto(
+            List<ItemRequestRow> rows,
+            Map<Long, List<ItemForRequestDto>> itemsByRequestId
+    ) {
+        return toItemRequestResponseDto(rows, itemsByRequestId, Collections.emptyMap());
+    }
+
+    /**
+     * Преобразует список проекций {@link ItemRequestRow} в список {@link ItemRequestResponseDto}
+     * с предложенными и подобранными вещами, сгруппированными по идентификаторам запросов.
+     *
+     * @param rows               список проекций запросов (может быть {@code null})
+     * @param itemsByRequestId   вещи, созданные в ответ на запросы, по идентификаторам запросов
+     * @param matchesByRequestId вещи, подобранные по описаниям запросов, по идентификаторам запросов
      * @return список DTO с информацией о запросах или пустой список, если входной параметр равен {@code null}
      */
     public static List<ItemRequestResponseDto> toItemRequestResponseDto(
-            List<ItemRequest> itemRequests,
-            Map<Long, List<Item>> itemsByRequestId
+            List<ItemRequestRow> rows,
+            Map<Long, List<ItemForRequestDto>> itemsByRequestId,
+            Map<Long, List<ItemForRequestDto>> matchesByRequestId
     ) {
-        if (itemRequests == null) return Collections.emptyList();
+        if (rows == null) return Collections.emptyList();
 
-        return itemRequests.stream()
-                .map(itemRequest -> toItemRequestResponseDto(
-                        itemRequest,
-                        itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList())
+        return rows.stream()
+                .map(row -> toItemRequestResponseDto(
+                        row,
+                        itemsByRequestId.getOrDefault(row.id(), Collections.emptyList()),
+                        matchesByRequestId.getOrDefault(row.id(), Collections.emptyList())
                 ))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Группирует проекции вещей, созданных по запросам, по идентификаторам запросов.
+     *
+     * @param rows проекции вещей, созданных по запросам
+     * @return карта, где ключ - идентификатор запроса, значение - список вещей для этого запроса
+     */
+    public static Map<Long, List<ItemForRequestDto>> groupByRequestId(List<ItemForRequestRow> rows) {
+        return rows.stream()
+                .collect(Collectors.groupingBy(
+                        ItemForRequestRow::requestId,
+                        Collectors.mapping(ItemMapper::toItemForRequestDto, Collectors.toList())));
+    }
+
+    /**
+     * Собирает запросы из строк выгрузки, в которых строки одного запроса идут подряд.
+     * <p>
+     * Очередной запрос собирается при обращении к итератору: в памяти находятся только
+     * вещи текущего запроса, поэтому выгрузка любого размера читается за один проход.
+     * Подобранные вещи в выгрузку не входят.
+     * </p>
+     *
+     * @param rows строки запросов с вещами, упорядоченные по идентификатору запроса
+     * @return итератор запросов с предложенными вещами
+     */
+    public static Iterator<ItemRequestResponseDto> groupConsecutive(Iterator<ItemRequestExportRow> rows) {
+        return new Iterator<>() {
+            private ItemRequestExportRow next = rows.hasNext() ? rows.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ItemRequestResponseDto next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ItemRequestExportRow first = next;
+                Set<ItemForRequestDto> items = new HashSet<>();
+                do {
+                    if (next.itemId() != null) {
+                        items.add(ItemForRequestDto.builder()
+                                .id(next.itemId())
+                                .name(next.itemName())
+                                .ownerId(next.ownerId())
+                                .build());
+                    }
+                    next = rows.hasNext() ? rows.next() : null;
+                } while (next != null && next.id().equals(first.id()));
+
+                return ItemRequestResponseDto.builder()
+                        .id(first.id())
+                        .description(first.description())
+                        .requestorId(first.requestorId())
+                        .items(items)
+                        .matches(Collections.emptyList())
+                        .created(first.created())
+                        .build();
+            }
+        };
+    }
+
     /**
      * Создает сущность {@link ItemRequest} из DTO создания и связанной сущности пользователя.
      * <p>
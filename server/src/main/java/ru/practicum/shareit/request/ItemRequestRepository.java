@@ -1,15 +1,26 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.request.dto.ItemRequestExportRow;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для управления сущностями {@link ItemRequest} в базе данных.
  * <p>
  * Предоставляет методы для выполнения операций с запросами вещей,
  * включая поиск запросов по идентификатору пользователя с сортировкой.
+ * Запросы для ответов читаются проекцией {@link ItemRequestRow}, а не сущностями.
  * </p>
  *
  * @see ItemRequest
@@ -17,6 +28,34 @@ import java.util.List;
  */
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    /**
+     * Общая часть запросов списков запросов вещей: проекция {@link ItemRequestRow} с идентификатором
+     * автора, прочитанным из внешнего ключа без соединения с таблицей пользователей.
+     * Псевдоним запроса — {@code r}.
+     */
+    String SELECT_REQUEST_ROWS = """
+            SELECT new ru.practicum.shareit.request.dto.ItemRequestRow(r.id, r.description, r.requestor.id, r.created)
+            FROM ItemRequest r
+            """;
+
+    /**
+     * Находит запрос по идентификатору в виде проекции.
+     *
+     * @param id идентификатор запроса
+     * @return {@link Optional} с проекцией запроса или пустой {@link Optional}, если запрос не найден
+     */
+    @Query(SELECT_REQUEST_ROWS + "WHERE r.id = :id")
+    Optional<ItemRequestRow> findRowById(@Param("id") Long id);
+
+    /**
+     * Находит все запросы в виде проекций с применением сортировки.
+     *
+     * @param sort параметры сортировки результатов
+     * @return список всех запросов, отсортированный в соответствии с параметрами
+     */
+    @Query(SELECT_REQUEST_ROWS)
+    List<ItemRequestRow> findAllRows(Sort sort);
+
     /**
      * Находит все запросы, созданные указанным пользователем, с применением сортировки.
      * <p>
@@ -28,5 +67,28 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
      * @param sort        параметры сортировки результатов
      * @return список запросов указанного пользователя, отсортированный в соответствии с параметрами
      */
-    List<ItemRequest> findAllByRequestor_Id(Long requestorId, Sort sort);
-}
\ No newline at end of file
+    @Query(SELECT_REQUEST_ROWS + "WHERE r.requestor.id = :requestorId")
+    List<ItemRequestRow> findRowsByRequestorId(@Param("requestorId") Long requestorId, Sort sort);
+
+    /**
+     * Возвращает поток всех запросов, соединенных с предложенными вещами, для выгрузки
+     * {@code GET /requests/export}.
+     * <p>
+     * Строки упорядочены по идентификатору запроса, поэтому строки одного запроса идут подряд;
+     * запрос без вещей представлен одной строкой с пустыми полями вещи. Результат читается
+     * курсором порциями {@link NdjsonWriter#CURSOR_FETCH_SIZE} строк. Поток должен читаться
+     * внутри транзакции и закрываться после использования.
+     * </p>
+     *
+     * @return поток строк запросов с вещами
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.CURSOR_FETCH_SIZE))
+    @Query("""
+            SELECT new ru.practicum.shareit.request.dto.ItemRequestExportRow(
+                r.id, r.description, r.requestor.id, r.created, i.id, i.name, i.owner.id)
+            FROM ItemRequest r
+            LEFT JOIN Item i ON i.request = r
+            ORDER BY r.id, i.id
+            """)
+    Stream<ItemRequestExportRow> streamAllWithItems();
+}
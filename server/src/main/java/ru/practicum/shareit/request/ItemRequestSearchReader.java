@@ -0,0 +1,125 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Поиск запросов вещей по словам описания SQL-запросами без участия Hibernate.
+ * <p>
+ * Используется для {@code GET /requests/search}. Запрос совпадает, если каждое слово текста
+ * является началом какого-либо слова описания (без учета регистра). Результаты упорядочены
+ * от новых запросов к старым; следующая страница начинается после запроса {@code after}
+ * и сравнивается по паре (дата создания, идентификатор).
+ * </p>
+ * <p>
+ * В PostgreSQL ({@code spring.sql.init.platform=postgresql}) поиск выполняется по колонке
+ * {@code requests.description_tsv} с GIN-индексом из {@code schema-postgresql.sql}. В остальных
+ * базах (H2 в тестах) такой колонки нет: запросы читаются курсором от новых к старым
+ * и проверяются в приложении, пока не наберется страница.
+ * </p>
+ *
+ * @see ru.practicum.shareit.request.service.ItemRequestServiceImpl#search(String, Long, int)
+ */
+@Component
+public class ItemRequestSearchReader {
+
+    private static final String SELECT = """
+            SELECT r.request_id, r.description, r.requestor_id, r.created
+            FROM requests r
+            """;
+
+    private static final String AFTER = """
+            JOIN requests p ON p.request_id = :after
+            AND (r.created < p.created OR (r.created = p.created AND r.request_id < p.request_id))
+            """;
+
+    private static final String FULL_TEXT = "WHERE r.description_tsv @@ to_tsquery('simple', :query)\n";
+
+    private static final String ORDER = "ORDER BY r.created DESC, r.request_id DESC\n";
+
+    private static final RowMapper<ItemRequestRow> ROW_MAPPER = (rs, rowNum) -> new ItemRequestRow(
+            rs.getLong("request_id"),
+            rs.getString("description"),
+            rs.getObject("requestor_id", Long.class),
+            rs.getObject("created", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final boolean fullText;
+
+    /**
+     * Создает читатель поиска запросов.
+     *
+     * @param dataSource источник данных приложения
+     * @param fetchSize  размер выборки при проверке запросов в приложении (shareit.read-path.fetch-size)
+     * @param platform   платформа базы данных (spring.sql.init.platform)
+     */
+    public ItemRequestSearchReader(DataSource dataSource,
+                                   @Value("${shareit.read-path.fetch-size:500}") int fetchSize,
+                                   @Value("${spring.sql.init.platform:}") String platform) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+        this.fullText = "postgresql".equals(platform);
+    }
+
+    /**
+     * Проверяет, выполняется ли поиск полнотекстовым индексом базы данных.
+     *
+     * @return {@code true} для PostgreSQL, {@code false}, если запросы проверяются в приложении
+     */
+    public boolean isFullTextEnabled() {
+        return fullText;
+    }
+
+    /**
+     * Находит страницу запросов, описание которых содержит все слова текста.
+     *
+     * @param text  текст для поиска
+     * @param after идентификатор последнего запроса предыдущей страницы ({@code null} — первая страница)
+     * @param size  количество запросов на странице
+     * @return запросы от новых к старым; пустой список, если в тексте нет слов или запроса
+     * {@code after} не существует
+     */
+    public List<ItemRequestRow> search(String text, Long after, int size) {
+        List<String> terms = ItemSearchIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource("after", after);
+        String from = after == null ? SELECT : SELECT + AFTER;
+        if (fullText) {
+            parameters.addValue("query", terms.stream()
+                    .map(term -> term + ":*")
+                    .collect(Collectors.joining(" & ")));
+            parameters.addValue("size", size);
+            return jdbc.query(from + FULL_TEXT + ORDER + "LIMIT :size", parameters, ROW_MAPPER);
+        }
+
+        try (Stream<ItemRequestRow> rows = jdbc.queryForStream(from + ORDER, parameters, ROW_MAPPER)) {
+            return rows.filter(row -> matches(terms, row.description()))
+                    .limit(size)
+                    .toList();
+        }
+    }
+
+    /**
+     * Проверяет, что каждое слово запроса является началом какого-либо слова описания.
+     */
+    private static boolean matches(List<String> terms, String description) {
+        List<String> words = ItemSearchIndex.tokenize(description);
+        return terms.stream().allMatch(term -> words.stream().anyMatch(word -> word.startsWith(term)));
+    }
+}
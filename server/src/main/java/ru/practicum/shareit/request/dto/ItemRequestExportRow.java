@@ -0,0 +1,34 @@
+package ru.practicum.shareit.request.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция запроса вещи, соединенного с одной из предложенных вещей, для выгрузки
+ * {@code GET /requests/export}.
+ * <p>
+ * Читается курсором одного запроса с левым соединением таблицы вещей, упорядоченного
+ * по идентификатору запроса: строки одного запроса идут подряд и собираются в
+ * {@link ItemRequestResponseDto} без загрузки всех вещей в память. Для запроса без вещей
+ * поля вещи равны {@code null}.
+ * </p>
+ *
+ * @param id          идентификатор запроса
+ * @param description описание желаемой вещи
+ * @param requestorId идентификатор пользователя, создавшего запрос
+ * @param created     дата и время создания запроса
+ * @param itemId      идентификатор предложенной вещи (может быть {@code null})
+ * @param itemName    название предложенной вещи (может быть {@code null})
+ * @param ownerId     идентификатор владельца предложенной вещи (может быть {@code null})
+ *
+ * @see ru.practicum.shareit.request.ItemRequestRepository
+ * @see ru.practicum.shareit.request.ItemRequestMapper#groupConsecutive(java.util.Iterator)
+ */
+public record ItemRequestExportRow(
+        Long id,
+        String description,
+        Long requestorId,
+        LocalDateTime created,
+        Long itemId,
+        String itemName,
+        Long ownerId) {
+}
@@ -4,6 +4,7 @@ import lombok.Builder;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -11,19 +12,22 @@ import java.util.Set;
  * <p>
  * Используется при возврате данных о запросе клиенту. Содержит полную информацию
  * о запросе: идентификатор, описание, идентификатор автора запроса,
- * дату создания и список вещей, которые были предложены в ответ на данный запрос.
+ * дату создания, список вещей, которые были предложены в ответ на данный запрос,
+ * и вероятные вещи других пользователей, подобранные по описанию запроса.
  * </p>
  *
  * @param id          идентификатор запроса
  * @param description описание желаемой вещи
  * @param requestorId идентификатор пользователя, создавшего запрос
  * @param items       множество вещей, созданных в ответ на данный запрос
+ * @param matches     доступные вещи, похожие на описание запроса, от лучших совпадений к худшим
  * @param created     дата и время создания запроса
  *
  * @see ru.practicum.shareit.request.ItemRequest
  * @see ru.practicum.shareit.item.dto.ItemForRequestDto
  * @see ru.practicum.shareit.request.ItemRequestController
  * @see ru.practicum.shareit.request.service.ItemRequestService
+ * @see ru.practicum.shareit.request.match.RequestMatcher
  */
 @Builder(toBuilder = true)
 public record ItemRequestResponseDto(
@@ -31,6 +35,7 @@ public record ItemRequestResponseDto(
         String description,
         Long requestorId,
         Set<ItemForRequestDto> items,
+        List<ItemForRequestDto> matches,
         LocalDateTime created
 ) {
     /**
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.request.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция запроса вещи без списка предложенных вещей.
+ * <p>
+ * Содержит колонки {@link ItemRequestResponseDto}, хранящиеся в таблице запросов; вещи
+ * загружаются отдельным запросом и добавляются при сборке ответа. Загружается
+ * конструкторным выражением JPQL без загрузки сущностей запроса и пользователя.
+ * </p>
+ *
+ * @param id          идентификатор запроса
+ * @param description описание желаемой вещи
+ * @param requestorId идентификатор пользователя, создавшего запрос
+ * @param created     дата и время создания запроса
+ *
+ * @see ru.practicum.shareit.request.ItemRequestRepository
+ */
+public record ItemRequestRow(
+        Long id,
+        String description,
+        Long requestorId,
+        LocalDateTime created) {
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.request.match;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Хранилище вероятных вещей для запросов (таблица {@code request_matches}) и отметок
+ * о подборе ({@code requests.matched_at}).
+ * <p>
+ * Подборки записываются только {@link RequestMatcher}. При чтении возвращаются доступные вещи
+ * в порядке места в подборке, кроме вещей, уже созданных в ответ на этот запрос; удаленные
+ * вещи и запросы удаляются из подборок базой данных каскадно.
+ * </p>
+ *
+ * @see RequestMatcher
+ */
+@Repository
+public class RequestMatchRepository {
+
+    private static final String SELECT_MATCHES = """
+            SELECT m.request_id, i.item_id, i.name, i.owner_id
+            FROM request_matches m
+            JOIN items i ON i.item_id = m.item_id
+            """;
+
+    private static final String VISIBLE = """
+            i.is_available = TRUE
+            AND (i.request_id IS NULL OR i.request_id <> m.request_id)
+            """;
+
+    private static final String ORDER = "ORDER BY m.request_id, m.match_rank";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Создает хранилище подборок.
+     *
+     * @param dataSource источник данных приложения
+     */
+    public RequestMatchRepository(DataSource dataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Находит подборки указанных запросов.
+     *
+     * @param requestIds идентификаторы запросов
+     * @return вещи по идентификаторам запросов, от лучших совпадений к худшим
+     */
+    public Map<Long, List<ItemForRequestDto>> findByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) return Map.of();
+
+        return query(SELECT_MATCHES + "WHERE m.request_id IN (:requestIds) AND " + VISIBLE + ORDER,
+                new MapSqlParameterSource("requestIds", requestIds));
+    }
+
+    /**
+     * Находит подборки всех запросов пользователя.
+     *
+     * @param requestorId идентификатор автора запросов
+     * @return вещи по идентификаторам запросов, от лучших совпадений к худшим
+     */
+    public Map<Long, List<ItemForRequestDto>> findByRequestorId(Long requestorId) {
+        return query(SELECT_MATCHES + """
+                JOIN requests r ON r.request_id = m.request_id
+                WHERE r.requestor_id = :requestorId AND
+                """ + VISIBLE + ORDER, new MapSqlParameterSource("requestorId", requestorId));
+    }
+
+    /**
+     * Находит подборки всех запросов.
+     *
+     * @return вещи по идентификаторам запросов, от лучших совпадений к худшим
+     */
+    public Map<Long, List<ItemForRequestDto>> findAll() {
+        return query(SELECT_MATCHES + "WHERE " + VISIBLE + ORDER, new MapSqlParameterSource());
+    }
+
+    /**
+     * Находит запросы, ожидающие подбора вещей, в порядке идентификаторов.
+     *
+     * @param after идентификатор, после которого начинается страница
+     * @param limit размер страницы
+     * @return идентификаторы запросов
+     */
+    public List<Long> findPendingIds(long after, int limit) {
+        return jdbc.queryForList("""
+                SELECT request_id FROM requests
+                WHERE matched_at IS NULL AND request_id > :after
+                ORDER BY request_id
+                LIMIT :limit
+                """, new MapSqlParameterSource("after", after).addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Отмечает все запросы как ожидающие подбора.
+     *
+     * @return количество запросов
+     */
+    public int markAllPending() {
+        return jdbc.update("UPDATE requests SET matched_at = NULL", new MapSqlParameterSource());
+    }
+
+    /**
+     * Находит запросы по идентификаторам.
+     *
+     * @param requestIds идентификаторы запросов
+     * @return проекции найденных запросов
+     */
+    public List<ItemRequestRow> findRequests(Collection<Long> requestIds) {
+        return jdbc.query("""
+                SELECT request_id, description, requestor_id, created FROM requests
+                WHERE request_id IN (:requestIds)
+                """, new MapSqlParameterSource("requestIds", requestIds), (rs, rowNum) -> new ItemRequestRow(
+                rs.getLong("request_id"),
+                rs.getString("description"),
+                rs.getObject("requestor_id", Long.class),
+                rs.getObject("created", LocalDateTime.class)));
+    }
+
+    /**
+     * Находит владельцев вещей.
+     *
+     * @param itemIds идентификаторы вещей
+     * @return идентификаторы владельцев по идентификаторам существующих вещей
+     */
+    public Map<Long, Long> findOwners(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) return Map.of();
+
+        Map<Long, Long> owners = new HashMap<>();
+        jdbc.query("SELECT item_id, owner_id FROM items WHERE item_id IN (:itemIds)",
+                new MapSqlParameterSource("itemIds", itemIds),
+                (RowCallbackHandler) rs -> owners.put(rs.getLong("item_id"), rs.getLong("owner_id")));
+        return owners;
+    }
+
+    /**
+     * Заменяет подборки запросов и отмечает запросы как обработанные.
+     * <p>
+     * Вещи, удаленные после подбора, пропускаются.
+     * </p>
+     *
+     * @param matches   вещи по идентификаторам запросов, от лучших совпадений к худшим
+     * @param matchedAt время подбора
+     */
+    public void replace(Map<Long, List<Long>> matches, LocalDateTime matchedAt) {
+        if (matches.isEmpty()) return;
+
+        MapSqlParameterSource requestIds = new MapSqlParameterSource("requestIds", matches.keySet());
+        jdbc.update("DELETE FROM request_matches WHERE request_id IN (:requestIds)", requestIds);
+
+        List<SqlParameterSource> rows = new ArrayList<>();
+        matches.forEach((requestId, itemIds) -> {
+            for (int rank = 0; rank < itemIds.size(); rank++) {
+                rows.add(new MapSqlParameterSource("requestId", requestId)
+                        .addValue("itemId", itemIds.get(rank))
+                        .addValue("rank", rank));
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate("""
+                    INSERT INTO request_matches (request_id, item_id, match_rank)
+                    SELECT :requestId, item_id, :rank FROM items WHERE item_id = :itemId
+                    """, rows.toArray(SqlParameterSource[]::new));
+        }
+        jdbc.update("UPDATE requests SET matched_at = :matchedAt WHERE request_id IN (:requestIds)",
+                requestIds.addValue("matchedAt", matchedAt));
+    }
+
+    private Map<Long, List<ItemForRequestDto>> query(String sql, MapSqlParameterSource parameters) {
+        Map<Long, List<ItemForRequestDto>> matches = new LinkedHashMap<>();
+        jdbc.query(sql, parameters, (RowCallbackHandler) rs -> matches
+                .computeIfAbsent(rs.getLong("request_id"), id -> new ArrayList<>())
+                .add(new ItemForRequestDto(rs.getLong("item_id"), rs.getString("name"), rs.getLong("owner_id"))));
+        return matches;
+    }
+}
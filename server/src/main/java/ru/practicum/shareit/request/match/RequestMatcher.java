@@ -0,0 +1,362 @@
+package ru.practicum.shareit.request.match;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Фоновый подбор вероятных вещей для запросов.
+ * <p>
+ * Для запроса подбираются доступные вещи других пользователей, название или описание которых
+ * похоже на описание запроса ({@link ItemSearchIndex#match(String)}); лучшие
+ * {@code shareit.requests.matching.size} вещей сохраняются в {@link RequestMatchRepository}
+ * и возвращаются в ответах на запросы без поиска во время чтения.
+ * </p>
+ * <p>
+ * Подбор запускается после фиксации транзакции, создавшей запрос или вещь: задача помещается
+ * в ограниченную очередь ({@code shareit.requests.matching.queue-capacity}), а единственный
+ * фоновый поток забирает задачи пакетами до {@code shareit.requests.matching.batch-size}
+ * и обрабатывает пакет в одной транзакции. Для новой вещи заново подбираются недавние
+ * запросы, в описании которых встречаются слова ее названия (не больше
+ * {@code shareit.requests.matching.candidate-limit} на слово).
+ * </p>
+ * <p>
+ * Запись не ждет подбора: если очередь заполнена, задача отбрасывается. Запрос, для которого
+ * подбор не выполнен, остается отмеченным ({@code requests.matched_at IS NULL}), а после
+ * отброшенной задачи новой вещи отмечаются все запросы. Отмеченные запросы обрабатывает тот же
+ * поток — при запуске приложения и после отброшенных или завершившихся ошибкой задач, не чаще
+ * чем раз в {@code shareit.requests.matching.sweep-interval}. Количество обработанных
+ * и отброшенных задач и длина очереди публикуются метриками {@code shareit.requests.matching.*}.
+ * </p>
+ *
+ * @see RequestMatchRepository
+ * @see ru.practicum.shareit.request.service.ItemRequestServiceImpl
+ */
+@Slf4j
+@Component
+public class RequestMatcher implements MeterBinder {
+
+    private static final long READY_POLL_MILLIS = 100;
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private final ItemSearchIndex searchIndex;
+    private final ItemRequestSearchReader searchReader;
+    private final RequestMatchRepository matchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int size;
+    private final int batchSize;
+    private final int candidateLimit;
+    private final long sweepInterval;
+    private final BlockingQueue<Task> queue;
+    private final AtomicBoolean sweepNeeded = new AtomicBoolean(true);
+    private final AtomicBoolean rematchAll = new AtomicBoolean();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread worker;
+
+    /**
+     * Создает компонент подбора вещей для запросов.
+     *
+     * @param searchIndex        индекс поиска вещей
+     * @param searchReader       поиск запросов по словам описания (для новых вещей)
+     * @param matchRepository    хранилище подборок
+     * @param transactionManager менеджер транзакций для обработки пакетов
+     * @param enabled            запускать ли фоновый поток (shareit.requests.matching.enabled)
+     * @param size               количество вещей в подборке запроса (shareit.requests.matching.size)
+     * @param queueCapacity      наибольшая длина очереди задач (shareit.requests.matching.queue-capacity)
+     * @param batchSize          наибольшее количество задач в пакете (shareit.requests.matching.batch-size)
+     * @param candidateLimit     количество запросов, подбираемых заново для одного слова названия
+     *                           новой вещи (shareit.requests.matching.candidate-limit)
+     * @param sweepInterval      наименьший интервал между обработками отмеченных запросов
+     *                           в миллисекундах (shareit.requests.matching.sweep-interval)
+     */
+    public RequestMatcher(ItemSearchIndex searchIndex,
+                          ItemRequestSearchReader searchReader,
+                          RequestMatchRepository matchRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${shareit.requests.matching.enabled:true}") boolean enabled,
+                          @Value("${shareit.requests.matching.size:5}") int size,
+                          @Value("${shareit.requests.matching.queue-capacity:10000}") int queueCapacity,
+                          @Value("${shareit.requests.matching.batch-size:100}") int batchSize,
+                          @Value("${shareit.requests.matching.candidate-limit:100}") int candidateLimit,
+                          @Value("${shareit.requests.matching.sweep-interval:60000}") long sweepInterval) {
+        this.searchIndex = searchIndex;
+        this.searchReader = searchReader;
+        this.matchRepository = matchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.size = size;
+        this.batchSize = batchSize;
+        this.candidateLimit = candidateLimit;
+        this.sweepInterval = sweepInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Запускает фоновый поток подбора.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || worker != null) return;
+
+        worker = Thread.ofVirtual().name("request-matcher").start(this::run);
+    }
+
+    /**
+     * Ставит в очередь подбор вещей для нового запроса после фиксации текущей транзакции.
+     *
+     * @param requestId идентификатор запроса
+     */
+    public void requestAfterCommit(Long requestId) {
+        afterCommit(() -> offer(new Task(requestId, null)));
+    }
+
+    /**
+     * Ставит в очередь подбор запросов, на которые может подойти новая вещь, после фиксации
+     * текущей транзакции. Недоступные вещи не подбираются.
+     *
+     * @param item новая вещь
+     */
+    public void itemAfterCommit(ItemResponseDto item) {
+        if (!Boolean.TRUE.equals(item.available())) return;
+
+        afterCommit(() -> offer(new Task(null, item.name())));
+    }
+
+    /**
+     * Возвращает текущую длину очереди задач.
+     *
+     * @return количество задач в очереди
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.requests.matching.matched", matched, LongAdder::sum)
+                .description("Item requests matched with items")
+                .register(registry);
+        FunctionCounter.builder("shareit.requests.matching.dropped", dropped, LongAdder::sum)
+                .description("Matching tasks dropped because the queue was full")
+                .register(registry);
+        Gauge.builder("shareit.requests.matching.queue", this, RequestMatcher::queued)
+                .description("Matching tasks waiting in the queue")
+                .register(registry);
+    }
+
+    /**
+     * Останавливает фоновый поток при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Обрабатывает все задачи очереди в текущем потоке.
+     *
+     * @return количество запросов, для которых выполнен подбор
+     */
+    int processQueued() {
+        int total = 0;
+        List<Task> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            total += process(batch);
+            batch.clear();
+        }
+        return total;
+    }
+
+    /**
+     * Выполняет подбор для всех запросов, ожидающих его, пакетами в текущем потоке.
+     *
+     * @return количество запросов, для которых выполнен подбор
+     */
+    int matchPending() {
+        if (rematchAll.getAndSet(false)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> matchRepository.markAllPending());
+            } catch (RuntimeException e) {
+                rematchAll.set(true);
+                throw e;
+            }
+        }
+        int total = 0;
+        long after = 0;
+        List<Long> page;
+        do {
+            long pageAfter = after;
+            page = Objects.requireNonNull(transactionTemplate.execute(status ->
+                    matchRepository.findPendingIds(pageAfter, batchSize)));
+            if (page.isEmpty()) break;
+
+            total += process(page.stream().map(requestId -> new Task(requestId, null)).toList());
+            after = page.getLast();
+        } while (page.size() == batchSize);
+        return total;
+    }
+
+    private void run() {
+        try {
+            while (!searchIndex.isReady()) {
+                Thread.sleep(READY_POLL_MILLIS);
+            }
+            List<Task> batch = new ArrayList<>(batchSize);
+            long nextSweep = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                if (System.nanoTime() - nextSweep >= 0 && sweepNeeded.getAndSet(false)) {
+                    sweep();
+                    nextSweep = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sweepInterval);
+                }
+                Task first = queue.poll(sweepInterval, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Выполняет подбор для отмеченных запросов. Если проход завершился ошибкой (например,
+     * база данных временно недоступна), он повторяется не раньше следующего интервала,
+     * а фоновый поток продолжает обрабатывать очередь.
+     */
+    private void sweep() {
+        try {
+            int count = matchPending();
+            log.info("Matched {} pending item requests", count);
+        } catch (RuntimeException e) {
+            log.warn("Cannot match pending item requests", e);
+            sweepNeeded.set(true);
+        }
+    }
+
+    /**
+     * Обрабатывает пакет задач в одной транзакции. Если обработка завершилась ошибкой,
+     * запросы пакета остаются отмеченными и будут поставлены в очередь плановым проходом.
+     *
+     * @return количество запросов, для которых выполнен подбор
+     */
+    private int process(List<Task> batch) {
+        try {
+            int count = Objects.requireNonNull(transactionTemplate.execute(status -> match(batch)));
+            matched.add(count);
+            return count;
+        } catch (RuntimeException e) {
+            log.warn("Cannot match {} item request tasks", batch.size(), e);
+            if (batch.stream().anyMatch(task -> task.requestId() == null)) {
+                rematchAll.set(true);
+            }
+            sweepNeeded.set(true);
+            return 0;
+        }
+    }
+
+    private int match(List<Task> batch) {
+        Set<Long> requestIds = new LinkedHashSet<>();
+        for (Task task : batch) {
+            if (task.requestId() != null) {
+                requestIds.add(task.requestId());
+                continue;
+            }
+            for (String term : ItemSearchIndex.tokenize(task.itemName())) {
+                if (term.length() < MIN_TERM_LENGTH) continue;
+
+                searchReader.search(term, null, candidateLimit).forEach(row -> requestIds.add(row.id()));
+            }
+        }
+        if (requestIds.isEmpty()) return 0;
+
+        List<ItemRequestRow> requests = matchRepository.findRequests(requestIds);
+        Map<Long, List<Long>> candidates = new LinkedHashMap<>();
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (ItemRequestRow request : requests) {
+            List<Long> found = searchIndex.match(request.description());
+            candidates.put(request.id(), found);
+            itemIds.addAll(found);
+        }
+        Map<Long, Long> owners = matchRepository.findOwners(itemIds);
+
+        Map<Long, List<Long>> matches = new LinkedHashMap<>();
+        for (ItemRequestRow request : requests) {
+            matches.put(request.id(), candidates.get(request.id()).stream()
+                    .filter(itemId -> owners.containsKey(itemId) && !owners.get(itemId).equals(request.requestorId()))
+                    .limit(size)
+                    .toList());
+        }
+        matchRepository.replace(matches, LocalDateTime.now());
+        return matches.size();
+    }
+
+    private void offer(Task task) {
+        if (queue.offer(task)) return;
+
+        dropped.increment();
+        if (task.requestId() == null) {
+            rematchAll.set(true);
+        }
+        sweepNeeded.set(true);
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action постановка задачи в очередь
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Задача подбора: новый запрос ({@code requestId}) или новая вещь ({@code itemName}).
+     */
+    private record Task(Long requestId, String itemName) {
+    }
+}
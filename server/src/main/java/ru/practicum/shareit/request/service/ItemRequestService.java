@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -45,6 +46,31 @@ public interface ItemRequestService {
      */
     List<ItemRequestResponseDto> findAll();
 
+    /**
+     * Находит запросы, описание которых содержит все слова текста.
+     * <p>
+     * Используется владельцами вещей для поиска запросов, которые они могут выполнить.
+     * Запросы упорядочены от новых к старым и возвращаются постранично.
+     * </p>
+     *
+     * @param text  текст для поиска (слова сравниваются по началу слов описания)
+     * @param after идентификатор последнего запроса предыдущей страницы ({@code null} — первая страница)
+     * @param size  количество запросов на странице
+     * @return страница найденных запросов с предложенными вещами
+     */
+    List<ItemRequestResponseDto> search(String text, Long after, int size);
+
+    /**
+     * Выгружает все запросы с предложенными вещами в формате NDJSON.
+     * <p>
+     * Запросы читаются курсором и записываются в выходной поток по одному, поэтому расход
+     * памяти не зависит от количества запросов. Запросы выгружаются в порядке идентификаторов.
+     * </p>
+     *
+     * @param out выходной поток ответа
+     */
+    void exportAll(OutputStream out);
+
     /**
      * Возвращает список всех запросов, созданных конкретным пользователем.
      *
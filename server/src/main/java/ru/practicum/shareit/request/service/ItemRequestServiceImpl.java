@@ -5,33 +5,46 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.dao.ItemRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.service.ItemSearchCache;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestExportRow;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+import ru.practicum.shareit.request.match.RequestMatchRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Реализация сервиса {@link ItemRequestService} для управления запросами вещей.
  * <p>
  * Обеспечивает бизнес-логику для работы с запросами вещей: создание, получение
  * по различным критериям, удаление. При формировании ответов добавляет информацию
- * о вещах, созданных в ответ на каждый запрос.
+ * о вещах, созданных в ответ на каждый запрос, и о вещах, подобранных к запросу в фоне
+ * {@link RequestMatcher}. Запросы и вещи для ответов читаются проекциями без загрузки сущностей.
  * </p>
  *
  * @see ItemRequestService
  * @see ItemRequestRepository
  * @see UserRepository
  * @see ItemRepository
+ * @see ItemSearchCache
+ * @see ItemRequestSearchReader
+ * @see RequestMatcher
  */
 @Service
 @Transactional(readOnly = true)
@@ -40,11 +53,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final NdjsonWriter ndjsonWriter;
+    private final ItemSearchCache searchCache;
+    private final ItemRequestSearchReader searchReader;
+    private final RequestMatcher requestMatcher;
+    private final RequestMatchRepository matchRepository;
 
     /**
      * Создает новый запрос вещи.
      * <p>
-     * Сохраняет запрос в базе данных. На данном этапе список предложенных вещей пуст.
+     * Сохраняет запрос в базе данных. На данном этапе список предложенных вещей пуст;
+     * подбор вероятных вещей ставится в очередь после фиксации транзакции.
      * </p>
      *
      * @param requestorId идентификатор пользователя, создающего запрос
@@ -56,18 +75,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestResponseDto save(Long requestorId, ItemRequestCreateDto dto) {
         User requestor = getUserOrThrow(requestorId);
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requestor, dto);
-        return ItemRequestMapper.toItemRequestResponseDto(
-                itemRequestRepository.save(itemRequest),
-                Collections.emptyList()
-        );
+        ItemRequest itemRequest = itemRequestRepository.save(ItemRequestMapper.toItemRequest(requestor, dto));
+        requestMatcher.requestAfterCommit(itemRequest.getId());
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequest, Collections.emptyList());
     }
 
     /**
      * Находит запрос по его идентификатору.
      * <p>
      * Возвращает запрос вместе со списком вещей, которые были предложены
-     * в ответ на данный запрос.
+     * в ответ на данный запрос, и подобранными вещами.
      * </p>
      *
      * @param itemRequestId идентификатор запроса
@@ -76,35 +93,81 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      */
     @Override
     public ItemRequestResponseDto findById(Long itemRequestId) {
-        ItemRequest itemRequest = itemRequestRepository.findById(itemRequestId).orElseThrow(
+        ItemRequestRow itemRequest = itemRequestRepository.findRowById(itemRequestId).orElseThrow(
                 () -> new NotFoundException("ItemRequest", itemRequestId)
         );
-        List<Item> items = itemRepository.findAllByRequestId(itemRequestId);
-        return ItemRequestMapper.toItemRequestResponseDto(itemRequest, items);
+        List<ItemForRequestDto> items = itemRepository.findForRequestByRequestId(itemRequestId).stream()
+                .map(ItemMapper::toItemForRequestDto)
+                .toList();
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequest, items,
+                matchRepository.findByRequestIds(List.of(itemRequestId)).getOrDefault(itemRequestId, List.of()));
     }
 
     /**
      * Возвращает список всех запросов, созданных другими пользователями.
      * <p>
      * Запросы сортируются по дате создания в порядке убывания.
-     * Для каждого запроса добавляется список предложенных вещей.
+     * Для каждого запроса добавляется список предложенных и подобранных вещей.
      * </p>
      *
      * @return список всех запросов с предложенными вещами
      */
     @Override
     public List<ItemRequestResponseDto> findAll() {
-        Map<Long, List<Item>> itemsWithRequest = itemRepository.findAllByRequestNotNull().stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
-        List<ItemRequest> itemRequests = itemRequestRepository.findAll(Sort.by("created").descending());
-        return ItemRequestMapper.toItemRequestResponseDto(itemRequests, itemsWithRequest);
+        Map<Long, List<ItemForRequestDto>> itemsWithRequest = ItemRequestMapper.groupByRequestId(
+                itemRepository.findForAllRequests());
+        List<ItemRequestRow> itemRequests = itemRequestRepository.findAllRows(Sort.by("created").descending());
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequests, itemsWithRequest, matchRepository.findAll());
+    }
+
+    /**
+     * Находит страницу запросов, описание которых содержит все слова текста.
+     * <p>
+     * Запросы находит {@link ItemRequestSearchReader}, предложенные и подобранные вещи для найденных
+     * запросов загружаются двумя запросами по их идентификаторам.
+     * </p>
+     *
+     * @param text  текст для поиска
+     * @param after идентификатор последнего запроса предыдущей страницы ({@code null} — первая страница)
+     * @param size  количество запросов на странице
+     * @return запросы от новых к старым с предложенными вещами
+     */
+    @Override
+    public List<ItemRequestResponseDto> search(String text, Long after, int size) {
+        List<ItemRequestRow> itemRequests = searchReader.search(text, after, size);
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = itemRequests.stream().map(ItemRequestRow::id).toList();
+        Map<Long, List<ItemForRequestDto>> itemsByRequestIds = ItemRequestMapper.groupByRequestId(
+                itemRepository.findForRequestsByRequestIds(requestIds));
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequests, itemsByRequestIds,
+                matchRepository.findByRequestIds(requestIds));
+    }
+
+    /**
+     * Выгружает все запросы с предложенными вещами в формате NDJSON.
+     * <p>
+     * Запросы и вещи читаются одним курсором с левым соединением, упорядоченным по запросу,
+     * и собираются в DTO по мере чтения ({@link ItemRequestMapper#groupConsecutive}).
+     * В памяти находятся только вещи текущего запроса.
+     * </p>
+     *
+     * @param out выходной поток ответа
+     */
+    @Override
+    public void exportAll(OutputStream out) {
+        try (Stream<ItemRequestExportRow> rows = itemRequestRepository.streamAllWithItems()) {
+            ndjsonWriter.write(ItemRequestMapper.groupConsecutive(rows.iterator()), out);
+        }
     }
 
     /**
      * Возвращает список всех запросов, созданных конкретным пользователем.
      * <p>
      * Запросы сортируются по дате создания в порядке убывания.
-     * Для каждого запроса добавляется список предложенных вещей.
+     * Для каждого запроса добавляется список предложенных и подобранных вещей.
      * </p>
      *
      * @param requestorId идентификатор пользователя
@@ -113,18 +176,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      */
     @Override
     public List<ItemRequestResponseDto> findByUserId(Long requestorId) {
-        getUserOrThrow(requestorId);
+        if (!userRepository.existsById(requestorId)) {
+            throw new NotFoundException("User", requestorId);
+        }
 
-        Map<Long, List<Item>> itemsByRequestIds = itemRepository.findAllByRequest_Requestor_Id(requestorId).stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_Id(
+        Map<Long, List<ItemForRequestDto>> itemsByRequestIds = ItemRequestMapper.groupByRequestId(
+                itemRepository.findForRequestsByRequestorId(requestorId));
+        List<ItemRequestRow> itemRequests = itemRequestRepository.findRowsByRequestorId(
                 requestorId,
                 Sort.by("created").descending());
-        return ItemRequestMapper.toItemRequestResponseDto(itemRequests, itemsByRequestIds);
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequests, itemsByRequestIds,
+                matchRepository.findByRequestorId(requestorId));
     }
 
     /**
      * Удаляет запрос по его идентификатору.
+     * <p>
+     * Вещи, созданные в ответ на запрос, теряют ссылку на него, поэтому кэш результатов
+     * поиска очищается после фиксации транзакции.
+     * </p>
      *
      * @param itemRequestId идентификатор запроса для удаления
      */
@@ -132,6 +202,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public void deleteById(Long itemRequestId) {
         itemRequestRepository.deleteById(itemRequestId);
+        searchCache.invalidateAfterCommit();
     }
 
     /**
@@ -144,6 +215,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public void clear() {
         itemRequestRepository.deleteAll();
+        searchCache.invalidateAfterCommit();
     }
 
     /**
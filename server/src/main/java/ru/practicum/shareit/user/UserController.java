@@ -3,13 +3,19 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST-контроллер для управления пользователями в модуле server.
@@ -78,6 +84,42 @@ public class UserController {
         return userService.findAll();
     }
 
+    /**
+     * Получает пользователей по списку идентификаторов.
+     * <p>
+     * HTTP метод: GET /users?ids={id},{id},...
+     * Пользователи читаются одним запросом. Ответ — объект, ключи которого — запрошенные идентификаторы;
+     * отсутствующий пользователь отмечается {@code "found": false}, а не ошибкой 404 для всего пакета.
+     * </p>
+     *
+     * @param ids идентификаторы пользователей (из query-параметра, повторы игнорируются)
+     * @return карта идентификатор → пользователь в виде DTO
+     */
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<Long, BatchEntry<UserResponseDto>> getUsersByIds(@RequestParam("ids") List<Long> ids) {
+        log.info("Getting users by ids: {}", ids);
+        return userService.findByIds(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Выгружает всех пользователей.
+     * <p>
+     * HTTP метод: GET /users/export
+     * Ответ передается в формате NDJSON ({@code application/x-ndjson}, один JSON-объект
+     * пользователя на строку) по мере чтения пользователей из базы данных, в порядке идентификаторов.
+     * </p>
+     *
+     * @return {@link ResponseEntity} с телом ответа, записывающим пользователей в выходной поток
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Exporting all users");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService::exportAll);
+    }
+
     /**
      * Получает информацию о конкретном пользователе по его идентификатору.
      * <p>
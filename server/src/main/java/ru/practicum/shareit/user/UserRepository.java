@@ -1,8 +1,19 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Репозиторий для управления сущностями {@link User} в базе данных.
  * <p>
@@ -27,4 +38,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
      *         иначе {@code false}
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Находит пользователей с указанными идентификаторами одним запросом в виде DTO.
+     *
+     * @param ids идентификаторы пользователей
+     * @return найденные пользователи (отсутствующие идентификаторы пропускаются)
+     */
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserResponseDto(u.id, u.name, u.email) FROM User u WHERE u.id IN :ids")
+    List<UserResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Возвращает поток всех пользователей в виде DTO для выгрузки {@code GET /users/export}.
+     * <p>
+     * Результат читается курсором порциями {@link NdjsonWriter#CURSOR_FETCH_SIZE} строк.
+     * Поток должен читаться внутри транзакции и закрываться после использования.
+     * </p>
+     *
+     * @return поток пользователей в порядке идентификаторов
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.CURSOR_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserResponseDto(u.id, u.name, u.email) FROM User u ORDER BY u.id")
+    Stream<UserResponseDto> streamAllResponses();
+}
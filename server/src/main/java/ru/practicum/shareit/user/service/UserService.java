@@ -1,10 +1,14 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Сервис для управления пользователями в приложении ShareIt.
@@ -37,6 +41,18 @@ public interface UserService {
      */
     UserResponseDto findById(Long id);
 
+    /**
+     * Возвращает пользователей с указанными идентификаторами.
+     * <p>
+     * Пользователи читаются одним запросом; для отсутствующих идентификаторов возвращается
+     * отметка {@link BatchEntry#found()} = {@code false} вместо ошибки.
+     * </p>
+     *
+     * @param ids идентификаторы пользователей
+     * @return карта идентификатор → пользователь в виде DTO в порядке запрошенных идентификаторов
+     */
+    Map<Long, BatchEntry<UserResponseDto>> findByIds(Collection<Long> ids);
+
     /**
      * Возвращает список всех пользователей.
      *
@@ -44,6 +60,18 @@ public interface UserService {
      */
     List<UserResponseDto> findAll();
 
+    /**
+     * Выгружает всех пользователей в формате NDJSON.
+     * <p>
+     * Каждый пользователь записывается в выходной поток отдельной строкой с JSON-объектом
+     * {@link UserResponseDto}. Пользователи читаются курсором и записываются по одному,
+     * поэтому расход памяти не зависит от количества пользователей.
+     * </p>
+     *
+     * @param out выходной поток ответа (не закрывается методом)
+     */
+    void exportAll(OutputStream out);
+
     /**
      * Обновляет существующего пользователя.
      * <p>
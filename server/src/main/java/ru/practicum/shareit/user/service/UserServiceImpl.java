@@ -3,8 +3,21 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchEntry;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggester;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserCreateDto;
@@ -12,8 +25,13 @@ import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Реализация сервиса {@link UserService} для управления пользователями.
@@ -25,12 +43,28 @@ import java.util.Optional;
  *
  * @see UserService
  * @see UserRepository
+ * @see BookingAvailabilityIndex
+ * @see ItemBookingSummaryTracker
+ * @see BookingViewWriter
+ * @see ItemSearchCache
+ * @see ItemSearchIndex
+ * @see ItemSuggester
  */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemBookingSummaryTracker summaryTracker;
+    private final NdjsonWriter ndjsonWriter;
+    private final BookingCountsCache countsCache;
+    private final BookingViewWriter viewWriter;
+    private final ItemSearchCache searchCache;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggester suggester;
+    private final ItemRepository itemRepository;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Создает нового пользователя.
@@ -65,6 +99,20 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("User", id));
     }
 
+    /**
+     * Возвращает пользователей с указанными идентификаторами.
+     * <p>
+     * Пользователи читаются одним запросом {@code IN} проекцией сразу в DTO, без загрузки сущностей.
+     * </p>
+     *
+     * @param ids идентификаторы пользователей
+     * @return карта идентификатор → пользователь в порядке запрошенных идентификаторов
+     */
+    @Override
+    public Map<Long, BatchEntry<UserResponseDto>> findByIds(Collection<Long> ids) {
+        return BatchEntry.byId(ids, userRepository.findResponsesByIdIn(ids), UserResponseDto::id);
+    }
+
     /**
      * Возвращает список всех пользователей.
      *
@@ -75,11 +123,28 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserResponseDto(userRepository.findAll());
     }
 
+    /**
+     * Выгружает всех пользователей в формате NDJSON.
+     * <p>
+     * Пользователи читаются курсором проекции в транзакции только для чтения, открытой на все
+     * время записи ответа; проекции не попадают в контекст персистентности.
+     * </p>
+     *
+     * @param out выходной поток ответа (не закрывается методом)
+     */
+    @Override
+    public void exportAll(OutputStream out) {
+        try (Stream<UserResponseDto> users = userRepository.streamAllResponses()) {
+            ndjsonWriter.write(users, out);
+        }
+    }
+
     /**
      * Обновляет существующего пользователя.
      * <p>
      * Проверяет, что при обновлении email не занят другим пользователем.
      * Обновляет только те поля, которые были переданы в DTO (не {@code null}).
+     * Новые имя и email в той же транзакции записываются в модель чтения бронирований.
      * </p>
      *
      * @param userId идентификатор обновляемого пользователя
@@ -100,32 +165,58 @@ public class UserServiceImpl implements UserService {
             throw new DuplicatedDataException("email", dto.email());
         }
 
+        String oldName = user.getName();
+        String oldEmail = user.getEmail();
         applyUpdates(user, dto);
+        if (!Objects.equals(oldName, user.getName()) || !Objects.equals(oldEmail, user.getEmail())) {
+            viewWriter.onUserUpdated(user);
+        }
 
         return UserMapper.toUserResponseDto(userRepository.save(user));
     }
 
     /**
      * Удаляет пользователя по его идентификатору.
+     * <p>
+     * Бронирования пользователя удаляются каскадно, поэтому перед удалением они
+     * исключаются из индекса доступности, а сводки бронирований забронированных
+     * им вещей помечаются устаревшими; кэш счетчиков бронирований очищается. Вещи
+     * пользователя тоже удаляются каскадно, поэтому очищается и кэш результатов поиска,
+     * их названия исключаются из подсказок, а для каждой вещи в outbox записывается событие
+     * {@link OutboxEventType#ITEM_DELETED} (по нему вещи удаляются из индексов других узлов).
+     * </p>
      *
      * @param id идентификатор пользователя для удаления
      */
     @Transactional
     @Override
     public void deleteById(Long id) {
+        availabilityIndex.removeBookerAfterCommit(id);
+        summaryTracker.onBookerRemoved(id);
+        countsCache.clearAfterCommit();
+        searchCache.invalidateAfterCommit();
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+        suggester.removeAllAfterCommit(itemIds);
+        itemIds.forEach(itemId -> outboxWriter.write(AggregateType.ITEM, itemId, OutboxEventType.ITEM_DELETED, null));
         userRepository.deleteById(id);
     }
 
     /**
      * Очищает всех пользователей из хранилища.
      * <p>
-     * Используется в основном для тестирования.
+     * Используется в основном для тестирования. Вещи пользователей удаляются каскадно,
+     * поэтому индекс поиска вещей и подсказки названий тоже очищаются.
      * </p>
      */
     @Transactional
     @Override
     public void clear() {
         userRepository.deleteAll();
+        availabilityIndex.clearAfterCommit();
+        countsCache.clearAfterCommit();
+        searchIndex.clearAfterCommit();
+        suggester.clearAfterCommit();
+        searchCache.invalidateAfterCommit();
     }
 
     /**
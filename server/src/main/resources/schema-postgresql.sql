@@ -0,0 +1,15 @@
+-- Индексы, специфичные для PostgreSQL; выполняются после schema.sql при spring.sql.init.platform=postgresql
+-- (порядок задан в spring.sql.init.schema-locations в application.yaml)
+
+-- Триграммные индексы для поиска вещей по подстроке (lower(name/description) LIKE '%text%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (lower(description) gin_trgm_ops);
+
+-- Полнотекстовый поиск запросов вещей (GET /requests/search): вычисляемая колонка tsvector
+-- с конфигурацией simple (без стемминга, описания на разных языках) и GIN-индекс по ней
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS description_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', description)) STORED;
+
+CREATE INDEX IF NOT EXISTS requests_description_tsv_idx ON requests USING gin (description_tsv);
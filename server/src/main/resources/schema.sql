@@ -40,6 +40,100 @@ CREATE TABLE IF NOT EXISTS bookings
     status     VARCHAR(100)                NOT NULL
 );
 
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    event_id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(50)                 NOT NULL,
+    aggregate_id   BIGINT                      NOT NULL,
+    event_type     VARCHAR(100)                NOT NULL,
+    payload        VARCHAR(4000),
+    created        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    published_at   TIMESTAMP WITHOUT TIME ZONE,
+    publish_seq    BIGINT
+);
+
+-- Выборка неопубликованных событий ретранслятором и проверка более ранних событий агрегата
+CREATE INDEX IF NOT EXISTS outbox_events_published_idx ON outbox_events (published_at, event_id);
+CREATE INDEX IF NOT EXISTS outbox_events_aggregate_idx ON outbox_events (aggregate_type, aggregate_id, event_id);
+
+-- Чтение опубликованных событий всеми узлами и возобновление SSE-потоков по порядку публикации
+CREATE UNIQUE INDEX IF NOT EXISTS outbox_events_publish_seq_idx ON outbox_events (publish_seq);
+CREATE INDEX IF NOT EXISTS outbox_events_type_publish_seq_idx ON outbox_events (aggregate_type, publish_seq);
+
+-- Последний выданный номер публикации outbox: строка блокируется ретранслятором до фиксации пакета,
+-- поэтому номера публикации становятся видимыми строго по возрастанию
+CREATE TABLE IF NOT EXISTS outbox_publish_sequence
+(
+    sequence_id INTEGER PRIMARY KEY,
+    last_seq    BIGINT NOT NULL
+);
+
+INSERT INTO outbox_publish_sequence (sequence_id, last_seq)
+SELECT 1, 0
+WHERE NOT EXISTS (SELECT 1 FROM outbox_publish_sequence);
+
+-- Проверка пересечения с подтвержденными бронированиями вещи (поиск свободных вещей, создание бронирования)
+CREATE INDEX IF NOT EXISTS bookings_item_status_period_idx ON bookings (item_id, status, start_date, end_date);
+
+-- Последнее завершенное подтвержденное бронирование вещи (карточка вещи, ORDER BY end_date DESC LIMIT 1);
+-- следующее бронирование читается по bookings_item_status_period_idx (ORDER BY start_date LIMIT 1)
+CREATE INDEX IF NOT EXISTS bookings_item_status_end_idx ON bookings (item_id, status, end_date);
+
+-- Право пользователя оставить комментарий: EXISTS завершенного подтвержденного бронирования вещи
+CREATE INDEX IF NOT EXISTS bookings_booker_item_end_idx ON bookings (booker_id, item_id, end_date);
+
+-- Сводка подтвержденных бронирований вещи: последнее и следующее бронирования без чтения всех бронирований
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id        INTEGER PRIMARY KEY REFERENCES items (item_id) ON DELETE CASCADE,
+    last_end       TIMESTAMP WITHOUT TIME ZONE,
+    next_start     TIMESTAMP WITHOUT TIME ZONE,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    valid_until    TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Выборка устаревших сводок плановым пересчетом
+CREATE INDEX IF NOT EXISTS item_booking_summary_valid_until_idx ON item_booking_summary (valid_until);
+
+-- Модель чтения списков бронирований арендатора и владельца: бронирование вместе с владельцем
+-- и названием вещи, именем и email арендатора (поддерживается приложением в транзакциях записи)
+CREATE TABLE IF NOT EXISTS booking_view
+(
+    booking_id   INTEGER PRIMARY KEY REFERENCES bookings (booking_id) ON DELETE CASCADE,
+    booker_id    INTEGER                     NOT NULL,
+    owner_id     INTEGER                     NOT NULL,
+    item_id      INTEGER                     NOT NULL,
+    item_name    VARCHAR(255)                NOT NULL,
+    booker_name  VARCHAR(255),
+    booker_email VARCHAR(512)                NOT NULL,
+    start_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status       VARCHAR(100)                NOT NULL
+);
+
+-- Списки бронирований арендатора и владельца по всем состояниям: фильтр по пользователю,
+-- сортировка по start_date DESC, условия состояния проверяются по индексу
+CREATE INDEX IF NOT EXISTS booking_view_booker_idx ON booking_view (booker_id, start_date DESC, end_date, status);
+CREATE INDEX IF NOT EXISTS booking_view_owner_idx ON booking_view (owner_id, start_date DESC, end_date, status);
+
+-- Запись нового названия вещи во все ее бронирования
+CREATE INDEX IF NOT EXISTS booking_view_item_idx ON booking_view (item_id);
+
+-- Вероятные вещи для запросов: лучшие совпадения описания запроса в индексе поиска вещей,
+-- подбираются в фоне после создания запроса или вещи (match_rank — место вещи в подборке)
+CREATE TABLE IF NOT EXISTS request_matches
+(
+    request_id INTEGER NOT NULL REFERENCES requests (request_id) ON DELETE CASCADE,
+    item_id    INTEGER NOT NULL REFERENCES items (item_id) ON DELETE CASCADE,
+    match_rank INTEGER NOT NULL,
+    PRIMARY KEY (request_id, item_id)
+);
+
+-- Время последнего подбора вещей для запроса; NULL — запрос ждет подбора (новый запрос
+-- или подбор, не поместившийся в очередь)
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS matched_at TIMESTAMP WITHOUT TIME ZONE;
+CREATE INDEX IF NOT EXISTS requests_matched_at_idx ON requests (matched_at);
+
 CREATE TABLE IF NOT EXISTS comments
 (
     comment_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -47,4 +141,12 @@ CREATE TABLE IF NOT EXISTS comments
     item_id    INTEGER REFERENCES items (item_id) ON DELETE CASCADE,
     author_id  INTEGER REFERENCES users (user_id) ON DELETE CASCADE,
     created    TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
+
+-- Комментарии вещи от новых к старым (страницы комментариев карточки вещи, статистика вещей владельца)
+DROP INDEX IF EXISTS comments_item_idx;
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC, comment_id DESC);
+
+-- Вещи владельца (страницы списка вещей владельца по ключу item_id, статистика вещей владельца)
+DROP INDEX IF EXISTS items_owner_idx;
+CREATE INDEX IF NOT EXISTS items_owner_item_idx ON items (owner_id, item_id);
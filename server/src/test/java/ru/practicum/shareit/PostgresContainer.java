@@ -0,0 +1,27 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Контейнер PostgreSQL той же версии, что в {@code compose.yaml}, для тестов запросов,
+ * которые выполняются только в PostgreSQL.
+ * <p>
+ * Подключается к тесту аннотацией
+ * {@code @ImportTestcontainers(PostgresContainer.class)}: источник данных контекста
+ * указывает на контейнер ({@link ServiceConnection}). Тест также должен отключить замену
+ * источника данных встроенной базой ({@code @AutoConfigureTestDatabase(replace = NONE)}),
+ * задать {@code spring.sql.init.platform=postgresql} и диалект PostgreSQL, а чтобы тест
+ * пропускался без Docker — {@code @Testcontainers(disabledWithoutDocker = true)}.
+ * Контейнер запускается один раз и используется всеми такими тестами. База данных в нем
+ * изначально пуста: схему создают {@code schema.sql} и затем {@code schema-postgresql.sql}
+ * в порядке {@code spring.sql.init.schema-locations}, как при первом запуске приложения.
+ * </p>
+ */
+public interface PostgresContainer {
+
+    @Container
+    @ServiceConnection
+    PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate при выполнении действия.
+ * <p>
+ * Используется в тестах бюджета запросов; тест должен включать
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true} и импортировать этот компонент.
+ * </p>
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class QueryCounter {
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Сбрасывает и очищает контекст персистентности, затем выполняет действие.
+     *
+     * @param action проверяемое действие
+     * @return количество подготовленных SQL-запросов
+     */
+    public long count(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Возвращает статистику Hibernate для проверок, не сводящихся к числу запросов.
+     *
+     * @return статистика фабрики сессий
+     */
+    public Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
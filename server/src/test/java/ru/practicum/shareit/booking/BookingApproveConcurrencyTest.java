@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
+import ru.practicum.shareit.exception.UnavailableItemException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@DataJpaTest(properties = {
+        "shareit.read-path.bookings=jpa",
+        "shareit.read-path.owner-bookings=jpa"})
+@Import({BookingServiceImpl.class, BookingAvailabilityIndex.class, OutboxWriter.class, ItemBookingSummaryTracker.class,
+        BookingJdbcReader.class, BookingCountsCache.class, BookingViewWriter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// подтверждения фиксируются в собственных транзакциях, поэтому общая транзакция теста отключена
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingApproveConcurrencyTest {
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@email.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@email.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // вещи и бронирования удаляются каскадно вместе с пользователями
+        userRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void approveAll_ShouldApproveOnlyOneOfOverlappingBookings_WhenBatchesRunConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDateTime start = LocalDateTime.now().plusDays(1 + round * 10L);
+                Booking first = createBooking(start, start.plusDays(2));
+                Booking second = createBooking(start.plusDays(1), start.plusDays(3));
+                CyclicBarrier barrier = new CyclicBarrier(2);
+
+                Future<List<BookingResponseDto>> firstResult = executor.submit(() -> approve(barrier, first));
+                Future<List<BookingResponseDto>> secondResult = executor.submit(() -> approve(barrier, second));
+
+                List<Throwable> failures = new ArrayList<>();
+                for (Future<List<BookingResponseDto>> result : List.of(firstResult, secondResult)) {
+                    try {
+                        result.get(10, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        failures.add(e.getCause());
+                    }
+                }
+
+                assertEquals(1, failures.size());
+                assertInstanceOf(UnavailableItemException.class, failures.getFirst());
+                assertEquals(1, bookingRepository.findAllById(List.of(first.getId(), second.getId())).stream()
+                        .filter(booking -> booking.getStatus() == Status.APPROVED)
+                        .count());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .booker(booker)
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(Status.WAITING)
+                .build());
+    }
+
+    private List<BookingResponseDto> approve(CyclicBarrier barrier, Booking booking) throws Exception {
+        barrier.await(10, TimeUnit.SECONDS);
+        return bookingService.approveAll(owner.getId(), List.of(new BookingDecisionDto(booking.getId(), true)));
+    }
+}
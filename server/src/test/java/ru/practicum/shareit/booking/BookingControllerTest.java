@@ -8,11 +8,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingApproveDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.stream.BookingStreamBroadcaster;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
@@ -23,9 +27,11 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -36,6 +42,9 @@ class BookingControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BookingStreamBroadcaster bookingStreamBroadcaster;
+
     @Autowired
     private MockMvc mvc;
 
@@ -121,6 +130,32 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(approvedResponse.status().toString())));
     }
 
+    @Test
+    void approveBookings() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true));
+        BookingResponseDto approvedResponse = BookingResponseDto.builder()
+                .id(1L)
+                .start(responseDto.start())
+                .end(responseDto.end())
+                .item(itemShortDto)
+                .booker(userResponseDto)
+                .status(Status.APPROVED)
+                .build();
+
+        when(bookingService.approveAll(2L, decisions))
+                .thenReturn(List.of(approvedResponse));
+
+        mvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", 2L)
+                        .content(mapper.writeValueAsString(decisions))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(approvedResponse.id()), Long.class))
+                .andExpect(jsonPath("$[0].status", is(approvedResponse.status().toString())));
+    }
+
     @Test
     void getBookingById() throws Exception {
         when(bookingService.findById(anyLong(), anyLong()))
@@ -136,6 +171,19 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.booker.id", is(responseDto.booker().id()), Long.class));
     }
 
+    @Test
+    void getBookingCountsByBooker() throws Exception {
+        when(bookingService.findCountsByBookerId(1L)).thenReturn(new BookingCountsDto(4, 1, 1, 2, 1, 1));
+
+        mvc.perform(get("/bookings/counts")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(4)))
+                .andExpect(jsonPath("$.future", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)));
+    }
+
     @Test
     void getBookingsByBookerAndState() throws Exception {
         List<BookingResponseDto> bookings = List.of(responseDto);
@@ -222,4 +270,18 @@ class BookingControllerTest {
                     .andExpect(status().isOk());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamBookings() throws Exception {
+        when(bookingStreamBroadcaster.subscribe(1L, 42L)).thenReturn(new SseEmitter());
+
+        mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("Last-Event-ID", 42L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(bookingStreamBroadcaster).subscribe(1L, 42L);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.read-path.bookings=jdbc",
+        "shareit.read-path.owner-bookings=jdbc"})
+@Import({QueryCounter.class, BookingServiceImpl.class, BookingAvailabilityIndex.class, OutboxWriter.class, ItemBookingSummaryTracker.class,
+        BookingJdbcReader.class, BookingCountsCache.class, BookingViewWriter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingJdbcReaderTest {
+    private static final Sort START_DESC = Sort.by(Sort.Direction.DESC, "start");
+
+    @Autowired
+    private BookingJdbcReader reader;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private BookingViewRepository viewRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        booker = entityManager.persist(User.builder().name("Booker").email("booker@email.com").build());
+        Item drill = entityManager.persist(item("Drill"));
+        Item saw = entityManager.persist(item("Saw"));
+
+        entityManager.persist(booking(drill, now.minusDays(5), now.minusDays(4), Status.APPROVED));
+        entityManager.persist(booking(saw, now.minusDays(1), now.plusDays(1), Status.APPROVED));
+        entityManager.persist(booking(drill, now.plusDays(2), now.plusDays(3), Status.WAITING));
+        entityManager.persist(booking(saw, now.plusDays(4), now.plusDays(5), Status.REJECTED));
+        entityManager.flush();
+        viewRepository.insertMissing();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByBooker_ShouldMatchJpaProjectionForEveryState() {
+        assertTrue(reader.isBookerEnabled());
+        for (State state : State.values()) {
+            assertEquals(jpa(switch (state) {
+                case ALL -> viewRepository.findRowsByBookerId(booker.getId(), START_DESC);
+                case PAST -> viewRepository.findPastRowsByBooker(booker.getId(), now, START_DESC);
+                case FUTURE -> viewRepository.findFutureRowsByBooker(booker.getId(), now, START_DESC);
+                case CURRENT -> viewRepository.findCurrentRowsByBooker(booker.getId(), now, START_DESC);
+                case WAITING, REJECTED -> viewRepository.findRowsByBookerIdAndStatus(
+                        booker.getId(), Status.valueOf(state.name()), START_DESC);
+            }), reader.findByBooker(booker.getId(), state, now), "Unexpected bookings for state " + state);
+        }
+    }
+
+    @Test
+    void findByOwner_ShouldMatchJpaProjectionForEveryState() {
+        assertTrue(reader.isOwnerEnabled());
+        for (State state : State.values()) {
+            assertEquals(jpa(switch (state) {
+                case ALL -> viewRepository.findRowsByOwnerId(owner.getId(), START_DESC);
+                case PAST -> viewRepository.findPastRowsByOwner(owner.getId(), now, START_DESC);
+                case FUTURE -> viewRepository.findFutureRowsByOwner(owner.getId(), now, START_DESC);
+                case CURRENT -> viewRepository.findCurrentRowsByOwner(owner.getId(), now, START_DESC);
+                case WAITING, REJECTED -> viewRepository.findRowsByOwnerIdAndStatus(
+                        owner.getId(), Status.valueOf(state.name()), START_DESC);
+            }), reader.findByOwner(owner.getId(), state, now), "Unexpected bookings for state " + state);
+        }
+    }
+
+    @Test
+    void findByOwnerIdAndState_ShouldBypassHibernate_WhenJdbcSelected() {
+        List<BookingResponseDto> result = new ArrayList<>();
+
+        long queries = queryCounter.count(() ->
+                result.addAll(bookingService.findByOwnerIdAndState(owner.getId(), State.ALL)));
+
+        assertEquals(4, result.size());
+        assertFalse(result.getFirst().start().isBefore(result.getLast().start()));
+        assertEquals("Booker", result.getFirst().booker().name());
+        assertEquals(0, queries);
+    }
+
+    private static List<BookingResponseDto> jpa(List<BookingRow> rows) {
+        return rows.stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .toList();
+    }
+
+    private Item item(String name) {
+        return Item.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+}
@@ -1,31 +1,54 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
 import ru.practicum.shareit.booking.dto.BookingApproveDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.NoContentException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(BookingServiceImpl.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.read-path.bookings=jpa",
+        "shareit.read-path.owner-bookings=jpa"})
+@Import({QueryCounter.class, BookingServiceImpl.class, BookingAvailabilityIndex.class, OutboxWriter.class, ItemBookingSummaryTracker.class,
+        BookingJdbcReader.class, BookingCountsCache.class, BookingViewWriter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
 class BookingServiceImplTest {
 
     @Autowired
@@ -40,6 +63,21 @@ class BookingServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingViewWriter viewWriter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
     private User createUser(String name, String email) {
         User user = User.builder()
                 .name(name)
@@ -66,7 +104,9 @@ class BookingServiceImplTest {
                 .end(end)
                 .status(status)
                 .build();
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        viewWriter.onCreated(saved);
+        return saved;
     }
 
     @Test
@@ -89,6 +129,25 @@ class BookingServiceImplTest {
         assertEquals(end, savedBooking.end());
     }
 
+    @Test
+    void save_ShouldWriteOutboxEventInSameTransaction() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        BookingCreateDto createDto = new BookingCreateDto(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        BookingResponseDto savedBooking = bookingService.save(booker.getId(), createDto);
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(AggregateType.BOOKING, events.getFirst().getAggregateType());
+        assertEquals(savedBooking.id(), events.getFirst().getAggregateId());
+        assertEquals(OutboxEventType.BOOKING_CREATED, events.getFirst().getType());
+        assertTrue(events.getFirst().getPayload().contains("\"status\":\"WAITING\""));
+        assertNull(events.getFirst().getPublishedAt());
+    }
+
     @Test
     void save_ShouldThrowNotFoundException_WhenUserNotExists() {
         User owner = createUser("Owner", "owner@email.com");
@@ -176,6 +235,50 @@ class BookingServiceImplTest {
         assertTrue(exception.getMessage().contains("already booked"));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void save_ShouldCreateBooking_WhenIndexHoldsStaleInterval() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(3);
+        Booking cancelled = createBooking(booker, item, start, end, Status.APPROVED);
+        entityManager.flush();
+        availabilityIndex.warmUp();
+        // удаление на другом экземпляре приложения: локальный индекс об этом не знает
+        bookingRepository.delete(cancelled);
+        entityManager.flush();
+        assertFalse(availabilityIndex.findBookedIntervals(item.getId(), start, end).isEmpty());
+
+        BookingResponseDto saved = bookingService.save(booker.getId(), new BookingCreateDto(item.getId(), start, end));
+
+        assertEquals(Status.WAITING, saved.status());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void save_ShouldThrowUnavailableItemException_WhenIndexMissesApproval() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker1 = createUser("Booker1", "booker1@email.com");
+        User booker2 = createUser("Booker2", "booker2@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(3);
+        availabilityIndex.warmUp();
+        // подтверждение на другом экземпляре приложения: локальный индекс об этом не знает
+        createBooking(booker1, item, start, end, Status.APPROVED);
+        entityManager.flush();
+        assertTrue(availabilityIndex.findBookedIntervals(item.getId(), start, end).isEmpty());
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.save(booker2.getId(), new BookingCreateDto(item.getId(), start, end)));
+
+        assertEquals(item.getId(), exception.getItemId());
+    }
+
     @Test
     void findById_ShouldReturnBookingForBooker() {
         User owner = createUser("Owner", "owner@email.com");
@@ -467,6 +570,93 @@ class BookingServiceImplTest {
         assertEquals(999, exception.getEntityId());
     }
 
+    @Test
+    void findByBookerIdAndState_ShouldUseSingleQuery_WhenBookingsFound() {
+        User booker = createUser("Booker", "booker@email.com");
+        User firstOwner = createUser("Owner1", "owner1@email.com");
+        User secondOwner = createUser("Owner2", "owner2@email.com");
+        Item firstItem = createItem(firstOwner, "Name1", "Description1", true);
+        Item secondItem = createItem(secondOwner, "Name2", "Description2", true);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, firstItem, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        createBooking(booker, secondItem, now.plusDays(1), now.plusDays(2), Status.WAITING);
+
+        for (State state : List.of(State.ALL, State.CURRENT, State.FUTURE, State.WAITING)) {
+            long queries = queryCounter.count(() -> bookingService.findByBookerIdAndState(booker.getId(), state));
+            assertEquals(1, queries, "Unexpected query count for state " + state);
+        }
+    }
+
+    @Test
+    void findByBookerIdAndState_ShouldUseTwoQueries_WhenNoBookingsInState() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+
+        long queries = queryCounter.count(() ->
+                assertTrue(bookingService.findByBookerIdAndState(booker.getId(), State.FUTURE).isEmpty()));
+
+        assertEquals(2, queries);
+    }
+
+    @Test
+    void findByOwnerIdAndState_ShouldUseSingleQuery_WhenBookingsFound() {
+        User owner = createUser("Owner", "owner@email.com");
+        User firstBooker = createUser("Booker1", "booker1@email.com");
+        User secondBooker = createUser("Booker2", "booker2@email.com");
+        Item firstItem = createItem(owner, "Name1", "Description1", true);
+        Item secondItem = createItem(owner, "Name2", "Description2", true);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(firstBooker, firstItem, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        createBooking(secondBooker, secondItem, now.plusDays(1), now.plusDays(2), Status.WAITING);
+
+        for (State state : List.of(State.ALL, State.CURRENT, State.FUTURE, State.WAITING)) {
+            long queries = queryCounter.count(() -> bookingService.findByOwnerIdAndState(owner.getId(), state));
+            assertEquals(1, queries, "Unexpected query count for state " + state);
+        }
+    }
+
+    @Test
+    void findByOwnerIdAndState_ShouldReadProjectionWithoutLoadingEntities() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = queryCounter.statistics();
+        statistics.clear();
+
+        List<BookingResponseDto> result = bookingService.findByOwnerIdAndState(owner.getId(), State.ALL);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, result.size());
+        assertEquals("Name", result.getFirst().item().name());
+        assertEquals("Booker", result.getFirst().booker().name());
+        assertEquals("booker@email.com", result.getFirst().booker().email());
+    }
+
+    @Test
+    void findByOwnerIdAndState_ShouldUseTwoQueries_WhenNoBookingsInState() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+
+        long queries = queryCounter.count(() ->
+                assertTrue(bookingService.findByOwnerIdAndState(owner.getId(), State.REJECTED).isEmpty()));
+
+        assertEquals(2, queries);
+    }
 
     @Test
     void approve_ShouldApproveBooking() {
@@ -486,6 +676,44 @@ class BookingServiceImplTest {
         assertEquals(booking.getId(), approvedBooking.id());
     }
 
+    @Test
+    void saveAndApprove_ShouldBeVisibleInListingsOfBookerAndOwner() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        BookingResponseDto saved = bookingService.save(booker.getId(),
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)));
+
+        assertEquals(List.of(saved.id()), bookingService.findByBookerIdAndState(booker.getId(), State.WAITING)
+                .stream().map(BookingResponseDto::id).toList());
+
+        bookingService.approve(new BookingApproveDto(saved.id(), owner.getId(), item.getId(), true));
+
+        assertTrue(bookingService.findByOwnerIdAndState(owner.getId(), State.WAITING).isEmpty());
+        List<BookingResponseDto> future = bookingService.findByOwnerIdAndState(owner.getId(), State.FUTURE);
+        assertEquals(1, future.size());
+        assertEquals(Status.APPROVED, future.getFirst().status());
+        assertEquals("Name", future.getFirst().item().name());
+        assertEquals("Booker", future.getFirst().booker().name());
+    }
+
+    @Test
+    void approve_ShouldWriteOutboxEvent() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        Booking booking = createBooking(booker, item,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), Status.WAITING);
+
+        bookingService.approve(new BookingApproveDto(booking.getId(), owner.getId(), item.getId(), false));
+        bookingService.deleteById(booking.getId());
+
+        assertEquals(List.of(OutboxEventType.BOOKING_REJECTED, OutboxEventType.BOOKING_DELETED),
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getType).toList());
+    }
+
     @Test
     void approve_ShouldRejectBooking() {
         User owner = createUser("Owner", "owner@email.com");
@@ -541,6 +769,125 @@ class BookingServiceImplTest {
         assertTrue(exception.getMessage().contains("cannot be changed from"));
     }
 
+    @Test
+    void approveAll_ShouldApplyDecisionsInRequestOrder() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item drill = createItem(owner, "Drill", "Description", true);
+        Item saw = createItem(owner, "Saw", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = createBooking(booker, drill, start, start.plusDays(1), Status.WAITING);
+        Booking second = createBooking(booker, drill, start, start.plusDays(1), Status.WAITING);
+        Booking third = createBooking(booker, saw, start, start.plusDays(1), Status.WAITING);
+
+        List<BookingResponseDto> result = bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(third.getId(), true),
+                new BookingDecisionDto(first.getId(), true),
+                new BookingDecisionDto(second.getId(), false)));
+
+        assertEquals(List.of(third.getId(), first.getId(), second.getId()),
+                result.stream().map(BookingResponseDto::id).toList());
+        assertEquals(List.of(Status.APPROVED, Status.APPROVED, Status.REJECTED),
+                result.stream().map(BookingResponseDto::status).toList());
+        assertEquals(List.of(OutboxEventType.BOOKING_APPROVED, OutboxEventType.BOOKING_APPROVED,
+                        OutboxEventType.BOOKING_REJECTED),
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getType).toList());
+    }
+
+    @Test
+    void approveAll_ShouldWriteStatusesInOneBatch() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(createBooking(booker, item, start, start.plusDays(1), Status.WAITING).getId(), false),
+                new BookingDecisionDto(createBooking(booker, item, start, start.plusDays(1), Status.WAITING).getId(), false),
+                new BookingDecisionDto(createBooking(booker, item, start, start.plusDays(1), Status.WAITING).getId(), false));
+
+        long queries = queryCounter.count(() -> bookingService.approveAll(owner.getId(), decisions));
+        Statistics statistics = queryCounter.statistics();
+
+        assertEquals(3, statistics.getEntityUpdateCount());
+        // блокировка вещей, выборка бронирований, одно пакетное обновление статусов,
+        // одно обновление модели чтения и три события outbox
+        assertEquals(7, queries);
+    }
+
+    @Test
+    void approveAll_ShouldChangeNothing_WhenBookingOverlapsApproved() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item drill = createItem(owner, "Drill", "Description", true);
+        Item saw = createItem(owner, "Saw", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        createBooking(booker, drill, start, start.plusDays(2), Status.APPROVED);
+        Booking free = createBooking(booker, saw, start, start.plusDays(1), Status.WAITING);
+        Booking overlapping = createBooking(booker, drill, start.plusDays(1), start.plusDays(3), Status.WAITING);
+
+        UnavailableItemException exception = assertThrows(UnavailableItemException.class,
+                () -> bookingService.approveAll(owner.getId(), List.of(
+                        new BookingDecisionDto(free.getId(), true),
+                        new BookingDecisionDto(overlapping.getId(), true))));
+
+        assertTrue(exception.getMessage().contains("Item already booked for this period"));
+        assertEquals(Status.WAITING, bookingRepository.findById(free.getId()).orElseThrow().getStatus());
+        assertTrue(outboxEventRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void approveAll_ShouldThrowUnavailableItemException_WhenBatchBookingsOverlap() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = createBooking(booker, item, start, start.plusDays(2), Status.WAITING);
+        Booking second = createBooking(booker, item, start.plusDays(1), start.plusDays(3), Status.WAITING);
+        Booking adjacent = createBooking(booker, item, start.plusDays(2), start.plusDays(4), Status.WAITING);
+
+        assertEquals(2, bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(first.getId(), true),
+                new BookingDecisionDto(adjacent.getId(), true))).size());
+        assertThrows(UnavailableItemException.class, () -> bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(second.getId(), true))));
+    }
+
+    @Test
+    void approveAll_ShouldThrowAccessForbiddenException_WhenNotOwner() {
+        User owner = createUser("Owner", "owner@email.com");
+        User other = createUser("Other", "other@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item own = createItem(owner, "Own", "Description", true);
+        Item foreign = createItem(other, "Foreign", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking ownBooking = createBooking(booker, own, start, start.plusDays(1), Status.WAITING);
+        Booking foreignBooking = createBooking(booker, foreign, start, start.plusDays(1), Status.WAITING);
+
+        assertThrows(AccessForbiddenException.class, () -> bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(ownBooking.getId(), true),
+                new BookingDecisionDto(foreignBooking.getId(), true))));
+    }
+
+    @Test
+    void approveAll_ShouldThrowNotFoundException_WhenBookingNotExists() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = createBooking(booker, item, start, start.plusDays(1), Status.WAITING);
+
+        assertThrows(NotFoundException.class, () -> bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(booking.getId(), true),
+                new BookingDecisionDto(999L, true))));
+    }
+
+    @Test
+    void approveAll_ShouldThrowIllegalArgumentException_WhenBookingDuplicated() {
+        assertThrows(IllegalArgumentException.class, () -> bookingService.approveAll(1L, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(1L, false))));
+    }
+
     @Test
     void deleteById_ShouldRemoveBooking() {
         User owner = createUser("Owner", "owner@email.com");
@@ -581,4 +928,39 @@ class BookingServiceImplTest {
 
         assertEquals("Booking", exception.getContentType());
     }
+
+    @Test
+    void findCountsByBookerIdAndOwnerId_ShouldCountEveryStateInOneQuery() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Item", "Description", true);
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(5), now.minusDays(4), Status.APPROVED);
+        createBooking(booker, item, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        createBooking(booker, item, now.plusDays(2), now.plusDays(3), Status.WAITING);
+        createBooking(booker, item, now.plusDays(4), now.plusDays(5), Status.REJECTED);
+        BookingCountsDto expected = new BookingCountsDto(4, 1, 1, 2, 1, 1);
+        List<BookingCountsDto> result = new ArrayList<>();
+
+        long bookerQueries = queryCounter.count(() -> result.add(bookingService.findCountsByBookerId(booker.getId())));
+        long ownerQueries = queryCounter.count(() -> result.add(bookingService.findCountsByOwnerId(owner.getId())));
+
+        assertEquals(List.of(expected, expected), result);
+        assertEquals(1, bookerQueries);
+        assertEquals(1, ownerQueries);
+        assertEquals(0, queryCounter.count(() -> bookingService.findCountsByBookerId(booker.getId())));
+    }
+
+    @Test
+    void findCountsByBookerId_ShouldReturnZeros_WhenUserHasNoBookings() {
+        User user = createUser("User", "user@email.com");
+
+        assertEquals(new BookingCountsDto(0, 0, 0, 0, 0, 0), bookingService.findCountsByBookerId(user.getId()));
+        assertEquals(new BookingCountsDto(0, 0, 0, 0, 0, 0), bookingService.findCountsByOwnerId(user.getId()));
+    }
+
+    @Test
+    void findCountsByOwnerId_ShouldThrowNotFoundException_WhenUserNotExists() {
+        assertThrows(NotFoundException.class, () -> bookingService.findCountsByOwnerId(999L));
+    }
 }
\ No newline at end of file
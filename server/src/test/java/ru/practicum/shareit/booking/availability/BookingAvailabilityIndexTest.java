@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAvailabilityIndexTest {
+    private static final long ITEM_ID = 5L;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingAvailabilityIndex index = new BookingAvailabilityIndex(bookingRepository);
+
+    private BookingInterval interval(long bookingId, int fromDay, int toDay) {
+        return new BookingInterval(bookingId, ITEM_ID, base.plusDays(fromDay), base.plusDays(toDay));
+    }
+
+    private Booking booking(BookingInterval interval) {
+        return Booking.builder()
+                .id(interval.bookingId())
+                .item(Item.builder().id(interval.itemId()).build())
+                .start(interval.start())
+                .end(interval.end())
+                .status(Status.APPROVED)
+                .build();
+    }
+
+    @Test
+    void findBookedIntervals_ShouldQueryDatabase_WhenNotWarmedUp() {
+        BookingInterval approved = interval(1L, 0, 2);
+        when(bookingRepository.findApprovedIntervalsForItem(ITEM_ID, base, base.plusDays(1)))
+                .thenReturn(List.of(approved));
+
+        assertEquals(List.of(approved), index.findBookedIntervals(ITEM_ID, base, base.plusDays(1)));
+    }
+
+    @Test
+    void warmUp_ShouldNotRestoreBookingRemovedWhileLoading() {
+        BookingInterval removed = interval(1L, 0, 2);
+        BookingInterval kept = interval(2L, 4, 6);
+        when(bookingRepository.streamApprovedIntervals()).thenReturn(Stream.of(removed, kept)
+                .peek(interval -> {
+                    if (interval == kept) {
+                        index.removeAfterCommit(booking(removed));
+                    }
+                }));
+
+        index.warmUp();
+
+        assertTrue(index.findBookedIntervals(ITEM_ID, base, base.plusDays(2)).isEmpty());
+        assertEquals(List.of(kept), index.findBookedIntervals(ITEM_ID, base.plusDays(4), base.plusDays(5)));
+    }
+
+    @Test
+    void warmUp_ShouldKeepBookingAddedWhileLoading() {
+        BookingInterval loaded = interval(1L, 0, 2);
+        BookingInterval added = interval(2L, 4, 6);
+        when(bookingRepository.streamApprovedIntervals()).thenReturn(Stream.of(loaded)
+                .peek(interval -> index.addAfterCommit(booking(added))));
+
+        index.warmUp();
+
+        assertEquals(List.of(loaded, added), index.findBookedIntervals(ITEM_ID, base, base.plusDays(10)));
+    }
+
+    @Test
+    void warmUp_ShouldReplacePreviousContent() {
+        when(bookingRepository.streamApprovedIntervals()).thenReturn(Stream.of(interval(1L, 0, 2)));
+        index.warmUp();
+        when(bookingRepository.streamApprovedIntervals()).thenReturn(Stream.empty());
+
+        index.warmUp();
+
+        assertTrue(index.findBookedIntervals(ITEM_ID, base, base.plusDays(2)).isEmpty());
+    }
+}
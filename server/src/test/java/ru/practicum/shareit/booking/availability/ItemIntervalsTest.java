@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemIntervalsTest {
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private LocalDateTime day(int day) {
+        return base.plusDays(day);
+    }
+
+    @Test
+    void overlaps_ShouldUseHalfOpenIntervals() {
+        ItemIntervals intervals = ItemIntervals.EMPTY.with(1L, day(2), day(4));
+
+        assertTrue(intervals.overlaps(day(3), day(5)));
+        assertTrue(intervals.overlaps(day(1), day(3)));
+        assertTrue(intervals.overlaps(day(1), day(5)));
+        assertFalse(intervals.overlaps(day(4), day(5)));
+        assertFalse(intervals.overlaps(day(0), day(2)));
+    }
+
+    @Test
+    void overlaps_ShouldFindLongIntervalStartedBeforeShortOnes() {
+        ItemIntervals intervals = ItemIntervals.EMPTY
+                .with(1L, day(0), day(30))
+                .with(2L, day(1), day(2))
+                .with(3L, day(5), day(6));
+
+        assertTrue(intervals.overlaps(day(10), day(11)));
+        assertFalse(intervals.overlaps(day(30), day(31)));
+    }
+
+    @Test
+    void overlapping_ShouldReturnIntervalsInStartOrder() {
+        ItemIntervals intervals = ItemIntervals.of(List.of(
+                new BookingInterval(3L, 7L, day(8), day(9)),
+                new BookingInterval(1L, 7L, day(0), day(1)),
+                new BookingInterval(2L, 7L, day(2), day(5))));
+
+        List<BookingInterval> result = intervals.overlapping(7L, day(3), day(9));
+
+        assertEquals(List.of(
+                new BookingInterval(2L, 7L, day(2), day(5)),
+                new BookingInterval(3L, 7L, day(8), day(9))), result);
+    }
+
+    @Test
+    void with_ShouldReplaceIntervalWithSameBookingId() {
+        ItemIntervals intervals = ItemIntervals.EMPTY
+                .with(1L, day(0), day(1))
+                .with(1L, day(5), day(6));
+
+        assertEquals(1, intervals.size());
+        assertFalse(intervals.overlaps(day(0), day(1)));
+        assertTrue(intervals.overlaps(day(5), day(6)));
+    }
+
+    @Test
+    void without_ShouldRemoveInterval() {
+        ItemIntervals intervals = ItemIntervals.EMPTY
+                .with(1L, day(0), day(10))
+                .with(2L, day(2), day(3));
+
+        ItemIntervals result = intervals.without(1L);
+
+        assertEquals(1, result.size());
+        assertFalse(result.overlaps(day(5), day(6)));
+        assertSame(result, result.without(42L));
+    }
+
+    @Test
+    void overlaps_ShouldKeepMicrosecondPrecision() {
+        ItemIntervals intervals = ItemIntervals.EMPTY.with(1L, day(1), day(2).plusNanos(1_000));
+
+        assertTrue(intervals.overlaps(day(2), day(3)));
+        assertFalse(ItemIntervals.EMPTY.with(1L, day(1), day(2)).overlaps(day(2), day(3)));
+    }
+}
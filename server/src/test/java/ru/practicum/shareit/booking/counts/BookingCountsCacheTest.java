@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.counts;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingCountsCacheTest {
+
+    private final BookingCountsCache cache = new BookingCountsCache(Duration.ofMinutes(1), 10);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private BookingCountsDto load(Long userId) {
+        return new BookingCountsDto(loads.incrementAndGet(), 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void evictAfterCommit_ShouldRemoveCountsOfBookerAndOwnerOnly() {
+        Booking booking = Booking.builder()
+                .booker(User.builder().id(1L).build())
+                .item(Item.builder().id(10L).owner(User.builder().id(2L).build()).build())
+                .build();
+        cache.getForBooker(1L, this::load);
+        cache.getForOwner(2L, this::load);
+        cache.getForBooker(3L, this::load);
+        cache.getForOwner(1L, this::load);
+
+        cache.evictAfterCommit(booking);
+
+        assertEquals(5, cache.getForBooker(1L, this::load).all());
+        assertEquals(6, cache.getForOwner(2L, this::load).all());
+        assertEquals(3, cache.getForBooker(3L, this::load).all());
+        assertEquals(4, cache.getForOwner(1L, this::load).all());
+    }
+
+    @Test
+    void clearAfterCommit_ShouldRemoveAllCounts() {
+        cache.getForBooker(1L, this::load);
+        cache.getForOwner(1L, this::load);
+
+        cache.clearAfterCommit();
+
+        assertEquals(3, cache.getForBooker(1L, this::load).all());
+        assertEquals(4, cache.getForOwner(1L, this::load).all());
+    }
+}
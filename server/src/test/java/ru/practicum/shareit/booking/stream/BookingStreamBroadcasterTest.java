@@ -0,0 +1,210 @@
+package ru.practicum.shareit.booking.stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemOwnerRow;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+@Import(BookingStreamBroadcaster.class)
+class BookingStreamBroadcasterTest {
+    private static final long BOOKER_ID = 1L;
+    private static final long OWNER_ID = 2L;
+    private static final long STRANGER_ID = 3L;
+    private static final long ITEM_ID = 5L;
+    private static final long OTHER_ITEM_ID = 4L;
+
+    @MockitoBean
+    private BookingService bookingService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @MockitoBean
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingStreamBroadcaster broadcaster;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(itemRepository.findOwnerIdById(ITEM_ID)).thenReturn(Optional.of(OWNER_ID));
+        when(itemRepository.findOwnerIdById(OTHER_ITEM_ID)).thenReturn(Optional.of(OWNER_ID));
+    }
+
+    @Test
+    void onDomainEvent_ShouldSendBookingToBookerAndOwnerOnly() throws Exception {
+        MvcResult booker = subscribe(BOOKER_ID, null);
+        MvcResult owner = subscribe(OWNER_ID, null);
+        MvcResult stranger = subscribe(STRANGER_ID, null);
+
+        broadcaster.onDomainEvent(bookingEvent(10L, OutboxEventType.BOOKING_APPROVED, BOOKER_ID, ITEM_ID));
+        broadcaster.onDomainEvent(new DomainEvent(11L, 11L, AggregateType.BOOKING, 1L,
+                OutboxEventType.BOOKING_DELETED, null, LocalDateTime.now()));
+
+        String bookerStream = awaitContent(booker, "id:10");
+        String ownerStream = awaitContent(owner, "id:10");
+        assertTrue(bookerStream.contains("event:BOOKING_APPROVED"));
+        assertTrue(bookerStream.contains("\"status\":\"APPROVED\""));
+        assertTrue(ownerStream.contains("\"booker\":{\"id\":1}"));
+        assertFalse(bookerStream.contains("id:11"));
+        assertEquals("", stranger.getResponse().getContentAsString());
+        verify(itemRepository, times(1)).findOwnerIdById(ITEM_ID);
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEventsOfUser() throws Exception {
+        when(itemRepository.findOwnerIdsByIds(anyCollection())).thenReturn(List.of(
+                new ItemOwnerRow(OTHER_ITEM_ID, OWNER_ID), new ItemOwnerRow(6L, 8L)));
+        when(outboxEventRepository.findAllByPublishSeqGreaterThanAndAggregateTypeOrderByPublishSeq(
+                5L, AggregateType.BOOKING, Limit.of(1001)))
+                .thenReturn(List.of(
+                        outboxEvent(bookingEvent(6L, OutboxEventType.BOOKING_CREATED, BOOKER_ID, OTHER_ITEM_ID)),
+                        outboxEvent(bookingEvent(7L, OutboxEventType.BOOKING_CREATED, 9L, 6L)),
+                        outboxEvent(bookingEvent(8L, OutboxEventType.BOOKING_APPROVED, BOOKER_ID, OTHER_ITEM_ID))));
+
+        MvcResult owner = subscribe(OWNER_ID, 5L);
+        broadcaster.onDomainEvent(bookingEvent(8L, OutboxEventType.BOOKING_APPROVED, BOOKER_ID, OTHER_ITEM_ID));
+        broadcaster.onDomainEvent(bookingEvent(12L, OutboxEventType.BOOKING_REJECTED, BOOKER_ID, OTHER_ITEM_ID));
+
+        String ownerStream = awaitContent(owner, "id:12");
+        assertTrue(ownerStream.indexOf("id:6") < ownerStream.indexOf("id:8"));
+        assertEquals(ownerStream.indexOf("id:8"), ownerStream.lastIndexOf("id:8"));
+        assertFalse(ownerStream.contains("id:7"));
+        verify(itemRepository, times(1)).findOwnerIdsByIds(anyCollection());
+        verify(itemRepository, never()).findOwnerIdById(6L);
+    }
+
+    @Test
+    void subscribe_WhenTooManyMissedEvents_ShouldSendResetInsteadOfReplay() throws Exception {
+        List<OutboxEvent> missed = LongStream.rangeClosed(6, 1006)
+                .mapToObj(sequence -> outboxEvent(bookingEvent(sequence, OutboxEventType.BOOKING_CREATED,
+                        BOOKER_ID, ITEM_ID)))
+                .toList();
+        when(outboxEventRepository.findAllByPublishSeqGreaterThanAndAggregateTypeOrderByPublishSeq(
+                5L, AggregateType.BOOKING, Limit.of(1001)))
+                .thenReturn(missed);
+        when(outboxEventRepository.findLastPublishSeq()).thenReturn(2000L);
+
+        MvcResult booker = subscribe(BOOKER_ID, 5L);
+        broadcaster.onDomainEvent(bookingEvent(2001L, OutboxEventType.BOOKING_APPROVED, BOOKER_ID, ITEM_ID));
+
+        String bookerStream = awaitContent(booker, "id:2001");
+        assertTrue(bookerStream.contains("id:2000\nevent:reset\n"));
+        assertFalse(bookerStream.contains("id:6\n"));
+        verify(itemRepository, never()).findOwnerIdsByIds(anyCollection());
+    }
+
+    @Test
+    void onDomainEvent_ShouldDeliverEventWithLowerSequenceArrivingLater() throws Exception {
+        MvcResult booker = subscribe(BOOKER_ID, null);
+
+        broadcaster.onDomainEvent(bookingEvent(12L, OutboxEventType.BOOKING_CREATED, BOOKER_ID, ITEM_ID));
+        broadcaster.onDomainEvent(bookingEvent(11L, OutboxEventType.BOOKING_CREATED, BOOKER_ID, ITEM_ID));
+        broadcaster.onDomainEvent(bookingEvent(12L, OutboxEventType.BOOKING_CREATED, BOOKER_ID, ITEM_ID));
+        broadcaster.onDomainEvent(bookingEvent(13L, OutboxEventType.BOOKING_APPROVED, BOOKER_ID, ITEM_ID));
+
+        String bookerStream = awaitContent(booker, "id:13");
+        assertTrue(bookerStream.contains("id:11"));
+        assertEquals(bookerStream.indexOf("id:12"), bookerStream.lastIndexOf("id:12"));
+    }
+
+    @Test
+    void subscribe_WhenUserNotFound_ShouldReturnNotFound() throws Exception {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 99L)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private MvcResult subscribe(long userId, Long lastEventId) throws Exception {
+        var builder = get("/bookings/stream")
+                .header("X-Sharer-User-Id", userId)
+                .accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static DomainEvent bookingEvent(long sequence, OutboxEventType type, long bookerId, long itemId) {
+        String status = type == OutboxEventType.BOOKING_CREATED ? "WAITING"
+                : type == OutboxEventType.BOOKING_APPROVED ? "APPROVED" : "REJECTED";
+        String payload = "{\"id\":100,\"item\":{\"id\":" + itemId + ",\"name\":\"Item\"},"
+                + "\"booker\":{\"id\":" + bookerId + "},\"status\":\"" + status + "\"}";
+        return new DomainEvent(sequence + 1000, sequence, AggregateType.BOOKING, 100L, type, payload,
+                LocalDateTime.now());
+    }
+
+    private static OutboxEvent outboxEvent(DomainEvent event) {
+        return OutboxEvent.builder()
+                .id(event.id())
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .type(event.type())
+                .payload(event.payload())
+                .created(event.created())
+                .publishedAt(event.created())
+                .publishSeq(event.sequence())
+                .build();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String content = result.getResponse().getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Stream does not contain " + expected + ": "
+                + result.getResponse().getContentAsString());
+    }
+}
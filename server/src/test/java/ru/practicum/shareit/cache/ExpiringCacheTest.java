@@ -0,0 +1,77 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(Long key) {
+        return key + ":" + loads.incrementAndGet();
+    }
+
+    @Test
+    void get_ShouldReturnCachedValueUntilTtlExpires() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(Duration.ofSeconds(30), 10, clock::get);
+
+        assertEquals("1:1", cache.get(1L, this::load));
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals("1:1", cache.get(1L, this::load));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("1:2", cache.get(1L, this::load));
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedEntry_WhenSizeExceeded() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(Duration.ofMinutes(1), 2, clock::get);
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        assertEquals("1:1", cache.get(1L, this::load));
+        assertEquals("2:4", cache.get(2L, this::load));
+    }
+
+    @Test
+    void clear_ShouldRemoveAllEntries() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(Duration.ofMinutes(1), 10, clock::get);
+
+        cache.get(1L, this::load);
+        cache.clear();
+
+        assertEquals("1:2", cache.get(1L, this::load));
+    }
+
+    @Test
+    void invalidate_ShouldRemoveOnlyGivenKey() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(Duration.ofMinutes(1), 10, clock::get);
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.invalidate(1L);
+
+        assertEquals("1:3", cache.get(1L, this::load));
+        assertEquals("2:2", cache.get(2L, this::load));
+    }
+
+    @Test
+    void get_ShouldNotStoreValue_WhenInvalidatedDuringLoad() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(Duration.ofMinutes(1), 10, clock::get);
+
+        assertEquals("1:1", cache.get(1L, key -> {
+            cache.invalidate(key);
+            return load(key);
+        }));
+
+        assertEquals("1:2", cache.get(1L, this::load));
+    }
+}
@@ -8,19 +8,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -128,9 +138,13 @@ class ItemControllerTest {
                         .requestId(1L)
                         .build();
 
-        when(itemService.findByUserId(anyLong())).thenReturn(List.of(itemWithCommentsDto));
+        when(itemService.findByUserId(1L, 5L, 20, EnumSet.of(ItemExpand.BOOKINGS)))
+                .thenReturn(List.of(itemWithCommentsDto));
         mvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L)
+                        .param("after", "5")
+                        .param("size", "20")
+                        .param("expand", "BOOKINGS")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -191,6 +205,100 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].requestId", is(itemResponseDto.requestId()), Long.class));
     }
 
+    @Test
+    void getItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 10, 0, 0);
+        BookedPeriodDto bookedPeriod = new BookedPeriodDto(from.plusDays(1), from.plusDays(2));
+        ItemAvailabilityDto availabilityDto = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .available(false)
+                .bookedPeriods(List.of(bookedPeriod))
+                .build();
+
+        when(itemService.findAvailability(1L, from, to)).thenReturn(availabilityDto);
+        mvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$.available", is(false), Boolean.class))
+                .andExpect(jsonPath("$.bookedPeriods[0].start", is("2030-01-02T10:00:00")))
+                .andExpect(jsonPath("$.bookedPeriods[0].end", is("2030-01-03T10:00:00")));
+    }
+
+    @Test
+    void getComments() throws Exception {
+        CommentRequestDto comment = new CommentRequestDto(5L, "text", "author", LocalDateTime.of(2030, 1, 1, 10, 0));
+        CommentPageDto page = new CommentPageDto(List.of(comment), 5L);
+
+        when(itemService.findComments(1L, 7L, 1)).thenReturn(page);
+        mvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("after", "7")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].id", is(5L), Long.class))
+                .andExpect(jsonPath("$.comments[0].authorName", is("author")))
+                .andExpect(jsonPath("$.cursor", is(5L), Long.class));
+    }
+
+    @Test
+    void getItemStats() throws Exception {
+        ItemStatsDto statsDto = ItemStatsDto.builder()
+                .itemId(1L)
+                .name("name")
+                .waiting(1)
+                .approved(3)
+                .occupied(true)
+                .bookedDays(7)
+                .comments(2)
+                .build();
+
+        when(itemService.findStats(1L)).thenReturn(List.of(statsDto));
+        mvc.perform(get("/items/stats")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, private"))
+                .andExpect(jsonPath("$[0].itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].approved", is(3L), Long.class))
+                .andExpect(jsonPath("$[0].occupied", is(true), Boolean.class))
+                .andExpect(jsonPath("$[0].bookedDays", is(7L), Long.class))
+                .andExpect(jsonPath("$[0].comments", is(2L), Long.class));
+    }
+
+    @Test
+    void suggestItemNames() throws Exception {
+        when(itemService.suggest("dr", 5)).thenReturn(List.of("Drill", "Drum"));
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "dr")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=10, public"))
+                .andExpect(jsonPath("$[0]", is("Drill")))
+                .andExpect(jsonPath("$[1]", is("Drum")));
+    }
+
+    @Test
+    void searchItemsWithPeriod() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 10, 0, 0);
+
+        when(itemService.search("text", from, to)).thenReturn(List.of(itemResponseDto));
+        mvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemResponseDto.id()), Long.class));
+    }
+
     @Test
     void addComment() throws Exception {
         CommentCreateOrUpdateDto createOrUpdateDto = new CommentCreateOrUpdateDto("text");
@@ -209,4 +317,21 @@ class ItemControllerTest {
                         "$.created",
                         is(commentRequestDto.created().toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemsByIds() throws Exception {
+        Map<Long, BatchEntry<ItemResponseDto>> result = new LinkedHashMap<>();
+        result.put(1L, new BatchEntry<>(true, itemResponseDto));
+        result.put(5L, new BatchEntry<>(false, null));
+        when(itemService.findByIds(Set.of(1L, 5L))).thenReturn(result);
+
+        mvc.perform(get("/items")
+                        .param("ids", "1,5,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.found", is(true)))
+                .andExpect(jsonPath("$.1.value.name", is(itemResponseDto.name())))
+                .andExpect(jsonPath("$.5.found", is(false)))
+                .andExpect(jsonPath("$.5.value").doesNotExist());
+        verify(itemService, never()).findByUserId(anyLong(), anyLong(), anyInt(), anySet());
+    }
+}
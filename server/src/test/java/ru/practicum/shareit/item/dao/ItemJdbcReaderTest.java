@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.read-path.item-search=jdbc")
+@Import(ItemJdbcReader.class)
+class ItemJdbcReaderTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 10, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 1, 20, 0, 0);
+
+    @Autowired
+    private ItemJdbcReader reader;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        User booker = entityManager.persist(User.builder().name("Booker").email("booker@email.com").build());
+        ItemRequest request = entityManager.persist(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(booker)
+                .build());
+
+        entityManager.persist(item(owner, "Power Drill", "Electric tool", true, request));
+        entityManager.persist(item(owner, "Hammer", "Hand TOOL", true, null));
+        entityManager.persist(item(owner, "Broken drill", "Not working", false, null));
+        Item booked = entityManager.persist(item(owner, "Drill booked", "Electric tool", true, null));
+        Item waiting = entityManager.persist(item(owner, "Drill waiting", "Electric tool", true, null));
+        entityManager.persist(booking(booked, booker, FROM.plusDays(5), TO.plusDays(5), Status.APPROVED));
+        entityManager.persist(booking(waiting, booker, FROM, TO, Status.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_ShouldMatchJpaQuery() {
+        assertTrue(reader.isSearchEnabled());
+        for (String text : List.of("drill", "TOOL", "hammer", "missing")) {
+            assertEquals(sorted(itemRepository.search(text)), sorted(reader.search(text)),
+                    "Unexpected items for " + text);
+        }
+    }
+
+    @Test
+    void search_ShouldReturnRequestId() {
+        List<ItemResponseDto> result = reader.search("power");
+
+        assertEquals(1, result.size());
+        assertTrue(result.getFirst().available());
+        assertEquals(itemRepository.search("power").getFirst().requestId(), result.getFirst().requestId());
+    }
+
+    @Test
+    void searchFreeInPeriod_ShouldMatchJpaQuery() {
+        List<ItemResponseDto> result = reader.searchFreeInPeriod("drill", FROM, TO);
+
+        assertEquals(sorted(itemRepository.searchFreeInPeriod("drill", FROM, TO)), sorted(result));
+        assertEquals(List.of("Drill waiting", "Power Drill"),
+                result.stream().map(ItemResponseDto::name).sorted().toList());
+    }
+
+    private static List<ItemResponseDto> sorted(List<ItemResponseDto> items) {
+        return items.stream()
+                .sorted(Comparator.comparing(ItemResponseDto::id))
+                .toList();
+    }
+
+    private static Item item(User owner, String name, String description, boolean available, ItemRequest request) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .request(request)
+                .build();
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(ItemSearchIndex.class)
+class ItemSearchIndexTest {
+
+    @Autowired
+    private ItemSearchIndex index;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private Item drill;
+    private Item hammer;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        drill = entityManager.persist(item("Power Drill", "Electric tool", true));
+        hammer = entityManager.persist(item("Hammer", "Hand tool", true));
+        screwdriver = entityManager.persist(item("Screwdriver set", "Philips and flat", true));
+        entityManager.flush();
+        index.warmUp();
+    }
+
+    @Test
+    void search_ShouldMatchTyposAndPrefixes() {
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+        assertEquals(List.of(drill.getId()), index.search("drll"));
+        assertEquals(List.of(drill.getId()), index.search("powr drilll"));
+        assertEquals(List.of(screwdriver.getId()), index.search("screw"));
+        assertEquals(List.of(hammer.getId()), index.search("HAMER tol"));
+        assertTrue(index.search("xyz").isEmpty());
+        assertTrue(index.search("dr").isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankAvailableItemsAndNameMatchesFirst() {
+        Item broken = entityManager.persist(item("Drill", "Not working", false));
+        Item bits = entityManager.persist(item("Bits", "For any drill", true));
+        entityManager.flush();
+        index.warmUp();
+
+        assertEquals(List.of(drill.getId(), bits.getId(), broken.getId()), index.search("drill"));
+    }
+
+    @Test
+    void match_ShouldRankAvailableItemsByMatchedWords() {
+        entityManager.persist(item("Drill", "Not working", false));
+        entityManager.flush();
+        index.warmUp();
+
+        assertEquals(List.of(drill.getId(), hammer.getId()), index.match("Need a power drill or a hammer"));
+        assertEquals(List.of(screwdriver.getId()), index.match("screwdrivr"));
+        assertTrue(index.match("an of to").isEmpty());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateIndexAfterCommit() {
+        index.putAfterCommit(new ItemResponseDto(drill.getId(), "Hammer drill", "Electric tool", true, null));
+        index.removeAfterCommit(hammer.getId());
+        assertEquals(List.of(hammer.getId()), index.search("hammer"));
+
+        commit();
+
+        assertEquals(List.of(drill.getId()), index.search("hammer"));
+        assertFalse(index.search("power").contains(drill.getId()));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void onDomainEvent_ShouldApplyItemChangesFromOtherNodes() {
+        // изменения на другом экземпляре приложения: локальный индекс о них не знает
+        Item ladder = entityManager.persist(item("Ladder", "Folding", true));
+        drill.setName("Hammer drill");
+        entityManager.remove(hammer);
+        entityManager.flush();
+
+        index.onDomainEvent(event(ladder.getId(), OutboxEventType.ITEM_CREATED));
+        index.onDomainEvent(event(drill.getId(), OutboxEventType.ITEM_UPDATED));
+        index.onDomainEvent(event(hammer.getId(), OutboxEventType.ITEM_DELETED));
+        commit();
+
+        assertEquals(List.of(ladder.getId()), index.search("ladder"));
+        assertEquals(List.of(drill.getId()), index.search("hammer"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void clearAfterCommit_ShouldRemoveAllItems() {
+        index.clearAfterCommit();
+        commit();
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("drill").isEmpty());
+    }
+
+    @Test
+    void tokenize_ShouldSplitOnNonLetterOrDigitAndLowerCase() {
+        assertEquals(List.of("power", "drill", "x2"), ItemSearchIndex.tokenize("Power-Drill, x2 drill"));
+        assertTrue(ItemSearchIndex.tokenize("  ").isEmpty());
+    }
+
+    /**
+     * Выполняет изменения индекса, отложенные до фиксации транзакции теста (сама транзакция
+     * теста откатывается).
+     */
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization.getClass().getEnclosingClass() == ItemSearchIndex.class)
+                .forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static DomainEvent event(Long itemId, OutboxEventType type) {
+        return new DomainEvent(1L, 1L, AggregateType.ITEM, itemId, type, null, LocalDateTime.now());
+    }
+
+    private Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.items.suggest-size=2")
+@Import(ItemSuggester.class)
+class ItemSuggesterTest {
+
+    @Autowired
+    private ItemSuggester suggester;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private User other;
+    private Item drill;
+    private Item drum;
+    private Item dress;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        other = entityManager.persist(User.builder().name("Other").email("other@email.com").build());
+        drill = entityManager.persist(item(owner, "Drill", true));
+        entityManager.persist(item(owner, " drill ", true));
+        drum = entityManager.persist(item(owner, "Drum", true));
+        entityManager.persist(item(owner, "Dryer", false));
+        dress = entityManager.persist(item(other, "Dress", true));
+        entityManager.persist(item(owner, "Saw", true));
+        entityManager.flush();
+        suggester.warmUp();
+    }
+
+    @Test
+    void suggest_ShouldReturnMostFrequentAvailableNamesFirst() {
+        assertEquals(List.of("Drill", "Dress"), suggester.suggest("D", 10));
+        assertEquals(List.of("Drill"), suggester.suggest(" dr ", 1));
+        assertEquals(List.of("Drill", "Dress"), suggester.suggest("dr", 10));
+        assertEquals(List.of("Drum"), suggester.suggest("dru", 10));
+        assertTrue(suggester.suggest("dry", 10).isEmpty());
+        assertTrue(suggester.suggest("x", 10).isEmpty());
+        assertTrue(suggester.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateSuggestionsAfterCommit() {
+        suggester.putAfterCommit(new ItemResponseDto(drum.getId(), "Axe", "Tool", true, null));
+        suggester.removeAfterCommit(drill.getId());
+        assertEquals(List.of("Drill", "Dress"), suggester.suggest("dr", 10));
+
+        commit();
+
+        assertEquals(List.of("Dress", "Drill"), suggester.suggest("dr", 10));
+        assertTrue(suggester.suggest("dru", 10).isEmpty());
+        assertEquals(List.of("Axe"), suggester.suggest("a", 10));
+    }
+
+    @Test
+    void putAfterCommit_ShouldDropItemThatBecameUnavailable() {
+        suggester.putAfterCommit(new ItemResponseDto(drum.getId(), "Drum", "Tool", false, null));
+        commit();
+
+        assertTrue(suggester.suggest("dru", 10).isEmpty());
+        assertEquals(List.of("Drill", "Dress"), suggester.suggest("d", 10));
+    }
+
+    @Test
+    void removeAllAfterCommit_ShouldPromoteNextBestName() {
+        suggester.removeAllAfterCommit(List.of(dress.getId()));
+        commit();
+
+        assertEquals(List.of("Drill", "Drum"), suggester.suggest("d", 10));
+        assertTrue(suggester.suggest("dre", 10).isEmpty());
+    }
+
+    @Test
+    void onDomainEvent_ShouldApplyItemChangesFromOtherNodes() {
+        // изменения на другом экземпляре приложения: локальные подсказки о них не знают
+        drum.setName("Axe");
+        entityManager.remove(drill);
+        Item anvil = entityManager.persist(item(owner, "Anvil", true));
+        entityManager.flush();
+
+        suggester.onDomainEvent(event(drum.getId(), OutboxEventType.ITEM_UPDATED));
+        suggester.onDomainEvent(event(drill.getId(), OutboxEventType.ITEM_DELETED));
+        suggester.onDomainEvent(event(anvil.getId(), OutboxEventType.ITEM_CREATED));
+        commit();
+
+        assertEquals(List.of("Dress", "Drill"), suggester.suggest("dr", 10));
+        assertTrue(suggester.suggest("dru", 10).isEmpty());
+        assertEquals(List.of("Anvil", "Axe"), suggester.suggest("a", 10));
+    }
+
+    @Test
+    void clearAfterCommit_ShouldRemoveAllNames() {
+        suggester.clearAfterCommit();
+        commit();
+
+        assertTrue(suggester.suggest("d", 10).isEmpty());
+    }
+
+    /**
+     * Выполняет изменения подсказок, отложенные до фиксации транзакции теста (сама транзакция
+     * теста откатывается).
+     */
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization.getClass().getEnclosingClass() == ItemSuggester.class)
+                .forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static DomainEvent event(Long itemId, OutboxEventType type) {
+        return new DomainEvent(1L, 1L, AggregateType.ITEM, itemId, type, null, LocalDateTime.now());
+    }
+
+    private static Item item(User owner, String name, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(name + " description")
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    private ItemSearchCache cache(long maxWeight) {
+        return new ItemSearchCache(Duration.ofMinutes(5), Duration.ofMinutes(4), maxWeight, 2,
+                clock::get, refreshes::add);
+    }
+
+    private List<ItemResponseDto> load(String text) {
+        return items(text, 1);
+    }
+
+    private List<ItemResponseDto> items(String text, int count) {
+        int load = loads.incrementAndGet();
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new ItemResponseDto(id, text + ":" + load, "", true, null))
+                .toList();
+    }
+
+    private static String name(List<ItemResponseDto> items) {
+        return items.getFirst().name();
+    }
+
+    @Test
+    void get_ShouldShareEntryForQueriesDifferingInCaseAndSpaces() {
+        ItemSearchCache cache = cache(100);
+
+        assertEquals("drill:1", name(cache.get("Drill", this::load)));
+        assertEquals("drill:1", name(cache.get("  DRILL ", this::load)));
+        assertEquals("saw:2", name(cache.get("saw", this::load)));
+        assertEquals(1.0 / 3, cache.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void get_ShouldNotStoreResultLoadedBeforeInvalidation() {
+        ItemSearchCache cache = cache(100);
+
+        cache.get("drill", text -> {
+            cache.invalidateAfterCommit();
+            return load(text);
+        });
+
+        assertEquals("drill:2", name(cache.get("drill", this::load)));
+    }
+
+    @Test
+    void onDomainEvent_ShouldInvalidate_WhenItemChangedOnAnyNode() {
+        ItemSearchCache cache = cache(100);
+        cache.get("drill", this::load);
+
+        cache.onDomainEvent(event(AggregateType.BOOKING, OutboxEventType.BOOKING_CREATED));
+        assertEquals("drill:1", name(cache.get("drill", this::load)));
+
+        cache.onDomainEvent(event(AggregateType.ITEM, OutboxEventType.ITEM_UPDATED));
+        assertEquals("drill:2", name(cache.get("drill", this::load)));
+    }
+
+    private static DomainEvent event(AggregateType aggregateType, OutboxEventType type) {
+        return new DomainEvent(1L, 1L, aggregateType, 1L, type, null, LocalDateTime.now());
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedResults_WhenWeightExceeded() {
+        ItemSearchCache cache = cache(5);
+
+        cache.get("drill", text -> items(text, 2));
+        cache.get("saw", text -> items(text, 2));
+        cache.get("drill", this::load);
+        cache.get("hammer", text -> items(text, 2));
+        cache.get("ladder", text -> items(text, 6));
+
+        assertEquals("drill:1", name(cache.get("drill", this::load)));
+        assertEquals("hammer:3", name(cache.get("hammer", this::load)));
+        assertEquals("saw:5", name(cache.get("saw", this::load)));
+        assertEquals("ladder:6", name(cache.get("ladder", this::load)));
+    }
+
+    @Test
+    void get_ShouldRefreshHotQueryInBackground_BeforeTtlExpires() {
+        ItemSearchCache cache = cache(100);
+        cache.get("drill", this::load);
+        cache.get("cold", this::load);
+        cache.get("drill", this::load);
+
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals("drill:1", name(cache.get("drill", this::load)));
+        assertEquals("drill:1", name(cache.get("drill", this::load)));
+        assertEquals("cold:2", name(cache.get("cold", this::load)));
+        assertEquals(1, refreshes.size());
+
+        refreshes.poll().run();
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals("drill:3", name(cache.get("drill", this::load)));
+        assertEquals("cold:4", name(cache.get("cold", this::load)));
+    }
+
+    @Test
+    void bindTo_ShouldPublishHitsMissesAndHitRatio() {
+        ItemSearchCache cache = cache(100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get("drill", this::load);
+        cache.get("drill", this::load);
+        cache.get("drill", this::load);
+        cache.get("saw", this::load);
+
+        assertEquals(2, registry.get("shareit.items.search.cache.requests").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(2, registry.get("shareit.items.search.cache.requests").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(0.5, registry.get("shareit.items.search.cache.hit.ratio").gauge().value());
+        assertEquals(2, registry.get("shareit.items.search.cache.size").gauge().value());
+    }
+}
@@ -1,32 +1,73 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.batch.BatchEntry;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.CommentNotAllowedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemJdbcReader;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggester;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
+import ru.practicum.shareit.request.match.RequestMatchRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(ItemServiceImpl.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.read-path.item-search=jpa",
+        "shareit.requests.matching.enabled=false"})
+@Import({QueryCounter.class, ItemServiceImpl.class, BookingAvailabilityIndex.class, OutboxWriter.class, ItemBookingSummaryTracker.class,
+        ItemStatsCache.class, ItemJdbcReader.class, NdjsonWriter.class, BookingCountsCache.class, BookingViewWriter.class,
+        ItemSearchCache.class, ItemSearchIndex.class, ItemSuggester.class, RequestMatcher.class,
+        RequestMatchRepository.class, ItemRequestSearchReader.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
 class ItemServiceImplTest {
 
     @Autowired
@@ -47,6 +88,38 @@ class ItemServiceImplTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ItemBookingSummaryTracker summaryTracker;
+
+    @Autowired
+    private BookingViewRepository viewRepository;
+
+    @Autowired
+    private ItemSearchCache searchCache;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        searchCache.invalidate();
+    }
+
     private User createUser(String name, String email) {
         User user = User.builder()
                 .name(name)
@@ -96,6 +169,16 @@ class ItemServiceImplTest {
         return itemRequestRepository.save(request);
     }
 
+    /**
+     * Выполняет действия кэша поиска, отложенные до фиксации транзакции теста (сама транзакция
+     * теста откатывается).
+     */
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization.getClass().getEnclosingClass() == ItemSearchCache.class)
+                .forEach(TransactionSynchronization::afterCommit);
+    }
+
     @Test
     void save_ShouldSaveItemWithoutRequest() {
         User owner = createUser("Owner", "owner@email.com");
@@ -146,7 +229,7 @@ class ItemServiceImplTest {
         User booker = createUser("Booker", "booker@email.com");
         Item item = createItem(owner, "Name", "Description", true, null);
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Booking pastBooking = createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.APPROVED);
         Booking futureBooking = createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.APPROVED);
 
@@ -161,6 +244,81 @@ class ItemServiceImplTest {
         assertTrue(foundItem.comments().isEmpty());
     }
 
+    @Test
+    void findById_ShouldReadNearestApprovedBookingsAndCommentsInTwoQueries() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        createBooking(booker, item, now.minusDays(10), now.minusDays(9), Status.APPROVED);
+        createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.REJECTED);
+        createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        createBooking(booker, item, now.plusDays(5), now.plusDays(6), Status.APPROVED);
+        createBooking(booker, item, now.plusDays(3), now.plusDays(4), Status.APPROVED);
+        createComment(booker, item, "first");
+        createComment(booker, item, "second");
+        List<ItemResponseWithCommentsDto> result = new ArrayList<>();
+
+        long queries = queryCounter.count(() -> result.add(itemService.findById(item.getId(), owner.getId())));
+
+        ItemResponseWithCommentsDto foundItem = result.getFirst();
+        assertEquals(2, queries);
+        assertEquals(now.minusDays(2), foundItem.lastBooking());
+        assertEquals(now.plusDays(3), foundItem.nextBooking());
+        assertEquals(List.of("second", "first"), foundItem.comments().stream().map(CommentRequestDto::text).toList());
+        assertEquals("Booker", foundItem.comments().getFirst().authorName());
+        assertNull(foundItem.commentsCursor());
+    }
+
+    @Test
+    void findById_ShouldInlineFirstCommentsPageAndContinueFromCursor() {
+        User owner = createUser("Owner", "owner@email.com");
+        User author = createUser("Author", "author@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 12; i++) {
+            commentRepository.save(Comment.builder()
+                    .author(author)
+                    .item(item)
+                    .text("comment" + i)
+                    .created(i < 6 ? created.minusDays(1) : created)
+                    .build());
+        }
+
+        ItemResponseWithCommentsDto foundItem = itemService.findById(item.getId(), author.getId());
+        CommentPageDto rest = itemService.findComments(item.getId(), foundItem.commentsCursor(), 10);
+
+        assertEquals(10, foundItem.comments().size());
+        assertEquals(foundItem.comments().getLast().id(), foundItem.commentsCursor());
+        assertEquals(List.of("comment1", "comment0"), rest.comments().stream().map(CommentRequestDto::text).toList());
+        assertNull(rest.cursor());
+        assertEquals("comment11", foundItem.comments().getFirst().text());
+        assertEquals("Author", rest.comments().getFirst().authorName());
+    }
+
+    @Test
+    void findComments_ShouldReturnPagesFromNewestToOldest() {
+        User owner = createUser("Owner", "owner@email.com");
+        User author = createUser("Author", "author@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+        createComment(author, item, "first");
+        createComment(author, item, "second");
+        createComment(author, item, "third");
+
+        CommentPageDto firstPage = itemService.findComments(item.getId(), null, 2);
+        CommentPageDto secondPage = itemService.findComments(item.getId(), firstPage.cursor(), 2);
+
+        assertEquals(List.of("third", "second"), firstPage.comments().stream().map(CommentRequestDto::text).toList());
+        assertEquals(List.of("first"), secondPage.comments().stream().map(CommentRequestDto::text).toList());
+        assertNull(secondPage.cursor());
+    }
+
+    @Test
+    void findComments_ShouldThrowNotFoundException_WhenItemNotExists() {
+        assertThrows(NotFoundException.class, () -> itemService.findComments(999L, null, 10));
+    }
+
     @Test
     void findById_ShouldReturnItemWithoutBookingsForNonOwner() {
         User owner = createUser("Owner", "owner@email.com");
@@ -216,6 +374,48 @@ class ItemServiceImplTest {
         assertEquals(2, items.size());
     }
 
+    @Test
+    void exportAll_ShouldStreamItemsInIdOrderWithoutLoadingEntities() throws Exception {
+        User owner = createUser("Owner", "owner@email.com");
+        User requestor = createUser("Requestor", "requestor@email.com");
+        ItemRequest request = createItemRequest(requestor, "Need a drill");
+        Item drill = createItem(owner, "Drill", "Electric drill", true, request);
+        Item saw = createItem(owner, "Saw", "Hand saw", false, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Statistics statistics = queryCounter.statistics();
+
+        long queries = queryCounter.count(() -> itemService.exportAll(out));
+
+        List<ItemResponseDto> exported = objectMapper.readerFor(ItemResponseDto.class)
+                .<ItemResponseDto>readValues(out.toByteArray())
+                .readAll();
+        assertEquals(List.of(drill.getId(), saw.getId()), exported.stream().map(ItemResponseDto::id).toList());
+        assertEquals(request.getId(), exported.get(0).requestId());
+        assertFalse(exported.get(1).available());
+        assertEquals(1, queries);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByIds_ShouldReadAllItemsInOneQueryAndMarkMissingIds() {
+        User owner = createUser("Owner", "owner@email.com");
+        Item drill = createItem(owner, "Drill", "Electric drill", true, null);
+        Item saw = createItem(owner, "Saw", "Hand saw", false, null);
+        long missingId = saw.getId() + 100;
+        List<Long> ids = List.of(saw.getId(), missingId, drill.getId());
+        List<Map<Long, BatchEntry<ItemResponseDto>>> result = new ArrayList<>();
+
+        long queries = queryCounter.count(() -> result.add(itemService.findByIds(ids)));
+
+        Map<Long, BatchEntry<ItemResponseDto>> items = result.getFirst();
+        assertEquals(1, queries);
+        assertEquals(ids, List.copyOf(items.keySet()));
+        assertEquals("Saw", items.get(saw.getId()).value().name());
+        assertEquals("Drill", items.get(drill.getId()).value().name());
+        assertFalse(items.get(missingId).found());
+        assertNull(items.get(missingId).value());
+    }
+
     @Test
     void findByUserId_ShouldReturnUserItems() {
         User owner = createUser("Owner", "owner@email.com");
@@ -225,13 +425,95 @@ class ItemServiceImplTest {
         Item item2 = createItem(owner, "OwnerItem2", "OwnerDescription2", true, null);
         createItem(otherUser, "OterItem", "OtherDescription", true, null);
 
-        List<ItemResponseWithCommentsDto> userItems = itemService.findByUserId(owner.getId());
+        List<ItemResponseWithCommentsDto> userItems = itemService.findByUserId(owner.getId(), 0L, 10, Set.of());
 
         assertEquals(2, userItems.size());
         assertTrue(userItems.stream().allMatch(item ->
                 item.name().equals(item1.getName()) || item.name().equals(item2.getName())));
     }
 
+    @Test
+    void findByUserId_ShouldReturnPagesAfterLastItemId() {
+        User owner = createUser("Owner", "owner@email.com");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(createItem(owner, "Item" + i, "Description" + i, true, null).getId());
+        }
+
+        List<ItemResponseWithCommentsDto> first = itemService.findByUserId(owner.getId(), 0L, 2, Set.of());
+        List<ItemResponseWithCommentsDto> second = itemService.findByUserId(owner.getId(), first.getLast().id(), 2, Set.of());
+        List<ItemResponseWithCommentsDto> last = itemService.findByUserId(owner.getId(), ids.getLast(), 2, Set.of());
+
+        assertEquals(ids.subList(0, 2), first.stream().map(ItemResponseWithCommentsDto::id).toList());
+        assertEquals(ids.subList(2, 4), second.stream().map(ItemResponseWithCommentsDto::id).toList());
+        assertTrue(last.isEmpty());
+    }
+
+    @Test
+    void findByUserId_ShouldNotComputeExpansions_WhenNotRequested() {
+        User owner = createUser("Owner", "owner@email.com");
+        User commenter = createUser("Commenter", "commenter@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+        createComment(commenter, item, "comment");
+
+        long queries = queryCounter.count(() -> {
+            ItemResponseWithCommentsDto result = itemService.findByUserId(owner.getId(), 0L, 10, Set.of()).getFirst();
+            assertNull(result.comments());
+            assertNull(result.lastBooking());
+            assertNull(result.nextBooking());
+        });
+
+        assertEquals(2, queries);
+    }
+
+    @Test
+    void findByUserId_ShouldLoadCommentsForPageInOneQuery() {
+        User owner = createUser("Owner", "owner@email.com");
+        User commenter = createUser("Commenter", "commenter@email.com");
+        Item first = createItem(owner, "First", "Description", true, null);
+        Item second = createItem(owner, "Second", "Description", true, null);
+        Item third = createItem(owner, "Third", "Description", true, null);
+        createComment(commenter, first, "first1");
+        createComment(commenter, first, "first2");
+        createComment(commenter, third, "third");
+
+        List<ItemResponseWithCommentsDto> result = new ArrayList<>();
+        long queries = queryCounter.count(() ->
+                result.addAll(itemService.findByUserId(owner.getId(), 0L, 2, EnumSet.of(ItemExpand.COMMENTS))));
+
+        assertEquals(3, queries);
+        assertEquals(List.of(first.getId(), second.getId()), result.stream().map(ItemResponseWithCommentsDto::id).toList());
+        assertEquals(List.of("first1", "first2"), result.getFirst().comments().stream().map(CommentRequestDto::text).toList());
+        assertEquals("Commenter", result.getFirst().comments().getFirst().authorName());
+        assertTrue(result.getLast().comments().isEmpty());
+        assertNull(result.getFirst().lastBooking());
+    }
+
+    @Test
+    void findByUserId_ShouldReadBookingDatesFromSummaries() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        for (int i = 0; i < 3; i++) {
+            ItemResponseDto saved = itemService.save(owner.getId(),
+                    new ItemCreateDto("Name" + i, "Description" + i, true, null));
+            Item item = itemRepository.findById(saved.id()).orElseThrow();
+            summaryTracker.onApproved(createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.APPROVED));
+            summaryTracker.onApproved(createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.APPROVED));
+        }
+
+        long queries = queryCounter.count(() -> {
+            List<ItemResponseWithCommentsDto> userItems =
+                    itemService.findByUserId(owner.getId(), 0L, 10, EnumSet.of(ItemExpand.BOOKINGS));
+            assertEquals(3, userItems.size());
+            assertTrue(userItems.stream().allMatch(item ->
+                    now.minusDays(1).equals(item.lastBooking()) && now.plusDays(1).equals(item.nextBooking())));
+        });
+
+        assertEquals(3, queries);
+    }
+
     @Test
     void search_ShouldReturnMatchingItems() {
         User owner = createUser("Owner", "owner@email.com");
@@ -252,6 +534,150 @@ class ItemServiceImplTest {
         assertTrue(unavailableResults.isEmpty());
     }
 
+    @Test
+    void search_ShouldFallBackToTypoTolerantIndex_WhenNothingMatchesExactly() {
+        User owner = createUser("Owner", "owner@email.com");
+        createItem(owner, "Power Drill", "Electric tool", true, null);
+        createItem(owner, "Broken Drill", "Power tool", false, null);
+        searchIndex.warmUp();
+
+        assertEquals(List.of("Power Drill"), itemService.search("powr dril").stream()
+                .map(ItemResponseDto::name)
+                .toList());
+        assertTrue(itemService.search("hammer").isEmpty());
+    }
+
+    @Test
+    void search_ShouldServeNormalizedRepeatedQueryFromCache() {
+        User owner = createUser("Owner", "owner@email.com");
+        createItem(owner, "Power Drill", "Electric tool", true, null);
+
+        assertEquals(1, queryCounter.count(() -> assertEquals(1, itemService.search("drill").size())));
+        assertEquals(0, queryCounter.count(() -> assertEquals(1, itemService.search(" DRILL ").size())));
+        assertEquals(0.5, searchCache.hitRatio());
+    }
+
+    @Test
+    void saveAndUpdate_ShouldInvalidateSearchCacheAfterCommit() {
+        User owner = createUser("Owner", "owner@email.com");
+        ItemResponseDto drill = itemService.save(owner.getId(), new ItemCreateDto("Drill", "Tool", true, null));
+        commit();
+        assertEquals(List.of("Drill"), itemService.search("drill").stream().map(ItemResponseDto::name).toList());
+
+        itemService.update(new UpdateItemCommand(owner.getId(), drill.id(), new ItemUpdateDto("Old drill", null, null)));
+        assertEquals(List.of("Drill"), itemService.search("drill").stream().map(ItemResponseDto::name).toList());
+        commit();
+
+        assertEquals(List.of("Old drill"), itemService.search("drill").stream().map(ItemResponseDto::name).toList());
+    }
+
+    @Test
+    void findAvailability_ShouldReturnOverlappingApprovedBookings() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 20, 0, 0);
+        Booking overlapping = createBooking(booker, item, from.minusDays(2), from.plusDays(1), Status.APPROVED);
+        createBooking(booker, item, from.plusDays(3), from.plusDays(4), Status.WAITING);
+        createBooking(booker, item, to, to.plusDays(1), Status.APPROVED);
+        entityManager.flush();
+        availabilityIndex.warmUp();
+
+        ItemAvailabilityDto availability = itemService.findAvailability(item.getId(), from, to);
+
+        assertEquals(item.getId(), availability.itemId());
+        assertFalse(availability.available());
+        assertEquals(List.of(new BookedPeriodDto(overlapping.getStart(), overlapping.getEnd())),
+                availability.bookedPeriods());
+        assertTrue(itemService.findAvailability(item.getId(), from.plusDays(2), to).available());
+    }
+
+    @Test
+    void findStats_ShouldAggregateBookingsAndCommentsInSingleQuery() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item rented = createItem(owner, "Rented", "Description", true, null);
+        Item idle = createItem(owner, "Idle", "Description", true, null);
+        createItem(booker, "Other", "Description", true, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, rented, now.minusDays(10), now.minusDays(7), Status.APPROVED);
+        createBooking(booker, rented, now.minusHours(12), now.plusHours(36), Status.APPROVED);
+        createBooking(booker, rented, now.plusDays(3), now.plusDays(4), Status.WAITING);
+        createBooking(booker, rented, now.plusDays(5), now.plusDays(6), Status.REJECTED);
+        createBooking(booker, rented, now.plusDays(7), now.plusDays(8), Status.REJECTED);
+        createComment(booker, rented, "comment");
+
+        List<ItemStatsDto> stats = new ArrayList<>();
+        long queries = queryCounter.count(() -> stats.addAll(itemService.findStats(owner.getId())));
+
+        assertEquals(2, queries);
+        assertEquals(List.of(
+                new ItemStatsDto(rented.getId(), "Rented", 1, 2, 2, 0, true, 5, 1),
+                new ItemStatsDto(idle.getId(), "Idle", 0, 0, 0, 0, false, 0, 0)), stats);
+        assertEquals(0, queryCounter.count(() -> itemService.findStats(owner.getId())));
+    }
+
+    @Test
+    void findStats_ShouldThrowNotFoundException_WhenUserNotExists() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> itemService.findStats(999L));
+
+        assertEquals("User", exception.getEntityName());
+    }
+
+    @Test
+    void findAvailability_ShouldThrowNotFoundException_WhenItemNotExists() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThrows(NotFoundException.class, () -> itemService.findAvailability(999L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void searchWithPeriod_ShouldExcludeItemsWithOverlappingApprovedBookings() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item free = createItem(owner, "Drill free", "Description", true, null);
+        Item booked = createItem(owner, "Drill booked", "Description", true, null);
+        Item waiting = createItem(owner, "Drill waiting", "Description", true, null);
+        Item adjacent = createItem(owner, "Drill adjacent", "Description", true, null);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 20, 0, 0);
+        createBooking(booker, booked, from.plusDays(5), to.plusDays(5), Status.APPROVED);
+        createBooking(booker, waiting, from, to, Status.WAITING);
+        createBooking(booker, adjacent, from.minusDays(5), from, Status.APPROVED);
+        createBooking(booker, adjacent, to, to.plusDays(5), Status.APPROVED);
+
+        List<ItemResponseDto> result = itemService.search("drill", from, to);
+
+        assertEquals(List.of(free.getId(), waiting.getId(), adjacent.getId()),
+                result.stream().map(ItemResponseDto::id).sorted().toList());
+    }
+
+    @Test
+    void searchWithPeriod_ShouldUseSingleQuery() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        LocalDateTime from = LocalDateTime.of(2030, 1, 10, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            Item item = createItem(owner, "Drill " + i, "Description", true, null);
+            createBooking(booker, item, from.plusDays(i), from.plusDays(i + 1), Status.APPROVED);
+        }
+
+        long queries = queryCounter.count(() -> itemService.search("drill", from.plusDays(10), from.plusDays(11)));
+
+        assertEquals(1, queries);
+    }
+
+    @Test
+    void searchWithPeriod_ShouldReturnEmptyList_WhenTextIsBlank() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertTrue(itemService.search(" ", from, from.plusDays(1)).isEmpty());
+    }
+
     @Test
     void update_ShouldUpdateItem() {
         User owner = createUser("Owner", "owner@email.com");
@@ -267,6 +693,68 @@ class ItemServiceImplTest {
         assertFalse(updatedItem.available());
     }
 
+    @Test
+    void update_ShouldNotLoadItemRequest() {
+        User owner = createUser("Owner", "owner@email.com");
+        User requestor = createUser("Requestor", "requestor@email.com");
+        ItemRequest request = createItemRequest(requestor, "Need a drill");
+        Item item = createItem(owner, "Drill", "Cordless drill", true, request);
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemResponseDto updatedItem = itemService.update(
+                new UpdateItemCommand(owner.getId(), item.getId(), new ItemUpdateDto(null, "Drill with case", null)));
+
+        assertEquals(request.getId(), updatedItem.requestId());
+        assertFalse(Hibernate.isInitialized(itemRepository.getReferenceById(item.getId()).getRequest()));
+    }
+
+    @Test
+    void update_ShouldWriteNewNameToBookingView() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Old Name", "Old description", true, null);
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        viewRepository.insertMissing();
+
+        itemService.update(new UpdateItemCommand(owner.getId(), item.getId(), new ItemUpdateDto(null, "New", null)));
+        assertEquals("Old Name", viewRepository.findRowsByOwnerId(owner.getId(), Sort.unsorted())
+                .getFirst().itemName());
+
+        itemService.update(new UpdateItemCommand(owner.getId(), item.getId(), new ItemUpdateDto("New Name", null, null)));
+        assertEquals("New Name", viewRepository.findRowsByBookerId(booker.getId(), Sort.unsorted())
+                .getFirst().itemName());
+    }
+
+    @Test
+    void save_ShouldWriteOutboxEvent() {
+        User owner = createUser("Owner", "owner@email.com");
+
+        ItemResponseDto saved = itemService.save(owner.getId(), new ItemCreateDto("Drill", "Cordless drill", true, null));
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of(OutboxEventType.ITEM_CREATED), events.stream().map(OutboxEvent::getType).toList());
+        assertEquals(saved.id(), events.getFirst().getAggregateId());
+        assertTrue(events.getFirst().getPayload().contains("\"name\":\"Drill\""));
+    }
+
+    @Test
+    void updateAndDelete_ShouldWriteOutboxEvents() {
+        User owner = createUser("Owner", "owner@email.com");
+        Item item = createItem(owner, "Old Name", "Old description", true, null);
+
+        itemService.update(new UpdateItemCommand(owner.getId(), item.getId(), new ItemUpdateDto("New Name", null, null)));
+        itemService.deleteById(item.getId());
+        itemService.deleteById(999L);
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of(OutboxEventType.ITEM_UPDATED, OutboxEventType.ITEM_DELETED),
+                events.stream().map(OutboxEvent::getType).toList());
+        assertTrue(events.getFirst().getPayload().contains("\"name\":\"New Name\""));
+        assertNull(events.get(1).getPayload());
+    }
+
     @Test
     void update_ShouldThrowNotFoundException_WhenItemNotOwnedByUser() {
         User owner = createUser("Owner", "owner@email.com");
@@ -350,11 +838,11 @@ class ItemServiceImplTest {
         CommentNotAllowedException exception = assertThrows(CommentNotAllowedException.class,
                 () -> itemService.addComment(command));
 
-        assertTrue(exception.getMessage().contains("Comment before booking's end"));
+        assertTrue(exception.getMessage().contains("Comment without finished booking"));
     }
 
     @Test
-    void addComment_ShouldThrowNotFoundException_WhenNoBooking() {
+    void addComment_ShouldThrowCommentNotAllowedException_WhenNoBooking() {
         User owner = createUser("Owner", "owner@email.com");
         User user = createUser("User", "user@email.com");
         Item item = createItem(owner, "Name", "Description", true, null);
@@ -362,10 +850,45 @@ class ItemServiceImplTest {
         CommentCreateOrUpdateDto commentDto = new CommentCreateOrUpdateDto("Comment");
         CreateCommentCommand command = new CreateCommentCommand(item.getId(), user.getId(), commentDto);
 
-        NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> itemService.addComment(command));
+        assertThrows(CommentNotAllowedException.class, () -> itemService.addComment(command));
+    }
+
+    @Test
+    void addComment_ShouldThrowCommentNotAllowedException_WhenFinishedBookingNotApproved() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.REJECTED);
 
-        assertTrue(exception.getMessage().contains("Booking not found"));
+        CommentCreateOrUpdateDto commentDto = new CommentCreateOrUpdateDto("Comment");
+        CreateCommentCommand command = new CreateCommentCommand(item.getId(), booker.getId(), commentDto);
+
+        assertThrows(CommentNotAllowedException.class, () -> itemService.addComment(command));
+    }
+
+    @Test
+    void addComment_ShouldCheckBookingAndInsertCommentInTwoQueries() {
+        User owner = createUser("Owner", "owner@email.com");
+        User booker = createUser("Booker", "booker@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(4), now.minusDays(3), Status.APPROVED);
+        createBooking(booker, item, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+
+        CreateCommentCommand command = new CreateCommentCommand(item.getId(), booker.getId(),
+                new CommentCreateOrUpdateDto("Comment"));
+        List<CommentRequestDto> result = new ArrayList<>();
+
+        long queries = queryCounter.count(() -> {
+            result.add(itemService.addComment(command));
+            entityManager.flush();
+        });
+
+        assertEquals(2, queries);
+        assertEquals("Booker", result.getFirst().authorName());
     }
 
     @Test
@@ -385,6 +908,63 @@ class ItemServiceImplTest {
         assertEquals(comment.getId(), updatedComment.id());
     }
 
+    @Test
+    void updateComment_ShouldCheckUserAndUseSingleSelectAndUpdate() {
+        User owner = createUser("Owner", "owner@email.com");
+        User author = createUser("Author", "author@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+
+        Comment comment = createComment(author, item, "Comment");
+
+        CommentCreateOrUpdateDto updateDto = new CommentCreateOrUpdateDto("New Comment");
+        UpdateCommentCommand command = new UpdateCommentCommand(comment.getId(), item.getId(), author.getId(), updateDto);
+
+        long queries = queryCounter.count(() -> {
+            CommentRequestDto updatedComment = itemService.updateComment(command);
+            entityManager.flush();
+            assertEquals(author.getName(), updatedComment.authorName());
+        });
+
+        // проверка пользователя, выборка комментария с автором и вещью, обновление
+        assertEquals(3, queries);
+    }
+
+    @Test
+    void updateComment_ShouldThrowNotFoundException_WhenUserNotFound() {
+        User owner = createUser("Owner", "owner@email.com");
+        User author = createUser("Author", "author@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+
+        Comment comment = createComment(author, item, "Comment");
+
+        CommentCreateOrUpdateDto updateDto = new CommentCreateOrUpdateDto("New Comment");
+        UpdateCommentCommand command = new UpdateCommentCommand(comment.getId(), item.getId(), 999L, updateDto);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> itemService.updateComment(command));
+
+        assertEquals("User", exception.getEntityName());
+        assertEquals(999L, exception.getEntityId());
+    }
+
+    @Test
+    void updateComment_ShouldThrowNotFoundException_WhenCommentBelongsToOtherItem() {
+        User owner = createUser("Owner", "owner@email.com");
+        User author = createUser("Author", "author@email.com");
+        Item item = createItem(owner, "Name", "Description", true, null);
+        Item otherItem = createItem(owner, "Other", "Other description", true, null);
+
+        Comment comment = createComment(author, item, "Comment");
+
+        CommentCreateOrUpdateDto updateDto = new CommentCreateOrUpdateDto("New Comment");
+        UpdateCommentCommand command = new UpdateCommentCommand(comment.getId(), otherItem.getId(), author.getId(), updateDto);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> itemService.updateComment(command));
+
+        assertEquals(otherItem.getId(), exception.getEntityId());
+    }
+
     @Test
     void updateComment_ShouldThrowAccessForbiddenException_WhenNotCommentAuthor() {
         // Given
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ItemBookingSummaryTracker.class)
+class ItemBookingSummaryTrackerTest {
+
+    @Autowired
+    private ItemBookingSummaryTracker summaryTracker;
+
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@email.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@email.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Electric drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private Booking approve(LocalDateTime start, LocalDateTime end) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .booker(booker)
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(Status.APPROVED)
+                .build());
+        summaryTracker.onApproved(booking);
+        return booking;
+    }
+
+    private ItemBookingSummary stored() {
+        entityManager.flush();
+        entityManager.clear();
+        return summaryRepository.findById(item.getId()).orElseThrow();
+    }
+
+    @Test
+    void onApproved_ShouldUpdateSummaryIncrementally() {
+        summaryTracker.create(item.getId());
+
+        approve(now.minusDays(3), now.minusDays(2));
+        approve(now.minusDays(5), now.minusDays(4));
+        approve(now.plusDays(4), now.plusDays(5));
+        approve(now.plusDays(2), now.plusDays(3));
+
+        ItemBookingSummary summary = stored();
+        assertEquals(4, summary.getApprovedCount());
+        assertEquals(now.minusDays(2), summary.getLastEnd());
+        assertEquals(now.plusDays(2), summary.getNextStart());
+        assertEquals(now.plusDays(2), summary.getValidUntil());
+    }
+
+    @Test
+    void onApproved_WithCurrentBooking_ShouldExpireSummaryAtBookingEnd() {
+        summaryTracker.create(item.getId());
+
+        approve(now.minusDays(1), now.plusDays(1));
+
+        ItemBookingSummary summary = stored();
+        assertNull(summary.getLastEnd());
+        assertNull(summary.getNextStart());
+        assertEquals(now.plusDays(1), summary.getValidUntil());
+    }
+
+    @Test
+    void refreshStale_ShouldRollNextBookingIntoLast() {
+        bookingRepository.save(Booking.builder()
+                .booker(booker)
+                .item(item)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .status(Status.APPROVED)
+                .build());
+        summaryRepository.save(ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .nextStart(now.minusDays(2))
+                .approvedCount(1)
+                .validUntil(now.minusDays(2))
+                .build());
+        entityManager.flush();
+
+        summaryTracker.refreshStale();
+
+        ItemBookingSummary summary = stored();
+        assertEquals(now.minusDays(1), summary.getLastEnd());
+        assertNull(summary.getNextStart());
+        assertNull(summary.getValidUntil());
+        assertEquals(1, summary.getApprovedCount());
+    }
+
+    @Test
+    void backfill_ShouldCreateAndComputeMissingSummaries() {
+        bookingRepository.save(Booking.builder()
+                .booker(booker)
+                .item(item)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .status(Status.APPROVED)
+                .build());
+        entityManager.flush();
+
+        summaryTracker.backfill();
+
+        ItemBookingSummary summary = stored();
+        assertEquals(now.plusDays(1), summary.getNextStart());
+        assertEquals(now.plusDays(1), summary.getValidUntil());
+        assertEquals(1, summary.getApprovedCount());
+    }
+
+    @Test
+    void find_ShouldComputeMissingAndStaleSummaries() {
+        Booking booking = approve(now.minusDays(2), now.minusDays(1));
+
+        ItemBookingSummary missing = summaryTracker.find(item.getId(), now);
+        assertEquals(booking.getEnd(), missing.getLastEnd());
+
+        summaryTracker.create(item.getId());
+        summaryTracker.onRemoved(booking);
+        bookingRepository.delete(booking);
+        entityManager.flush();
+
+        Map<Long, ItemBookingSummary> summaries = summaryTracker.find(List.of(item.getId()), now.plusSeconds(1));
+        assertNull(summaries.get(item.getId()).getLastEnd());
+        assertEquals(0, summaries.get(item.getId()).getApprovedCount());
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DomainEventController.class)
+class DomainEventControllerTest {
+    @MockitoBean
+    private DomainEventBroadcaster broadcaster;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void streamEvents() throws Exception {
+        when(broadcaster.subscribe(42L)).thenReturn(new SseEmitter());
+
+        mvc.perform(get("/events")
+                        .header("Last-Event-ID", 42L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(broadcaster).subscribe(42L);
+    }
+}
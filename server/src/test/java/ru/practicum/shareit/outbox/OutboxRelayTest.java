@@ -0,0 +1,146 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import ru.practicum.shareit.outbox.model.AggregateType;
+import ru.practicum.shareit.outbox.model.DomainEvent;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "shareit.outbox.relay.batch-size=2")
+@Import({OutboxRelay.class, OutboxWriter.class, OutboxEventFeed.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventFeed outboxEventFeed;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void relayPendingEvents_ShouldPublishAllEventsInOrderAndMarkThemPublished() {
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_CREATED, Map.of("id", 1));
+        outboxWriter.write(AggregateType.ITEM, 1L, OutboxEventType.ITEM_UPDATED, Map.of("id", 1));
+        outboxWriter.write(AggregateType.BOOKING, 2L, OutboxEventType.BOOKING_CREATED, Map.of("id", 2));
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_APPROVED, Map.of("id", 1));
+        outboxWriter.write(AggregateType.BOOKING, 3L, OutboxEventType.BOOKING_CREATED, null);
+        entityManager.flush();
+        outboxEventFeed.start();
+
+        outboxRelay.relayPendingEvents();
+        outboxEventFeed.pollPublishedEvents();
+        entityManager.clear();
+
+        List<DomainEvent> published = applicationEvents.stream(DomainEvent.class).toList();
+        assertEquals(5, published.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), published.stream()
+                .map(event -> event.sequence() - published.getFirst().sequence() + 1)
+                .toList());
+        assertEquals(List.of(OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_APPROVED),
+                published.stream()
+                        .filter(event -> event.aggregateType() == AggregateType.BOOKING && event.aggregateId() == 1L)
+                        .map(DomainEvent::type)
+                        .toList());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    @Test
+    void relayPendingEvents_ShouldNotPublishEventsTwice() {
+        outboxWriter.write(AggregateType.ITEM, 1L, OutboxEventType.ITEM_DELETED, null);
+        entityManager.flush();
+        outboxEventFeed.start();
+
+        outboxRelay.relayPendingEvents();
+        outboxEventFeed.pollPublishedEvents();
+        outboxRelay.relayPendingEvents();
+        outboxEventFeed.pollPublishedEvents();
+
+        assertEquals(1, applicationEvents.stream(DomainEvent.class).count());
+    }
+
+    @Test
+    void relayPendingEvents_ShouldNotPublishInProcess() {
+        outboxWriter.write(AggregateType.ITEM, 1L, OutboxEventType.ITEM_DELETED, null);
+        entityManager.flush();
+
+        outboxRelay.relayPendingEvents();
+
+        assertEquals(0, applicationEvents.stream(DomainEvent.class).count());
+    }
+
+    @Test
+    void relayPendingEvents_ShouldContinuePublishSequenceAcrossBatches() {
+        long before = outboxEventRepository.findLastPublishSeq();
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_CREATED, null);
+        outboxWriter.write(AggregateType.BOOKING, 2L, OutboxEventType.BOOKING_CREATED, null);
+        outboxWriter.write(AggregateType.BOOKING, 3L, OutboxEventType.BOOKING_CREATED, null);
+        entityManager.flush();
+
+        outboxRelay.relayPendingEvents();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        assertEquals(List.of(before + 1, before + 2, before + 3),
+                events.stream().map(OutboxEvent::getPublishSeq).toList());
+        assertEquals(before + 3, outboxEventRepository.findLastPublishSeq());
+    }
+
+    @Test
+    void findAllByPublishSeqGreaterThan_ShouldReturnEventsPublishedAfterSequence() {
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_CREATED, null);
+        outboxWriter.write(AggregateType.BOOKING, 2L, OutboxEventType.BOOKING_CREATED, null);
+        entityManager.flush();
+        outboxRelay.relayPendingEvents();
+        entityManager.flush();
+        long last = outboxEventRepository.findLastPublishSeq();
+
+        List<OutboxEvent> missed = outboxEventRepository
+                .findAllByPublishSeqGreaterThanOrderByPublishSeq(last - 1, Limit.of(10));
+
+        assertEquals(1, missed.size());
+        assertEquals(2L, missed.getFirst().getAggregateId());
+    }
+
+    @Test
+    void lockAggregateHeads_ShouldSkipEventsWithEarlierUnpublishedEventOfSameAggregate() {
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_CREATED, null);
+        outboxWriter.write(AggregateType.BOOKING, 1L, OutboxEventType.BOOKING_APPROVED, null);
+        outboxWriter.write(AggregateType.BOOKING, 2L, OutboxEventType.BOOKING_CREATED, null);
+        entityManager.flush();
+
+        List<OutboxEvent> heads = outboxEventRepository.lockAggregateHeads(10);
+
+        assertEquals(List.of(OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_CREATED),
+                heads.stream().map(OutboxEvent::getType).toList());
+        assertEquals(List.of(1L, 2L), heads.stream().map(OutboxEvent::getAggregateId).toList());
+    }
+}
@@ -103,6 +103,21 @@ class ItemRequestControllerTest {
                         is(itemRequestResponseDto.created().toString())));
     }
 
+    @Test
+    void searchRequests() throws Exception {
+        when(itemRequestService.search("drill", 5L, 2))
+                .thenReturn(List.of(itemRequestResponseDto));
+
+        mvc.perform(get("/requests/search")
+                        .param("text", "drill")
+                        .param("after", "5")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemRequestResponseDto.id()), Long.class))
+                .andExpect(jsonPath("$[0].items[0].id", is(itemForRequestDto.id()), Long.class));
+    }
+
     @Test
     void getRequestsById() throws Exception {
         when(itemRequestService.findById(anyLong()))
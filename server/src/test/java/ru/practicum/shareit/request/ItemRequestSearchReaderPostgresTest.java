@@ -0,0 +1,114 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.PostgresContainer;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.sql.init.platform=postgresql",
+        "spring.sql.init.mode=always",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportTestcontainers(PostgresContainer.class)
+@Import(ItemRequestSearchReader.class)
+class ItemRequestSearchReaderPostgresTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private ItemRequestSearchReader searchReader;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User requestor;
+
+    @BeforeEach
+    void setUp() {
+        requestor = userRepository.save(User.builder().name("Requestor").email("requestor@email.com").build());
+    }
+
+    private ItemRequest createRequest(String description, LocalDateTime created) {
+        return itemRequestRepository.save(ItemRequest.builder()
+                .description(description)
+                .requestor(requestor)
+                .created(created)
+                .build());
+    }
+
+    @Test
+    void search_ShouldUseFullTextQuery() {
+        assertTrue(searchReader.isFullTextEnabled());
+    }
+
+    @Test
+    void search_ShouldMatchEveryWordByPrefixIgnoringCase() {
+        ItemRequest powerDrill = createRequest("Power drill for concrete", NOW.minusDays(3));
+        ItemRequest electricDrill = createRequest("Electric DRILL, cordless", NOW.minusDays(2));
+        ItemRequest drillingRig = createRequest("Drilling rig, any size", NOW.minusDays(1));
+        createRequest("Hand saw", NOW);
+
+        assertEquals(List.of(drillingRig.getId(), electricDrill.getId(), powerDrill.getId()),
+                ids(searchReader.search("drill", null, 10)));
+        assertEquals(List.of(powerDrill.getId()), ids(searchReader.search("DRILL, pow", null, 10)));
+        assertTrue(searchReader.search("rill", null, 10).isEmpty());
+        assertTrue(searchReader.search("drill saw", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldMatchCyrillicWords() {
+        ItemRequest drill = createRequest("Нужна дрель на выходные", NOW);
+        createRequest("Нужна пила", NOW.minusDays(1));
+
+        assertEquals(List.of(drill.getId()), ids(searchReader.search("ДРЕЛ", null, 10)));
+    }
+
+    @Test
+    void search_ShouldIgnoreTsquerySyntaxInText() {
+        ItemRequest drill = createRequest("Drill's case", NOW);
+
+        assertEquals(List.of(drill.getId()), ids(searchReader.search("drill's & (case) | !", null, 10)));
+        assertTrue(searchReader.search(" :* & ", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnNextPageAfterLastRequest() {
+        ItemRequest first = createRequest("Saw 1", NOW.minusDays(3));
+        createRequest("Hammer", NOW.minusDays(2));
+        ItemRequest second = createRequest("Saw 2", NOW.minusDays(1));
+        ItemRequest third = createRequest("Saw 3", NOW);
+        ItemRequest sameTime = createRequest("Saw 4", NOW);
+
+        List<ItemRequestRow> page = searchReader.search("saw", null, 2);
+        assertEquals(List.of(sameTime.getId(), third.getId()), ids(page));
+
+        page = searchReader.search("saw", page.getLast().id(), 2);
+        assertEquals(List.of(second.getId(), first.getId()), ids(page));
+
+        assertTrue(searchReader.search("saw", first.getId(), 2).isEmpty());
+        assertTrue(searchReader.search("saw", 999L, 2).isEmpty());
+    }
+
+    private static List<Long> ids(List<ItemRequestRow> rows) {
+        return rows.stream().map(ItemRequestRow::id).toList();
+    }
+}
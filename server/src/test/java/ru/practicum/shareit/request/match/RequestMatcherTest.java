@@ -0,0 +1,156 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "shareit.requests.matching.enabled=false",
+        "shareit.requests.matching.size=2",
+        "shareit.requests.matching.queue-capacity=2"})
+@Import({RequestMatcher.class, RequestMatchRepository.class, ItemSearchIndex.class, ItemRequestSearchReader.class,
+        ItemRequestServiceImpl.class, NdjsonWriter.class, ItemSearchCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class RequestMatcherTest {
+
+    @Autowired
+    private RequestMatcher matcher;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private ItemRequestServiceImpl itemRequestService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private User requestor;
+    private Item drill;
+    private Item hammer;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        requestor = entityManager.persist(User.builder().name("Requestor").email("requestor@email.com").build());
+        drill = entityManager.persist(item(owner, "Power drill", true));
+        hammer = entityManager.persist(item(owner, "Hammer", true));
+        entityManager.persist(item(owner, "Drill", false));
+        entityManager.persist(item(requestor, "Old drill", true));
+        entityManager.flush();
+        searchIndex.warmUp();
+    }
+
+    @Test
+    void requestAfterCommit_ShouldMatchAvailableItemsOfOtherUsers() {
+        Long requestId = save("Need a power drill").id();
+        assertTrue(itemRequestService.findById(requestId).matches().isEmpty());
+
+        commit();
+        assertEquals(1, matcher.queued());
+        assertEquals(1, matcher.processQueued());
+
+        assertEquals(List.of(new ItemForRequestDto(drill.getId(), "Power drill", owner.getId())),
+                itemRequestService.findById(requestId).matches());
+        assertEquals(0, matcher.queued());
+    }
+
+    @Test
+    void requestAfterCommit_ShouldLimitMatchesBySize() {
+        Item hammerDrill = entityManager.persist(item(owner, "Hammer drill", true));
+        entityManager.flush();
+        searchIndex.warmUp();
+        Long requestId = save("Hammer drill").id();
+        commit();
+        matcher.processQueued();
+
+        assertEquals(List.of(hammerDrill.getId(), drill.getId()), ids(requestId));
+    }
+
+    @Test
+    void itemAfterCommit_ShouldRematchRequestsWithItemNameWords() {
+        Long requestId = save("Looking for a ladder").id();
+        commit();
+        matcher.processQueued();
+        assertTrue(itemRequestService.findById(requestId).matches().isEmpty());
+
+        Item ladder = entityManager.persist(item(owner, "Ladder", true));
+        entityManager.flush();
+        searchIndex.warmUp();
+        matcher.itemAfterCommit(new ItemResponseDto(ladder.getId(), "Ladder", "Description", true, null));
+        commit();
+        assertEquals(1, matcher.processQueued());
+
+        assertEquals(List.of(ladder.getId()), ids(requestId));
+    }
+
+    @Test
+    void matchPending_ShouldMatchRequestsDroppedFromFullQueue() {
+        Long first = save("Hammer").id();
+        Long second = save("Power drill").id();
+        Long third = save("Drill").id();
+        commit();
+        assertEquals(2, matcher.queued());
+
+        assertEquals(3, matcher.matchPending());
+        matcher.processQueued();
+
+        assertEquals(List.of(hammer.getId()), ids(first));
+        assertEquals(List.of(drill.getId()), ids(second));
+        assertEquals(List.of(drill.getId()), ids(third));
+        assertEquals(0, matcher.matchPending());
+    }
+
+    private ItemRequestResponseDto save(String description) {
+        return itemRequestService.save(requestor.getId(), new ItemRequestCreateDto(description));
+    }
+
+    private List<Long> ids(Long requestId) {
+        return itemRequestService.findById(requestId).matches().stream()
+                .map(ItemForRequestDto::id)
+                .toList();
+    }
+
+    /**
+     * Ставит в очередь задачи, отложенные до фиксации транзакции теста (сама транзакция
+     * теста откатывается).
+     */
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization.getClass().getEnclosingClass() == RequestMatcher.class)
+                .forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private Item item(User itemOwner, String name, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description("Description")
+                .available(available)
+                .owner(itemOwner)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
+import ru.practicum.shareit.request.dto.ItemRequestRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestMatcherWorkerTest {
+    private static final long SWEEP_INTERVAL = 10;
+
+    private final ItemSearchIndex searchIndex = mock(ItemSearchIndex.class);
+    private final RequestMatchRepository matchRepository = mock(RequestMatchRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RequestMatcher matcher = new RequestMatcher(searchIndex, mock(ItemRequestSearchReader.class),
+            matchRepository, transactionManager, true, 5, 10, 10, 10, SWEEP_INTERVAL);
+
+    @AfterEach
+    void tearDown() {
+        matcher.shutdown();
+    }
+
+    @Test
+    void start_ShouldKeepMatching_WhenPendingSweepFails() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(matchRepository.findPendingIds(anyLong(), anyInt()))
+                .thenThrow(new CannotGetJdbcConnectionException("Database is unavailable"))
+                .thenReturn(List.of());
+        when(matchRepository.findRequests(any()))
+                .thenReturn(List.of(new ItemRequestRow(1L, "Need a drill", 2L, LocalDateTime.now())));
+
+        matcher.start();
+        matcher.requestAfterCommit(1L);
+
+        verify(matchRepository, timeout(5000)).replace(eq(Map.of(1L, List.of())), any());
+        // проход по отмеченным запросам повторяется после ошибки
+        verify(matchRepository, timeout(5000).times(2)).findPendingIds(anyLong(), anyInt());
+    }
+}
@@ -1,26 +1,44 @@
 package ru.practicum.shareit.request.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemSearchCache;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestSearchReader;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.match.RequestMatchRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(ItemRequestServiceImpl.class)
+@DataJpaTest(properties = "shareit.requests.matching.enabled=false")
+@Import({ItemRequestServiceImpl.class, NdjsonWriter.class, ItemSearchCache.class, ItemRequestSearchReader.class,
+        ItemSearchIndex.class, RequestMatcher.class, RequestMatchRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
 class ItemRequestServiceImplTest {
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private ItemRequestServiceImpl itemRequestService;
 
@@ -263,4 +281,95 @@ class ItemRequestServiceImplTest {
         assertEquals(1, allRequests.size());
         assertTrue(allRequests.get(0).items().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAll_ShouldWriteRequestsWithTheirItemsInIdOrder() throws Exception {
+        User requestor = createTestUser("Requestor", "requestor@email.com");
+        User owner = createTestUser("Owner", "owner@email.com");
+        ItemRequestResponseDto withItems = itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Drill"));
+        ItemRequestResponseDto withoutItems = itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Saw"));
+        ItemRequestResponseDto withOneItem = itemRequestService.save(owner.getId(), new ItemRequestCreateDto("Hammer"));
+
+        Item drill1 = createTestItem(owner, "Drill 1", "Description", true);
+        drill1.setRequest(itemRequestRepository.findById(withItems.id()).get());
+        Item drill2 = createTestItem(owner, "Drill 2", "Description", true);
+        drill2.setRequest(itemRequestRepository.findById(withItems.id()).get());
+        Item hammer = createTestItem(requestor, "Hammer", "Description", true);
+        hammer.setRequest(itemRequestRepository.findById(withOneItem.id()).get());
+        itemRepository.saveAll(List.of(drill1, drill2, hammer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemRequestService.exportAll(out);
+
+        List<ItemRequestResponseDto> exported = objectMapper.readerFor(ItemRequestResponseDto.class)
+                .<ItemRequestResponseDto>readValues(out.toByteArray())
+                .readAll();
+        assertEquals(List.of(withItems.id(), withoutItems.id(), withOneItem.id()),
+                exported.stream().map(ItemRequestResponseDto::id).toList());
+        assertEquals(Set.of("Drill 1", "Drill 2"), names(exported.get(0)));
+        assertTrue(exported.get(1).items().isEmpty());
+        assertEquals(Set.of("Hammer"), names(exported.get(2)));
+        assertEquals(requestor.getId(), exported.get(2).items().iterator().next().ownerId());
+        assertEquals(itemRequestService.findById(withItems.id()), exported.get(0));
+    }
+
+    @Test
+    void search_ShouldReturnMatchingRequestsFromNewestWithItems() {
+        User requestor = createTestUser("Requestor", "requestor@email.com");
+        User owner = createTestUser("Owner", "owner@email.com");
+        ItemRequestResponseDto powerDrill = itemRequestService.save(requestor.getId(),
+                new ItemRequestCreateDto("Need a power drill"));
+        ItemRequestResponseDto electricDrill = itemRequestService.save(requestor.getId(),
+                new ItemRequestCreateDto("Electric drill for the weekend"));
+        itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Camping tent"));
+        ItemRequestResponseDto drillingRig = itemRequestService.save(owner.getId(),
+                new ItemRequestCreateDto("Drilling rig, any size"));
+
+        Item drill = createTestItem(owner, "Drill", "Description", true);
+        drill.setRequest(itemRequestRepository.findById(electricDrill.id()).get());
+        itemRepository.save(drill);
+
+        List<ItemRequestResponseDto> found = itemRequestService.search("drill", null, 10);
+
+        assertEquals(List.of(drillingRig.id(), electricDrill.id(), powerDrill.id()),
+                found.stream().map(ItemRequestResponseDto::id).toList());
+        assertEquals(Set.of("Drill"), names(found.get(1)));
+        assertTrue(found.get(0).items().isEmpty());
+        assertEquals(List.of(powerDrill.id()),
+                itemRequestService.search("DRILL, pow", null, 10).stream().map(ItemRequestResponseDto::id).toList());
+    }
+
+    @Test
+    void search_ShouldReturnNextPageAfterLastRequest() {
+        User requestor = createTestUser("Requestor", "requestor@email.com");
+        ItemRequestResponseDto first = itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Saw 1"));
+        itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Hammer"));
+        ItemRequestResponseDto second = itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Saw 2"));
+        ItemRequestResponseDto third = itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Saw 3"));
+
+        List<ItemRequestResponseDto> page = itemRequestService.search("saw", null, 2);
+        assertEquals(List.of(third.id(), second.id()), page.stream().map(ItemRequestResponseDto::id).toList());
+
+        page = itemRequestService.search("saw", page.getLast().id(), 2);
+        assertEquals(List.of(first.id()), page.stream().map(ItemRequestResponseDto::id).toList());
+
+        assertTrue(itemRequestService.search("saw", first.id(), 2).isEmpty());
+        assertTrue(itemRequestService.search("saw", 999L, 2).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyList_WhenTextHasNoWordsOrNoMatches() {
+        User requestor = createTestUser("Requestor", "requestor@email.com");
+        itemRequestService.save(requestor.getId(), new ItemRequestCreateDto("Drill"));
+
+        assertTrue(itemRequestService.search(" , ", null, 10).isEmpty());
+        assertTrue(itemRequestService.search("rill", null, 10).isEmpty());
+        assertTrue(itemRequestService.search("drill saw", null, 10).isEmpty());
+    }
+
+    private static Set<String> names(ItemRequestResponseDto request) {
+        return request.items().stream()
+                .map(ItemForRequestDto::name)
+                .collect(Collectors.toSet());
+    }
+}
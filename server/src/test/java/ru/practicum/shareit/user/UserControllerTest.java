@@ -8,11 +8,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -21,7 +23,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -94,6 +98,25 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].email", is(userResponseDto.email()), String.class));
     }
 
+    @Test
+    void exportUsers() throws Exception {
+        String line = mapper.writeValueAsString(userResponseDto) + "\n";
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userService).exportAll(any(OutputStream.class));
+
+        MvcResult result = mvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line));
+        verify(userService).exportAll(any(OutputStream.class));
+    }
+
     @Test
     void getUserById() throws Exception {
         when(userService.findById(anyLong())).thenReturn(userResponseDto);
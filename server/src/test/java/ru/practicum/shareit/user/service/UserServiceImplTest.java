@@ -1,26 +1,69 @@
 package ru.practicum.shareit.user.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.batch.BatchEntry;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.counts.BookingCountsCache;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.booking.view.BookingViewWriter;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggester;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryTracker;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.model.OutboxEventType;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
+import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import(UserServiceImpl.class)
+@Import({UserServiceImpl.class, BookingAvailabilityIndex.class, ItemBookingSummaryTracker.class, NdjsonWriter.class,
+        BookingCountsCache.class, BookingViewWriter.class, ItemSearchCache.class,
+        ItemSearchIndex.class, ItemSuggester.class, OutboxWriter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
 class UserServiceImplTest {
 
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingViewRepository viewRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void save_ShouldSaveUserToDatabase() {
         UserCreateDto createDto = new UserCreateDto("Test User", "test@email.com");
@@ -119,6 +162,34 @@ class UserServiceImplTest {
         assertEquals(updateDto.email(), foundUser.email());
     }
 
+    @Test
+    void update_ShouldWriteNewNameAndEmailToBookingView() {
+        User owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        User booker = entityManager.persist(User.builder().name("Booker").email("booker@email.com").build());
+        Item item = entityManager.persist(Item.builder()
+                .name("Drill")
+                .description("Drill description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .status(Status.WAITING)
+                .build());
+        entityManager.flush();
+        viewRepository.insertMissing();
+
+        userService.update(booker.getId(), new UserUpdateDto("Renamed", "renamed@email.com"));
+
+        BookingRow row = viewRepository.findRowsByOwnerId(owner.getId(), Sort.unsorted()).getFirst();
+        assertEquals("Renamed", row.bookerName());
+        assertEquals("renamed@email.com", row.bookerEmail());
+    }
+
     @Test
     void update_ShouldUpdateOnlyName_WhenEmailIsNull() {
         UserCreateDto createDto = new UserCreateDto("Original Name", "original@email.com");
@@ -194,6 +265,31 @@ class UserServiceImplTest {
         assertEquals(savedUser.id(), exception.getEntityId());
     }
 
+    @Test
+    void deleteById_ShouldWriteItemDeletedEventsForOwnedItems() {
+        User owner = entityManager.persist(User.builder().name("Owner").email("owner@email.com").build());
+        Item drill = entityManager.persist(Item.builder()
+                .name("Drill")
+                .description("Drill description")
+                .available(true)
+                .owner(owner)
+                .build());
+        Item saw = entityManager.persist(Item.builder()
+                .name("Saw")
+                .description("Saw description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        userService.deleteById(owner.getId());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of(OutboxEventType.ITEM_DELETED, OutboxEventType.ITEM_DELETED),
+                events.stream().map(OutboxEvent::getType).toList());
+        assertEquals(List.of(drill.getId(), saw.getId()),
+                events.stream().map(OutboxEvent::getAggregateId).sorted().toList());
+    }
+
     @Test
     void clear_ShouldRemoveAllUsersFromDatabase() {
         userService.save(new UserCreateDto("User 1", "user1@email.com"));
@@ -238,4 +334,41 @@ class UserServiceImplTest {
         assertEquals(secondUpdate.name(), finalUser.name());
         assertEquals(secondUpdate.email(), finalUser.email());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAll_ShouldWriteOneJsonLinePerUserInIdOrder() throws Exception {
+        UserResponseDto first = userService.save(new UserCreateDto("First User", "first@email.com"));
+        UserResponseDto second = userService.save(new UserCreateDto("Second User", "second@email.com"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportAll(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first, objectMapper.readValue(lines[0], UserResponseDto.class));
+        assertEquals(second, objectMapper.readValue(lines[1], UserResponseDto.class));
+    }
+
+    @Test
+    void exportAll_ShouldWriteNothing_WhenNoUsers() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportAll(out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void findByIds_ShouldReturnUsersKeyedByIdAndMarkMissingIds() {
+        UserResponseDto first = userService.save(new UserCreateDto("First User", "first@email.com"));
+        UserResponseDto second = userService.save(new UserCreateDto("Second User", "second@email.com"));
+        long missingId = second.id() + 100;
+
+        Map<Long, BatchEntry<UserResponseDto>> users = userService.findByIds(List.of(second.id(), missingId, first.id()));
+
+        assertEquals(List.of(second.id(), missingId, first.id()), List.copyOf(users.keySet()));
+        assertEquals(new BatchEntry<>(true, second), users.get(second.id()));
+        assertEquals(new BatchEntry<>(true, first), users.get(first.id()));
+        assertEquals(new BatchEntry<UserResponseDto>(false, null), users.get(missingId));
+    }
+}